@@ -0,0 +1,172 @@
+package com.bonofacil.platform.bonos.application.internal.cache;
+
+import com.bonofacil.platform.bonos.domain.model.projections.BonoCatalogoItem;
+import com.bonofacil.platform.shared.application.pagination.KeysetPage;
+import com.bonofacil.platform.shared.infrastructure.caching.CachedValue;
+import com.bonofacil.platform.shared.infrastructure.caching.CountMinSketch;
+import com.bonofacil.platform.shared.infrastructure.caching.StaleWhileRevalidateCache;
+import com.bonofacil.platform.shared.infrastructure.persistense.jpa.monitoring.DataSourcePressureMonitor;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Cachés de lectura para el catálogo de bonos y los resultados de análisis.
+ * <p>
+ * Ambas usan stale-while-revalidate: ante carga o fallos de la base de datos se sirve el último
+ * valor conocido dentro del límite de antigüedad configurado mientras una recarga corre en segundo plano.
+ * </p>
+ * <p>
+ * Cada acceso a un análisis se registra en un estimador count-min; las claves que superan el umbral
+ * de frecuencia quedan como candidatas para la precarga en segundo plano.
+ * </p>
+ */
+@Component
+public class BonoConsultaCache {
+
+    private final ExecutorService refreshExecutor;
+    private final StaleWhileRevalidateCache<String, KeysetPage<BonoCatalogoItem>> catalogo;
+    private final StaleWhileRevalidateCache<ClaveAnalisis, Object> analisis;
+    private final CountMinSketch<ClaveAnalisis> frecuencias;
+    private final Set<ClaveAnalisis> candidatos = ConcurrentHashMap.newKeySet();
+    private final long umbralCandidato;
+    private final int maxCandidatos;
+
+    public BonoConsultaCache(DataSourcePressureMonitor pressureMonitor,
+                             @Value("${bonos.cache.fresh-ttl:PT30S}") Duration freshTtl,
+                             @Value("${bonos.cache.max-staleness:PT10M}") Duration maxStaleness,
+                             @Value("${bonos.cache.analisis.max-entries:10000}") int maxEntradasAnalisis,
+                             @Value("${bonos.cache.refresh-threads:2}") int refreshThreads,
+                             @Value("${bonos.precomputo.umbral:5}") long umbralCandidato,
+                             @Value("${bonos.precomputo.max-candidatos:2048}") int maxCandidatos) {
+        this.frecuencias = new CountMinSketch<>(4, 4096);
+        this.umbralCandidato = umbralCandidato;
+        this.maxCandidatos = maxCandidatos;
+        this.refreshExecutor = Executors.newFixedThreadPool(refreshThreads, runnable -> {
+            Thread thread = new Thread(runnable, "bono-cache-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.catalogo = new StaleWhileRevalidateCache<>("catalogo", freshTtl, maxStaleness, 256,
+                refreshExecutor, pressureMonitor::isSaturated);
+        this.analisis = new StaleWhileRevalidateCache<>("analisis", freshTtl, maxStaleness, maxEntradasAnalisis,
+                refreshExecutor, pressureMonitor::isSaturated);
+    }
+
+    /**
+     * Obtiene una página del catálogo de bonos desde la caché.
+     *
+     * @param clavePagina Clave que identifica la página (orden, cursor y tamaño)
+     * @param loader Consulta de la página en la base de datos
+     */
+    public CachedValue<KeysetPage<BonoCatalogoItem>> catalogo(String clavePagina, Supplier<KeysetPage<BonoCatalogoItem>> loader) {
+        return catalogo.get(clavePagina, loader);
+    }
+
+    /**
+     * Obtiene un resultado de análisis desde la caché.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CachedValue<T> analisis(ClaveAnalisis clave, Supplier<T> loader) {
+        registrarAcceso(clave);
+        return (CachedValue<T>) analisis.get(clave, loader::get);
+    }
+
+    /**
+     * Calcula y almacena un resultado fuera de una petición. Si el bono se invalida mientras se calcula, el
+     * resultado se descarta: puede ser anterior al cambio.
+     *
+     * @return {@code true} si el resultado quedó almacenado
+     */
+    public boolean precargarAnalisis(ClaveAnalisis clave, Supplier<?> calculo) {
+        return analisis.load(clave, calculo::get);
+    }
+
+    /**
+     * Renueva la frecuencia de un análisis cuyo bono no cambió desde que se calculó.
+     *
+     * @return {@code false} si el análisis ya no estaba en caché
+     */
+    public boolean renovarAnalisis(ClaveAnalisis clave) {
+        return analisis.touch(clave);
+    }
+
+    /**
+     * Milisegundos desde que se calculó el análisis, o -1 si no está en caché.
+     */
+    public long antiguedadAnalisis(ClaveAnalisis clave) {
+        return analisis.ageMillis(clave);
+    }
+
+    public void invalidarAnalisis(ClaveAnalisis clave) {
+        analisis.invalidate(clave);
+    }
+
+    /**
+     * Frecuencia estimada de acceso a la clave desde el último decaimiento.
+     */
+    public long frecuencia(ClaveAnalisis clave) {
+        return frecuencias.estimate(clave);
+    }
+
+    /**
+     * Devuelve las claves candidatas más solicitadas, ordenadas de mayor a menor frecuencia.
+     *
+     * @param limite Número máximo de claves
+     * @return Claves cuya frecuencia estimada alcanza el umbral
+     */
+    public List<ClaveAnalisis> clavesFrecuentes(int limite) {
+        return candidatos.stream()
+                .filter(clave -> frecuencias.estimate(clave) >= umbralCandidato)
+                .sorted(Comparator.comparingLong(frecuencias::estimate).reversed())
+                .limit(limite)
+                .toList();
+    }
+
+    /**
+     * Reduce a la mitad las frecuencias y descarta las candidatas que quedaron bajo el umbral.
+     */
+    public void decaerFrecuencias() {
+        frecuencias.decay();
+        candidatos.removeIf(clave -> frecuencias.estimate(clave) < umbralCandidato);
+    }
+
+    private void registrarAcceso(ClaveAnalisis clave) {
+        frecuencias.add(clave);
+        if (candidatos.size() < maxCandidatos && frecuencias.estimate(clave) >= umbralCandidato) {
+            candidatos.add(clave);
+        }
+    }
+
+    /**
+     * Elimina las entradas afectadas por un cambio en el bono indicado.
+     *
+     * @param bonoId ID del bono modificado o eliminado
+     */
+    public void invalidarBono(Long bonoId) {
+        catalogo.invalidateAll();
+        analisis.invalidateIf(clave -> clave.bonoId().equals(bonoId));
+        candidatos.removeIf(clave -> clave.bonoId().equals(bonoId));
+    }
+
+    /**
+     * Descarta las páginas del catálogo tras altas que no afectan a análisis ya cacheados.
+     */
+    public void invalidarCatalogo() {
+        catalogo.invalidateAll();
+    }
+
+    @PreDestroy
+    public void cerrar() {
+        refreshExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,14 @@
+package com.bonofacil.platform.bonos.application.internal.cache;
+
+import java.math.BigDecimal;
+
+/**
+ * Clave de un resultado de análisis: operación, bono y parámetro numérico (tasa, costo o precio).
+ * El parámetro se normaliza para que 0.08 y 0.080 compartan la misma entrada.
+ */
+public record ClaveAnalisis(OperacionAnalisis operacion, Long bonoId, BigDecimal parametro) {
+
+    public ClaveAnalisis {
+        parametro = parametro != null ? parametro.stripTrailingZeros() : BigDecimal.ZERO;
+    }
+}
@@ -0,0 +1,40 @@
+package com.bonofacil.platform.bonos.application.internal.cache;
+
+import com.bonofacil.platform.bonos.domain.model.entities.Bono;
+
+import java.math.BigDecimal;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Convierte el resultado de una operación de análisis a una matriz de celdas decimales y viceversa,
+ * para guardarlo en el almacén persistente de análisis.
+ *
+ * @param <T> Tipo del resultado
+ */
+public interface CodificadorAnalisis<T> {
+
+    BigDecimal[][] codificar(T resultado);
+
+    /**
+     * @param celdas Celdas leídas del almacén
+     * @param bono Bono al que pertenece el resultado
+     * @return Resultado reconstruido
+     */
+    T decodificar(BigDecimal[][] celdas, Bono bono);
+
+    static <T> CodificadorAnalisis<T> de(Function<T, BigDecimal[][]> codificar,
+                                         BiFunction<BigDecimal[][], Bono, T> decodificar) {
+        return new CodificadorAnalisis<>() {
+            @Override
+            public BigDecimal[][] codificar(T resultado) {
+                return codificar.apply(resultado);
+            }
+
+            @Override
+            public T decodificar(BigDecimal[][] celdas, Bono bono) {
+                return decodificar.apply(celdas, bono);
+            }
+        };
+    }
+}
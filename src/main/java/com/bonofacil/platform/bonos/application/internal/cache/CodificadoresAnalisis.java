@@ -0,0 +1,79 @@
+package com.bonofacil.platform.bonos.application.internal.cache;
+
+import com.bonofacil.platform.bonos.domain.model.entities.FlujoFinanciero;
+import com.bonofacil.platform.bonos.domain.model.valueobjects.DuracionConvexidad;
+import com.bonofacil.platform.bonos.domain.model.valueobjects.PrecioMercado;
+import com.bonofacil.platform.bonos.domain.model.valueobjects.Rendimiento;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Codificadores de los resultados de cada operación de análisis.
+ * El orden de las columnas forma parte del formato persistido y no debe cambiarse.
+ */
+public final class CodificadoresAnalisis {
+
+    /**
+     * Columnas: periodo, fecha (día epoch), cupón, amortización, flujo total, saldo insoluto, valor presente.
+     */
+    public static final CodificadorAnalisis<List<FlujoFinanciero>> FLUJO_CAJA = CodificadorAnalisis.de(
+            flujos -> flujos.stream()
+                    .map(flujo -> new BigDecimal[]{
+                            BigDecimal.valueOf(flujo.getPeriodo()),
+                            flujo.getFecha() != null ? BigDecimal.valueOf(flujo.getFecha().toEpochDay()) : null,
+                            flujo.getCupon(),
+                            flujo.getAmortizacion(),
+                            flujo.getFlujoTotal(),
+                            flujo.getSaldoInsoluto(),
+                            flujo.getValorPresente()
+                    })
+                    .toArray(BigDecimal[][]::new),
+            (celdas, bono) -> {
+                List<FlujoFinanciero> flujos = new ArrayList<>(celdas.length);
+                for (BigDecimal[] fila : celdas) {
+                    FlujoFinanciero flujo = new FlujoFinanciero();
+                    flujo.setBono(bono);
+                    flujo.setPeriodo(fila[0].intValue());
+                    flujo.setFecha(fila[1] != null ? LocalDate.ofEpochDay(fila[1].longValue()) : null);
+                    flujo.setCupon(fila[2]);
+                    flujo.setAmortizacion(fila[3]);
+                    flujo.setFlujoTotal(fila[4]);
+                    flujo.setSaldoInsoluto(fila[5]);
+                    flujo.setValorPresente(fila[6]);
+                    flujos.add(flujo);
+                }
+                return flujos;
+            });
+
+    public static final CodificadorAnalisis<DuracionConvexidad> METRICAS = CodificadorAnalisis.de(
+            metricas -> new BigDecimal[][]{{
+                    metricas.getDuracion(),
+                    metricas.getDuracionModificada(),
+                    metricas.getConvexidad(),
+                    metricas.getTasaMercado()
+            }},
+            (celdas, bono) -> new DuracionConvexidad(celdas[0][0], celdas[0][1], celdas[0][2], celdas[0][3]));
+
+    public static final CodificadorAnalisis<BigDecimal> PRECIO = CodificadorAnalisis.de(
+            precio -> new BigDecimal[][]{{precio}},
+            (celdas, bono) -> celdas[0][0]);
+
+    public static final CodificadorAnalisis<PrecioMercado> PRECIO_MERCADO = CodificadorAnalisis.de(
+            precio -> new BigDecimal[][]{{
+                    precio.getPrecio(),
+                    precio.getTasaMercado(),
+                    precio.getValorNominal(),
+                    precio.getPrecioPorcentaje()
+            }},
+            (celdas, bono) -> new PrecioMercado(celdas[0][0], celdas[0][1], celdas[0][2], celdas[0][3]));
+
+    public static final CodificadorAnalisis<Rendimiento> RENDIMIENTO = CodificadorAnalisis.de(
+            rendimiento -> new BigDecimal[][]{{rendimiento.getTasaRendimiento(), rendimiento.getPrecio()}},
+            (celdas, bono) -> new Rendimiento(celdas[0][0], celdas[0][1]));
+
+    private CodificadoresAnalisis() {
+    }
+}
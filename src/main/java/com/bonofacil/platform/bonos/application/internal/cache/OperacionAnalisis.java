@@ -0,0 +1,24 @@
+package com.bonofacil.platform.bonos.application.internal.cache;
+
+/**
+ * Operaciones de análisis de bonos cuyos resultados se almacenan en caché.
+ * El código es estable y se usa en el formato del almacén persistente.
+ */
+public enum OperacionAnalisis {
+    FLUJO_CAJA(1),
+    METRICAS(2),
+    PRECIO(3),
+    PRECIO_MERCADO(4),
+    TCEA(5),
+    TREA(6);
+
+    private final int codigo;
+
+    OperacionAnalisis(int codigo) {
+        this.codigo = codigo;
+    }
+
+    public int getCodigo() {
+        return codigo;
+    }
+}
@@ -0,0 +1,189 @@
+package com.bonofacil.platform.bonos.application.internal.cache;
+
+import com.bonofacil.platform.bonos.application.services.CalculadoraBonoApplicationService;
+import com.bonofacil.platform.bonos.domain.model.projections.VersionBono;
+import com.bonofacil.platform.bonos.infrastructure.persistence.jpa.repositories.BonoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Mantiene residentes en caché los análisis más solicitados y los puntos de tasa cercanos.
+ * <p>
+ * Las claves frecuentes se obtienen del estimador count-min de {@link BonoConsultaCache}.
+ * Cada ciclo recalcula, dentro del presupuesto configurado, las claves calientes y sus tasas vecinas
+ * que falten o estén por perder frescura, y retira de la caché las entradas precargadas cuya clave
+ * de origen dejó de ser frecuente.
+ * </p>
+ * <p>
+ * Antes de recalcular se consulta en una sola sentencia la fecha de modificación y la huella de términos
+ * de los bonos seleccionados. Si ninguna cambió desde el último cálculo de la clave, la entrada existente
+ * solo se renueva.
+ * </p>
+ */
+@Component
+public class PrecomputadorAnalisisFrecuentes {
+
+    private static final Logger logger = LoggerFactory.getLogger(PrecomputadorAnalisisFrecuentes.class);
+
+    // Operaciones cuyo parámetro es una tasa y admiten puntos vecinos
+    private static final Set<OperacionAnalisis> OPERACIONES_CON_TASA = EnumSet.of(
+            OperacionAnalisis.FLUJO_CAJA,
+            OperacionAnalisis.METRICAS,
+            OperacionAnalisis.PRECIO,
+            OperacionAnalisis.PRECIO_MERCADO
+    );
+
+    private final BonoConsultaCache bonoConsultaCache;
+    private final CalculadoraBonoApplicationService calculadoraBonoService;
+    private final BonoRepository bonoRepository;
+    private final boolean habilitado;
+    private final int presupuesto;
+    private final int vecinos;
+    private final BigDecimal pasoTasa;
+    private final long umbralRecalculoMillis;
+
+    private final Set<ClaveAnalisis> precargadas = ConcurrentHashMap.newKeySet();
+    // Versión del bono con la que se calculó cada clave precargada
+    private final Map<ClaveAnalisis, VersionBono> versionCalculada = new ConcurrentHashMap<>();
+
+    public PrecomputadorAnalisisFrecuentes(BonoConsultaCache bonoConsultaCache,
+                                           CalculadoraBonoApplicationService calculadoraBonoService,
+                                           BonoRepository bonoRepository,
+                                           @Value("${bonos.precomputo.enabled:true}") boolean habilitado,
+                                           @Value("${bonos.precomputo.presupuesto:500}") int presupuesto,
+                                           @Value("${bonos.precomputo.vecinos:2}") int vecinos,
+                                           @Value("${bonos.precomputo.paso-tasa:0.0025}") BigDecimal pasoTasa,
+                                           @Value("${bonos.cache.fresh-ttl:PT30S}") Duration freshTtl) {
+        this.bonoConsultaCache = bonoConsultaCache;
+        this.calculadoraBonoService = calculadoraBonoService;
+        this.bonoRepository = bonoRepository;
+        this.habilitado = habilitado;
+        this.presupuesto = presupuesto;
+        this.vecinos = vecinos;
+        this.pasoTasa = pasoTasa;
+        // Se recalcula antes de que la entrada deje de ser fresca
+        this.umbralRecalculoMillis = freshTtl.toMillis() / 2;
+    }
+
+    @Scheduled(fixedDelayString = "${bonos.precomputo.intervalo:PT15S}")
+    public void precomputar() {
+        if (!habilitado) {
+            return;
+        }
+
+        Set<ClaveAnalisis> seleccion = seleccionarClaves();
+
+        // Retirar las precargas que quedaron fuera de la selección
+        precargadas.removeIf(clave -> {
+            if (!seleccion.contains(clave)) {
+                bonoConsultaCache.invalidarAnalisis(clave);
+                versionCalculada.remove(clave);
+                return true;
+            }
+            return false;
+        });
+
+        Map<Long, VersionBono> versiones;
+        try {
+            versiones = consultarVersiones(seleccion);
+        } catch (RuntimeException e) {
+            logger.debug("No se pudo consultar la versión de los bonos a precalcular: {}", e.getMessage());
+            return;
+        }
+        int calculadas = 0;
+        int renovadas = 0;
+        for (ClaveAnalisis clave : seleccion) {
+            long antiguedad = bonoConsultaCache.antiguedadAnalisis(clave);
+            if (antiguedad >= 0 && antiguedad < umbralRecalculoMillis) {
+                precargadas.add(clave);
+                continue;
+            }
+            VersionBono version = versiones.get(clave.bonoId());
+            if (version == null) {
+                // El bono se eliminó
+                versionCalculada.remove(clave);
+                continue;
+            }
+            if (antiguedad >= 0 && version.equals(versionCalculada.get(clave))
+                    && bonoConsultaCache.renovarAnalisis(clave)) {
+                precargadas.add(clave);
+                renovadas++;
+                continue;
+            }
+            try {
+                // Si el bono cambia durante el cálculo, su invalidación descarta el resultado y la clave queda
+                // sin entrada, así que el próximo ciclo la recalcula
+                if (bonoConsultaCache.precargarAnalisis(clave, () -> calculadoraBonoService.calcular(clave))) {
+                    versionCalculada.put(clave, version);
+                    precargadas.add(clave);
+                    calculadas++;
+                } else {
+                    versionCalculada.remove(clave);
+                }
+            } catch (RuntimeException e) {
+                logger.debug("No se pudo precalcular {}: {}", clave, e.getMessage());
+            }
+        }
+
+        if (calculadas > 0 || renovadas > 0) {
+            logger.debug("Precómputo de análisis frecuentes: {} calculados, {} renovados sin cambios, {} residentes",
+                    calculadas, renovadas, precargadas.size());
+        }
+    }
+
+    private Map<Long, VersionBono> consultarVersiones(Set<ClaveAnalisis> seleccion) {
+        if (seleccion.isEmpty()) {
+            return Map.of();
+        }
+        Set<Long> bonoIds = seleccion.stream().map(ClaveAnalisis::bonoId).collect(Collectors.toSet());
+        return bonoRepository.findVersiones(bonoIds).stream()
+                .collect(Collectors.toMap(VersionBono::bonoId, Function.identity()));
+    }
+
+    @Scheduled(fixedRateString = "${bonos.precomputo.decaimiento:PT5M}")
+    public void decaer() {
+        bonoConsultaCache.decaerFrecuencias();
+    }
+
+    /**
+     * Selecciona las claves frecuentes y sus tasas vecinas hasta agotar el presupuesto.
+     */
+    private Set<ClaveAnalisis> seleccionarClaves() {
+        Set<ClaveAnalisis> seleccion = new LinkedHashSet<>();
+        List<ClaveAnalisis> frecuentes = bonoConsultaCache.clavesFrecuentes(presupuesto);
+
+        for (ClaveAnalisis clave : frecuentes) {
+            if (seleccion.size() >= presupuesto) {
+                break;
+            }
+            seleccion.add(clave);
+
+            if (!OPERACIONES_CON_TASA.contains(clave.operacion())) {
+                continue;
+            }
+            for (int i = 1; i <= vecinos && seleccion.size() < presupuesto; i++) {
+                BigDecimal desplazamiento = pasoTasa.multiply(BigDecimal.valueOf(i));
+                seleccion.add(new ClaveAnalisis(clave.operacion(), clave.bonoId(), clave.parametro().add(desplazamiento)));
+                BigDecimal inferior = clave.parametro().subtract(desplazamiento);
+                if (inferior.signum() > 0 && seleccion.size() < presupuesto) {
+                    seleccion.add(new ClaveAnalisis(clave.operacion(), clave.bonoId(), inferior));
+                }
+            }
+        }
+        return seleccion;
+    }
+}
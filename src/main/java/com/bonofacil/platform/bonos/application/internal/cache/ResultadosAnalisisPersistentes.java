@@ -0,0 +1,73 @@
+package com.bonofacil.platform.bonos.application.internal.cache;
+
+import com.bonofacil.platform.bonos.domain.model.entities.Bono;
+import com.bonofacil.platform.bonos.domain.model.entities.ResultadoCalculo;
+import com.bonofacil.platform.bonos.infrastructure.persistence.mmap.AlmacenAnalisisMapeado;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Sirve resultados de análisis desde el almacén persistente mapeado en memoria y guarda en él
+ * los que se calculen, versionados por la huella de términos y la marca {@code updatedAt} del bono, y por
+ * el nivel de precisión del motor de valoración.
+ * Permite que un nodo reiniciado responda con resultados ya calculados sin recurrir al motor de valoración.
+ */
+@Component
+public class ResultadosAnalisisPersistentes {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResultadosAnalisisPersistentes.class);
+
+    private final AlmacenAnalisisMapeado almacen;
+
+    public ResultadosAnalisisPersistentes(AlmacenAnalisisMapeado almacen) {
+        this.almacen = almacen;
+    }
+
+    /**
+     * Obtiene el resultado persistido para el bono o lo calcula y lo persiste.
+     *
+     * @param operacion Operación de análisis
+     * @param bono Bono cargado desde la base de datos
+     * @param parametro Parámetro de la operación
+     * @param codificador Codificador del tipo de resultado
+     * @param calculo Cálculo a ejecutar si no hay resultado válido
+     * @return Resultado del análisis
+     */
+    public <T> T obtener(OperacionAnalisis operacion, Bono bono, BigDecimal parametro,
+                         CodificadorAnalisis<T> codificador, Supplier<T> calculo) {
+        if (!almacen.isDisponible() || bono.getId() == null) {
+            return calculo.get();
+        }
+        long huella = bono.calcularHuellaTerminos();
+        long actualizadoEn = bono.getUpdatedAt() != null ? bono.getUpdatedAt().getTime() : 0L;
+
+        Optional<BigDecimal[][]> celdas = almacen.leer(operacion.getCodigo(), bono.getId(), parametro, huella, actualizadoEn,
+                ResultadoCalculo.NIVEL_PRECISION);
+        if (celdas.isPresent()) {
+            try {
+                return codificador.decodificar(celdas.get(), bono);
+            } catch (RuntimeException e) {
+                logger.debug("Registro persistido ilegible para {} del bono {}: {}", operacion, bono.getId(), e.getMessage());
+            }
+        }
+
+        T resultado = calculo.get();
+        if (resultado != null) {
+            almacen.escribir(operacion.getCodigo(), bono.getId(), parametro, huella, actualizadoEn,
+                    ResultadoCalculo.NIVEL_PRECISION, codificador.codificar(resultado));
+        }
+        return resultado;
+    }
+
+    /**
+     * Descarta los resultados persistidos de un bono eliminado.
+     */
+    public void descartar(Long bonoId) {
+        almacen.descartarBono(bonoId);
+    }
+}
@@ -0,0 +1,105 @@
+package com.bonofacil.platform.bonos.application.internal.commandservices;
+
+import com.bonofacil.platform.bonos.application.internal.cache.BonoConsultaCache;
+import com.bonofacil.platform.bonos.application.services.FlujoFinancieroService;
+import com.bonofacil.platform.bonos.domain.model.commands.ActualizarBonoCommand;
+import com.bonofacil.platform.bonos.domain.model.commands.CrearBonoCommand;
+import com.bonofacil.platform.bonos.domain.model.entities.Bono;
+import com.bonofacil.platform.bonos.domain.model.entities.FlujoFinanciero;
+import com.bonofacil.platform.bonos.domain.services.BonoCommandService;
+import com.bonofacil.platform.bonos.domain.services.CalculoFinancieroService;
+import com.bonofacil.platform.bonos.infrastructure.persistence.jpa.repositories.BonoRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Crea bonos con una única escritura por fila: el bono se inserta con sus métricas y la huella del
+ * cronograma ya calculadas, y el cronograma se inserta en lote usando la misma generación que las métricas.
+ * <p>
+ * Las modificaciones se aplican sobre la entidad gestionada y, como el bono usa actualización dinámica,
+ * un cambio cosmético se traduce en un UPDATE de las columnas tocadas sin ningún recálculo.
+ * </p>
+ */
+@Service
+public class BonoCommandServiceImpl implements BonoCommandService {
+
+    private final BonoRepository bonoRepository;
+    private final CalculoFinancieroService calculoFinancieroService;
+    private final FlujoFinancieroService flujoFinancieroService;
+    private final BonoConsultaCache bonoConsultaCache;
+
+    public BonoCommandServiceImpl(BonoRepository bonoRepository, CalculoFinancieroService calculoFinancieroService,
+                                  FlujoFinancieroService flujoFinancieroService, BonoConsultaCache bonoConsultaCache) {
+        this.bonoRepository = bonoRepository;
+        this.calculoFinancieroService = calculoFinancieroService;
+        this.flujoFinancieroService = flujoFinancieroService;
+        this.bonoConsultaCache = bonoConsultaCache;
+    }
+
+    @Override
+    @Transactional
+    public Bono handle(CrearBonoCommand command) {
+        Bono bono = new Bono(command);
+        bono.validarTerminos();
+        List<FlujoFinanciero> flujos = calculoFinancieroService.procesarCalculosBono(bono);
+        // La huella se fija antes de persistir para que el INSERT la incluya y no haya un UPDATE posterior
+        bono.setHuellaFlujos(bono.calcularHuellaTerminos());
+        Bono creado = bonoRepository.save(bono);
+        flujoFinancieroService.guardarFlujos(flujos);
+        invalidarAlConfirmar(creado.getId());
+        return creado;
+    }
+
+    @Override
+    @Transactional
+    public Optional<Bono> handle(ActualizarBonoCommand command) {
+        Optional<Bono> encontrado = bonoRepository.findById(command.bonoId())
+                .filter(bono -> command.emisorUsername() == null
+                        || command.emisorUsername().equals(bono.getEmisorUsername()));
+        if (encontrado.isEmpty()) {
+            return Optional.empty();
+        }
+        Bono bono = encontrado.get();
+        BigDecimal tasaDescuentoAnterior = bono.getTasaDescuento();
+        bono.aplicarCambios(command);
+        bono.validarTerminos();
+
+        boolean terminosCambiados = bono.getHuellaFlujos() == null
+                || bono.getHuellaFlujos() != bono.calcularHuellaTerminos();
+        if (terminosCambiados) {
+            flujoFinancieroService.reemplazarFlujos(bono, calculoFinancieroService.procesarCalculosBono(bono));
+        } else if (!mismoValor(tasaDescuentoAnterior, bono.getTasaDescuento())) {
+            // Solo cambian el precio y las métricas que dependen de la tasa; el cronograma sigue vigente
+            calculoFinancieroService.procesarCalculosBono(bono);
+        }
+        invalidarAlConfirmar(bono.getId());
+        return Optional.of(bono);
+    }
+
+    /**
+     * Invalida las cachés del bono al confirmar la transacción, para que una lectura concurrente no vuelva
+     * a poblarlas con el estado anterior mientras la escritura sigue sin confirmar.
+     */
+    private void invalidarAlConfirmar(Long bonoId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bonoConsultaCache.invalidarBono(bonoId);
+                }
+            });
+        } else {
+            bonoConsultaCache.invalidarBono(bonoId);
+        }
+    }
+
+    private static boolean mismoValor(BigDecimal a, BigDecimal b) {
+        return a == null ? b == null : b != null && a.compareTo(b) == 0;
+    }
+}
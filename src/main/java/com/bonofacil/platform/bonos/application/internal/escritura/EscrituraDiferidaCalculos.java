@@ -0,0 +1,536 @@
+package com.bonofacil.platform.bonos.application.internal.escritura;
+
+import com.bonofacil.platform.bonos.domain.model.entities.Calculo;
+import com.bonofacil.platform.bonos.domain.model.valueobjects.CalculoPendiente;
+import com.bonofacil.platform.bonos.infrastructure.persistence.diario.DiarioCalculosPendientes;
+import com.bonofacil.platform.bonos.infrastructure.persistence.diario.DiarioCalculosPendientes.SegmentoRecuperado;
+import com.bonofacil.platform.bonos.infrastructure.persistence.jpa.repositories.BonoRepository;
+import com.bonofacil.platform.bonos.infrastructure.persistence.jpa.repositories.CalculoRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Escritura diferida de los cálculos de inversión, opcional.
+ * <p>
+ * Un cálculo se confirma al inversor en cuanto queda sincronizado en el diario local, con un ID reservado
+ * de la secuencia. Un hilo propio vacía el búfer cada pocos milisegundos con INSERTs en lote. La capacidad
+ * del búfer está acotada: si se llena, quien registra espera un tiempo máximo y después se recurre a la
+ * escritura síncrona. Al arrancar se reproducen los segmentos que dejó una caída, omitiendo los cálculos
+ * que ya llegaron a la base de datos. Los cálculos vaciados se siguen sirviendo desde memoria durante una
+ * ventana breve, para que el inversor lea lo que acaba de escribir aunque sus lecturas vayan a una réplica.
+ * </p>
+ * <p>
+ * Si el vaciado se ejecuta dentro de una transacción ajena, el segmento del diario solo se borra cuando esa
+ * transacción se confirma; si se revierte, el lote vuelve a la cola de reintentos. Un segmento que la base
+ * de datos rechaza por integridad una y otra vez se aparta a un archivo de cuarentena para no bloquear los
+ * siguientes; los fallos de conexión se reintentan sin límite. Los cálculos de un bono que se eliminó
+ * mientras estaban en el búfer se descartan al vaciar, sin contar como rechazo del segmento.
+ * </p>
+ */
+@Component
+public class EscrituraDiferidaCalculos {
+
+    private static final Logger logger = LoggerFactory.getLogger(EscrituraDiferidaCalculos.class);
+
+    private final CalculoRepository calculoRepository;
+    private final BonoRepository bonoRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate transaccionNueva;
+    private final boolean habilitada;
+    private final Path ruta;
+    private final Semaphore capacidad;
+    private final Duration esperaMaxima;
+    private final Duration intervalo;
+    private final int tamanoLote;
+    private final Duration retencionLectura;
+    private final int maxRechazos;
+
+    private final Map<Long, Entrada> pendientes = new ConcurrentHashMap<>();
+    private final Object colaLock = new Object();
+    private final Object idsLock = new Object();
+    private List<CalculoPendiente> cola = new ArrayList<>();
+    private final Deque<Reintento> reintentos = new ArrayDeque<>();
+    private long siguienteId;
+    private long limiteIds;
+
+    private volatile DiarioCalculosPendientes diario;
+    private ScheduledExecutorService vaciador;
+
+    public EscrituraDiferidaCalculos(CalculoRepository calculoRepository, BonoRepository bonoRepository,
+                                     ObjectMapper objectMapper,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${bonos.calculos.escritura-diferida.enabled:false}") boolean habilitada,
+                                     @Value("${bonos.calculos.escritura-diferida.ruta:./data/calculos-pendientes}") Path ruta,
+                                     @Value("${bonos.calculos.escritura-diferida.capacidad:10000}") int capacidad,
+                                     @Value("${bonos.calculos.escritura-diferida.espera-maxima:PT0.5S}") Duration esperaMaxima,
+                                     @Value("${bonos.calculos.escritura-diferida.intervalo:PT0.02S}") Duration intervalo,
+                                     @Value("${bonos.calculos.escritura-diferida.tamano-lote:500}") int tamanoLote,
+                                     @Value("${bonos.calculos.escritura-diferida.retencion-lectura:PT5S}") Duration retencionLectura,
+                                     @Value("${bonos.calculos.escritura-diferida.max-rechazos:5}") int maxRechazos) {
+        this.calculoRepository = calculoRepository;
+        this.bonoRepository = bonoRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transaccionNueva = new TransactionTemplate(transactionManager);
+        this.transaccionNueva.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.habilitada = habilitada;
+        this.ruta = ruta;
+        this.capacidad = new Semaphore(Math.max(1, capacidad));
+        this.esperaMaxima = esperaMaxima;
+        this.intervalo = intervalo;
+        this.tamanoLote = Math.max(1, tamanoLote);
+        this.retencionLectura = retencionLectura;
+        this.maxRechazos = Math.max(1, maxRechazos);
+    }
+
+    @PostConstruct
+    public void abrir() {
+        if (!habilitada) {
+            return;
+        }
+        try {
+            DiarioCalculosPendientes abierto = new DiarioCalculosPendientes(ruta, objectMapper);
+            List<SegmentoRecuperado> recuperados = abierto.abrir();
+            recuperados.forEach(segmento -> reintentos.addLast(new Reintento(segmento)));
+            diario = abierto;
+            if (!recuperados.isEmpty()) {
+                logger.info("Se reproducirán {} cálculos pendientes del diario {}",
+                        recuperados.stream().mapToInt(segmento -> segmento.calculos().size()).sum(), ruta);
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.warn("No se pudo abrir el diario de cálculos {}, se escribirá de forma síncrona: {}", ruta, e.getMessage());
+            return;
+        }
+        vaciador = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "calculo-escritura-diferida");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long periodo = Math.max(1, intervalo.toMillis());
+        vaciador.scheduleWithFixedDelay(this::vaciarSinPropagar, periodo, periodo, TimeUnit.MILLISECONDS);
+    }
+
+    public boolean isActiva() {
+        return diario != null;
+    }
+
+    /**
+     * Asigna el ID definitivo al cálculo y lo confirma en el diario local.
+     *
+     * @return El cálculo con su ID, o vacío si el búfer siguió lleno tras la espera máxima o el diario
+     * falló; en ese caso el cálculo debe guardarse de forma síncrona
+     */
+    public Optional<Calculo> registrar(Calculo calculo) {
+        if (!reservar(calculo)) {
+            return Optional.empty();
+        }
+        try {
+            anotar(List.of(calculo));
+        } catch (IOException | RuntimeException e) {
+            liberar(List.of(calculo));
+            logger.warn("No se pudo anotar el cálculo en el diario, se guarda de forma síncrona: {}", e.getMessage());
+            return Optional.empty();
+        }
+        return Optional.of(calculo);
+    }
+
+    /**
+     * Reserva lugar en el búfer y asigna el ID definitivo al cálculo, sin anotarlo todavía en el diario.
+     * Pensado para cálculos que forman parte de una transacción mayor: se anotan con {@link #confirmar(List)}
+     * cuando esta se confirma, o se devuelven con {@link #liberar(List)} si se revierte.
+     *
+     * @return {@code false} si la escritura diferida no está activa o el búfer siguió lleno tras la espera
+     * máxima; en ese caso el cálculo debe guardarse de forma síncrona
+     */
+    public boolean reservar(Calculo calculo) {
+        if (!isActiva()) {
+            return false;
+        }
+        try {
+            if (!capacidad.tryAcquire(esperaMaxima.toMillis(), TimeUnit.MILLISECONDS)) {
+                return false;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        try {
+            calculo.setId(reservarId());
+        } catch (RuntimeException e) {
+            capacidad.release();
+            logger.warn("No se pudo reservar un ID para el cálculo, se guarda de forma síncrona: {}", e.getMessage());
+            return false;
+        }
+        if (calculo.getFechaCalculo() == null) {
+            calculo.setFechaCalculo(LocalDate.now());
+        }
+        return true;
+    }
+
+    /**
+     * Anota en el diario cálculos reservados. Si el diario falla se insertan de inmediato en una transacción
+     * propia, de modo que el cálculo confirmado al inversor nunca se pierde.
+     */
+    public void confirmar(List<Calculo> reservados) {
+        if (reservados.isEmpty()) {
+            return;
+        }
+        try {
+            anotar(reservados);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("No se pudieron anotar {} cálculos en el diario, se guardan de forma síncrona: {}",
+                    reservados.size(), e.getMessage());
+            List<CalculoPendiente> calculos = reservados.stream().map(EscrituraDiferidaCalculos::pendiente).toList();
+            try {
+                transaccionNueva.executeWithoutResult(status -> calculoRepository.insertarPendientes(calculos));
+            } finally {
+                capacidad.release(reservados.size());
+            }
+        }
+    }
+
+    /**
+     * Devuelve al búfer el lugar de cálculos reservados que finalmente no se guardan.
+     */
+    public void liberar(List<Calculo> reservados) {
+        reservados.forEach(calculo -> calculo.setId(null));
+        capacidad.release(reservados.size());
+    }
+
+    private void anotar(List<Calculo> calculos) throws IOException {
+        List<CalculoPendiente> nuevos = calculos.stream().map(EscrituraDiferidaCalculos::pendiente).toList();
+        long secuencia = 0;
+        synchronized (colaLock) {
+            for (CalculoPendiente pendiente : nuevos) {
+                secuencia = diario.escribir(pendiente);
+            }
+            // Solo se encolan si todas las líneas se escribieron; las sueltas se descartan con su segmento
+            cola.addAll(nuevos);
+            calculos.forEach(calculo -> pendientes.put(calculo.getId(), new Entrada(calculo)));
+        }
+
+        try {
+            diario.sincronizar(secuencia);
+        } catch (IOException e) {
+            // Ya está en el búfer y se vaciará igual; solo se pierde la garantía ante una caída inmediata
+            logger.warn("No se pudo sincronizar el diario de cálculos: {}", e.getMessage());
+        }
+    }
+
+    private static CalculoPendiente pendiente(Calculo calculo) {
+        return new CalculoPendiente(calculo.getId(), calculo.getBonoId(),
+                calculo.getInversorUsername(), calculo.getTasaEsperada(),
+                calculo.getResultado() == null ? calculo.getTrea() : null,
+                calculo.getResultado() == null ? calculo.getPrecioMaximo() : null,
+                calculo.getResultadoId(), calculo.getFechaCalculo(), calculo.getInformacionAdicional(),
+                Instant.now());
+    }
+
+    /**
+     * Cálculo aún no vaciado, o vaciado hace menos de la ventana de lectura propia.
+     */
+    public Optional<Calculo> buscar(Long id) {
+        Entrada entrada = pendientes.get(id);
+        return entrada != null ? Optional.of(entrada.calculo) : Optional.empty();
+    }
+
+    public List<Calculo> pendientesDe(String inversorUsername) {
+        if (pendientes.isEmpty()) {
+            return List.of();
+        }
+        return pendientes.values().stream()
+                .map(entrada -> entrada.calculo)
+                .filter(calculo -> inversorUsername.equals(calculo.getInversorUsername()))
+                .toList();
+    }
+
+    /**
+     * Deja de servir desde memoria un cálculo que se eliminó.
+     */
+    public void olvidar(Long id) {
+        Entrada entrada = pendientes.remove(id);
+        if (entrada != null) {
+            liberarCapacidad(entrada);
+        }
+    }
+
+    /**
+     * Deja de servir desde memoria los cálculos de un bono eliminado. Los que aún no se vaciaron se
+     * descartan al vaciar, porque su bono ya no existe.
+     */
+    public void olvidarBono(Long bonoId) {
+        pendientes.values().removeIf(entrada -> {
+            if (!bonoId.equals(entrada.calculo.getBonoId())) {
+                return false;
+            }
+            liberarCapacidad(entrada);
+            return true;
+        });
+    }
+
+    /**
+     * Escribe en la base de datos todo lo pendiente, incluidos los lotes que fallaron antes. Dentro de una
+     * transacción ajena los segmentos se borran al confirmarla.
+     */
+    public synchronized void vaciar() {
+        if (!isActiva()) {
+            return;
+        }
+        while (!reintentos.isEmpty()) {
+            Reintento reintento = reintentos.peekFirst();
+            List<CalculoPendiente> huerfanos;
+            try {
+                huerfanos = persistir(reintento.segmento.calculos(), true);
+            } catch (DataIntegrityViolationException e) {
+                if (++reintento.rechazos < maxRechazos) {
+                    throw e;
+                }
+                reintentos.pollFirst();
+                apartar(reintento, e);
+                continue;
+            }
+            reintentos.pollFirst();
+            alConfirmar(() -> {
+                diario.descartar(reintento.segmento.segmento());
+                descartarHuerfanos(huerfanos);
+                marcarPersistidos(reintento.segmento.calculos());
+            }, () -> reintentos.addFirst(reintento));
+        }
+
+        List<CalculoPendiente> lote;
+        Path cerrado;
+        synchronized (colaLock) {
+            if (cola.isEmpty()) {
+                purgarVentanaLectura();
+                return;
+            }
+            try {
+                cerrado = diario.rotar();
+            } catch (IOException e) {
+                throw new IllegalStateException("No se pudo rotar el diario de cálculos", e);
+            }
+            lote = cola;
+            cola = new ArrayList<>();
+        }
+        Reintento siFalla = new Reintento(new SegmentoRecuperado(cerrado, lote));
+        List<CalculoPendiente> huerfanos;
+        try {
+            huerfanos = persistir(lote, false);
+        } catch (RuntimeException e) {
+            // Se reintenta en el siguiente ciclo; puede haberse confirmado parcialmente, así que de forma idempotente
+            if (e instanceof DataIntegrityViolationException) {
+                siFalla.rechazos++;
+            }
+            reintentos.addLast(siFalla);
+            throw e;
+        }
+        alConfirmar(() -> {
+            diario.descartar(cerrado);
+            descartarHuerfanos(huerfanos);
+            marcarPersistidos(lote);
+            purgarVentanaLectura();
+        }, () -> reintentos.addLast(siFalla));
+    }
+
+    /**
+     * Ejecuta {@code confirmado} en cuanto lo persistido es definitivo: enseguida si no hay una transacción
+     * ajena en curso, o al confirmarla. Si esa transacción se revierte, ejecuta {@code revertido}.
+     */
+    private void alConfirmar(Runnable confirmado, Runnable revertido) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            confirmado.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                confirmado.run();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    synchronized (EscrituraDiferidaCalculos.this) {
+                        revertido.run();
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Saca de la cola un segmento que la base de datos rechazó {@code maxRechazos} veces y deja sus
+     * cálculos en un archivo de cuarentena para revisarlos a mano.
+     */
+    private void apartar(Reintento reintento, DataIntegrityViolationException causa) {
+        SegmentoRecuperado segmento = reintento.segmento;
+        Path cuarentena = diario.apartar(segmento.segmento());
+        logger.error("El segmento {} con {} cálculos fue rechazado {} veces y se apartó a {}: {}",
+                segmento.segmento(), segmento.calculos().size(), reintento.rechazos, cuarentena,
+                causa.getMostSpecificCause().getMessage());
+        for (CalculoPendiente calculo : segmento.calculos()) {
+            olvidar(calculo.id());
+        }
+    }
+
+    /**
+     * Descarta los cálculos cuyo bono se eliminó antes de vaciarlos.
+     */
+    private void descartarHuerfanos(List<CalculoPendiente> huerfanos) {
+        if (huerfanos.isEmpty()) {
+            return;
+        }
+        logger.warn("Se descartaron {} cálculos pendientes de bonos eliminados", huerfanos.size());
+        huerfanos.forEach(calculo -> olvidar(calculo.id()));
+    }
+
+    private void vaciarSinPropagar() {
+        try {
+            vaciar();
+        } catch (RuntimeException e) {
+            logger.warn("No se pudieron escribir los cálculos pendientes, se reintentará: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Inserta los cálculos en lotes dentro de una transacción. Los de bonos que ya no existen no se insertan:
+     * violarían la clave foránea y el segmento entero acabaría en cuarentena.
+     *
+     * @return Cálculos descartados porque su bono se eliminó
+     */
+    private List<CalculoPendiente> persistir(List<CalculoPendiente> calculos, boolean idempotente) {
+        List<CalculoPendiente> huerfanos = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int desde = 0; desde < calculos.size(); desde += tamanoLote) {
+                List<CalculoPendiente> lote = calculos.subList(desde, Math.min(desde + tamanoLote, calculos.size()));
+                if (idempotente) {
+                    Set<Long> existentes = new HashSet<>(calculoRepository.findIdsExistentes(
+                            lote.stream().map(CalculoPendiente::id).toList()));
+                    lote = lote.stream().filter(calculo -> !existentes.contains(calculo.id())).toList();
+                }
+                Set<Long> bonoIds = lote.stream().map(CalculoPendiente::bonoId).filter(Objects::nonNull)
+                        .collect(Collectors.toSet());
+                Set<Long> bonos = bonoIds.isEmpty() ? Set.of() : new HashSet<>(bonoRepository.findIdsExistentes(bonoIds));
+                Map<Boolean, List<CalculoPendiente>> porBono = lote.stream().collect(Collectors.partitioningBy(
+                        calculo -> calculo.bonoId() == null || bonos.contains(calculo.bonoId())));
+                huerfanos.addAll(porBono.get(false));
+                calculoRepository.insertarPendientes(porBono.get(true));
+            }
+        });
+        return huerfanos;
+    }
+
+    private void marcarPersistidos(List<CalculoPendiente> calculos) {
+        long ahora = System.currentTimeMillis();
+        for (CalculoPendiente calculo : calculos) {
+            Entrada entrada = pendientes.get(calculo.id());
+            // Los recuperados del diario no ocupan capacidad ni se sirven desde memoria
+            if (entrada != null && entrada.persistidoEn.compareAndSet(0, ahora)) {
+                capacidad.release();
+            }
+        }
+    }
+
+    private void purgarVentanaLectura() {
+        if (pendientes.isEmpty()) {
+            return;
+        }
+        long limite = System.currentTimeMillis() - retencionLectura.toMillis();
+        pendientes.values().removeIf(entrada -> {
+            long persistidoEn = entrada.persistidoEn.get();
+            return persistidoEn != 0 && persistidoEn < limite;
+        });
+    }
+
+    /**
+     * Devuelve la capacidad de una entrada que sale del búfer sin haberse vaciado; una sola vez, aunque la
+     * saquen a la vez el vaciado y un borrado.
+     */
+    private void liberarCapacidad(Entrada entrada) {
+        if (entrada.persistidoEn.compareAndSet(0, System.currentTimeMillis())) {
+            capacidad.release();
+        }
+    }
+
+    private long reservarId() {
+        synchronized (idsLock) {
+            if (siguienteId >= limiteIds) {
+                Long base = transactionTemplate.execute(status -> calculoRepository.reservarBloqueIds());
+                siguienteId = base;
+                limiteIds = base + Calculo.TAMANO_BLOQUE_IDS;
+            }
+            return siguienteId++;
+        }
+    }
+
+    @PreDestroy
+    public void cerrar() {
+        if (!isActiva()) {
+            return;
+        }
+        vaciador.shutdown();
+        try {
+            vaciador.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        vaciarSinPropagar();
+        diario.cerrar();
+        diario = null;
+    }
+
+    private static final class Reintento {
+
+        private final SegmentoRecuperado segmento;
+        private int rechazos;
+
+        private Reintento(SegmentoRecuperado segmento) {
+            this.segmento = segmento;
+        }
+    }
+
+    private static final class Entrada {
+
+        private final Calculo calculo;
+        // 0 mientras ocupa capacidad en el búfer
+        private final AtomicLong persistidoEn = new AtomicLong();
+
+        private Entrada(Calculo calculo) {
+            this.calculo = calculo;
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.bonofacil.platform.bonos.application.internal.eventhandlers;
+
+import com.bonofacil.platform.bonos.application.services.BonoService;
+import com.bonofacil.platform.bonos.application.services.CalculadoraBonoApplicationService;
+import com.bonofacil.platform.bonos.domain.model.entities.Bono;
+import com.bonofacil.platform.bonos.domain.model.entities.Calculo;
+import com.bonofacil.platform.bonos.domain.model.entities.FlujoFinanciero;
+import com.bonofacil.platform.bonos.domain.model.valueobjects.OrdenBono;
+import com.bonofacil.platform.bonos.domain.services.CalculoFinancieroService;
+import com.bonofacil.platform.bonos.infrastructure.persistence.jpa.repositories.CalculoRepository;
+import com.bonofacil.platform.bonos.interfaces.rest.transform.BonoResourceFromEntityAssembler;
+import com.bonofacil.platform.bonos.interfaces.rest.transform.CalculoResourceFromEntityAssembler;
+import com.bonofacil.platform.bonos.interfaces.rest.transform.FlujoFinancieroResourceFromEntityAssembler;
+import com.bonofacil.platform.shared.application.pagination.KeysetPage;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Calienta la aplicación al arrancar antes de aceptar tráfico.
+ * <p>
+ * Ejecuta cargas sintéticas de valoración para que el JIT compile las rutas de cálculo,
+ * serializa DTOs representativos para inicializar los metadatos de Jackson y precarga en caché
+ * el catálogo y los análisis de los bonos más consultados. El estado de readiness permanece
+ * en {@code REFUSING_TRAFFIC} hasta que termina o se agota el presupuesto de tiempo.
+ * </p>
+ */
+@Service
+public class WarmUpEventHandler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WarmUpEventHandler.class);
+    private static final BigDecimal TASA_REFERENCIA = new BigDecimal("0.08");
+
+    private final BonoService bonoService;
+    private final CalculadoraBonoApplicationService calculadoraBonoService;
+    private final CalculoFinancieroService calculoFinancieroService;
+    private final CalculoRepository calculoRepository;
+    private final ObjectMapper objectMapper;
+    private final boolean habilitado;
+    private final Duration presupuesto;
+    private final int iteraciones;
+    private final int bonosPrecargados;
+
+    public WarmUpEventHandler(BonoService bonoService,
+                              CalculadoraBonoApplicationService calculadoraBonoService,
+                              CalculoFinancieroService calculoFinancieroService,
+                              CalculoRepository calculoRepository,
+                              ObjectMapper objectMapper,
+                              @Value("${bonos.warmup.enabled:true}") boolean habilitado,
+                              @Value("${bonos.warmup.presupuesto:PT60S}") Duration presupuesto,
+                              @Value("${bonos.warmup.iteraciones:500}") int iteraciones,
+                              @Value("${bonos.warmup.bonos-precargados:20}") int bonosPrecargados) {
+        this.bonoService = bonoService;
+        this.calculadoraBonoService = calculadoraBonoService;
+        this.calculoFinancieroService = calculoFinancieroService;
+        this.calculoRepository = calculoRepository;
+        this.objectMapper = objectMapper;
+        this.habilitado = habilitado;
+        this.presupuesto = presupuesto;
+        this.iteraciones = iteraciones;
+        this.bonosPrecargados = bonosPrecargados;
+    }
+
+    @EventListener
+    public void on(ApplicationReadyEvent event) {
+        if (!habilitado) {
+            return;
+        }
+        ApplicationContext context = event.getApplicationContext();
+        AvailabilityChangeEvent.publish(context, ReadinessState.REFUSING_TRAFFIC);
+        LOGGER.info("Starting warm-up for {} with a budget of {}", context.getId(), presupuesto);
+
+        long inicio = System.nanoTime();
+        ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "warm-up"));
+        Future<?> tarea = executor.submit(this::calentar);
+        try {
+            tarea.get(presupuesto.toMillis(), TimeUnit.MILLISECONDS);
+            LOGGER.info("Warm-up finished in {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio));
+        } catch (TimeoutException e) {
+            tarea.cancel(true);
+            LOGGER.warn("Warm-up exceeded its budget of {}, accepting traffic anyway", presupuesto);
+        } catch (ExecutionException e) {
+            LOGGER.warn("Warm-up failed: {}", e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+            AvailabilityChangeEvent.publish(context, ReadinessState.ACCEPTING_TRAFFIC);
+        }
+    }
+
+    private void calentar() {
+        cargarMotorDeValoracion();
+        serializarRecursos();
+        precargarBonosFrecuentes();
+    }
+
+    /**
+     * Ejecuta valoraciones sobre bonos sintéticos para llevar las rutas de cálculo a código compilado.
+     */
+    private void cargarMotorDeValoracion() {
+        for (int i = 0; i < iteraciones && !Thread.currentThread().isInterrupted(); i++) {
+            // Se varía la tasa para no recorrer siempre los mismos valores
+            BigDecimal tasa = TASA_REFERENCIA.add(BigDecimal.valueOf(i % 10, 3));
+
+            Bono bono = crearBonoSintetico(i);
+            bono.calcularMetricas(tasa);
+            bono.calcularPrecioMercado(tasa);
+            bono.calcularTREA(bono.getValorNominal());
+
+            Bono bonoEmisor = crearBonoSintetico(i);
+            calculoFinancieroService.procesarCalculosBono(bonoEmisor);
+            calculoFinancieroService.calcularInversion(bonoEmisor, tasa.multiply(BigDecimal.valueOf(100)).doubleValue());
+        }
+    }
+
+    /**
+     * Serializa DTOs representativos para inicializar serializadores y metadatos de Jackson.
+     */
+    private void serializarRecursos() {
+        Bono bono = crearBonoSintetico(0);
+        bono.setId(0L);
+        Calculo calculo = calculoFinancieroService.calcularInversion(bono, 8.0);
+        List<FlujoFinanciero> flujos = calculoFinancieroService.calcularFlujoFinanciero(bono);
+        try {
+            objectMapper.writeValueAsBytes(BonoResourceFromEntityAssembler.toResourceFromEntity(bono));
+            objectMapper.writeValueAsBytes(CalculoResourceFromEntityAssembler.toResourceFromEntity(calculo));
+            objectMapper.writeValueAsBytes(flujos.stream()
+                    .map(FlujoFinancieroResourceFromEntityAssembler::toResourceFromEntity)
+                    .toList());
+        } catch (JsonProcessingException e) {
+            LOGGER.debug("Warm-up serialization failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Precarga el catálogo y los análisis de los bonos con más cálculos de inversores.
+     */
+    private void precargarBonosFrecuentes() {
+        bonoService.obtenerCatalogoBonos(null, OrdenBono.ID, KeysetPage.LIMITE_PREDETERMINADO);
+        List<Long> bonoIds = calculoRepository.findBonoIdsMasCalculados(PageRequest.of(0, bonosPrecargados));
+        for (Long bonoId : bonoIds) {
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            String id = bonoId.toString();
+            try {
+                calculadoraBonoService.calcularMetricas(id, TASA_REFERENCIA);
+                calculadoraBonoService.calcularPrecio(id, TASA_REFERENCIA);
+                calculadoraBonoService.calcularPrecioMercado(id, TASA_REFERENCIA);
+                calculadoraBonoService.generarFlujoCaja(id, TASA_REFERENCIA);
+            } catch (RuntimeException e) {
+                LOGGER.debug("Could not preload analytics for bono {}: {}", bonoId, e.getMessage());
+            }
+        }
+    }
+
+    private Bono crearBonoSintetico(int semilla) {
+        Bono bono = new Bono();
+        bono.setNombre("warm-up");
+        bono.setValorNominal(BigDecimal.valueOf(1000));
+        bono.setTasaCupon(BigDecimal.valueOf(6 + semilla % 4));
+        bono.setPlazoAnios(2 + semilla % 8);
+        bono.setFrecuenciaPagos(semilla % 2 == 0 ? 2 : 4);
+        bono.setMoneda("PEN");
+        bono.setFechaEmision(LocalDate.now());
+        bono.setMetodoAmortizacion("AMERICANO");
+        return bono;
+    }
+}
@@ -0,0 +1,96 @@
+package com.bonofacil.platform.bonos.application.internal.retencion;
+
+import com.bonofacil.platform.bonos.infrastructure.persistence.jpa.repositories.CalculoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Mantiene las particiones mensuales de la tabla de cálculos.
+ * <p>
+ * Crea por adelantado las particiones de los próximos meses, para que ningún cálculo caiga en la partición
+ * por defecto; si alguno ya cayó, se mueve a la partición de su mes al crearla. Archiva los meses que
+ * superan la retención: sus cálculos se copian agrupados por inversor a la tabla de archivo comprimida y la
+ * partición se elimina. Cada partición se archiva en su propia transacción. Un bloqueo consultivo evita que varios nodos hagan el mantenimiento a la vez.
+ * </p>
+ */
+@Component
+public class ParticionesCalculos {
+
+    private static final Logger logger = LoggerFactory.getLogger(ParticionesCalculos.class);
+
+    // Clave del bloqueo consultivo del mantenimiento de particiones de cálculos
+    private static final long CLAVE_BLOQUEO = 0x63616c63756c6fL;
+
+    private final CalculoRepository calculoRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean habilitado;
+    private final int mesesAdelante;
+    private final int mesesRetencion;
+
+    public ParticionesCalculos(CalculoRepository calculoRepository,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${bonos.calculos.particiones.enabled:true}") boolean habilitado,
+                               @Value("${bonos.calculos.particiones.meses-adelante:3}") int mesesAdelante,
+                               @Value("${bonos.calculos.particiones.retencion-meses:24}") int mesesRetencion) {
+        this.calculoRepository = calculoRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.habilitado = habilitado;
+        this.mesesAdelante = Math.max(1, mesesAdelante);
+        this.mesesRetencion = mesesRetencion;
+    }
+
+    @Scheduled(fixedDelayString = "${bonos.calculos.particiones.mantenimiento:PT6H}")
+    public void mantener() {
+        if (!habilitado) {
+            return;
+        }
+        try {
+            crearParticiones();
+            if (mesesRetencion > 0) {
+                archivarVencidas(YearMonth.now().minusMonths(mesesRetencion));
+            }
+        } catch (RuntimeException e) {
+            logger.warn("No se pudo mantener las particiones de cálculos: {}", e.getMessage());
+        }
+    }
+
+    private void crearParticiones() {
+        LocalDate hoy = LocalDate.now();
+        Integer creadas = transactionTemplate.execute(status -> calculoRepository.bloquearMantenimiento(CLAVE_BLOQUEO)
+                ? calculoRepository.crearParticiones(hoy, hoy.plusMonths(mesesAdelante))
+                : 0);
+        if (creadas != null && creadas > 0) {
+            logger.info("Creadas {} particiones mensuales de cálculos", creadas);
+        }
+    }
+
+    /**
+     * Archiva las particiones de los meses anteriores a {@code primerMesRetenido}.
+     */
+    private void archivarVencidas(YearMonth primerMesRetenido) {
+        List<String> vencidas = calculoRepository.findParticionesAnteriores(nombreParticion(primerMesRetenido));
+        for (String particion : vencidas) {
+            Integer archivados = transactionTemplate.execute(status ->
+                    calculoRepository.bloquearMantenimiento(CLAVE_BLOQUEO)
+                            ? calculoRepository.archivarParticion(particion)
+                            : null);
+            if (archivados == null) {
+                return;
+            }
+            logger.info("Archivada la partición {} con {} cálculos", particion, archivados);
+        }
+    }
+
+    static String nombreParticion(YearMonth mes) {
+        return String.format("calculos_%04d_%02d", mes.getYear(), mes.getMonthValue());
+    }
+}
@@ -1,17 +1,22 @@
 package com.bonofacil.platform.bonos.application.internal.services;
 
+import com.bonofacil.platform.bonos.application.services.EliminacionBonoService;
+import com.bonofacil.platform.bonos.domain.model.commands.ActualizarBonoCommand;
+import com.bonofacil.platform.bonos.domain.model.commands.CrearBonoCommand;
 import com.bonofacil.platform.bonos.domain.model.entities.Bono;
 import com.bonofacil.platform.bonos.domain.model.valueobjects.*;
+import com.bonofacil.platform.bonos.domain.services.BonoCommandService;
 import com.bonofacil.platform.bonos.domain.services.IBonoService;
 import com.bonofacil.platform.bonos.infrastructure.persistence.jpa.repositories.BonoRepository;
+import com.bonofacil.platform.shared.application.pagination.KeysetPage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -22,100 +27,67 @@ import java.util.stream.Collectors;
 public class BonoServiceImpl implements IBonoService {
     
     private static final Logger logger = LoggerFactory.getLogger(BonoServiceImpl.class);
+    private static final int LONGITUD_MINIMA_TRIGRAMA = 3;
+    private static final BigDecimal TASA_DESCUENTO_POR_DEFECTO = new BigDecimal("0.08");
     
     private final BonoRepository bonoRepository;
+    private final EliminacionBonoService eliminacionBonoService;
+    private final BonoCommandService bonoCommandService;
     
-    public BonoServiceImpl(BonoRepository bonoRepository) {
+    public BonoServiceImpl(BonoRepository bonoRepository,
+                           EliminacionBonoService eliminacionBonoService,
+                           BonoCommandService bonoCommandService) {
         this.bonoRepository = bonoRepository;
+        this.eliminacionBonoService = eliminacionBonoService;
+        this.bonoCommandService = bonoCommandService;
     }
     
     @Override
-    @Transactional
-    public Long crearBono(String nombre, BigDecimal valorNominal, BigDecimal tasaCupon,
+    public Bono crearBono(String nombre, BigDecimal valorNominal, BigDecimal tasaCupon,
                          int plazoAnios, int frecuenciaPagos, PlazoGracia plazoGracia,
                          Moneda moneda, TasaInteres tasaInteres, LocalDate fechaEmision,
                          String descripcion, BigDecimal tasaDescuento, String metodoAmortizacion) {
         
         logger.info("Creando bono en servicio: nombre={}, descripcion={}, tasaDescuento={}, metodoAmortizacion={}", 
                 nombre, descripcion, tasaDescuento, metodoAmortizacion);
-                
-        // Crear un nuevo bono
-        Bono bono = new Bono();
-        bono.setNombre(nombre);
-        bono.setValorNominal(valorNominal);
-        bono.setTasaCupon(tasaCupon);
-        bono.setPlazoAnios(plazoAnios);
-        bono.setFrecuenciaPagos(frecuenciaPagos);
-        bono.setPlazoGracia(plazoGracia);
-        bono.setMoneda(moneda.getCodigo());
-        bono.setTasaInteres(tasaInteres);
-        bono.setFechaEmision(fechaEmision);
-        bono.setDescripcion(descripcion);
-        bono.setTasaDescuento(tasaDescuento);
-        bono.setMetodoAmortizacion(metodoAmortizacion != null ? metodoAmortizacion : "AMERICANO");
         
-        logger.info("Bono previa persistencia: descripcion={}, tasaDescuento={}, metodoAmortizacion={}", 
-                bono.getDescripcion(), bono.getTasaDescuento(), bono.getMetodoAmortizacion());
+        // La tasa de interés, si se informa, prevalece sobre la tasa cupón y la frecuencia sueltas
+        BigDecimal tasa = tasaInteres != null ? tasaInteres.getValor() : tasaCupon;
+        int frecuencia = tasaInteres != null ? tasaInteres.getFrecuenciaCapitalizacion() : frecuenciaPagos;
         
-        // Generar flujo de caja inicial con tasa de descuento proporcionada o valor por defecto
-        bono.generarFlujoCajaMetodoAmericano(tasaDescuento != null ? tasaDescuento : new BigDecimal("0.08"));
-        
-        // Guardar el bono
-        Bono savedBono = bonoRepository.save(bono);
+        Bono savedBono = bonoCommandService.handle(new CrearBonoCommand(
+                nombre, descripcion, valorNominal, tasa, plazoAnios, frecuencia, moneda.getCodigo(),
+                fechaEmision, plazoGracia,
+                tasaDescuento != null ? tasaDescuento : TASA_DESCUENTO_POR_DEFECTO,
+                metodoAmortizacion, null));
         
         logger.info("Bono guardado: id={}, descripcion={}, tasaDescuento={}, metodoAmortizacion={}", 
                 savedBono.getId(), savedBono.getDescripcion(), savedBono.getTasaDescuento(), savedBono.getMetodoAmortizacion());
         
-        return savedBono.getId();
+        return savedBono;
     }
     
     @Override
-    @Transactional
     public boolean actualizarBono(Long id, String nombre, BigDecimal valorNominal, BigDecimal tasaCupon,
                                 int plazoAnios, int frecuenciaPagos, PlazoGracia plazoGracia,
                                 Moneda moneda, TasaInteres tasaInteres, LocalDate fechaEmision,
                                 String descripcion, BigDecimal tasaDescuento, String metodoAmortizacion) {
         
-        Optional<Bono> bonoOptional = bonoRepository.findById(id);
-        
-        if (bonoOptional.isPresent()) {
-            Bono bonoExistente = bonoOptional.get();
-            
-            // Actualizar los datos del bono existente
-            bonoExistente.setNombre(nombre);
-            bonoExistente.setValorNominal(valorNominal);
-            bonoExistente.setTasaCupon(tasaCupon);
-            bonoExistente.setPlazoAnios(plazoAnios);
-            bonoExistente.setFrecuenciaPagos(frecuenciaPagos);
-            bonoExistente.setPlazoGracia(plazoGracia);
-            bonoExistente.setMoneda(moneda.getCodigo());
-            bonoExistente.setTasaInteres(tasaInteres);
-            bonoExistente.setFechaEmision(fechaEmision);
-            bonoExistente.setDescripcion(descripcion);
-            bonoExistente.setTasaDescuento(tasaDescuento);
-            bonoExistente.setMetodoAmortizacion(metodoAmortizacion);
-            
-            // Generar flujo de caja actualizado con la tasa de descuento proporcionada
-            bonoExistente.generarFlujoCajaMetodoAmericano(tasaDescuento != null ? tasaDescuento : new BigDecimal("0.08"));
-            
-            // Guardar el bono actualizado
-            bonoRepository.save(bonoExistente);
-            
-            return true;
-        }
+        // La tasa de interés, si se informa, prevalece sobre la tasa cupón y la frecuencia sueltas
+        BigDecimal tasa = tasaInteres != null ? tasaInteres.getValor() : tasaCupon;
+        int frecuencia = tasaInteres != null ? tasaInteres.getFrecuenciaCapitalizacion() : frecuenciaPagos;
         
-        return false;
+        // Las métricas y el cronograma solo se recalculan si cambian los términos o la tasa de descuento
+        return bonoCommandService.handle(new ActualizarBonoCommand(
+                id, null, nombre, descripcion, valorNominal, tasa, plazoAnios, frecuencia, moneda.getCodigo(),
+                fechaEmision, plazoGracia,
+                tasaDescuento != null ? tasaDescuento : TASA_DESCUENTO_POR_DEFECTO,
+                metodoAmortizacion)).isPresent();
     }
     
     @Override
-    @Transactional
     public boolean eliminarBono(Long id) {
-        if (bonoRepository.existsById(id)) {
-            bonoRepository.deleteById(id);
-            return true;
-        }
-        
-        return false;
+        return eliminacionBonoService.eliminar(id);
     }
     
     @Override
@@ -129,8 +101,22 @@ public class BonoServiceImpl implements IBonoService {
     }
     
     @Override
-    public List<Bono> buscarBonosPorNombre(String nombre) {
-        return bonoRepository.findByNombreContainingIgnoreCase(nombre);
+    public List<Bono> buscarBonosPorNombre(String nombre, int limite) {
+        if (nombre == null || nombre.isBlank()) {
+            return List.of();
+        }
+        String termino = nombre.trim().toLowerCase(Locale.ROOT);
+        String escapado = escaparComodines(termino);
+        int limiteSeguro = KeysetPage.limiteSeguro(limite);
+        // Con menos de tres caracteres no hay trigramas completos: solo se busca por prefijo
+        if (termino.length() < LONGITUD_MINIMA_TRIGRAMA) {
+            return bonoRepository.buscarPorPrefijoNombre(escapado + "%", limiteSeguro);
+        }
+        return bonoRepository.buscarPorNombre(termino, "%" + escapado + "%", escapado + "%", limiteSeguro);
+    }
+    
+    private static String escaparComodines(String termino) {
+        return termino.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
     }
     
     @Override
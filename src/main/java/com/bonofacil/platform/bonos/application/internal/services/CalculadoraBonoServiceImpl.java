@@ -1,5 +1,8 @@
 package com.bonofacil.platform.bonos.application.internal.services;
 
+import com.bonofacil.platform.bonos.application.internal.cache.CodificadoresAnalisis;
+import com.bonofacil.platform.bonos.application.internal.cache.OperacionAnalisis;
+import com.bonofacil.platform.bonos.application.internal.cache.ResultadosAnalisisPersistentes;
 import com.bonofacil.platform.bonos.domain.model.entities.Bono;
 import com.bonofacil.platform.bonos.domain.model.entities.FlujoFinanciero;
 import com.bonofacil.platform.bonos.domain.model.valueobjects.DuracionConvexidad;
@@ -20,16 +23,20 @@ import java.util.List;
 public class CalculadoraBonoServiceImpl implements ICalculadoraBonoService {
     
     private final BonoRepository bonoRepository;
+    private final ResultadosAnalisisPersistentes resultadosPersistentes;
     
-    public CalculadoraBonoServiceImpl(BonoRepository bonoRepository) {
+    public CalculadoraBonoServiceImpl(BonoRepository bonoRepository,
+                                      ResultadosAnalisisPersistentes resultadosPersistentes) {
         this.bonoRepository = bonoRepository;
+        this.resultadosPersistentes = resultadosPersistentes;
     }
     
     @Override
     public List<FlujoFinanciero> generarFlujoCaja(String bonoId, BigDecimal tasaDescuento) {
         Long id = Long.parseLong(bonoId);
         return bonoRepository.findById(id)
-                .map(bono -> bono.generarFlujoCajaMetodoAmericano(tasaDescuento))
+                .map(bono -> resultadosPersistentes.obtener(OperacionAnalisis.FLUJO_CAJA, bono, tasaDescuento,
+                        CodificadoresAnalisis.FLUJO_CAJA, () -> bono.generarFlujoCajaMetodoAmericano(tasaDescuento)))
                 .orElse(Collections.emptyList());
     }
     
@@ -37,7 +44,8 @@ public class CalculadoraBonoServiceImpl implements ICalculadoraBonoService {
     public DuracionConvexidad calcularMetricas(String bonoId, BigDecimal tasaMercado) {
         Long id = Long.parseLong(bonoId);
         return bonoRepository.findById(id)
-                .map(bono -> bono.calcularMetricas(tasaMercado))
+                .map(bono -> resultadosPersistentes.obtener(OperacionAnalisis.METRICAS, bono, tasaMercado,
+                        CodificadoresAnalisis.METRICAS, () -> bono.calcularMetricas(tasaMercado)))
                 .orElseThrow(() -> new IllegalArgumentException("Bono no encontrado con ID: " + bonoId));
     }
     
@@ -45,7 +53,8 @@ public class CalculadoraBonoServiceImpl implements ICalculadoraBonoService {
     public BigDecimal calcularPrecio(String bonoId, BigDecimal tasaMercado) {
         Long id = Long.parseLong(bonoId);
         return bonoRepository.findById(id)
-                .map(bono -> bono.calcularPrecio(tasaMercado))
+                .map(bono -> resultadosPersistentes.obtener(OperacionAnalisis.PRECIO, bono, tasaMercado,
+                        CodificadoresAnalisis.PRECIO, () -> bono.calcularPrecio(tasaMercado)))
                 .orElseThrow(() -> new IllegalArgumentException("Bono no encontrado con ID: " + bonoId));
     }
     
@@ -53,7 +62,8 @@ public class CalculadoraBonoServiceImpl implements ICalculadoraBonoService {
     public Rendimiento calcularTCEA(String bonoId, BigDecimal costosEmision) {
         Long id = Long.parseLong(bonoId);
         return bonoRepository.findById(id)
-                .map(bono -> bono.calcularTCEA(costosEmision))
+                .map(bono -> resultadosPersistentes.obtener(OperacionAnalisis.TCEA, bono, costosEmision,
+                        CodificadoresAnalisis.RENDIMIENTO, () -> bono.calcularTCEA(costosEmision)))
                 .orElseThrow(() -> new IllegalArgumentException("Bono no encontrado con ID: " + bonoId));
     }
     
@@ -61,7 +71,8 @@ public class CalculadoraBonoServiceImpl implements ICalculadoraBonoService {
     public Rendimiento calcularTREA(String bonoId, BigDecimal precioCompra) {
         Long id = Long.parseLong(bonoId);
         return bonoRepository.findById(id)
-                .map(bono -> bono.calcularTREA(precioCompra))
+                .map(bono -> resultadosPersistentes.obtener(OperacionAnalisis.TREA, bono, precioCompra,
+                        CodificadoresAnalisis.RENDIMIENTO, () -> bono.calcularTREA(precioCompra)))
                 .orElseThrow(() -> new IllegalArgumentException("Bono no encontrado con ID: " + bonoId));
     }
     
@@ -69,7 +80,8 @@ public class CalculadoraBonoServiceImpl implements ICalculadoraBonoService {
     public PrecioMercado calcularPrecioMercado(String bonoId, BigDecimal tasaMercado) {
         Long id = Long.parseLong(bonoId);
         return bonoRepository.findById(id)
-                .map(bono -> bono.calcularPrecioMercado(tasaMercado))
+                .map(bono -> resultadosPersistentes.obtener(OperacionAnalisis.PRECIO_MERCADO, bono, tasaMercado,
+                        CodificadoresAnalisis.PRECIO_MERCADO, () -> bono.calcularPrecioMercado(tasaMercado)))
                 .orElseThrow(() -> new IllegalArgumentException("Bono no encontrado con ID: " + bonoId));
     }
 } 
\ No newline at end of file
@@ -4,8 +4,10 @@ import com.bonofacil.platform.bonos.domain.model.entities.Bono;
 import com.bonofacil.platform.bonos.domain.model.entities.Calculo;
 import com.bonofacil.platform.bonos.domain.model.entities.FlujoFinanciero;
 import com.bonofacil.platform.bonos.domain.services.CalculoFinancieroService;
+import com.bonofacil.platform.bonos.infrastructure.persistence.jpa.repositories.BonoRepository;
 import com.bonofacil.platform.bonos.infrastructure.persistence.jpa.repositories.CalculoRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.MathContext;
@@ -24,9 +26,11 @@ public class CalculoFinancieroServiceImpl implements CalculoFinancieroService {
     private static final MathContext MC = new MathContext(SCALE, ROUNDING_MODE);
 
     private final CalculoRepository calculoRepository;
+    private final BonoRepository bonoRepository;
 
-    public CalculoFinancieroServiceImpl(CalculoRepository calculoRepository) {
+    public CalculoFinancieroServiceImpl(CalculoRepository calculoRepository, BonoRepository bonoRepository) {
         this.calculoRepository = calculoRepository;
+        this.bonoRepository = bonoRepository;
     }
 
     @Override
@@ -357,7 +361,7 @@ public class CalculoFinancieroServiceImpl implements CalculoFinancieroService {
     }
 
     @Override
-    public void procesarCalculosBono(Bono bono) {
+    public List<FlujoFinanciero> procesarCalculosBono(Bono bono) {
         // 1. Calculamos el TCEA
         BigDecimal tcea = calcularTCEA(bono);
         bono.setTcea(tcea);
@@ -372,37 +376,91 @@ public class CalculoFinancieroServiceImpl implements CalculoFinancieroService {
         bono.setDuracion(duracion);
         bono.setConvexidad(convexidad);
         
-        // 4. Calculamos el precio máximo usando una tasa de mercado por defecto
-        // Por ejemplo, podríamos usar TCEA + 1% como tasa de mercado para inversores
-        BigDecimal tasaMercado = tcea.add(new BigDecimal("0.01"));
-        BigDecimal precioMaximo = calcularPrecioMaximo(flujos, tasaMercado);
+        // 4. Si el bono no tiene tasa de descuento usamos una tasa de mercado por defecto
+        // Por ejemplo, TCEA + 1% como tasa de mercado para inversores
+        BigDecimal tasaDescuento = bono.getTasaDescuento();
+        if (tasaDescuento == null || tasaDescuento.signum() <= 0) {
+            tasaDescuento = tcea.add(new BigDecimal("0.01"));
+            bono.setTasaDescuento(tasaDescuento);
+        }
         
-        // 5. Guardamos la tasa de descuento utilizada
-        bono.setTasaDescuento(tasaMercado);
+        // 5. Precio a la tasa de descuento y rendimiento comprando a la par
+        bono.setPrecio(calcularPrecioMaximo(flujos, tasaDescuento));
+        bono.setRendimientoPar(calcularTREA(bono, flujos, BigDecimal.valueOf(100)));
+        return flujos;
     }
 
     @Override
     public Calculo calcularInversion(Bono bono, BigDecimal tasaEsperada) {
-        // Asegurarse de que la tasa esté en formato decimal (ej: 0.05 para 5%)
-        BigDecimal tasaDecimal = tasaEsperada;
-        if (tasaEsperada.compareTo(BigDecimal.valueOf(0.1)) > 0) {
-            tasaDecimal = tasaEsperada.divide(BigDecimal.valueOf(100), SCALE, ROUNDING_MODE);
+        return calcularInversiones(bono, List.of(tasaEsperada)).get(0);
+    }
+
+    @Override
+    public List<Calculo> calcularInversiones(Bono bono, List<BigDecimal> tasasEsperadas) {
+        // El cronograma se genera una sola vez y sirve para el precio y la TREA de todas las tasas
+        List<FlujoFinanciero> flujos = calcularFlujoFinanciero(bono);
+        List<BigDecimal> preciosMaximos = calcularPreciosMaximos(flujos, tasasEsperadas.stream()
+                .map(this::aTasaDecimal)
+                .toList());
+
+        LocalDate hoy = LocalDate.now();
+        List<Calculo> calculos = new ArrayList<>(tasasEsperadas.size());
+        for (int i = 0; i < tasasEsperadas.size(); i++) {
+            Calculo calculo = new Calculo();
+            calculo.setBono(bono);
+            calculo.setTasaEsperada(tasasEsperadas.get(i)); // Guardamos la tasa en su formato original
+            calculo.setFechaCalculo(hoy);
+            // Precio máximo que debería pagar para obtener la tasa esperada y TREA real a ese precio
+            calculo.setPrecioMaximo(preciosMaximos.get(i));
+            calculo.setTrea(calcularTREA(bono, flujos, preciosMaximos.get(i)));
+            calculos.add(calculo);
+        }
+        return calculos;
+    }
+
+    /**
+     * Valor presente de los flujos para varias tasas en un solo recorrido del cronograma. Da el mismo
+     * resultado que {@link #calcularPrecioMaximo(List, BigDecimal)} para cada tasa por separado.
+     */
+    private List<BigDecimal> calcularPreciosMaximos(List<FlujoFinanciero> flujos, List<BigDecimal> tasasDecimales) {
+        if (flujos == null || flujos.isEmpty()) {
+            return tasasDecimales.stream().map(tasa -> BigDecimal.ZERO).toList();
         }
-        
-        Calculo calculo = new Calculo();
-        calculo.setBono(bono);
-        calculo.setTasaEsperada(tasaEsperada); // Guardamos la tasa en su formato original
-        calculo.setFechaCalculo(LocalDate.now());
-        
-        // Calculamos el precio máximo que debería pagar para obtener la tasa esperada
-        BigDecimal precioMaximo = calcularPrecioMaximo(bono, tasaDecimal);
-        calculo.setPrecioMaximo(precioMaximo);
-        
-        // Calculamos la TREA real basada en ese precio máximo
-        BigDecimal trea = calcularTREA(bono, precioMaximo);
-        calculo.setTrea(trea);
-        
-        return calculo;
+        Bono bono = flujos.get(0).getBono();
+        int frecuenciaPagos = (bono != null) ? bono.getFrecuenciaPagos() : 2;
+
+        int n = tasasDecimales.size();
+        BigDecimal[] bases = new BigDecimal[n];
+        BigDecimal[] precios = new BigDecimal[n];
+        for (int j = 0; j < n; j++) {
+            bases[j] = BigDecimal.ONE.add(calcularTasaEfectivaPeriodica(aTasaDecimal(tasasDecimales.get(j)), frecuenciaPagos));
+            precios[j] = BigDecimal.ZERO;
+        }
+        for (int i = 1; i < flujos.size(); i++) {
+            FlujoFinanciero flujo = flujos.get(i);
+            BigDecimal flujoValor = flujo.getFlujoTotal();
+            if (flujoValor == null || flujoValor.compareTo(BigDecimal.ZERO) <= 0) {
+                continue;
+            }
+            for (int j = 0; j < n; j++) {
+                BigDecimal factorDescuento = BigDecimal.ONE
+                        .divide(bases[j].pow(flujo.getPeriodo(), MC), SCALE, ROUNDING_MODE);
+                precios[j] = precios[j].add(flujoValor.multiply(factorDescuento, MC));
+            }
+        }
+        List<BigDecimal> resultado = new ArrayList<>(n);
+        for (BigDecimal precio : precios) {
+            resultado.add(precio.setScale(2, ROUNDING_MODE));
+        }
+        return resultado;
+    }
+
+    // Asegurarse de que la tasa esté en formato decimal (ej: 0.05 para 5%)
+    private BigDecimal aTasaDecimal(BigDecimal tasa) {
+        if (tasa.compareTo(BigDecimal.valueOf(0.1)) > 0) {
+            return tasa.divide(BigDecimal.valueOf(100), SCALE, ROUNDING_MODE);
+        }
+        return tasa;
     }
 
     @Override
@@ -430,6 +488,13 @@ public class CalculoFinancieroServiceImpl implements CalculoFinancieroService {
 
     @Override
     public BigDecimal calcularTREA(Bono bono, BigDecimal precioCompra) {
+        return calcularTREA(bono, calcularFlujoFinanciero(bono), precioCompra);
+    }
+
+    /**
+     * TREA a partir de un cronograma ya generado para el bono.
+     */
+    private BigDecimal calcularTREA(Bono bono, List<FlujoFinanciero> flujos, BigDecimal precioCompra) {
         // Asegurarse de que el precio de compra esté en formato correcto
         BigDecimal precioCompraDecimal = precioCompra;
         if (precioCompra.compareTo(BigDecimal.valueOf(100)) <= 0) {
@@ -437,9 +502,6 @@ public class CalculoFinancieroServiceImpl implements CalculoFinancieroService {
             precioCompraDecimal = bono.getValorNominal().multiply(precioCompra.divide(BigDecimal.valueOf(100), MC));
         }
         
-        // Genera flujos financieros del bono
-        List<FlujoFinanciero> flujos = calcularFlujoFinanciero(bono);
-        
         // Calcula la TREA como TIR de la inversión
         return calcularTIR(flujos, precioCompraDecimal, bono);
     }
@@ -773,8 +835,19 @@ public class CalculoFinancieroServiceImpl implements CalculoFinancieroService {
     }
 
     @Override
+    @Transactional
     public Bono corregirCalculosBonoAmericano(Long bonoId) {
-        // Esta implementación es solo un ejemplo y debe adaptarse según las necesidades
-        return null;
+        // Versión puntual de RecalculoBonosService: métricas del bono y cálculos de inversión derivados
+        Bono bono = bonoRepository.findById(bonoId).orElse(null);
+        if (bono == null) {
+            return null;
+        }
+        procesarCalculosBono(bono);
+        for (Calculo calculo : calculoRepository.findByBono_Id(bonoId)) {
+            if (calculo.getTasaEsperada() != null) {
+                procesarCalculosInversor(calculo);
+            }
+        }
+        return bono;
     }
 }
\ No newline at end of file
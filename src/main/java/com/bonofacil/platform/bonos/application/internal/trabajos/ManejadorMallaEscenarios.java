@@ -0,0 +1,120 @@
+package com.bonofacil.platform.bonos.application.internal.trabajos;
+
+import com.bonofacil.platform.bonos.domain.model.entities.Bono;
+import com.bonofacil.platform.bonos.domain.model.entities.Calculo;
+import com.bonofacil.platform.bonos.domain.services.CalculoFinancieroService;
+import com.bonofacil.platform.bonos.infrastructure.persistence.jpa.repositories.BonoRepository;
+import com.bonofacil.platform.trabajos.domain.services.ManejadorTrabajo;
+import com.bonofacil.platform.trabajos.domain.services.ProgresoTrabajo;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Valora un bono sobre una malla de tasas esperadas fuera del hilo de la petición.
+ * <p>
+ * Parámetros: {@code {"bonoId": 1, "tasas": [5, 6, 7]}} o un rango
+ * {@code {"bonoId": 1, "desde": 4, "hasta": 10, "paso": 0.25}}. El resultado es un arreglo con
+ * la tasa esperada, el precio máximo y la TREA de cada punto. No persiste nada, por lo que
+ * reejecutarlo es inocuo.
+ * </p>
+ */
+@Component
+public class ManejadorMallaEscenarios implements ManejadorTrabajo {
+
+    public static final String TIPO = "MALLA_ESCENARIOS";
+
+    private final BonoRepository bonoRepository;
+    private final CalculoFinancieroService calculoFinancieroService;
+    private final ObjectMapper objectMapper;
+    private final int maxPuntos;
+
+    public ManejadorMallaEscenarios(BonoRepository bonoRepository, CalculoFinancieroService calculoFinancieroService,
+                                    ObjectMapper objectMapper,
+                                    @Value("${trabajos.malla-escenarios.max-puntos:2000}") int maxPuntos) {
+        this.bonoRepository = bonoRepository;
+        this.calculoFinancieroService = calculoFinancieroService;
+        this.objectMapper = objectMapper;
+        this.maxPuntos = maxPuntos;
+    }
+
+    @Override
+    public String tipo() {
+        return TIPO;
+    }
+
+    @Override
+    public void validar(String parametros) {
+        leerTasas(leer(parametros));
+    }
+
+    @Override
+    public String ejecutar(String parametros, ProgresoTrabajo progreso) throws Exception {
+        JsonNode nodo = leer(parametros);
+        List<BigDecimal> tasas = leerTasas(nodo);
+        Bono bono = bonoRepository.findById(nodo.path("bonoId").asLong())
+                .orElseThrow(() -> new IllegalArgumentException("Bono no encontrado: " + nodo.path("bonoId").asText()));
+
+        ArrayNode puntos = objectMapper.createArrayNode();
+        for (int i = 0; i < tasas.size(); i++) {
+            Calculo calculo = calculoFinancieroService.calcularInversion(bono, tasas.get(i));
+            puntos.addObject()
+                    .put("tasaEsperada", tasas.get(i))
+                    .put("precioMaximo", calculo.getPrecioMaximo())
+                    .put("trea", calculo.getTrea());
+            progreso.reportar((i + 1) * 100 / tasas.size());
+        }
+        return objectMapper.writeValueAsString(puntos);
+    }
+
+    private JsonNode leer(String parametros) {
+        try {
+            JsonNode nodo = objectMapper.readTree(parametros);
+            if (nodo == null || !nodo.path("bonoId").canConvertToLong()) {
+                throw new IllegalArgumentException("Se requiere bonoId");
+            }
+            return nodo;
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Parámetros no son JSON válido");
+        }
+    }
+
+    private List<BigDecimal> leerTasas(JsonNode nodo) {
+        List<BigDecimal> tasas = new ArrayList<>();
+        if (nodo.has("tasas")) {
+            for (JsonNode tasa : nodo.path("tasas")) {
+                if (!tasa.isNumber()) {
+                    throw new IllegalArgumentException("Las tasas deben ser numéricas");
+                }
+                tasas.add(tasa.decimalValue());
+            }
+        } else if (nodo.has("desde") && nodo.has("hasta") && nodo.has("paso")) {
+            BigDecimal desde = nodo.path("desde").decimalValue();
+            BigDecimal hasta = nodo.path("hasta").decimalValue();
+            BigDecimal paso = nodo.path("paso").decimalValue();
+            if (paso.signum() <= 0 || desde.compareTo(hasta) > 0) {
+                throw new IllegalArgumentException("Rango de tasas inválido");
+            }
+            for (BigDecimal tasa = desde; tasa.compareTo(hasta) <= 0 && tasas.size() <= maxPuntos; tasa = tasa.add(paso)) {
+                tasas.add(tasa);
+            }
+        }
+        if (tasas.isEmpty()) {
+            throw new IllegalArgumentException("Se requieren tasas o un rango desde/hasta/paso");
+        }
+        if (tasas.size() > maxPuntos) {
+            throw new IllegalArgumentException("La malla excede el máximo de " + maxPuntos + " puntos");
+        }
+        if (tasas.stream().anyMatch(tasa -> tasa.signum() <= 0)) {
+            throw new IllegalArgumentException("Las tasas deben ser positivas");
+        }
+        return tasas;
+    }
+}
@@ -0,0 +1,79 @@
+package com.bonofacil.platform.bonos.application.internal.trabajos;
+
+import com.bonofacil.platform.bonos.application.services.RecalculoBonosService;
+import com.bonofacil.platform.bonos.domain.model.valueobjects.ResumenRecalculo;
+import com.bonofacil.platform.iam.domain.model.valueobjects.Roles;
+import com.bonofacil.platform.trabajos.domain.services.ManejadorTrabajo;
+import com.bonofacil.platform.trabajos.domain.services.ProgresoTrabajo;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+/**
+ * Recalcula todos los bonos tras corregir una fórmula. Solo los administradores pueden enviarlo.
+ * <p>
+ * Parámetros opcionales: {@code {"regenerarFlujos": true}} para sustituir también los cronogramas persistidos.
+ * Cada lote confirmado se guarda como punto de control, de modo que un reintento continúa desde el último
+ * bono escrito en vez de empezar de nuevo. El resultado son los totales del recálculo.
+ * </p>
+ */
+@Component
+public class ManejadorRecalculoBonos implements ManejadorTrabajo {
+
+    public static final String TIPO = "RECALCULO_BONOS";
+
+    private final RecalculoBonosService recalculoBonosService;
+    private final ObjectMapper objectMapper;
+
+    public ManejadorRecalculoBonos(RecalculoBonosService recalculoBonosService, ObjectMapper objectMapper) {
+        this.recalculoBonosService = recalculoBonosService;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public String tipo() {
+        return TIPO;
+    }
+
+    @Override
+    public String rolRequerido() {
+        return Roles.ROLE_ADMIN.name();
+    }
+
+    @Override
+    public void validar(String parametros) {
+        leer(parametros);
+    }
+
+    @Override
+    public String ejecutar(String parametros, ProgresoTrabajo progreso) throws Exception {
+        boolean regenerarFlujos = leer(parametros).path("regenerarFlujos").asBoolean(false);
+        ResumenRecalculo inicio = progreso.puntoControl() != null
+                ? objectMapper.readValue(progreso.puntoControl(), ResumenRecalculo.class)
+                : ResumenRecalculo.desde(0);
+
+        long total = inicio.procesados() + recalculoBonosService.contarPendientes(inicio.ultimoId());
+        ResumenRecalculo resumen = recalculoBonosService.recalcular(inicio, regenerarFlujos, avance -> {
+            int porcentaje = total > 0 ? (int) Math.min(99, avance.procesados() * 100 / total) : 99;
+            try {
+                progreso.guardarPuntoControl(objectMapper.writeValueAsString(avance), porcentaje);
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        return objectMapper.writeValueAsString(resumen);
+    }
+
+    private JsonNode leer(String parametros) {
+        try {
+            JsonNode nodo = objectMapper.readTree(parametros == null || parametros.isBlank() ? "{}" : parametros);
+            if (!nodo.isObject()) {
+                throw new IllegalArgumentException("Los parámetros deben ser un objeto JSON");
+            }
+            return nodo;
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Parámetros no son JSON válido");
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.bonofacil.platform.bonos.application.internal.valoraciones;
+
+import com.bonofacil.platform.bonos.application.services.ValoracionBonoService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Registra al cierre de cada día la valoración de todos los bonos. Si varios nodos lo ejecutan, solo el
+ * primero inserta filas: el resto encuentra las valoraciones del día ya registradas.
+ */
+@Component
+public class CierreValoraciones {
+
+    private static final Logger logger = LoggerFactory.getLogger(CierreValoraciones.class);
+
+    private final ValoracionBonoService valoracionBonoService;
+    private final boolean habilitado;
+
+    public CierreValoraciones(ValoracionBonoService valoracionBonoService,
+                              @Value("${bonos.valoraciones.enabled:true}") boolean habilitado) {
+        this.valoracionBonoService = valoracionBonoService;
+        this.habilitado = habilitado;
+    }
+
+    @Scheduled(cron = "${bonos.valoraciones.cierre:0 55 23 * * *}")
+    public void registrarCierre() {
+        if (!habilitado) {
+            return;
+        }
+        LocalDate hoy = LocalDate.now();
+        try {
+            int registradas = valoracionBonoService.registrarCierre(hoy);
+            logger.info("Cierre de valoraciones del {}: {} bonos", hoy, registradas);
+        } catch (RuntimeException e) {
+            logger.warn("No se pudo registrar el cierre de valoraciones del {}: {}", hoy, e.getMessage());
+        }
+    }
+}
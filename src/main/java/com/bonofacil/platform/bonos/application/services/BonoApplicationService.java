@@ -1,7 +1,9 @@
 package com.bonofacil.platform.bonos.application.services;
 
+import com.bonofacil.platform.bonos.domain.model.commands.ActualizarBonoCommand;
 import com.bonofacil.platform.bonos.domain.model.entities.Bono;
 import com.bonofacil.platform.bonos.domain.model.valueobjects.*;
+import com.bonofacil.platform.bonos.domain.services.BonoCommandService;
 import com.bonofacil.platform.bonos.domain.services.IBonoService;
 import org.springframework.stereotype.Service;
 
@@ -17,15 +19,17 @@ import java.util.Optional;
 public class BonoApplicationService {
     
     private final IBonoService bonoService;
+    private final BonoCommandService bonoCommandService;
     
-    public BonoApplicationService(IBonoService bonoService) {
+    public BonoApplicationService(IBonoService bonoService, BonoCommandService bonoCommandService) {
         this.bonoService = bonoService;
+        this.bonoCommandService = bonoCommandService;
     }
     
     /**
-     * Crea un nuevo bono.
+     * Crea un nuevo bono y lo devuelve tal como quedó persistido.
      */
-    public Long crearBono(String nombre, BigDecimal valorNominal, BigDecimal tasaCupon,
+    public Bono crearBono(String nombre, BigDecimal valorNominal, BigDecimal tasaCupon,
                         int plazoAnios, int frecuenciaPagos, PlazoGracia plazoGracia,
                         Moneda moneda, TasaInteres tasaInteres, LocalDate fechaEmision,
                         String descripcion, BigDecimal tasaDescuento, String metodoAmortizacion) {
@@ -52,6 +56,13 @@ public class BonoApplicationService {
         );
     }
     
+    /**
+     * Modifica solo los campos informados del bono.
+     */
+    public Optional<Bono> modificarBono(ActualizarBonoCommand command) {
+        return bonoCommandService.handle(command);
+    }
+    
     /**
      * Elimina un bono.
      */
@@ -76,8 +87,8 @@ public class BonoApplicationService {
     /**
      * Busca bonos por nombre.
      */
-    public List<Bono> buscarBonosPorNombre(String nombre) {
-        return bonoService.buscarBonosPorNombre(nombre);
+    public List<Bono> buscarBonosPorNombre(String nombre, int limite) {
+        return bonoService.buscarBonosPorNombre(nombre, limite);
     }
     
     /**
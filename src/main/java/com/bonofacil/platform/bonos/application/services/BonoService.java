@@ -1,101 +1,211 @@
 package com.bonofacil.platform.bonos.application.services;
 
+import com.bonofacil.platform.bonos.application.internal.cache.BonoConsultaCache;
 import com.bonofacil.platform.bonos.domain.model.entities.Bono;
 import com.bonofacil.platform.bonos.domain.model.entities.FlujoFinanciero;
+import com.bonofacil.platform.bonos.domain.model.projections.BonoCatalogoItem;
+import com.bonofacil.platform.bonos.domain.model.queries.FiltrarCatalogoBonosQuery;
+import com.bonofacil.platform.bonos.domain.model.valueobjects.OrdenBono;
 import com.bonofacil.platform.bonos.infrastructure.persistence.jpa.repositories.BonoRepository;
-import com.bonofacil.platform.bonos.infrastructure.persistence.jpa.repositories.FlujoFinancieroRepository;
+import com.bonofacil.platform.bonos.infrastructure.persistence.jpa.specifications.BonoSpecifications;
+import com.bonofacil.platform.shared.application.exceptions.InvalidValueException;
+import com.bonofacil.platform.shared.application.pagination.KeysetCursor;
+import com.bonofacil.platform.shared.application.pagination.KeysetPage;
+import com.bonofacil.platform.shared.infrastructure.caching.CachedValue;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 
 @Service
 public class BonoService {
 
+    // Valor inicial para recorrer por tasa cupón desde la primera página
+    private static final BigDecimal TASA_MINIMA = new BigDecimal("-1000000");
+
     private final BonoRepository bonoRepository;
-    private final FlujoFinancieroRepository flujoFinancieroRepository;
+    private final FlujoFinancieroService flujoFinancieroService;
+    private final EliminacionBonoService eliminacionBonoService;
+    private final BonoConsultaCache bonoConsultaCache;
+    // Las cargas de la caché no pasan por el proxy y la recarga en segundo plano corre en otro hilo
+    private final TransactionTemplate lecturaCatalogo;
 
     @Autowired
-    public BonoService(BonoRepository bonoRepository, FlujoFinancieroRepository flujoFinancieroRepository) {
+    public BonoService(BonoRepository bonoRepository, FlujoFinancieroService flujoFinancieroService,
+                       EliminacionBonoService eliminacionBonoService, BonoConsultaCache bonoConsultaCache,
+                       PlatformTransactionManager transactionManager) {
         this.bonoRepository = bonoRepository;
-        this.flujoFinancieroRepository = flujoFinancieroRepository;
-    }
-
-    public Bono crearBono(Bono bono) {
-        validarBono(bono);
-        return bonoRepository.save(bono);
+        this.flujoFinancieroService = flujoFinancieroService;
+        this.eliminacionBonoService = eliminacionBonoService;
+        this.bonoConsultaCache = bonoConsultaCache;
+        this.lecturaCatalogo = new TransactionTemplate(transactionManager);
+        this.lecturaCatalogo.setReadOnly(true);
     }
 
+    @Transactional(readOnly = true)
     public Optional<Bono> obtenerBonoPorId(Long id) {
         return bonoRepository.findById(id);
     }
 
-    public List<Bono> obtenerTodosLosBonos() {
-        return bonoRepository.findAll();
+    /**
+     * Obtiene una página del catálogo con paginación por clave, leída como proyección de solo lectura.
+     *
+     * @param cursor Cursor opaco de la página anterior, o {@code null} para la primera
+     * @param orden Clave de orden
+     * @param limite Tamaño de página solicitado
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<BonoCatalogoItem> obtenerTodosLosBonos(String cursor, OrdenBono orden, int limite) {
+        int limiteSeguro = KeysetPage.limiteSeguro(limite);
+        KeysetCursor posicion = KeysetCursor.decodificar(cursor, orden.getClave());
+        long ultimoId = posicion != null ? posicion.id() : 0L;
+        Pageable pagina = PageRequest.of(0, limiteSeguro + 1);
+
+        List<BonoCatalogoItem> filas;
+        try {
+            filas = switch (orden) {
+                case ID -> bonoRepository.findCatalogoPorId(ultimoId, pagina);
+                case FECHA_CREACION -> bonoRepository.findCatalogoPorFechaCreacion(
+                        fechaDesde(posicion), ultimoId, pagina);
+                case TASA_CUPON -> bonoRepository.findCatalogoPorTasaCupon(tasaDesde(posicion), ultimoId, pagina);
+            };
+        } catch (NumberFormatException e) {
+            throw new InvalidValueException("Cursor de paginación inválido");
+        }
+        return KeysetPage.of(filas, limiteSeguro,
+                item -> cursorDe(orden, item.id(), item.createdAt(), item.tasaCupon()));
+    }
+
+    /**
+     * Obtiene una página del catálogo de bonos desde la caché de lectura, tolerando valores obsoletos
+     * dentro del límite configurado cuando la base de datos está bajo presión. Cada carga, también la
+     * recarga en segundo plano, se hace en una transacción de solo lectura para que vaya a la réplica.
+     */
+    public CachedValue<KeysetPage<BonoCatalogoItem>> obtenerCatalogoBonos(String cursor, OrdenBono orden, int limite) {
+        int limiteSeguro = KeysetPage.limiteSeguro(limite);
+        String clavePagina = orden.getClave() + "|" + (cursor != null ? cursor : "") + "|" + limiteSeguro;
+        return bonoConsultaCache.catalogo(clavePagina,
+                () -> lecturaCatalogo.execute(status -> obtenerTodosLosBonos(cursor, orden, limiteSeguro)));
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<BonoCatalogoItem> obtenerItemCatalogo(Long id) {
+        return bonoRepository.findItemCatalogoById(id);
     }
 
-    public List<Bono> obtenerBonosPorEmisor(String emisorUsername) {
-        return bonoRepository.findByEmisorUsername(emisorUsername);
+    /**
+     * Obtiene una página de los bonos de un emisor. Devuelve entidades porque el emisor las edita.
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<Bono> obtenerBonosPorEmisor(String emisorUsername, String cursor, OrdenBono orden, int limite) {
+        int limiteSeguro = KeysetPage.limiteSeguro(limite);
+        KeysetCursor posicion = KeysetCursor.decodificar(cursor, orden.getClave());
+        long ultimoId = posicion != null ? posicion.id() : 0L;
+        // Se pide una fila extra para saber si existe una página siguiente
+        Pageable pagina = PageRequest.of(0, limiteSeguro + 1);
+
+        List<Bono> filas;
+        try {
+            filas = switch (orden) {
+                case ID -> bonoRepository.findPaginaEmisorPorId(emisorUsername, ultimoId, pagina);
+                case FECHA_CREACION -> bonoRepository.findPaginaEmisorPorFechaCreacion(
+                        emisorUsername, fechaDesde(posicion), ultimoId, pagina);
+                case TASA_CUPON -> bonoRepository.findPaginaEmisorPorTasaCupon(
+                        emisorUsername, tasaDesde(posicion), ultimoId, pagina);
+            };
+        } catch (NumberFormatException e) {
+            throw new InvalidValueException("Cursor de paginación inválido");
+        }
+        return KeysetPage.of(filas, limiteSeguro,
+                bono -> cursorDe(orden, bono.getId(), bono.getCreatedAt(), bono.getTasaCupon()));
+    }
+
+    private static Date fechaDesde(KeysetCursor posicion) {
+        return new Date(posicion != null ? Long.parseLong(posicion.valor()) : 0L);
+    }
+
+    private static BigDecimal tasaDesde(KeysetCursor posicion) {
+        return posicion != null ? new BigDecimal(posicion.valor()) : TASA_MINIMA;
+    }
+
+    private static KeysetCursor cursorDe(OrdenBono orden, Long id, Date createdAt, BigDecimal tasaCupon) {
+        return switch (orden) {
+            case ID -> KeysetCursor.porId(orden.getClave(), id);
+            case FECHA_CREACION -> new KeysetCursor(orden.getClave(), String.valueOf(createdAt.getTime()), id);
+            case TASA_CUPON -> new KeysetCursor(orden.getClave(), tasaCupon.toPlainString(), id);
+        };
     }
 
-    public List<Bono> obtenerBonosPorMoneda(String moneda) {
-        return bonoRepository.findByMoneda(moneda);
+    @Transactional(readOnly = true)
+    public List<BonoCatalogoItem> obtenerBonosPorMoneda(String moneda) {
+        return bonoRepository.findCatalogoPorMoneda(moneda);
     }
 
-    public List<Bono> obtenerBonosPorRangoTasa(double tasaMinima, double tasaMaxima) {
+    @Transactional(readOnly = true)
+    public List<BonoCatalogoItem> obtenerBonosPorRangoTasa(double tasaMinima, double tasaMaxima) {
         BigDecimal minTasa = BigDecimal.valueOf(tasaMinima);
         
         if (tasaMaxima == Double.MAX_VALUE) {
             // Si no se especificó tasa máxima, buscar bonos con tasa mayor o igual a la mínima
-            return bonoRepository.findByTasaCuponGreaterThanEqual(minTasa);
+            return bonoRepository.findCatalogoPorTasaCuponDesde(minTasa);
         } else {
             BigDecimal maxTasa = BigDecimal.valueOf(tasaMaxima);
-            return bonoRepository.findByTasaCuponBetween(minTasa, maxTasa);
+            return bonoRepository.findCatalogoPorTasaCuponEntre(minTasa, maxTasa);
         }
     }
 
-    public Bono actualizarBono(Long id, Bono bono) {
-        validarBono(bono);
-        return bonoRepository.findById(id)
-                .map(existingBono -> {
-                    bono.setId(id);
-                    return bonoRepository.save(bono);
-                })
-                .orElseThrow(() -> new IllegalArgumentException("Bono no encontrado"));
+    /**
+     * Filtra bonos por duración, TCEA y opcionalmente moneda sobre las métricas persistidas.
+     */
+    @Transactional(readOnly = true)
+    public List<BonoCatalogoItem> filtrarBonosPorMetricas(BigDecimal duracionMin, BigDecimal duracionMax,
+                                                          BigDecimal tceaMin, String moneda, int limite) {
+        Pageable pagina = PageRequest.of(0, KeysetPage.limiteSeguro(limite));
+        if (moneda == null || moneda.isBlank()) {
+            return bonoRepository.findCatalogoPorMetricas(duracionMin, duracionMax, tceaMin, pagina);
+        }
+        return bonoRepository.findCatalogoPorMonedaYMetricas(moneda, duracionMin, duracionMax, tceaMin, pagina);
+    }
+
+    /**
+     * Filtra el catálogo combinando los criterios informados en la consulta, ordenado en el servidor.
+     */
+    @Transactional(readOnly = true)
+    public List<BonoCatalogoItem> filtrarCatalogo(FiltrarCatalogoBonosQuery consulta) {
+        validarRango(consulta.tasaCuponMin(), consulta.tasaCuponMax(), "tasa cupón");
+        validarRango(consulta.plazoAniosMin(), consulta.plazoAniosMax(), "plazo");
+        validarRango(consulta.fechaEmisionDesde(), consulta.fechaEmisionHasta(), "fecha de emisión");
+        validarRango(consulta.duracionMin(), consulta.duracionMax(), "duración");
+        return bonoRepository.filtrarCatalogo(BonoSpecifications.desde(consulta), consulta.orden(),
+                consulta.descendente(), KeysetPage.limiteSeguro(consulta.limite()));
+    }
+
+    private static <T extends Comparable<? super T>> void validarRango(T minimo, T maximo, String criterio) {
+        if (minimo != null && maximo != null && minimo.compareTo(maximo) > 0) {
+            throw new InvalidValueException("Rango de " + criterio + " inválido: el mínimo supera al máximo");
+        }
     }
 
     public void eliminarBono(Long id) {
-        bonoRepository.deleteById(id);
+        eliminacionBonoService.eliminar(id);
     }
 
     public void validarBono(Bono bono) {
-        // Implementación básica
-        if (bono.getValorNominal() == null || bono.getValorNominal().compareTo(BigDecimal.ZERO) <= 0) {
-            throw new IllegalArgumentException("El valor nominal debe ser positivo");
-        }
-        
-        if (bono.getTasaCupon() == null) {
-            throw new IllegalArgumentException("La tasa cupón no puede ser nula");
-        }
-        
-        if (bono.getPlazoAnios() <= 0) {
-            throw new IllegalArgumentException("El plazo en años debe ser positivo");
-        }
-        
-        if (bono.getFrecuenciaPagos() <= 0) {
-            throw new IllegalArgumentException("La frecuencia de pagos debe ser positiva");
-        }
-        
-        if (bono.getFechaEmision() == null) {
-            throw new IllegalArgumentException("La fecha de emisión no puede ser nula");
-        }
+        bono.validarTerminos();
     }
 
+    @Transactional(readOnly = true)
     public List<FlujoFinanciero> obtenerFlujoFinancieroBono(Long id) {
         return bonoRepository.findById(id)
-                .map(flujoFinancieroRepository::findByBonoOrderByPeriodo)
+                .map(flujoFinancieroService::obtenerFlujos)
                 .orElse(null);
     }
 }
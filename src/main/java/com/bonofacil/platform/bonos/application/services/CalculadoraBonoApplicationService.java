@@ -1,10 +1,14 @@
 package com.bonofacil.platform.bonos.application.services;
 
+import com.bonofacil.platform.bonos.application.internal.cache.BonoConsultaCache;
+import com.bonofacil.platform.bonos.application.internal.cache.ClaveAnalisis;
+import com.bonofacil.platform.bonos.application.internal.cache.OperacionAnalisis;
 import com.bonofacil.platform.bonos.domain.model.entities.FlujoFinanciero;
 import com.bonofacil.platform.bonos.domain.model.valueobjects.DuracionConvexidad;
 import com.bonofacil.platform.bonos.domain.model.valueobjects.PrecioMercado;
 import com.bonofacil.platform.bonos.domain.model.valueobjects.Rendimiento;
 import com.bonofacil.platform.bonos.domain.services.ICalculadoraBonoService;
+import com.bonofacil.platform.shared.infrastructure.caching.CachedValue;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
@@ -12,55 +16,84 @@ import java.util.List;
 
 /**
  * Servicio de aplicación que hace de fachada para los servicios de cálculo de bonos.
+ * Los resultados se sirven desde {@link BonoConsultaCache} con su antigüedad.
  */
 @Service
 public class CalculadoraBonoApplicationService {
-    
+
     private final ICalculadoraBonoService calculadoraBonoService;
-    
-    public CalculadoraBonoApplicationService(ICalculadoraBonoService calculadoraBonoService) {
+    private final BonoConsultaCache bonoConsultaCache;
+
+    public CalculadoraBonoApplicationService(ICalculadoraBonoService calculadoraBonoService,
+                                             BonoConsultaCache bonoConsultaCache) {
         this.calculadoraBonoService = calculadoraBonoService;
+        this.bonoConsultaCache = bonoConsultaCache;
     }
-    
+
     /**
      * Genera el flujo de caja de un bono.
      */
-    public List<FlujoFinanciero> generarFlujoCaja(String bonoId, BigDecimal tasaDescuento) {
-        return calculadoraBonoService.generarFlujoCaja(bonoId, tasaDescuento);
+    public CachedValue<List<FlujoFinanciero>> generarFlujoCaja(String bonoId, BigDecimal tasaDescuento) {
+        return consultar(OperacionAnalisis.FLUJO_CAJA, bonoId, tasaDescuento);
     }
-    
+
     /**
      * Calcula las métricas de duración, duración modificada y convexidad.
      */
-    public DuracionConvexidad calcularMetricas(String bonoId, BigDecimal tasaMercado) {
-        return calculadoraBonoService.calcularMetricas(bonoId, tasaMercado);
+    public CachedValue<DuracionConvexidad> calcularMetricas(String bonoId, BigDecimal tasaMercado) {
+        return consultar(OperacionAnalisis.METRICAS, bonoId, tasaMercado);
     }
-    
+
     /**
      * Calcula el precio del bono.
      */
-    public BigDecimal calcularPrecio(String bonoId, BigDecimal tasaMercado) {
-        return calculadoraBonoService.calcularPrecio(bonoId, tasaMercado);
+    public CachedValue<BigDecimal> calcularPrecio(String bonoId, BigDecimal tasaMercado) {
+        return consultar(OperacionAnalisis.PRECIO, bonoId, tasaMercado);
     }
-    
+
     /**
      * Calcula la TCEA (Tasa de Coste Efectivo Anual) desde la perspectiva del emisor.
      */
-    public Rendimiento calcularTCEA(String bonoId, BigDecimal costosEmision) {
-        return calculadoraBonoService.calcularTCEA(bonoId, costosEmision);
+    public CachedValue<Rendimiento> calcularTCEA(String bonoId, BigDecimal costosEmision) {
+        return consultar(OperacionAnalisis.TCEA, bonoId, costosEmision);
     }
-    
+
     /**
      * Calcula la TREA (Tasa de Rendimiento Efectivo Anual) desde la perspectiva del inversor.
      */
-    public Rendimiento calcularTREA(String bonoId, BigDecimal precioCompra) {
-        return calculadoraBonoService.calcularTREA(bonoId, precioCompra);
+    public CachedValue<Rendimiento> calcularTREA(String bonoId, BigDecimal precioCompra) {
+        return consultar(OperacionAnalisis.TREA, bonoId, precioCompra);
     }
-    
+
     /**
      * Calcula el precio máximo que el mercado estaría dispuesto a pagar por el bono.
      */
-    public PrecioMercado calcularPrecioMercado(String bonoId, BigDecimal tasaMercado) {
-        return calculadoraBonoService.calcularPrecioMercado(bonoId, tasaMercado);
+    public CachedValue<PrecioMercado> calcularPrecioMercado(String bonoId, BigDecimal tasaMercado) {
+        return consultar(OperacionAnalisis.PRECIO_MERCADO, bonoId, tasaMercado);
+    }
+
+    /**
+     * Ejecuta el cálculo identificado por la clave sin pasar por la caché.
+     *
+     * @param clave Operación, bono y parámetro del cálculo
+     * @return Resultado del cálculo
+     */
+    public Object calcular(ClaveAnalisis clave) {
+        String bonoId = clave.bonoId().toString();
+        BigDecimal parametro = clave.parametro();
+        return switch (clave.operacion()) {
+            case FLUJO_CAJA -> calculadoraBonoService.generarFlujoCaja(bonoId, parametro);
+            case METRICAS -> calculadoraBonoService.calcularMetricas(bonoId, parametro);
+            case PRECIO -> calculadoraBonoService.calcularPrecio(bonoId, parametro);
+            case PRECIO_MERCADO -> calculadoraBonoService.calcularPrecioMercado(bonoId, parametro);
+            case TCEA -> calculadoraBonoService.calcularTCEA(bonoId, parametro);
+            case TREA -> calculadoraBonoService.calcularTREA(bonoId, parametro);
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> CachedValue<T> consultar(OperacionAnalisis operacion, String bonoId, BigDecimal parametro) {
+        ClaveAnalisis clave = new ClaveAnalisis(operacion, Long.parseLong(bonoId), parametro);
+        return bonoConsultaCache.analisis(clave, () -> (T) calcular(clave));
     }
-} 
\ No newline at end of file
+}
@@ -1,40 +1,295 @@
 package com.bonofacil.platform.bonos.application.services;
 
+import com.bonofacil.platform.bonos.application.internal.escritura.EscrituraDiferidaCalculos;
+import com.bonofacil.platform.bonos.domain.model.commands.RegistrarCalculoCommand;
+import com.bonofacil.platform.bonos.domain.model.entities.Bono;
 import com.bonofacil.platform.bonos.domain.model.entities.Calculo;
+import com.bonofacil.platform.bonos.domain.model.entities.ClaveIdempotenciaCalculo;
+import com.bonofacil.platform.bonos.domain.model.valueobjects.CalculoRegistrado;
+import com.bonofacil.platform.bonos.infrastructure.persistence.jpa.repositories.BonoRepository;
 import com.bonofacil.platform.bonos.infrastructure.persistence.jpa.repositories.CalculoRepository;
+import com.bonofacil.platform.bonos.infrastructure.persistence.jpa.repositories.ClaveIdempotenciaCalculoRepository;
+import com.bonofacil.platform.shared.application.exceptions.InvalidValueException;
+import com.bonofacil.platform.shared.application.exceptions.ResourceAlreadyException;
+import com.bonofacil.platform.shared.application.exceptions.ResourceNotFoundException;
+import com.bonofacil.platform.shared.application.pagination.KeysetCursor;
+import com.bonofacil.platform.shared.application.pagination.KeysetPage;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
 
 @Service
 public class CalculoService {
 
+    private static final String ORDEN_ID = "id";
+    private static final int LONGITUD_MAXIMA_CLAVE_IDEMPOTENCIA = 100;
+    private static final int ESCALA_TASA = 6;
+    // Reintentos cuando la clave apunta a un cálculo que se elimina mientras se registra el envío
+    private static final int INTENTOS_CLAVE_IDEMPOTENCIA = 2;
+
     private final CalculoRepository calculoRepository;
+    private final BonoRepository bonoRepository;
+    private final ResultadoCalculoService resultadoCalculoService;
+    private final EscrituraDiferidaCalculos escrituraDiferida;
+    private final ClaveIdempotenciaCalculoRepository claveIdempotenciaRepository;
+    private final TransactionTemplate transactionTemplate;
 
     @Autowired
-    public CalculoService(CalculoRepository calculoRepository) {
+    public CalculoService(CalculoRepository calculoRepository, BonoRepository bonoRepository,
+                          ResultadoCalculoService resultadoCalculoService, EscrituraDiferidaCalculos escrituraDiferida,
+                          ClaveIdempotenciaCalculoRepository claveIdempotenciaRepository,
+                          PlatformTransactionManager transactionManager) {
         this.calculoRepository = calculoRepository;
+        this.bonoRepository = bonoRepository;
+        this.resultadoCalculoService = resultadoCalculoService;
+        this.escrituraDiferida = escrituraDiferida;
+        this.claveIdempotenciaRepository = claveIdempotenciaRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Calcula y registra una inversión. Si ya existe un resultado para los términos del bono y la tasa, se
+     * reutiliza sin volver a valorar. Con clave de idempotencia, un reenvío devuelve el cálculo ya registrado,
+     * sin importar el día en que se registró.
+     *
+     * @throws ResourceNotFoundException si el bono no existe
+     * @throws ResourceAlreadyException si la clave de idempotencia ya se usó con otro bono u otra tasa
+     */
+    public CalculoRegistrado handle(RegistrarCalculoCommand command) {
+        if (command.bonoId() == null || command.tasaEsperada() == null) {
+            throw new InvalidValueException("Se requieren bonoId y tasaEsperada");
+        }
+        String clave = command.claveIdempotencia();
+        if (clave != null) {
+            if (clave.isBlank() || clave.length() > LONGITUD_MAXIMA_CLAVE_IDEMPOTENCIA) {
+                throw new InvalidValueException("La clave de idempotencia debe tener entre 1 y "
+                        + LONGITUD_MAXIMA_CLAVE_IDEMPOTENCIA + " caracteres");
+            }
+            Optional<Calculo> previo = buscarPorClave(command.inversorUsername(), clave);
+            if (previo.isPresent()) {
+                return repetido(previo.get(), command);
+            }
+        }
+
+        Bono bono = bonoRepository.findById(command.bonoId())
+                .orElseThrow(() -> new ResourceNotFoundException("Bono no encontrado: " + command.bonoId()));
+        Calculo calculo = resultadoCalculoService.calcularInversiones(bono, List.of(command.tasaEsperada())).get(0);
+        calculo.setInversorUsername(command.inversorUsername());
+        calculo.setClaveIdempotencia(clave);
+        if (clave == null) {
+            return new CalculoRegistrado(guardarCalculo(calculo), false);
+        }
+        for (int intento = 0; intento < INTENTOS_CLAVE_IDEMPOTENCIA; intento++) {
+            Calculo guardado = transactionTemplate.execute(status -> guardarConClave(calculo, status));
+            if (guardado != null) {
+                return new CalculoRegistrado(guardado, false);
+            }
+            // Un envío simultáneo con la misma clave se adelantó; si su cálculo ya no existe la clave quedó libre
+            Optional<Calculo> existente = buscarPorClave(command.inversorUsername(), clave);
+            if (existente.isPresent()) {
+                return repetido(existente.get(), command);
+            }
+            calculo.setId(null);
+        }
+        throw new ResourceAlreadyException("La clave de idempotencia se está usando en otro envío");
+    }
+
+    /**
+     * Inserta el cálculo y su clave de idempotencia en la misma transacción. Si la clave ya está asignada,
+     * revierte la inserción del cálculo.
+     *
+     * @return El cálculo guardado, o {@code null} si la clave ya estaba asignada
+     */
+    private Calculo guardarConClave(Calculo calculo, TransactionStatus status) {
+        Calculo guardado = calculoRepository.save(calculo);
+        if (claveIdempotenciaRepository.reservar(new ClaveIdempotenciaCalculo(guardado.getInversorUsername(),
+                guardado.getClaveIdempotencia(), guardado.getId(), guardado.getFechaCalculo()))) {
+            return guardado;
+        }
+        status.setRollbackOnly();
+        return null;
     }
 
+    /**
+     * Cálculo que el inversor registró con la clave indicada. Si el cálculo se eliminó o se archivó, la clave
+     * se libera.
+     */
+    private Optional<Calculo> buscarPorClave(String inversorUsername, String clave) {
+        Optional<ClaveIdempotenciaCalculo> asignada = claveIdempotenciaRepository.findById(
+                new ClaveIdempotenciaCalculo.Clave(inversorUsername, clave));
+        if (asignada.isEmpty()) {
+            return Optional.empty();
+        }
+        Optional<Calculo> calculo = calculoRepository.findByIdAndFechaCalculo(
+                asignada.get().getCalculoId(), asignada.get().getFechaCalculo());
+        if (calculo.isEmpty()) {
+            claveIdempotenciaRepository.delete(asignada.get());
+        }
+        return calculo;
+    }
+
+    /**
+     * Guarda el cálculo. Con la escritura diferida activa se confirma en cuanto queda en el diario local
+     * y la inserción se hace después en lote; si el búfer está lleno se guarda de forma síncrona. Los
+     * cálculos con clave de idempotencia siempre se guardan de forma síncrona, junto con su clave.
+     */
     public Calculo guardarCalculo(Calculo calculo) {
-        return calculoRepository.save(calculo);
+        if (calculo.getClaveIdempotencia() != null) {
+            return calculoRepository.save(calculo);
+        }
+        return escrituraDiferida.registrar(calculo)
+                .orElseGet(() -> calculoRepository.save(calculo));
     }
 
+    /**
+     * Guarda varios cálculos en una transacción; las inserciones se agrupan en lotes JDBC. Con la escritura
+     * diferida activa cada cálculo reserva su ID y su lugar en el búfer, y solo los que no caben se insertan
+     * aquí. Los reservados se anotan en el diario al confirmar la transacción, para que una reversión no deje
+     * en el búfer cálculos que el inversor nunca recibió.
+     */
+    @Transactional
+    public List<Calculo> guardarCalculos(List<Calculo> calculos) {
+        List<Calculo> diferidos = new ArrayList<>();
+        List<Calculo> sincronos = new ArrayList<>();
+        for (Calculo calculo : calculos) {
+            (escrituraDiferida.reservar(calculo) ? diferidos : sincronos).add(calculo);
+        }
+        calculoRepository.saveAll(sincronos);
+        if (diferidos.isEmpty()) {
+            return calculos;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    escrituraDiferida.confirmar(diferidos);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        escrituraDiferida.liberar(diferidos);
+                    }
+                }
+            });
+        } else {
+            escrituraDiferida.confirmar(diferidos);
+        }
+        return calculos;
+    }
+
+    // Las lecturas del inversor incluyen sus cálculos aún en el búfer de escritura diferida
+
+    @Transactional(readOnly = true)
     public Optional<Calculo> obtenerCalculoPorId(Long id) {
-        return calculoRepository.findById(id);
+        return escrituraDiferida.buscar(id).or(() -> calculoRepository.findById(id));
     }
 
+    @Transactional(readOnly = true)
     public List<Calculo> obtenerCalculosPorInversor(String inversorUsername) {
-        return calculoRepository.findByInversorUsername(inversorUsername);
+        return combinar(calculoRepository.findByInversorUsername(inversorUsername),
+                escrituraDiferida.pendientesDe(inversorUsername));
+    }
+
+    /**
+     * Obtiene una página de los cálculos del inversor, ordenados por ID.
+     *
+     * @param cursor Cursor opaco de la página anterior, o {@code null} para la primera
+     * @param limite Tamaño de página solicitado
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<Calculo> obtenerCalculosPorInversor(String inversorUsername, String cursor, int limite) {
+        return obtenerCalculosPorInversor(inversorUsername, null, null, cursor, limite);
+    }
+
+    /**
+     * Obtiene una página de los cálculos del inversor, ordenados por ID. Con un rango de fechas solo se leen
+     * las particiones mensuales que lo cubren.
+     *
+     * @param desde Fecha de cálculo mínima, o {@code null} para no filtrar por fecha
+     * @param hasta Fecha de cálculo máxima; si falta se toma la fecha actual
+     * @param cursor Cursor opaco de la página anterior, o {@code null} para la primera
+     * @param limite Tamaño de página solicitado
+     * @throws InvalidValueException si se indica {@code hasta} sin {@code desde} o el rango está invertido
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<Calculo> obtenerCalculosPorInversor(String inversorUsername, LocalDate desde, LocalDate hasta,
+                                                         String cursor, int limite) {
+        if (desde == null && hasta != null) {
+            throw new InvalidValueException("El filtro por fecha requiere la fecha inicial");
+        }
+        LocalDate fin = desde != null && hasta == null ? LocalDate.now() : hasta;
+        if (desde != null && desde.isAfter(fin)) {
+            throw new InvalidValueException("La fecha inicial es posterior a la final");
+        }
+        int limiteSeguro = KeysetPage.limiteSeguro(limite);
+        KeysetCursor posicion = KeysetCursor.decodificar(cursor, ORDEN_ID);
+        long desdeId = posicion != null ? posicion.id() : 0L;
+        List<Calculo> filas = desde == null
+                ? calculoRepository.findByInversorUsernameAndIdGreaterThanOrderByIdAsc(
+                        inversorUsername, desdeId, Limit.of(limiteSeguro + 1))
+                : calculoRepository.findByInversorUsernameAndFechaCalculoBetweenAndIdGreaterThanOrderByIdAsc(
+                        inversorUsername, desde, fin, desdeId, Limit.of(limiteSeguro + 1));
+        List<Calculo> enBufer = escrituraDiferida.pendientesDe(inversorUsername).stream()
+                .filter(calculo -> calculo.getId() > desdeId)
+                .filter(calculo -> desde == null || !calculo.getFechaCalculo().isBefore(desde)
+                        && !calculo.getFechaCalculo().isAfter(fin))
+                .toList();
+        if (!enBufer.isEmpty()) {
+            filas = combinar(filas, enBufer);
+            filas = filas.subList(0, Math.min(filas.size(), limiteSeguro + 1));
+        }
+        return KeysetPage.of(filas, limiteSeguro, calculo -> KeysetCursor.porId(ORDEN_ID, calculo.getId()));
     }
 
+    @Transactional(readOnly = true)
     public List<Calculo> obtenerCalculosPorBono(Long bonoId) {
         return calculoRepository.findByBono_Id(bonoId);
     }
 
     public void eliminarCalculo(Long id) {
+        if (escrituraDiferida.buscar(id).isPresent()) {
+            escrituraDiferida.vaciar();
+        }
         calculoRepository.deleteById(id);
+        escrituraDiferida.olvidar(id);
+    }
+
+    private static CalculoRegistrado repetido(Calculo calculo, RegistrarCalculoCommand command) {
+        // La tasa guardada está redondeada a la escala de la columna
+        boolean mismaTasa = calculo.getTasaEsperada() != null && calculo.getTasaEsperada()
+                .compareTo(command.tasaEsperada().setScale(ESCALA_TASA, RoundingMode.HALF_UP)) == 0;
+        if (!command.bonoId().equals(calculo.getBonoId()) || !mismaTasa) {
+            throw new ResourceAlreadyException("La clave de idempotencia ya se usó con otro bono u otra tasa");
+        }
+        return new CalculoRegistrado(calculo, true);
+    }
+
+    /**
+     * Une los cálculos persistidos con los del búfer, sin duplicar los que ya se vaciaron, en orden de ID.
+     */
+    private static List<Calculo> combinar(List<Calculo> persistidos, List<Calculo> enBufer) {
+        if (enBufer.isEmpty()) {
+            return persistidos;
+        }
+        Map<Long, Calculo> porId = new TreeMap<>();
+        persistidos.forEach(calculo -> porId.put(calculo.getId(), calculo));
+        enBufer.forEach(calculo -> porId.putIfAbsent(calculo.getId(), calculo));
+        return new ArrayList<>(porId.values());
     }
 }
\ No newline at end of file
@@ -0,0 +1,95 @@
+package com.bonofacil.platform.bonos.application.services;
+
+import com.bonofacil.platform.bonos.application.internal.cache.BonoConsultaCache;
+import com.bonofacil.platform.bonos.application.internal.cache.ResultadosAnalisisPersistentes;
+import com.bonofacil.platform.bonos.application.internal.escritura.EscrituraDiferidaCalculos;
+import com.bonofacil.platform.bonos.infrastructure.persistence.jpa.repositories.BonoRepository;
+import com.bonofacil.platform.bonos.infrastructure.persistence.jpa.repositories.CalculoRepository;
+import com.bonofacil.platform.bonos.infrastructure.persistence.jpa.repositories.ClaveIdempotenciaCalculoRepository;
+import com.bonofacil.platform.bonos.infrastructure.persistence.jpa.repositories.FlujoFinancieroRepository;
+import com.bonofacil.platform.bonos.infrastructure.persistence.jpa.repositories.ValoracionBonoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Elimina un bono junto con su historial mediante sentencias {@code DELETE} por conjunto.
+ * <p>
+ * Las claves de idempotencia de sus cálculos, los cálculos, los flujos y la serie de valoraciones se borran
+ * con una sentencia cada uno, sin cargarlos en el contexto de persistencia, y después el propio bono, todo en
+ * una transacción corta. Antes se vacía el búfer de escritura diferida dentro de la misma transacción. Las
+ * cachés y los cálculos del bono que el búfer sirve desde memoria se descartan al confirmar la transacción,
+ * para que una lectura concurrente no vuelva a poblarlas con el bono eliminado.
+ * </p>
+ */
+@Service
+public class EliminacionBonoService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EliminacionBonoService.class);
+
+    private final BonoRepository bonoRepository;
+    private final CalculoRepository calculoRepository;
+    private final ClaveIdempotenciaCalculoRepository claveIdempotenciaRepository;
+    private final FlujoFinancieroRepository flujoFinancieroRepository;
+    private final ValoracionBonoRepository valoracionBonoRepository;
+    private final BonoConsultaCache bonoConsultaCache;
+    private final ResultadosAnalisisPersistentes resultadosPersistentes;
+    private final EscrituraDiferidaCalculos escrituraDiferida;
+
+    public EliminacionBonoService(BonoRepository bonoRepository, CalculoRepository calculoRepository,
+                                  ClaveIdempotenciaCalculoRepository claveIdempotenciaRepository,
+                                  FlujoFinancieroRepository flujoFinancieroRepository,
+                                  ValoracionBonoRepository valoracionBonoRepository,
+                                  BonoConsultaCache bonoConsultaCache,
+                                  ResultadosAnalisisPersistentes resultadosPersistentes,
+                                  EscrituraDiferidaCalculos escrituraDiferida) {
+        this.bonoRepository = bonoRepository;
+        this.calculoRepository = calculoRepository;
+        this.claveIdempotenciaRepository = claveIdempotenciaRepository;
+        this.flujoFinancieroRepository = flujoFinancieroRepository;
+        this.valoracionBonoRepository = valoracionBonoRepository;
+        this.bonoConsultaCache = bonoConsultaCache;
+        this.resultadosPersistentes = resultadosPersistentes;
+        this.escrituraDiferida = escrituraDiferida;
+    }
+
+    /**
+     * Elimina el bono, sus cálculos de inversión, su cronograma y su historial de valoración.
+     *
+     * @param bonoId ID del bono
+     * @return {@code true} si el bono existía
+     */
+    @Transactional
+    public boolean eliminar(Long bonoId) {
+        // Los cálculos del bono aún en el búfer se insertan antes del borrado. Los que se registren mientras
+        // tanto se descartan al vaciarlos, porque su bono ya no existirá
+        escrituraDiferida.vaciar();
+        claveIdempotenciaRepository.deleteByBonoId(bonoId);
+        int calculos = calculoRepository.deleteByBonoId(bonoId);
+        int flujos = flujoFinancieroRepository.deleteByBonoId(bonoId);
+        valoracionBonoRepository.deleteByBonoId(bonoId);
+        boolean eliminado = bonoRepository.eliminarPorId(bonoId) > 0;
+        logger.debug("Bono {} eliminado con {} cálculos y {} flujos", bonoId, calculos, flujos);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidarCaches(bonoId);
+                }
+            });
+        } else {
+            invalidarCaches(bonoId);
+        }
+        return eliminado;
+    }
+
+    private void invalidarCaches(Long bonoId) {
+        bonoConsultaCache.invalidarBono(bonoId);
+        resultadosPersistentes.descartar(bonoId);
+        escrituraDiferida.olvidarBono(bonoId);
+    }
+}
@@ -0,0 +1,93 @@
+package com.bonofacil.platform.bonos.application.services;
+
+import com.bonofacil.platform.bonos.domain.model.commands.CalcularEscenariosCommand;
+import com.bonofacil.platform.bonos.domain.model.entities.Bono;
+import com.bonofacil.platform.bonos.domain.model.entities.Calculo;
+import com.bonofacil.platform.bonos.domain.model.valueobjects.EscenarioInversion;
+import com.bonofacil.platform.bonos.infrastructure.persistence.jpa.repositories.BonoRepository;
+import com.bonofacil.platform.shared.application.exceptions.InvalidValueException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Evalúa muchos escenarios de inversión en una sola petición.
+ * <p>
+ * Los bonos se cargan con una sola consulta y los escenarios se agrupan por bono, de modo que el
+ * cronograma de cada bono se genera una vez y todas sus tasas se valoran en un mismo recorrido.
+ * Las tasas con resultado compartido ya calculado no vuelven a valorarse. Los cálculos resultantes se
+ * guardan juntos, en un lote de inserciones.
+ * </p>
+ */
+@Service
+public class EscenariosInversionService {
+
+    private final BonoRepository bonoRepository;
+    private final ResultadoCalculoService resultadoCalculoService;
+    private final CalculoService calculoService;
+    private final int maxEscenarios;
+
+    public EscenariosInversionService(BonoRepository bonoRepository,
+                                      ResultadoCalculoService resultadoCalculoService,
+                                      CalculoService calculoService,
+                                      @Value("${bonos.calculos.lote.max-escenarios:500}") int maxEscenarios) {
+        this.bonoRepository = bonoRepository;
+        this.resultadoCalculoService = resultadoCalculoService;
+        this.calculoService = calculoService;
+        this.maxEscenarios = maxEscenarios;
+    }
+
+    /**
+     * Calcula y registra los escenarios.
+     *
+     * @return Cálculos guardados, en el orden de los escenarios recibidos
+     * @throws InvalidValueException si no hay escenarios, son demasiados o algún bono no existe
+     */
+    public List<Calculo> handle(CalcularEscenariosCommand command) {
+        List<EscenarioInversion> escenarios = command.escenarios();
+        if (escenarios == null || escenarios.isEmpty()) {
+            throw new InvalidValueException("Se requiere al menos un escenario");
+        }
+        if (escenarios.size() > maxEscenarios) {
+            throw new InvalidValueException("Se admiten como máximo " + maxEscenarios + " escenarios por petición");
+        }
+
+        // Posiciones de cada escenario agrupadas por bono, conservando el orden de aparición
+        Map<Long, List<Integer>> posicionesPorBono = new LinkedHashMap<>();
+        for (int i = 0; i < escenarios.size(); i++) {
+            EscenarioInversion escenario = escenarios.get(i);
+            if (escenario.bonoId() == null || escenario.tasaEsperada() == null) {
+                throw new InvalidValueException("Cada escenario requiere bonoId y tasaEsperada");
+            }
+            posicionesPorBono.computeIfAbsent(escenario.bonoId(), id -> new ArrayList<>()).add(i);
+        }
+
+        Map<Long, Bono> bonos = bonoRepository.findAllById(posicionesPorBono.keySet()).stream()
+                .collect(Collectors.toMap(Bono::getId, Function.identity()));
+        Calculo[] calculos = new Calculo[escenarios.size()];
+        for (Map.Entry<Long, List<Integer>> grupo : posicionesPorBono.entrySet()) {
+            Bono bono = bonos.get(grupo.getKey());
+            if (bono == null) {
+                throw new InvalidValueException("Bono no encontrado: " + grupo.getKey());
+            }
+            List<BigDecimal> tasas = grupo.getValue().stream()
+                    .map(posicion -> escenarios.get(posicion).tasaEsperada())
+                    .toList();
+            List<Calculo> resultados = resultadoCalculoService.calcularInversiones(bono, tasas);
+            for (int j = 0; j < resultados.size(); j++) {
+                Calculo calculo = resultados.get(j);
+                calculo.setInversorUsername(command.inversorUsername());
+                calculos[grupo.getValue().get(j)] = calculo;
+            }
+        }
+        return calculoService.guardarCalculos(Arrays.asList(calculos));
+    }
+}
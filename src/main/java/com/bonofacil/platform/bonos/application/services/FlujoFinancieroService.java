@@ -0,0 +1,73 @@
+package com.bonofacil.platform.bonos.application.services;
+
+import com.bonofacil.platform.bonos.domain.model.entities.Bono;
+import com.bonofacil.platform.bonos.domain.model.entities.FlujoFinanciero;
+import com.bonofacil.platform.bonos.domain.services.CalculoFinancieroService;
+import com.bonofacil.platform.bonos.infrastructure.persistence.jpa.repositories.FlujoFinancieroRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Mantiene persistido el cronograma de flujos de cada bono.
+ * <p>
+ * El cronograma solo se regenera cuando cambian los términos que lo determinan; la huella de esos
+ * términos se guarda en el bono. Las inserciones se envían en lotes JDBC gracias a los IDs de secuencia
+ * con asignación agrupada, y el borrado del cronograma anterior es una única sentencia.
+ * </p>
+ */
+@Service
+public class FlujoFinancieroService {
+
+    private final FlujoFinancieroRepository flujoFinancieroRepository;
+    private final CalculoFinancieroService calculoFinancieroService;
+
+    public FlujoFinancieroService(FlujoFinancieroRepository flujoFinancieroRepository,
+                                  CalculoFinancieroService calculoFinancieroService) {
+        this.flujoFinancieroRepository = flujoFinancieroRepository;
+        this.calculoFinancieroService = calculoFinancieroService;
+    }
+
+    /**
+     * Regenera el cronograma persistido si los términos del bono cambiaron desde la última generación.
+     * El bono debe estar gestionado en la transacción actual.
+     *
+     * @return {@code true} si el cronograma se regeneró
+     */
+    @Transactional
+    public boolean sincronizarFlujos(Bono bono) {
+        long huella = bono.calcularHuellaTerminos();
+        if (bono.getHuellaFlujos() != null && bono.getHuellaFlujos() == huella) {
+            return false;
+        }
+        reemplazarFlujos(bono, calculoFinancieroService.calcularFlujoFinanciero(bono));
+        return true;
+    }
+
+    /**
+     * Sustituye el cronograma persistido por uno ya generado a partir de los términos actuales del bono
+     * y actualiza la huella. El bono debe estar gestionado en la transacción actual.
+     */
+    @Transactional
+    public void reemplazarFlujos(Bono bono, List<FlujoFinanciero> flujos) {
+        if (bono.getHuellaFlujos() != null) {
+            flujoFinancieroRepository.deleteByBono(bono);
+        }
+        guardarFlujos(flujos);
+        bono.setHuellaFlujos(bono.calcularHuellaTerminos());
+    }
+
+    /**
+     * Inserta en lote un cronograma ya generado. Quien lo invoca es responsable de fijar la huella del bono.
+     */
+    @Transactional
+    public void guardarFlujos(List<FlujoFinanciero> flujos) {
+        flujoFinancieroRepository.saveAll(flujos);
+    }
+
+    @Transactional(readOnly = true)
+    public List<FlujoFinanciero> obtenerFlujos(Bono bono) {
+        return flujoFinancieroRepository.findByBonoOrderByPeriodo(bono);
+    }
+}
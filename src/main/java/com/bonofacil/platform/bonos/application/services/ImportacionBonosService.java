@@ -0,0 +1,183 @@
+package com.bonofacil.platform.bonos.application.services;
+
+import com.bonofacil.platform.bonos.application.internal.cache.BonoConsultaCache;
+import com.bonofacil.platform.bonos.domain.model.entities.Bono;
+import com.bonofacil.platform.bonos.domain.model.entities.FlujoFinanciero;
+import com.bonofacil.platform.bonos.domain.model.valueobjects.FilaImportacionBono;
+import com.bonofacil.platform.bonos.domain.model.valueobjects.ResultadoImportacionFila;
+import com.bonofacil.platform.bonos.domain.services.CalculoFinancieroService;
+import com.bonofacil.platform.bonos.infrastructure.persistence.jpa.repositories.BonoRepository;
+import com.bonofacil.platform.bonos.infrastructure.persistence.jpa.repositories.FlujoFinancieroRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Importa bonos en bloque desde un flujo de filas ya interpretadas.
+ * <p>
+ * Las filas se consumen por lotes de tamaño fijo, de modo que la memoria no depende del tamaño del archivo.
+ * En cada lote las métricas y cronogramas se calculan en paralelo en un pool acotado y después el lote
+ * se persiste en su propia transacción, con los bonos y sus flujos enviados en lotes JDBC. Un fallo al
+ * persistir un lote rechaza solo las filas de ese lote.
+ * </p>
+ */
+@Service
+public class ImportacionBonosService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportacionBonosService.class);
+
+    private final BonoRepository bonoRepository;
+    private final FlujoFinancieroRepository flujoFinancieroRepository;
+    private final CalculoFinancieroService calculoFinancieroService;
+    private final BonoConsultaCache bonoConsultaCache;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService calculoExecutor;
+    private final int tamanoLote;
+
+    public ImportacionBonosService(BonoRepository bonoRepository,
+                                   FlujoFinancieroRepository flujoFinancieroRepository,
+                                   CalculoFinancieroService calculoFinancieroService,
+                                   BonoConsultaCache bonoConsultaCache,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${bonos.importacion.tamano-lote:500}") int tamanoLote,
+                                   @Value("${bonos.importacion.hilos:0}") int hilos) {
+        this.bonoRepository = bonoRepository;
+        this.flujoFinancieroRepository = flujoFinancieroRepository;
+        this.calculoFinancieroService = calculoFinancieroService;
+        this.bonoConsultaCache = bonoConsultaCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.tamanoLote = Math.max(1, tamanoLote);
+        int tamanoPool = hilos > 0 ? hilos : Runtime.getRuntime().availableProcessors();
+        this.calculoExecutor = Executors.newFixedThreadPool(tamanoPool, runnable -> {
+            Thread thread = new Thread(runnable, "bono-importacion");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Importa las filas y devuelve un resultado por fila, en el orden de entrada.
+     */
+    public List<ResultadoImportacionFila> importar(Iterator<FilaImportacionBono> filas) {
+        List<ResultadoImportacionFila> resultados = new ArrayList<>();
+        List<FilaImportacionBono> lote = new ArrayList<>(tamanoLote);
+        while (filas.hasNext()) {
+            lote.add(filas.next());
+            if (lote.size() == tamanoLote) {
+                resultados.addAll(importarLote(lote));
+                lote.clear();
+            }
+        }
+        if (!lote.isEmpty()) {
+            resultados.addAll(importarLote(lote));
+        }
+        if (resultados.stream().anyMatch(ResultadoImportacionFila::creado)) {
+            bonoConsultaCache.invalidarCatalogo();
+        }
+        return resultados;
+    }
+
+    private List<ResultadoImportacionFila> importarLote(List<FilaImportacionBono> lote) {
+        List<BonoPreparado> preparados = preparar(lote);
+
+        List<Bono> bonos = new ArrayList<>();
+        List<FlujoFinanciero> flujos = new ArrayList<>();
+        for (BonoPreparado preparado : preparados) {
+            if (preparado.error() == null) {
+                bonos.add(preparado.bono());
+                flujos.addAll(preparado.flujos());
+            }
+        }
+
+        String errorLote = null;
+        if (!bonos.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    bonoRepository.saveAll(bonos);
+                    flujoFinancieroRepository.saveAll(flujos);
+                });
+            } catch (RuntimeException e) {
+                logger.warn("No se pudo persistir un lote de {} bonos importados: {}", bonos.size(), e.getMessage());
+                errorLote = "Error al persistir el lote: " + e.getMessage();
+            }
+        }
+
+        List<ResultadoImportacionFila> resultados = new ArrayList<>(preparados.size());
+        for (BonoPreparado preparado : preparados) {
+            if (preparado.error() != null) {
+                resultados.add(new ResultadoImportacionFila(preparado.numero(), null, preparado.error()));
+            } else if (errorLote != null) {
+                resultados.add(new ResultadoImportacionFila(preparado.numero(), null, errorLote));
+            } else {
+                resultados.add(new ResultadoImportacionFila(preparado.numero(), preparado.bono().getId(), null));
+            }
+        }
+        return resultados;
+    }
+
+    /**
+     * Valida cada fila y calcula sus métricas y cronograma en el pool de cálculo.
+     */
+    private List<BonoPreparado> preparar(List<FilaImportacionBono> lote) {
+        List<Callable<BonoPreparado>> tareas = lote.stream()
+                .map(fila -> (Callable<BonoPreparado>) () -> preparar(fila))
+                .toList();
+        List<BonoPreparado> preparados = new ArrayList<>(lote.size());
+        try {
+            List<Future<BonoPreparado>> futuros = calculoExecutor.invokeAll(tareas);
+            for (int i = 0; i < futuros.size(); i++) {
+                try {
+                    preparados.add(futuros.get(i).get());
+                } catch (ExecutionException e) {
+                    preparados.add(BonoPreparado.rechazado(lote.get(i).numero(),
+                            "Error al calcular el bono: " + e.getCause().getMessage()));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Importación interrumpida", e);
+        }
+        return preparados;
+    }
+
+    private BonoPreparado preparar(FilaImportacionBono fila) {
+        if (fila.error() != null) {
+            return BonoPreparado.rechazado(fila.numero(), fila.error());
+        }
+        Bono bono = new Bono(fila.command());
+        try {
+            bono.validarTerminos();
+        } catch (IllegalArgumentException e) {
+            return BonoPreparado.rechazado(fila.numero(), e.getMessage());
+        }
+        List<FlujoFinanciero> flujos = calculoFinancieroService.procesarCalculosBono(bono);
+        // Como en la creación individual, la huella se fija antes del INSERT
+        bono.setHuellaFlujos(bono.calcularHuellaTerminos());
+        return new BonoPreparado(fila.numero(), bono, flujos, null);
+    }
+
+    @PreDestroy
+    public void cerrar() {
+        calculoExecutor.shutdownNow();
+    }
+
+    private record BonoPreparado(int numero, Bono bono, List<FlujoFinanciero> flujos, String error) {
+
+        static BonoPreparado rechazado(int numero, String error) {
+            return new BonoPreparado(numero, null, List.of(), error);
+        }
+    }
+}
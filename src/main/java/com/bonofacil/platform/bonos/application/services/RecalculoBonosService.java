@@ -0,0 +1,263 @@
+package com.bonofacil.platform.bonos.application.services;
+
+import com.bonofacil.platform.bonos.application.internal.cache.BonoConsultaCache;
+import com.bonofacil.platform.bonos.domain.model.entities.Bono;
+import com.bonofacil.platform.bonos.domain.model.entities.Calculo;
+import com.bonofacil.platform.bonos.domain.model.entities.FlujoFinanciero;
+import com.bonofacil.platform.bonos.domain.model.entities.ResultadoCalculo;
+import com.bonofacil.platform.bonos.domain.model.projections.TasaCalculo;
+import com.bonofacil.platform.bonos.domain.model.valueobjects.MetricasBono;
+import com.bonofacil.platform.bonos.domain.model.valueobjects.ResultadoInversion;
+import com.bonofacil.platform.bonos.domain.model.valueobjects.ResumenRecalculo;
+import com.bonofacil.platform.bonos.domain.services.CalculoFinancieroService;
+import com.bonofacil.platform.bonos.infrastructure.persistence.jpa.repositories.BonoRepository;
+import com.bonofacil.platform.bonos.infrastructure.persistence.jpa.repositories.CalculoRepository;
+import com.bonofacil.platform.bonos.infrastructure.persistence.jpa.repositories.FlujoFinancieroRepository;
+import com.bonofacil.platform.bonos.infrastructure.persistence.jpa.repositories.ResultadoCalculoRepository;
+import com.bonofacil.platform.shared.infrastructure.persistense.jpa.monitoring.DataSourcePressureMonitor;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Recalcula con las fórmulas vigentes las métricas de todos los bonos y los cálculos de inversión derivados.
+ * <p>
+ * Los bonos se recorren por lotes paginados por clave sobre el ID. Cada lote se lee en una transacción de
+ * solo lectura, se calcula en paralelo en un pool acotado sin tener conexión abierta y se escribe en otra
+ * transacción con lotes JDBC de UPDATEs. Los cálculos de inversión pasan a apuntar al resultado compartido
+ * de su tasa con los términos actuales, cuyos importes se sobrescriben con los recalculados. Tras cada lote se informa el avance con el último ID confirmado,
+ * a partir del cual puede reanudarse. Entre lotes el recálculo se pausa en proporción a lo que tardó el
+ * lote, y espera mientras el pool de conexiones esté saturado, para no degradar las peticiones en primer plano.
+ * </p>
+ */
+@Service
+public class RecalculoBonosService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecalculoBonosService.class);
+
+    private final BonoRepository bonoRepository;
+    private final CalculoRepository calculoRepository;
+    private final FlujoFinancieroRepository flujoFinancieroRepository;
+    private final ResultadoCalculoRepository resultadoCalculoRepository;
+    private final CalculoFinancieroService calculoFinancieroService;
+    private final BonoConsultaCache bonoConsultaCache;
+    private final DataSourcePressureMonitor pressureMonitor;
+    private final TransactionTemplate lecturaTemplate;
+    private final TransactionTemplate escrituraTemplate;
+    private final ExecutorService calculoExecutor;
+    private final int tamanoLote;
+    private final double cicloTrabajo;
+    private final Duration pausaSaturacion;
+
+    public RecalculoBonosService(BonoRepository bonoRepository,
+                                 CalculoRepository calculoRepository,
+                                 FlujoFinancieroRepository flujoFinancieroRepository,
+                                 ResultadoCalculoRepository resultadoCalculoRepository,
+                                 CalculoFinancieroService calculoFinancieroService,
+                                 BonoConsultaCache bonoConsultaCache,
+                                 DataSourcePressureMonitor pressureMonitor,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${bonos.recalculo.tamano-lote:1000}") int tamanoLote,
+                                 @Value("${bonos.recalculo.hilos:0}") int hilos,
+                                 @Value("${bonos.recalculo.ciclo-trabajo:0.5}") double cicloTrabajo,
+                                 @Value("${bonos.recalculo.pausa-saturacion:PT1S}") Duration pausaSaturacion) {
+        this.bonoRepository = bonoRepository;
+        this.calculoRepository = calculoRepository;
+        this.flujoFinancieroRepository = flujoFinancieroRepository;
+        this.resultadoCalculoRepository = resultadoCalculoRepository;
+        this.calculoFinancieroService = calculoFinancieroService;
+        this.bonoConsultaCache = bonoConsultaCache;
+        this.pressureMonitor = pressureMonitor;
+        this.lecturaTemplate = new TransactionTemplate(transactionManager);
+        this.lecturaTemplate.setReadOnly(true);
+        this.escrituraTemplate = new TransactionTemplate(transactionManager);
+        this.tamanoLote = Math.max(1, tamanoLote);
+        this.cicloTrabajo = Math.max(0.05, Math.min(1.0, cicloTrabajo));
+        this.pausaSaturacion = pausaSaturacion;
+        int tamanoPool = hilos > 0 ? hilos : Runtime.getRuntime().availableProcessors();
+        this.calculoExecutor = Executors.newFixedThreadPool(tamanoPool, runnable -> {
+            Thread thread = new Thread(runnable, "bono-recalculo");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Número de bonos pendientes después del ID indicado, para estimar el avance.
+     */
+    public long contarPendientes(long desdeId) {
+        return lecturaTemplate.execute(status -> bonoRepository.countByIdGreaterThan(desdeId));
+    }
+
+    /**
+     * Recalcula los bonos posteriores a {@code inicio.ultimoId()}.
+     *
+     * @param inicio Totales de un intento anterior, o {@link ResumenRecalculo#desde(long)} para empezar
+     * @param regenerarFlujos Si también se sustituye el cronograma persistido de cada bono
+     * @param avance Recibe los totales acumulados tras confirmar cada lote
+     * @return Totales acumulados al terminar
+     */
+    public ResumenRecalculo recalcular(ResumenRecalculo inicio, boolean regenerarFlujos,
+                                       Consumer<ResumenRecalculo> avance) throws InterruptedException {
+        ResumenRecalculo resumen = inicio;
+        while (true) {
+            esperarSiSaturado();
+            long comienzo = System.nanoTime();
+
+            long desdeId = resumen.ultimoId();
+            LoteLeido lote = lecturaTemplate.execute(status -> leerLote(desdeId));
+            if (lote.bonos().isEmpty()) {
+                break;
+            }
+            resumen = procesarLote(resumen, lote, regenerarFlujos);
+            avance.accept(resumen);
+
+            if (lote.bonos().size() < tamanoLote) {
+                break;
+            }
+            pausar(System.nanoTime() - comienzo);
+        }
+        bonoConsultaCache.invalidarCatalogo();
+        return resumen;
+    }
+
+    private LoteLeido leerLote(long desdeId) {
+        List<Bono> bonos = bonoRepository.findLoteRecalculo(desdeId, PageRequest.of(0, tamanoLote));
+        if (bonos.isEmpty()) {
+            return new LoteLeido(bonos, Map.of());
+        }
+        Map<Long, List<TasaCalculo>> tasas = calculoRepository
+                .findTasasPorBonos(bonos.stream().map(Bono::getId).toList()).stream()
+                .collect(Collectors.groupingBy(TasaCalculo::bonoId));
+        return new LoteLeido(bonos, tasas);
+    }
+
+    private ResumenRecalculo procesarLote(ResumenRecalculo resumen, LoteLeido lote, boolean regenerarFlujos)
+            throws InterruptedException {
+        List<Callable<BonoRecalculado>> tareas = lote.bonos().stream()
+                .map(bono -> (Callable<BonoRecalculado>) () ->
+                        recalcular(bono, lote.tasas().getOrDefault(bono.getId(), List.of()), regenerarFlujos))
+                .toList();
+
+        List<BonoRecalculado> recalculados = new ArrayList<>(tareas.size());
+        long errores = 0;
+        List<Future<BonoRecalculado>> futuros = calculoExecutor.invokeAll(tareas);
+        for (int i = 0; i < futuros.size(); i++) {
+            try {
+                recalculados.add(futuros.get(i).get());
+            } catch (ExecutionException e) {
+                errores++;
+                logger.warn("No se pudo recalcular el bono {}: {}", lote.bonos().get(i).getId(), e.getCause().getMessage());
+            }
+        }
+
+        Set<Long> actualizados = escrituraTemplate.execute(status -> escribir(recalculados, regenerarFlujos));
+        long calculos = recalculados.stream()
+                .filter(recalculado -> actualizados.contains(recalculado.metricas().bonoId()))
+                .mapToLong(recalculado -> recalculado.referencias().size())
+                .sum();
+        actualizados.forEach(bonoConsultaCache::invalidarBono);
+
+        long ultimoId = lote.bonos().get(lote.bonos().size() - 1).getId();
+        return resumen.sumar(ultimoId, actualizados.size(), recalculados.size() - actualizados.size(), calculos, errores);
+    }
+
+    private BonoRecalculado recalcular(Bono bono, List<TasaCalculo> tasas, boolean regenerarFlujos) {
+        List<FlujoFinanciero> flujos = calculoFinancieroService.procesarCalculosBono(bono);
+        MetricasBono metricas = new MetricasBono(bono.getId(), bono.getUpdatedAt(), bono.getTcea(),
+                bono.getDuracion(), bono.getConvexidad(), bono.getTasaDescuento(), bono.getPrecio(),
+                bono.getRendimientoPar(), regenerarFlujos ? bono.calcularHuellaTerminos() : null);
+
+        // Varios inversores suelen evaluar el mismo bono a la misma tasa; cada tasa distinta se valora una
+        // sola vez y todas sobre el mismo cronograma
+        String terminos = bono.terminosCanonicos();
+        long huella = bono.calcularHuellaTerminos();
+        Map<String, BigDecimal> tasasPorClave = new LinkedHashMap<>();
+        List<ResultadoInversion> referencias = new ArrayList<>(tasas.size());
+        for (TasaCalculo tasa : tasas) {
+            String clave = ResultadoCalculo.claveDe(terminos, tasa.tasaEsperada());
+            tasasPorClave.putIfAbsent(clave, tasa.tasaEsperada());
+            referencias.add(new ResultadoInversion(tasa.calculoId(), clave));
+        }
+        List<BigDecimal> distintas = new ArrayList<>(tasasPorClave.values());
+        List<ResultadoCalculo> resultados = new ArrayList<>(distintas.size());
+        if (!distintas.isEmpty()) {
+            List<Calculo> calculos = calculoFinancieroService.calcularInversiones(bono, distintas);
+            for (int i = 0; i < distintas.size(); i++) {
+                resultados.add(new ResultadoCalculo(terminos, huella, distintas.get(i), calculos.get(i).getTrea(),
+                        calculos.get(i).getPrecioMaximo()));
+            }
+        }
+        return new BonoRecalculado(metricas, resultados, referencias, regenerarFlujos ? flujos : List.of());
+    }
+
+    private Set<Long> escribir(List<BonoRecalculado> recalculados, boolean regenerarFlujos) {
+        Set<Long> actualizados = bonoRepository.actualizarMetricas(
+                recalculados.stream().map(BonoRecalculado::metricas).toList());
+        List<BonoRecalculado> vigentes = recalculados.stream()
+                .filter(recalculado -> actualizados.contains(recalculado.metricas().bonoId()))
+                .toList();
+        // Bonos con los mismos términos comparten resultados; cada clave se publica una vez por lote
+        Map<String, ResultadoCalculo> resultados = new LinkedHashMap<>();
+        vigentes.forEach(recalculado -> recalculado.resultados()
+                .forEach(resultado -> resultados.putIfAbsent(resultado.getClave(), resultado)));
+        resultadoCalculoRepository.publicar(new ArrayList<>(resultados.values()), true);
+        calculoRepository.actualizarResultados(vigentes.stream()
+                .flatMap(recalculado -> recalculado.referencias().stream())
+                .toList());
+        if (regenerarFlujos && !actualizados.isEmpty()) {
+            flujoFinancieroRepository.deleteByBonoIdIn(actualizados);
+            flujoFinancieroRepository.saveAll(vigentes.stream()
+                    .flatMap(recalculado -> recalculado.flujos().stream())
+                    .toList());
+        }
+        return actualizados;
+    }
+
+    private void esperarSiSaturado() throws InterruptedException {
+        while (pressureMonitor.isSaturated()) {
+            Thread.sleep(pausaSaturacion.toMillis());
+        }
+    }
+
+    /**
+     * Pausa lo necesario para que el recálculo ocupe como mucho la fracción {@code cicloTrabajo} del tiempo.
+     */
+    private void pausar(long nanosLote) throws InterruptedException {
+        if (cicloTrabajo < 1.0) {
+            Thread.sleep((long) (nanosLote / 1_000_000 * (1 - cicloTrabajo) / cicloTrabajo));
+        }
+    }
+
+    @PreDestroy
+    public void cerrar() {
+        calculoExecutor.shutdownNow();
+    }
+
+    private record LoteLeido(List<Bono> bonos, Map<Long, List<TasaCalculo>> tasas) {
+    }
+
+    private record BonoRecalculado(MetricasBono metricas, List<ResultadoCalculo> resultados,
+                                   List<ResultadoInversion> referencias, List<FlujoFinanciero> flujos) {
+    }
+}
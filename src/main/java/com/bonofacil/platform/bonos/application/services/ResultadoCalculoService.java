@@ -0,0 +1,101 @@
+package com.bonofacil.platform.bonos.application.services;
+
+import com.bonofacil.platform.bonos.domain.model.entities.Bono;
+import com.bonofacil.platform.bonos.domain.model.entities.Calculo;
+import com.bonofacil.platform.bonos.domain.model.entities.ResultadoCalculo;
+import com.bonofacil.platform.bonos.domain.services.CalculoFinancieroService;
+import com.bonofacil.platform.bonos.infrastructure.persistence.jpa.repositories.ResultadoCalculoRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Resuelve los cálculos de inversión contra los resultados compartidos.
+ * <p>
+ * Muchos inversores evalúan el mismo bono a la misma tasa. El resultado de cada combinación de términos,
+ * tasa y nivel de precisión se guarda una sola vez con una clave derivada de su contenido; una evaluación
+ * repetida es una búsqueda por clave y solo las combinaciones nuevas pasan por el motor de valoración.
+ * </p>
+ */
+@Service
+public class ResultadoCalculoService {
+
+    private final ResultadoCalculoRepository resultadoCalculoRepository;
+    private final CalculoFinancieroService calculoFinancieroService;
+
+    public ResultadoCalculoService(ResultadoCalculoRepository resultadoCalculoRepository,
+                                   CalculoFinancieroService calculoFinancieroService) {
+        this.resultadoCalculoRepository = resultadoCalculoRepository;
+        this.calculoFinancieroService = calculoFinancieroService;
+    }
+
+    /**
+     * Prepara un cálculo de inversión por tasa, cada uno apuntando a su resultado compartido. Las tasas sin
+     * resultado se valoran juntas sobre un único cronograma y sus resultados se publican antes de devolver.
+     *
+     * @return Cálculos sin inversor ni ID, en el orden de las tasas
+     */
+    @Transactional
+    public List<Calculo> calcularInversiones(Bono bono, List<BigDecimal> tasasEsperadas) {
+        String terminos = bono.terminosCanonicos();
+        long huella = bono.calcularHuellaTerminos();
+        List<String> claves = tasasEsperadas.stream()
+                .map(tasa -> ResultadoCalculo.claveDe(terminos, tasa))
+                .toList();
+        Map<String, ResultadoCalculo> porClave = buscar(claves);
+
+        Map<String, BigDecimal> faltantes = new LinkedHashMap<>();
+        for (int i = 0; i < claves.size(); i++) {
+            if (!porClave.containsKey(claves.get(i))) {
+                faltantes.putIfAbsent(claves.get(i), tasasEsperadas.get(i));
+            }
+        }
+        if (!faltantes.isEmpty()) {
+            List<BigDecimal> tasas = new ArrayList<>(faltantes.values());
+            List<Calculo> valorados = calculoFinancieroService.calcularInversiones(bono, tasas);
+            List<ResultadoCalculo> nuevos = new ArrayList<>(tasas.size());
+            for (int i = 0; i < tasas.size(); i++) {
+                Calculo valorado = valorados.get(i);
+                nuevos.add(new ResultadoCalculo(terminos, huella, tasas.get(i), valorado.getTrea(),
+                        valorado.getPrecioMaximo()));
+            }
+            resultadoCalculoRepository.publicar(nuevos, false);
+            // Se releen para obtener los IDs y, si otro nodo se adelantó, la fila que quedó
+            porClave.putAll(buscar(faltantes.keySet()));
+        }
+
+        LocalDate hoy = LocalDate.now();
+        List<Calculo> calculos = new ArrayList<>(tasasEsperadas.size());
+        for (int i = 0; i < tasasEsperadas.size(); i++) {
+            Calculo calculo = new Calculo();
+            calculo.setBono(bono);
+            calculo.setTasaEsperada(tasasEsperadas.get(i));
+            calculo.setFechaCalculo(hoy);
+            calculo.setResultado(porClave.get(claves.get(i)));
+            calculos.add(calculo);
+        }
+        return calculos;
+    }
+
+    /**
+     * Publica resultados recién recalculados, sobrescribiendo los importes de los que ya existían.
+     */
+    @Transactional
+    public void reemplazar(List<ResultadoCalculo> resultados) {
+        resultadoCalculoRepository.publicar(resultados, true);
+    }
+
+    private Map<String, ResultadoCalculo> buscar(Collection<String> claves) {
+        return resultadoCalculoRepository.findByClaveIn(claves).stream()
+                .collect(Collectors.toMap(ResultadoCalculo::getClave, Function.identity()));
+    }
+}
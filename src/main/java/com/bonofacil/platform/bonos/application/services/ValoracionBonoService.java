@@ -0,0 +1,67 @@
+package com.bonofacil.platform.bonos.application.services;
+
+import com.bonofacil.platform.bonos.domain.model.projections.PuntoValoracion;
+import com.bonofacil.platform.bonos.domain.model.valueobjects.IntervaloHistorial;
+import com.bonofacil.platform.bonos.infrastructure.persistence.jpa.repositories.ValoracionBonoRepository;
+import com.bonofacil.platform.shared.application.exceptions.InvalidValueException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Serie histórica de valoración de los bonos.
+ * <p>
+ * Las métricas de cada bono se mantienen calculadas en el propio bono al crearlo, al cambiar sus términos y
+ * en el recálculo masivo, así que el cierre diario las copia a la serie con un único INSERT ... SELECT en
+ * lugar de volver a valorar el catálogo. Los gráficos leen la serie guardada, diaria o promediada por
+ * semana o mes en la base de datos.
+ * </p>
+ */
+@Service
+public class ValoracionBonoService {
+
+    private final ValoracionBonoRepository valoracionBonoRepository;
+    private final int maxDiasSerieDiaria;
+
+    public ValoracionBonoService(ValoracionBonoRepository valoracionBonoRepository,
+                                 @Value("${bonos.valoraciones.max-dias-serie-diaria:1100}") int maxDiasSerieDiaria) {
+        this.valoracionBonoRepository = valoracionBonoRepository;
+        this.maxDiasSerieDiaria = maxDiasSerieDiaria;
+    }
+
+    /**
+     * Registra la valoración de cierre de todos los bonos valorados. Repetirlo el mismo día no duplica filas.
+     *
+     * @return Valoraciones registradas
+     */
+    @Transactional
+    public int registrarCierre(LocalDate fecha) {
+        return valoracionBonoRepository.registrarCierre(fecha);
+    }
+
+    /**
+     * Obtiene la serie de valoración del bono.
+     *
+     * @param desde Primera fecha, o {@code null} para un año antes de {@code hasta}
+     * @param hasta Última fecha, o {@code null} para hoy
+     * @throws InvalidValueException si el rango está invertido o una serie diaria abarca demasiados días
+     */
+    @Transactional(readOnly = true)
+    public List<PuntoValoracion> obtenerHistorial(Long bonoId, LocalDate desde, LocalDate hasta,
+                                                  IntervaloHistorial intervalo) {
+        LocalDate fin = hasta != null ? hasta : LocalDate.now();
+        LocalDate inicio = desde != null ? desde : fin.minusYears(1);
+        if (inicio.isAfter(fin)) {
+            throw new InvalidValueException("La fecha inicial es posterior a la final");
+        }
+        if (intervalo == IntervaloHistorial.DIA && ChronoUnit.DAYS.between(inicio, fin) > maxDiasSerieDiaria) {
+            throw new InvalidValueException("La serie diaria admite como máximo " + maxDiasSerieDiaria
+                    + " días; use el intervalo semana o mes");
+        }
+        return valoracionBonoRepository.findSerie(bonoId, inicio, fin, intervalo);
+    }
+}
@@ -0,0 +1,27 @@
+package com.bonofacil.platform.bonos.domain.model.commands;
+
+import com.bonofacil.platform.bonos.domain.model.valueobjects.PlazoGracia;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Cambios parciales sobre un bono: los campos {@code null} se dejan como están.
+ *
+ * @param bonoId Bono a modificar
+ * @param emisorUsername Emisor que solicita el cambio, o {@code null} para omitir la verificación de propiedad
+ */
+public record ActualizarBonoCommand(Long bonoId,
+                                    String emisorUsername,
+                                    String nombre,
+                                    String descripcion,
+                                    BigDecimal valorNominal,
+                                    BigDecimal tasaCupon,
+                                    Integer plazoAnios,
+                                    Integer frecuenciaPagos,
+                                    String moneda,
+                                    LocalDate fechaEmision,
+                                    PlazoGracia plazoGracia,
+                                    BigDecimal tasaDescuento,
+                                    String metodoAmortizacion) {
+}
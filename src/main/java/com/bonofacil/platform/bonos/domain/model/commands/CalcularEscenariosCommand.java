@@ -0,0 +1,14 @@
+package com.bonofacil.platform.bonos.domain.model.commands;
+
+import com.bonofacil.platform.bonos.domain.model.valueobjects.EscenarioInversion;
+
+import java.util.List;
+
+/**
+ * Solicitud de varios cálculos de inversión en una sola operación.
+ *
+ * @param inversorUsername Inversor al que se registran los cálculos
+ * @param escenarios Escenarios a evaluar; los cálculos se devuelven en este orden
+ */
+public record CalcularEscenariosCommand(String inversorUsername, List<EscenarioInversion> escenarios) {
+}
@@ -0,0 +1,29 @@
+package com.bonofacil.platform.bonos.domain.model.commands;
+
+import com.bonofacil.platform.bonos.domain.model.valueobjects.PlazoGracia;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Términos de un bono nuevo. Las métricas derivadas las calcula el manejador del comando antes de persistir.
+ *
+ * @param moneda Código de la moneda
+ * @param plazoGracia Plazo de gracia, o {@code null} si no tiene
+ * @param tasaDescuento Tasa de descuento, o {@code null} para derivarla de la TCEA
+ * @param metodoAmortizacion Método de amortización, o {@code null} para el americano
+ * @param emisorUsername Emisor propietario, o {@code null} si no se asigna
+ */
+public record CrearBonoCommand(String nombre,
+                               String descripcion,
+                               BigDecimal valorNominal,
+                               BigDecimal tasaCupon,
+                               int plazoAnios,
+                               int frecuenciaPagos,
+                               String moneda,
+                               LocalDate fechaEmision,
+                               PlazoGracia plazoGracia,
+                               BigDecimal tasaDescuento,
+                               String metodoAmortizacion,
+                               String emisorUsername) {
+}
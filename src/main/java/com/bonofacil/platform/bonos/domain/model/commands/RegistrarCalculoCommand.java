@@ -0,0 +1,15 @@
+package com.bonofacil.platform.bonos.domain.model.commands;
+
+import java.math.BigDecimal;
+
+/**
+ * Solicitud de un cálculo de inversión.
+ *
+ * @param inversorUsername Inversor al que se registra el cálculo
+ * @param tasaEsperada Tasa esperada en formato decimal
+ * @param claveIdempotencia Clave elegida por el cliente para que un reenvío devuelva el mismo cálculo,
+ *                          o {@code null}
+ */
+public record RegistrarCalculoCommand(String inversorUsername, Long bonoId, BigDecimal tasaEsperada,
+                                      String claveIdempotencia) {
+}
@@ -1,5 +1,7 @@
 package com.bonofacil.platform.bonos.domain.model.entities;
 
+import com.bonofacil.platform.bonos.domain.model.commands.ActualizarBonoCommand;
+import com.bonofacil.platform.bonos.domain.model.commands.CrearBonoCommand;
 import com.bonofacil.platform.bonos.domain.model.valueobjects.ConfiguracionCalculo;
 import com.bonofacil.platform.bonos.domain.model.valueobjects.DuracionConvexidad;
 import com.bonofacil.platform.bonos.domain.model.valueobjects.Moneda;
@@ -8,15 +10,18 @@ import com.bonofacil.platform.bonos.domain.model.valueobjects.PrecioMercado;
 import com.bonofacil.platform.bonos.domain.model.valueobjects.Rendimiento;
 import com.bonofacil.platform.bonos.domain.model.valueobjects.TasaInteres;
 import com.bonofacil.platform.shared.domain.model.entities.AuditableModel;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.DynamicUpdate;
 
 import jakarta.persistence.*;
 import java.math.BigDecimal;
 import java.math.MathContext;
 import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
@@ -31,10 +36,12 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@DynamicUpdate
 @Table(name = "bonos")
 public class Bono extends AuditableModel {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bonos_seq")
+    @SequenceGenerator(name = "bonos_seq", sequenceName = "bonos_seq", allocationSize = 50)
     private Long id;
 
     private String nombre;
@@ -65,14 +72,42 @@ public class Bono extends AuditableModel {
     @Column(precision = 19, scale = 6)
     private BigDecimal tasaDescuento;
 
+    // Precio a la tasa de descuento del bono, calculado en cada escritura
+    @Column(precision = 19, scale = 6)
+    private BigDecimal precio;
+
+    // Rendimiento comprando a la par, calculado en cada escritura
+    @Column(precision = 19, scale = 6)
+    private BigDecimal rendimientoPar;
+
     private String metodoAmortizacion = "AMERICANO";
 
     private String emisorUsername;
 
+    // Huella de los términos con los que se generó el cronograma persistido
+    private Long huellaFlujos;
+
     @Transient
     private List<FlujoFinanciero> flujos = new ArrayList<>();
 
-    @OneToMany(mappedBy = "bono", cascade = CascadeType.ALL, orphanRemoval = true)
+    // Etapas del cronograma: cada columna se recalcula solo cuando cambian sus datos de origen
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Long huellaMontos;
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private LocalDate fechaEmisionFechas;
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private BigDecimal tasaValoracion;
+
+    // Lado inverso de solo lectura: el borrado de cálculos se hace por conjunto en EliminacionBonoService
+    @OneToMany(mappedBy = "bono")
     private List<Calculo> calculos = new ArrayList<>();
 
     // Constantes para cálculos
@@ -90,6 +125,65 @@ public class Bono extends AuditableModel {
     @Transient
     private ConfiguracionCalculo configuracion;
 
+    public Bono(CrearBonoCommand command) {
+        this.nombre = command.nombre();
+        this.descripcion = command.descripcion();
+        this.valorNominal = command.valorNominal();
+        this.tasaCupon = command.tasaCupon();
+        this.plazoAnios = command.plazoAnios();
+        this.frecuenciaPagos = command.frecuenciaPagos();
+        this.moneda = command.moneda();
+        this.fechaEmision = command.fechaEmision();
+        setPlazoGracia(command.plazoGracia());
+        this.tasaDescuento = command.tasaDescuento();
+        if (command.metodoAmortizacion() != null) {
+            this.metodoAmortizacion = command.metodoAmortizacion();
+        }
+        this.emisorUsername = command.emisorUsername();
+    }
+
+    /**
+     * Aplica los campos informados en el comando y deja los demás sin cambios.
+     */
+    public void aplicarCambios(ActualizarBonoCommand command) {
+        if (command.nombre() != null) {
+            this.nombre = command.nombre();
+        }
+        if (command.descripcion() != null) {
+            this.descripcion = command.descripcion();
+        }
+        if (command.valorNominal() != null) {
+            this.valorNominal = command.valorNominal();
+        }
+        if (command.tasaCupon() != null) {
+            this.tasaCupon = command.tasaCupon();
+            this.tasaInteres = null;
+        }
+        if (command.plazoAnios() != null) {
+            this.plazoAnios = command.plazoAnios();
+        }
+        if (command.frecuenciaPagos() != null) {
+            this.frecuenciaPagos = command.frecuenciaPagos();
+            this.tasaInteres = null;
+        }
+        if (command.moneda() != null) {
+            this.moneda = command.moneda();
+            this.configuracion = null;
+        }
+        if (command.fechaEmision() != null) {
+            this.fechaEmision = command.fechaEmision();
+        }
+        if (command.plazoGracia() != null) {
+            setPlazoGracia(command.plazoGracia());
+        }
+        if (command.tasaDescuento() != null) {
+            this.tasaDescuento = command.tasaDescuento();
+        }
+        if (command.metodoAmortizacion() != null) {
+            this.metodoAmortizacion = command.metodoAmortizacion();
+        }
+    }
+
     public PlazoGracia getPlazoGracia() {
         if (plazoGracia == null) {
             // Priorizamos el plazo de gracia total sobre el parcial
@@ -231,8 +325,87 @@ public class Bono extends AuditableModel {
         this.tasaDescuento = BigDecimal.valueOf(value);
     }
 
+    /**
+     * Verifica que los términos económicos permitan calcular el cronograma.
+     *
+     * @throws IllegalArgumentException si algún término es nulo o no positivo
+     */
+    public void validarTerminos() {
+        if (valorNominal == null || valorNominal.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("El valor nominal debe ser positivo");
+        }
+        if (tasaCupon == null) {
+            throw new IllegalArgumentException("La tasa cupón no puede ser nula");
+        }
+        if (plazoAnios <= 0) {
+            throw new IllegalArgumentException("El plazo en años debe ser positivo");
+        }
+        if (frecuenciaPagos <= 0) {
+            throw new IllegalArgumentException("La frecuencia de pagos debe ser positiva");
+        }
+        if (fechaEmision == null) {
+            throw new IllegalArgumentException("La fecha de emisión no puede ser nula");
+        }
+    }
+
+    /**
+     * Calcula una huella de 64 bits (FNV-1a) de los términos económicos del bono.
+     * Solo cambia cuando cambia algún dato que afecta al cronograma o a las métricas,
+     * por lo que sirve para versionar resultados calculados.
+     *
+     * @return Huella de los términos del bono
+     */
+    public long calcularHuellaTerminos() {
+        return huella(terminosCanonicos());
+    }
+
+    /**
+     * Representación canónica de los términos económicos del bono: los que determinan los montos del
+     * cronograma y la fecha de emisión. Dos bonos con los mismos términos, aunque escritos en otra escala,
+     * tienen la misma representación.
+     *
+     * @return Términos separados por {@code |}
+     */
+    public String terminosCanonicos() {
+        return String.join("|", calcularHuellaMontos(), String.valueOf(fechaEmision));
+    }
+
+    /**
+     * Huella de los términos que determinan los montos del cronograma (cupones, amortización y saldos).
+     * No incluye la fecha de emisión, que solo afecta a la columna de fechas.
+     */
+    private String calcularHuellaMontos() {
+        return String.join("|",
+                normalizar(valorNominal),
+                normalizar(tasaCupon),
+                String.valueOf(plazoAnios),
+                String.valueOf(frecuenciaPagos),
+                String.valueOf(plazosGraciaTotal),
+                String.valueOf(plazosGraciaParcial),
+                String.valueOf(metodoAmortizacion));
+    }
+
+    private static long huella(String... partes) {
+        long huella = 0xcbf29ce484222325L;
+        for (byte b : String.join("|", partes).getBytes(StandardCharsets.UTF_8)) {
+            huella ^= (b & 0xff);
+            huella *= 0x100000001b3L;
+        }
+        return huella;
+    }
+
+    private static String normalizar(BigDecimal valor) {
+        return valor != null ? valor.stripTrailingZeros().toPlainString() : "null";
+    }
+
     /**
      * Genera el flujo de caja para el bono usando el método americano.
+     * <p>
+     * El cronograma se calcula por etapas: los montos dependen solo de los términos del bono,
+     * las fechas de la fecha de emisión y los valores presentes de la tasa de descuento.
+     * Cada etapa se reutiliza mientras no cambien sus datos, de modo que una nueva tasa
+     * solo recalcula la columna de valores presentes.
+     * </p>
      * @param tasaDescuento Tasa de descuento para calcular valores actuales
      * @return Lista de flujos de caja
      */
@@ -245,36 +418,46 @@ public class Bono extends AuditableModel {
         // Guardamos la tasa para futuros cálculos
         this.tasaDescuento = tasaDescuento;
 
+        generarMontosFlujo();
+        generarFechasFlujo();
+        valorarFlujos(tasaDescuento);
+
+        // Se devuelve una copia para que revaloraciones posteriores no alteren el resultado
+        List<FlujoFinanciero> copia = new ArrayList<>(flujos.size());
+        for (FlujoFinanciero flujo : flujos) {
+            copia.add(copiarFlujo(flujo));
+        }
+        return copia;
+    }
+
+    /**
+     * Etapa dependiente de los términos: cupones, amortización, flujo total y saldo insoluto.
+     * Se recalcula solo si cambió la huella de los montos; al hacerlo invalida las demás columnas.
+     */
+    private void generarMontosFlujo() {
+        String terminos = calcularHuellaMontos();
+        long huellaActual = huella(terminos);
+        if (huellaMontos != null && huellaMontos == huellaActual && !flujos.isEmpty()) {
+            return;
+        }
+
         // Calculamos el número total de períodos
         int periodosTotales = this.plazoAnios * this.frecuenciaPagos;
 
         // Preparamos la tasa por período
         BigDecimal tasaCuponPorPeriodo = this.tasaCupon.divide(BigDecimal.valueOf(frecuenciaPagos), 10, RoundingMode.HALF_UP);
 
-        // Calculamos la tasa de descuento por período
-        BigDecimal tasaDescuentoPorPeriodo = tasaDescuento.divide(BigDecimal.valueOf(frecuenciaPagos), 10, RoundingMode.HALF_UP);
-
         // Inicializamos la lista de flujos
-        List<FlujoFinanciero> flujos = new ArrayList<>();
+        List<FlujoFinanciero> nuevosFlujos = new ArrayList<>();
 
         // Valor nominal como saldo inicial
         BigDecimal saldoInicial = this.valorNominal;
 
-        // Calculamos la fecha de inicio (fecha de emisión)
-        LocalDate fechaInicio = this.fechaEmision;
-
-        // Inicializamos el valor presente total
-        BigDecimal valorPresenteTotal = BigDecimal.ZERO;
-
         // Para cada período generamos un flujo
         for (int periodo = 1; periodo <= periodosTotales; periodo++) {
             FlujoFinanciero flujo = new FlujoFinanciero();
             flujo.setPeriodo(periodo);
 
-            // Calculamos la fecha del flujo
-            LocalDate fechaFlujo = calcularFechaFlujo(fechaInicio, periodo);
-            flujo.setFecha(fechaFlujo);
-
             // Establecemos el bono asociado al flujo
             flujo.setBono(this);
 
@@ -308,30 +491,69 @@ public class Bono extends AuditableModel {
             }
 
             // Calculamos el flujo total
-            BigDecimal flujoTotal = flujo.getCupon().add(flujo.getAmortizacion());
-            flujo.setFlujoTotal(flujoTotal);
+            flujo.setFlujoTotal(flujo.getCupon().add(flujo.getAmortizacion()));
 
             // Actualizamos el saldo insoluto
             BigDecimal nuevoSaldo = saldoInicial.subtract(flujo.getAmortizacion());
             flujo.setSaldoInsoluto(nuevoSaldo);
             saldoInicial = nuevoSaldo;
 
-            // Calculamos el valor presente de este flujo
-            BigDecimal factorDescuento = BigDecimal.ONE.add(tasaDescuentoPorPeriodo).pow(periodo, MC);
-            BigDecimal valorPresente = flujoTotal.divide(factorDescuento, 10, RoundingMode.HALF_UP);
-            flujo.setValorPresente(valorPresente);
+            nuevosFlujos.add(flujo);
+        }
 
-            // Acumulamos el valor presente total
-            valorPresenteTotal = valorPresenteTotal.add(valorPresente);
+        // Guardamos los flujos generados; las columnas de fechas y valores presentes quedan pendientes
+        this.flujos = nuevosFlujos;
+        this.huellaMontos = huellaActual;
+        this.fechaEmisionFechas = null;
+        this.tasaValoracion = null;
+    }
 
-            // Agregamos el flujo a la lista
-            flujos.add(flujo);
+    /**
+     * Etapa de fechas: se recalcula solo si cambió la fecha de emisión o se regeneraron los montos.
+     */
+    private void generarFechasFlujo() {
+        if (fechaEmision == null || fechaEmision.equals(fechaEmisionFechas)) {
+            return;
+        }
+        for (FlujoFinanciero flujo : flujos) {
+            flujo.setFecha(calcularFechaFlujo(fechaEmision, flujo.getPeriodo()));
         }
+        this.fechaEmisionFechas = fechaEmision;
+    }
 
-        // Guardamos los flujos generados
-        this.flujos = flujos;
+    /**
+     * Etapa de valoración: recalcula la columna de valores presentes para la tasa indicada,
+     * reutilizando los montos ya generados.
+     *
+     * @param tasa Tasa de descuento anual
+     */
+    private void valorarFlujos(BigDecimal tasa) {
+        generarMontosFlujo();
+        if (tasaValoracion != null && tasaValoracion.compareTo(tasa) == 0) {
+            return;
+        }
 
-        return flujos;
+        // Calculamos la tasa de descuento por período
+        BigDecimal tasaDescuentoPorPeriodo = tasa.divide(BigDecimal.valueOf(frecuenciaPagos), 10, RoundingMode.HALF_UP);
+
+        for (FlujoFinanciero flujo : flujos) {
+            BigDecimal factorDescuento = BigDecimal.ONE.add(tasaDescuentoPorPeriodo).pow(flujo.getPeriodo(), MC);
+            flujo.setValorPresente(flujo.getFlujoTotal().divide(factorDescuento, 10, RoundingMode.HALF_UP));
+        }
+        this.tasaValoracion = tasa;
+    }
+
+    private static FlujoFinanciero copiarFlujo(FlujoFinanciero origen) {
+        FlujoFinanciero flujo = new FlujoFinanciero();
+        flujo.setBono(origen.getBono());
+        flujo.setPeriodo(origen.getPeriodo());
+        flujo.setFecha(origen.getFecha());
+        flujo.setCupon(origen.getCupon());
+        flujo.setAmortizacion(origen.getAmortizacion());
+        flujo.setFlujoTotal(origen.getFlujoTotal());
+        flujo.setSaldoInsoluto(origen.getSaldoInsoluto());
+        flujo.setValorPresente(origen.getValorPresente());
+        return flujo;
     }
 
     /**
@@ -353,12 +575,7 @@ public class Bono extends AuditableModel {
      * @return Objeto con las métricas calculadas
      */
     public DuracionConvexidad calcularMetricas(BigDecimal tasaMercado) {
-        // Generamos flujos si no existen
-        if (flujos.isEmpty()) {
-            generarFlujoCajaMetodoAmericano(tasaMercado);
-        }
-
-        // Preparamos variables para el cálculo
+        // Preparamos variables para el cálculo; el precio deja valorados los flujos a la tasa de mercado
         BigDecimal precioActual = calcularPrecio(tasaMercado);
         BigDecimal tasaPorPeriodo = tasaMercado.divide(BigDecimal.valueOf(frecuenciaPagos), 10, RoundingMode.HALF_UP);
 
@@ -368,14 +585,10 @@ public class Bono extends AuditableModel {
 
         // Para cada flujo calculamos su contribución a la duración y convexidad
         for (FlujoFinanciero flujo : flujos) {
-            BigDecimal flujoTotal = flujo.getFlujoTotal();
             int periodo = flujo.getPeriodo();
 
-            // Factor de descuento
-            BigDecimal factorDescuento = BigDecimal.ONE.add(tasaPorPeriodo).pow(periodo, MC);
-
-            // Valor presente del flujo
-            BigDecimal valorPresente = flujoTotal.divide(factorDescuento, 10, RoundingMode.HALF_UP);
+            // Valor presente del flujo a la tasa de mercado
+            BigDecimal valorPresente = flujo.getValorPresente();
 
             // Contribución a la duración (ponderada por tiempo)
             BigDecimal contribucionDuracion = valorPresente.multiply(BigDecimal.valueOf(periodo));
@@ -424,10 +637,8 @@ public class Bono extends AuditableModel {
      * @return Precio calculado
      */
     public BigDecimal calcularPrecio(BigDecimal tasaRendimiento) {
-        // Generamos flujos si no existen
-        if (flujos.isEmpty()) {
-            generarFlujoCajaMetodoAmericano(tasaRendimiento);
-        }
+        // Revaloramos los flujos solo si la tasa es distinta de la última usada
+        valorarFlujos(tasaRendimiento);
 
         // Sumamos los valores presentes de todos los flujos
         BigDecimal precio = BigDecimal.ZERO;
@@ -445,12 +656,8 @@ public class Bono extends AuditableModel {
      * @return Objeto con la TCEA calculada
      */
     public Rendimiento calcularTCEA(BigDecimal costosEmision) {
-        // GENERAR FLUJOS antes de calcular TIR (FIX PRINCIPAL)
-        if (flujos.isEmpty()) {
-            generarFlujoCajaMetodoAmericano(
-                tasaDescuento != null ? tasaDescuento : BigDecimal.valueOf(0.08)
-            );
-        }
+        // GENERAR MONTOS DEL FLUJO antes de calcular TIR (FIX PRINCIPAL)
+        generarMontosFlujo();
         
         // El emisor recibe el valor nominal menos los costos de emisión
         BigDecimal importeRecibido = valorNominal.subtract(costosEmision);
@@ -471,12 +678,8 @@ public class Bono extends AuditableModel {
      * @return Objeto con la TREA calculada
      */
     public Rendimiento calcularTREA(BigDecimal precioCompra) {
-        // GENERAR FLUJOS antes de calcular TIR (consistencia con TCEA)
-        if (flujos.isEmpty()) {
-            generarFlujoCajaMetodoAmericano(
-                tasaDescuento != null ? tasaDescuento : BigDecimal.valueOf(0.08)
-            );
-        }
+        // GENERAR MONTOS DEL FLUJO antes de calcular TIR (consistencia con TCEA)
+        generarMontosFlujo();
         
         // Calcula la tasa interna de retorno (TIR) con método numérico
         BigDecimal tir = calcularTIR(precioCompra);
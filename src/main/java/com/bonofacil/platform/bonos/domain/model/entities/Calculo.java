@@ -17,11 +17,17 @@ import java.time.LocalDate;
 @Entity
 @Table(name = "calculos")
 public class Calculo extends AuditableModel {
+
+    // Incremento de calculos_seq; la escritura diferida reserva bloques de IDs con la misma semántica
+    public static final String SECUENCIA = "calculos_seq";
+    public static final int TAMANO_BLOQUE_IDS = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = SECUENCIA)
+    @SequenceGenerator(name = SECUENCIA, sequenceName = SECUENCIA, allocationSize = TAMANO_BLOQUE_IDS)
     private Long id;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "bono_id")
     private Bono bono;
     
@@ -30,18 +36,37 @@ public class Calculo extends AuditableModel {
     @Column(precision = 19, scale = 6)
     private BigDecimal tasaEsperada;
     
+    // Importes propios: solo los tienen los cálculos anteriores a los resultados compartidos y los que
+    // aún no se han resuelto contra uno
     @Column(precision = 19, scale = 6)
     private BigDecimal trea;
     
     @Column(precision = 19, scale = 4)
     private BigDecimal precioMaximo;
     
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "resultado_id")
+    private ResultadoCalculo resultado;
+    
+    // Clave de idempotencia enviada por el inversor; su unicidad la garantiza ClaveIdempotenciaCalculo
+    @Column(name = "clave_idempotencia", length = 100)
+    private String claveIdempotencia;
+    
+    // Clave de partición de la tabla: no puede ser nula
+    @Column(nullable = false)
     private LocalDate fechaCalculo;
     
     // Información adicional sobre el cálculo (como tipo de valoración)
     @Column(name = "informacion_adicional", length = 255)
     private String informacionAdicional;
     
+    @PrePersist
+    void asignarFechaCalculo() {
+        if (fechaCalculo == null) {
+            fechaCalculo = LocalDate.now();
+        }
+    }
+    
     public Long getBonoId() {
         return bono != null ? bono.getId() : null;
     }
@@ -50,6 +75,18 @@ public class Calculo extends AuditableModel {
         return bono != null ? bono.getNombre() : null;
     }
     
+    public Long getResultadoId() {
+        return resultado != null ? resultado.getId() : null;
+    }
+    
+    public BigDecimal getTrea() {
+        return trea != null || resultado == null ? trea : resultado.getTrea();
+    }
+    
+    public BigDecimal getPrecioMaximo() {
+        return precioMaximo != null || resultado == null ? precioMaximo : resultado.getPrecioMaximo();
+    }
+    
     /**
      * Métodos de utilidad para convertir entre BigDecimal y double
      */
@@ -58,11 +95,13 @@ public class Calculo extends AuditableModel {
     }
     
     public double getTreaAsDouble() {
-        return trea != null ? trea.doubleValue() : 0.0;
+        BigDecimal valor = getTrea();
+        return valor != null ? valor.doubleValue() : 0.0;
     }
     
     public double getPrecioMaximoAsDouble() {
-        return precioMaximo != null ? precioMaximo.doubleValue() : 0.0;
+        BigDecimal valor = getPrecioMaximo();
+        return valor != null ? valor.doubleValue() : 0.0;
     }
     
     public void setTasaEsperadaFromDouble(double value) {
@@ -0,0 +1,47 @@
+package com.bonofacil.platform.bonos.domain.model.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Clave de idempotencia usada por un inversor y el cálculo que registró. La tabla de cálculos está
+ * particionada por fecha y sus índices únicos deben incluirla, así que la unicidad por inversor se garantiza
+ * aquí, en una tabla sin particionar. La fila no referencia al cálculo con una clave foránea para no impedir
+ * que su partición se archive; una clave cuyo cálculo ya no existe queda libre.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@IdClass(ClaveIdempotenciaCalculo.Clave.class)
+@Table(name = "claves_idempotencia_calculos")
+public class ClaveIdempotenciaCalculo {
+
+    @Id
+    private String inversorUsername;
+
+    @Id
+    @Column(length = 100)
+    private String clave;
+
+    @Column(nullable = false)
+    private Long calculoId;
+
+    @Column(nullable = false)
+    private LocalDate fechaCalculo;
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Clave implements Serializable {
+        private String inversorUsername;
+        private String clave;
+    }
+}
@@ -23,10 +23,11 @@ import java.time.LocalDate;
 @Table(name = "flujos_financieros")
 public class FlujoFinanciero extends AuditableModel {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "flujos_financieros_seq")
+    @SequenceGenerator(name = "flujos_financieros_seq", sequenceName = "flujos_financieros_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "bono_id")
     private Bono bono;
     
@@ -0,0 +1,81 @@
+package com.bonofacil.platform.bonos.domain.model.entities;
+
+import com.bonofacil.platform.shared.domain.model.entities.AuditableModel;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Precio máximo y TREA de una valoración de inversión, compartidos por todos los cálculos con las mismas
+ * entradas. La clave es un SHA-256 de los términos canónicos del bono, la tasa esperada y el nivel de
+ * precisión del motor, por lo que una fila nunca cambia de significado: si cambian los términos del bono,
+ * la tasa o las fórmulas, la clave es otra. La huella de términos de 64 bits se guarda solo como referencia:
+ * dos términos distintos pueden compartirla.
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(name = "resultados_calculos")
+public class ResultadoCalculo extends AuditableModel {
+
+    /**
+     * Versión de las fórmulas y del redondeo del motor de valoración. Se incrementa al cambiarlos para que
+     * los resultados calculados con la versión anterior dejen de reutilizarse.
+     */
+    public static final int NIVEL_PRECISION = 1;
+
+    // Las filas se insertan con INSERT ... ON CONFLICT, sin pasar por el contexto de persistencia
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(length = 64, nullable = false, unique = true)
+    private String clave;
+
+    @Column(nullable = false)
+    private Long huellaTerminos;
+
+    @Column(precision = 19, scale = 6, nullable = false)
+    private BigDecimal tasaEsperada;
+
+    @Column(nullable = false)
+    private int nivelPrecision;
+
+    @Column(precision = 19, scale = 6)
+    private BigDecimal trea;
+
+    @Column(precision = 19, scale = 4)
+    private BigDecimal precioMaximo;
+
+    public ResultadoCalculo(String terminosCanonicos, long huellaTerminos, BigDecimal tasaEsperada, BigDecimal trea,
+                            BigDecimal precioMaximo) {
+        this.clave = claveDe(terminosCanonicos, tasaEsperada);
+        this.huellaTerminos = huellaTerminos;
+        this.tasaEsperada = tasaEsperada;
+        this.nivelPrecision = NIVEL_PRECISION;
+        this.trea = trea;
+        this.precioMaximo = precioMaximo;
+    }
+
+    /**
+     * Clave del resultado para un bono con los términos canónicos indicados ({@link Bono#terminosCanonicos()})
+     * y una tasa esperada en el formato en que la recibió el motor. Tasas numéricamente iguales ({@code 5} y
+     * {@code 5.00}) comparten clave.
+     */
+    public static String claveDe(String terminosCanonicos, BigDecimal tasaEsperada) {
+        String entrada = terminosCanonicos + "|" + tasaEsperada.stripTrailingZeros().toPlainString() + "|"
+                + NIVEL_PRECISION;
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(entrada.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+}
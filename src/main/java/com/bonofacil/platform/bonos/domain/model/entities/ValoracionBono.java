@@ -0,0 +1,55 @@
+package com.bonofacil.platform.bonos.domain.model.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Valoración de un bono al cierre de un día. La serie es solo de inserción: las filas las escribe el cierre
+ * diario en lote y nunca se modifican.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@IdClass(ValoracionBono.Clave.class)
+@Table(name = "valoraciones_bonos")
+public class ValoracionBono {
+
+    @Id
+    private Long bonoId;
+
+    @Id
+    private LocalDate fecha;
+
+    @JdbcTypeCode(SqlTypes.REAL)
+    private Float precio;
+
+    @JdbcTypeCode(SqlTypes.REAL)
+    private Float tcea;
+
+    @JdbcTypeCode(SqlTypes.REAL)
+    private Float rendimientoPar;
+
+    @JdbcTypeCode(SqlTypes.REAL)
+    private Float duracion;
+
+    @JdbcTypeCode(SqlTypes.REAL)
+    private Float convexidad;
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Clave implements Serializable {
+        private Long bonoId;
+        private LocalDate fecha;
+    }
+}
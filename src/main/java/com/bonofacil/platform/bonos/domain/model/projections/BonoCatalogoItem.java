@@ -0,0 +1,31 @@
+package com.bonofacil.platform.bonos.domain.model.projections;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Date;
+
+/**
+ * Proyección de solo lectura con las columnas que muestra el catálogo de bonos.
+ * Se construye directamente en la consulta, sin hidratar la entidad {@code Bono} ni sus relaciones.
+ */
+public record BonoCatalogoItem(
+        Long id,
+        String nombre,
+        String descripcion,
+        BigDecimal valorNominal,
+        BigDecimal tasaCupon,
+        int plazoAnios,
+        int frecuenciaPagos,
+        String moneda,
+        LocalDate fechaEmision,
+        int plazosGraciaTotal,
+        int plazosGraciaParcial,
+        BigDecimal tasaDescuento,
+        String metodoAmortizacion,
+        BigDecimal tcea,
+        BigDecimal duracion,
+        BigDecimal convexidad,
+        BigDecimal precio,
+        BigDecimal rendimientoPar,
+        Date createdAt) {
+}
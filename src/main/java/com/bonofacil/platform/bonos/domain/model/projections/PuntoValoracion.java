@@ -0,0 +1,11 @@
+package com.bonofacil.platform.bonos.domain.model.projections;
+
+import java.time.LocalDate;
+
+/**
+ * Punto de la serie de valoración de un bono: la valoración de un día o el promedio de un intervalo que
+ * empieza en {@code fecha}.
+ */
+public record PuntoValoracion(LocalDate fecha, Double precio, Double tcea, Double rendimientoPar,
+                              Double duracion, Double convexidad) {
+}
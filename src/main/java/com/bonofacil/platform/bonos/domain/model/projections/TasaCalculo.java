@@ -0,0 +1,9 @@
+package com.bonofacil.platform.bonos.domain.model.projections;
+
+import java.math.BigDecimal;
+
+/**
+ * Tasa esperada de un cálculo de inversión, lo mínimo para volver a derivarlo a partir de su bono.
+ */
+public record TasaCalculo(Long calculoId, Long bonoId, BigDecimal tasaEsperada) {
+}
@@ -0,0 +1,9 @@
+package com.bonofacil.platform.bonos.domain.model.projections;
+
+import java.util.Date;
+
+/**
+ * Última modificación y huella de términos de un bono; mientras ninguna cambie, sus análisis siguen vigentes.
+ */
+public record VersionBono(Long bonoId, Date updatedAt, Long huellaFlujos) {
+}
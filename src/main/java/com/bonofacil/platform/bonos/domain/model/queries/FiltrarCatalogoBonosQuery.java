@@ -0,0 +1,47 @@
+package com.bonofacil.platform.bonos.domain.model.queries;
+
+import com.bonofacil.platform.bonos.domain.model.valueobjects.OrdenFiltroCatalogo;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Consulta del catálogo con criterios combinables. Los criterios nulos no filtran.
+ *
+ * @param moneda Código de moneda
+ * @param tasaCuponMin Tasa cupón mínima (inclusiva)
+ * @param tasaCuponMax Tasa cupón máxima (inclusiva)
+ * @param plazoAniosMin Plazo mínimo en años
+ * @param plazoAniosMax Plazo máximo en años
+ * @param frecuenciaPagos Pagos por año
+ * @param emisorUsername Emisor del bono
+ * @param fechaEmisionDesde Fecha de emisión mínima
+ * @param fechaEmisionHasta Fecha de emisión máxima
+ * @param duracionMin Duración mínima en años
+ * @param duracionMax Duración máxima en años
+ * @param tceaMin TCEA mínima
+ * @param precioMax Precio máximo
+ * @param rendimientoParMin Rendimiento a la par mínimo
+ * @param orden Campo de orden
+ * @param descendente Si el orden es descendente
+ * @param limite Número máximo de resultados
+ */
+public record FiltrarCatalogoBonosQuery(
+        String moneda,
+        BigDecimal tasaCuponMin,
+        BigDecimal tasaCuponMax,
+        Integer plazoAniosMin,
+        Integer plazoAniosMax,
+        Integer frecuenciaPagos,
+        String emisorUsername,
+        LocalDate fechaEmisionDesde,
+        LocalDate fechaEmisionHasta,
+        BigDecimal duracionMin,
+        BigDecimal duracionMax,
+        BigDecimal tceaMin,
+        BigDecimal precioMax,
+        BigDecimal rendimientoParMin,
+        OrdenFiltroCatalogo orden,
+        boolean descendente,
+        int limite) {
+}
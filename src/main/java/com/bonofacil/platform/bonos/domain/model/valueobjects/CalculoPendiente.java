@@ -0,0 +1,15 @@
+package com.bonofacil.platform.bonos.domain.model.valueobjects;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Cálculo de inversión ya confirmado al inversor pero aún no escrito en la base de datos.
+ * El ID se reservó de la secuencia de cálculos, por lo que es el definitivo. Los importes propios solo
+ * vienen informados si el cálculo no apunta a un resultado compartido.
+ */
+public record CalculoPendiente(Long id, Long bonoId, String inversorUsername, BigDecimal tasaEsperada,
+                               BigDecimal trea, BigDecimal precioMaximo, Long resultadoId, LocalDate fechaCalculo,
+                               String informacionAdicional, Instant creadoEn) {
+}
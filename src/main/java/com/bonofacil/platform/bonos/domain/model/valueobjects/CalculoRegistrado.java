@@ -0,0 +1,10 @@
+package com.bonofacil.platform.bonos.domain.model.valueobjects;
+
+import com.bonofacil.platform.bonos.domain.model.entities.Calculo;
+
+/**
+ * Cálculo de inversión registrado, indicando si ya existía por un envío anterior con la misma clave
+ * de idempotencia.
+ */
+public record CalculoRegistrado(Calculo calculo, boolean repetido) {
+}
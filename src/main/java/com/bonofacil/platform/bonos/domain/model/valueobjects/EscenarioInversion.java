@@ -0,0 +1,9 @@
+package com.bonofacil.platform.bonos.domain.model.valueobjects;
+
+import java.math.BigDecimal;
+
+/**
+ * Par bono y tasa esperada a evaluar dentro de una comparación de escenarios.
+ */
+public record EscenarioInversion(Long bonoId, BigDecimal tasaEsperada) {
+}
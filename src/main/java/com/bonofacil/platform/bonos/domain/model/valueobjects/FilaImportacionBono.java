@@ -0,0 +1,19 @@
+package com.bonofacil.platform.bonos.domain.model.valueobjects;
+
+import com.bonofacil.platform.bonos.domain.model.commands.CrearBonoCommand;
+
+/**
+ * Fila leída de un archivo de importación: el comando de creación o el error que impidió interpretarla.
+ *
+ * @param numero Número de fila de datos, empezando en 1
+ */
+public record FilaImportacionBono(int numero, CrearBonoCommand command, String error) {
+
+    public static FilaImportacionBono valida(int numero, CrearBonoCommand command) {
+        return new FilaImportacionBono(numero, command, null);
+    }
+
+    public static FilaImportacionBono invalida(int numero, String error) {
+        return new FilaImportacionBono(numero, null, error);
+    }
+}
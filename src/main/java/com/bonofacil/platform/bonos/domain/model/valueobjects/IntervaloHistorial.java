@@ -0,0 +1,50 @@
+package com.bonofacil.platform.bonos.domain.model.valueobjects;
+
+import com.bonofacil.platform.shared.application.exceptions.InvalidValueException;
+
+/**
+ * Resolución de la serie histórica de valoración. Los intervalos mayores que un día promedian las
+ * valoraciones de cada semana o mes.
+ */
+public enum IntervaloHistorial {
+    DIA("dia", null),
+    SEMANA("semana", "week"),
+    MES("mes", "month");
+
+    private final String clave;
+    private final String unidadTruncado;
+
+    IntervaloHistorial(String clave, String unidadTruncado) {
+        this.clave = clave;
+        this.unidadTruncado = unidadTruncado;
+    }
+
+    public String getClave() {
+        return clave;
+    }
+
+    /**
+     * Unidad de {@code date_trunc} que agrupa las valoraciones, o {@code null} si no se agrupan.
+     */
+    public String getUnidadTruncado() {
+        return unidadTruncado;
+    }
+
+    /**
+     * Obtiene el intervalo a partir del nombre recibido en la API.
+     *
+     * @param clave Nombre del intervalo, o {@code null} para valoraciones diarias
+     * @return Intervalo correspondiente
+     */
+    public static IntervaloHistorial desde(String clave) {
+        if (clave == null || clave.isBlank()) {
+            return DIA;
+        }
+        for (IntervaloHistorial intervalo : values()) {
+            if (intervalo.clave.equalsIgnoreCase(clave)) {
+                return intervalo;
+            }
+        }
+        throw new InvalidValueException("Intervalo no soportado: " + clave + ". Use dia, semana o mes");
+    }
+}
@@ -0,0 +1,15 @@
+package com.bonofacil.platform.bonos.domain.model.valueobjects;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+/**
+ * Métricas recalculadas de un bono, listas para escribirse sin hidratar la entidad.
+ *
+ * @param bonoId ID del bono
+ * @param leidoEn Marca {@code updatedAt} con la que se leyó el bono; la escritura se descarta si cambió
+ * @param huellaFlujos Huella del cronograma regenerado, o {@code null} si el cronograma no se tocó
+ */
+public record MetricasBono(Long bonoId, Date leidoEn, BigDecimal tcea, BigDecimal duracion, BigDecimal convexidad,
+                           BigDecimal tasaDescuento, BigDecimal precio, BigDecimal rendimientoPar, Long huellaFlujos) {
+}
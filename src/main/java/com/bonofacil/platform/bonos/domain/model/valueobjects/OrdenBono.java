@@ -0,0 +1,41 @@
+package com.bonofacil.platform.bonos.domain.model.valueobjects;
+
+import com.bonofacil.platform.shared.application.exceptions.InvalidValueException;
+
+/**
+ * Claves de orden estables para paginar listados de bonos.
+ * Todas desempatan por ID para que el orden sea total.
+ */
+public enum OrdenBono {
+    ID("id"),
+    FECHA_CREACION("createdAt"),
+    TASA_CUPON("tasaCupon");
+
+    private final String clave;
+
+    OrdenBono(String clave) {
+        this.clave = clave;
+    }
+
+    public String getClave() {
+        return clave;
+    }
+
+    /**
+     * Obtiene el orden a partir del nombre recibido en la API.
+     *
+     * @param clave Nombre del campo de orden, o {@code null} para ordenar por ID
+     * @return Orden correspondiente
+     */
+    public static OrdenBono desde(String clave) {
+        if (clave == null || clave.isBlank()) {
+            return ID;
+        }
+        for (OrdenBono orden : values()) {
+            if (orden.clave.equalsIgnoreCase(clave)) {
+                return orden;
+            }
+        }
+        throw new InvalidValueException("Orden no soportado: " + clave + ". Use id, createdAt o tasaCupon");
+    }
+}
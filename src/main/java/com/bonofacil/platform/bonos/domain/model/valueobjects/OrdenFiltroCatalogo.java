@@ -0,0 +1,49 @@
+package com.bonofacil.platform.bonos.domain.model.valueobjects;
+
+import com.bonofacil.platform.shared.application.exceptions.InvalidValueException;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Campos por los que se puede ordenar el catálogo filtrado. El servidor desempata siempre por ID.
+ */
+public enum OrdenFiltroCatalogo {
+    ID("id"),
+    TASA_CUPON("tasaCupon"),
+    PLAZO_ANIOS("plazoAnios"),
+    FECHA_EMISION("fechaEmision"),
+    TCEA("tcea"),
+    DURACION("duracion"),
+    PRECIO("precio"),
+    RENDIMIENTO_PAR("rendimientoPar");
+
+    private final String atributo;
+
+    OrdenFiltroCatalogo(String atributo) {
+        this.atributo = atributo;
+    }
+
+    public String getAtributo() {
+        return atributo;
+    }
+
+    /**
+     * Obtiene el orden a partir del nombre recibido en la API.
+     *
+     * @param atributo Nombre del campo, o {@code null} para ordenar por ID
+     * @return Orden correspondiente
+     */
+    public static OrdenFiltroCatalogo desde(String atributo) {
+        if (atributo == null || atributo.isBlank()) {
+            return ID;
+        }
+        for (OrdenFiltroCatalogo orden : values()) {
+            if (orden.atributo.equalsIgnoreCase(atributo)) {
+                return orden;
+            }
+        }
+        throw new InvalidValueException("Orden no soportado: " + atributo + ". Use " +
+                Arrays.stream(values()).map(OrdenFiltroCatalogo::getAtributo).collect(Collectors.joining(", ")));
+    }
+}
@@ -0,0 +1,11 @@
+package com.bonofacil.platform.bonos.domain.model.valueobjects;
+
+/**
+ * Resultado de importar una fila: el ID del bono creado o el motivo del rechazo.
+ */
+public record ResultadoImportacionFila(int numero, Long bonoId, String error) {
+
+    public boolean creado() {
+        return bonoId != null;
+    }
+}
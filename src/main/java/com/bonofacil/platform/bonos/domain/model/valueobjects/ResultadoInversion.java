@@ -0,0 +1,7 @@
+package com.bonofacil.platform.bonos.domain.model.valueobjects;
+
+/**
+ * Resultado compartido al que pasa a apuntar un cálculo de inversión existente tras recalcularlo.
+ */
+public record ResultadoInversion(Long calculoId, String claveResultado) {
+}
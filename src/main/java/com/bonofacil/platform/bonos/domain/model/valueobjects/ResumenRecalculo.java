@@ -0,0 +1,26 @@
+package com.bonofacil.platform.bonos.domain.model.valueobjects;
+
+/**
+ * Totales acumulados de un recálculo masivo.
+ *
+ * @param ultimoId ID del último bono confirmado; el recálculo se reanuda después de él
+ * @param bonos Bonos actualizados
+ * @param omitidos Bonos modificados por otra transacción mientras se recalculaban; ya quedaron al día con ella
+ * @param calculos Cálculos de inversión actualizados
+ * @param errores Bonos cuyo cálculo falló
+ */
+public record ResumenRecalculo(long ultimoId, long bonos, long omitidos, long calculos, long errores) {
+
+    public static ResumenRecalculo desde(long ultimoId) {
+        return new ResumenRecalculo(ultimoId, 0, 0, 0, 0);
+    }
+
+    public ResumenRecalculo sumar(long ultimoId, long bonos, long omitidos, long calculos, long errores) {
+        return new ResumenRecalculo(ultimoId, this.bonos + bonos, this.omitidos + omitidos,
+                this.calculos + calculos, this.errores + errores);
+    }
+
+    public long procesados() {
+        return bonos + omitidos + errores;
+    }
+}
@@ -0,0 +1,25 @@
+package com.bonofacil.platform.bonos.domain.services;
+
+import com.bonofacil.platform.bonos.domain.model.commands.ActualizarBonoCommand;
+import com.bonofacil.platform.bonos.domain.model.commands.CrearBonoCommand;
+import com.bonofacil.platform.bonos.domain.model.entities.Bono;
+
+import java.util.Optional;
+
+public interface BonoCommandService {
+
+    /**
+     * Valida los términos, calcula las métricas y persiste el bono con su cronograma en una sola transacción.
+     *
+     * @return El bono creado, con su ID y columnas derivadas
+     */
+    Bono handle(CrearBonoCommand command);
+
+    /**
+     * Aplica sobre la entidad gestionada solo los campos informados. El cronograma y las métricas se
+     * recalculan únicamente si cambia la huella de los términos económicos o la tasa de descuento.
+     *
+     * @return El bono actualizado, o vacío si no existe o no pertenece al emisor indicado
+     */
+    Optional<Bono> handle(ActualizarBonoCommand command);
+}
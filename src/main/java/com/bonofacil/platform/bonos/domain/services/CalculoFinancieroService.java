@@ -27,8 +27,8 @@ public interface CalculoFinancieroService {
     // Calcula el precio máximo que un inversor estaría dispuesto a pagar
     BigDecimal calcularPrecioMaximo(Bono bono, BigDecimal tasaEsperada);
 
-    // Procesa todos los cálculos para un bono
-    void procesarCalculosBono(Bono bono);
+    // Procesa todos los cálculos para un bono, los deja en sus columnas persistidas y devuelve el cronograma usado
+    List<FlujoFinanciero> procesarCalculosBono(Bono bono);
 
     // Procesa los cálculos para un inversor
     void procesarCalculosInversor(Calculo calculo);
@@ -44,6 +44,10 @@ public interface CalculoFinancieroService {
     // Calcula la inversión para un bono con una tasa esperada
     Calculo calcularInversion(Bono bono, BigDecimal tasaEsperada);
     
+    // Calcula la inversión para varias tasas esperadas generando el cronograma del bono una sola vez;
+    // los cálculos se devuelven en el orden de las tasas
+    List<Calculo> calcularInversiones(Bono bono, List<BigDecimal> tasasEsperadas);
+
     // Sobrecarga que acepta tasaEsperada como double
     default Calculo calcularInversion(Bono bono, double tasaEsperada) {
         return calcularInversion(bono, BigDecimal.valueOf(tasaEsperada).divide(BigDecimal.valueOf(100)));
@@ -70,6 +74,7 @@ public interface CalculoFinancieroService {
     // Identifica el método de amortización real del bono (considerando períodos de gracia)
     String identificarMetodoAmortizacion(Bono bono);
 
-    // Corrige cálculos de bonos americanos existentes
+    // Recalcula con las fórmulas vigentes las métricas de un bono existente y sus cálculos de inversión;
+    // devuelve null si el bono no existe. RecalculoBonosService hace lo mismo para todos los bonos
     Bono corregirCalculosBonoAmericano(Long bonoId);
 }
\ No newline at end of file
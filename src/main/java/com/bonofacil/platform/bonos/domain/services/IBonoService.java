@@ -31,9 +31,9 @@ public interface IBonoService {
      * @param descripcion Descripción del bono
      * @param tasaDescuento Tasa de descuento del bono
      * @param metodoAmortizacion Método de amortización del bono
-     * @return ID del bono creado
+     * @return El bono creado, con sus métricas calculadas
      */
-    Long crearBono(String nombre, BigDecimal valorNominal, BigDecimal tasaCupon,
+    Bono crearBono(String nombre, BigDecimal valorNominal, BigDecimal tasaCupon,
                   int plazoAnios, int frecuenciaPagos, PlazoGracia plazoGracia,
                   Moneda moneda, TasaInteres tasaInteres, LocalDate fechaEmision,
                   String descripcion, BigDecimal tasaDescuento, String metodoAmortizacion);
@@ -85,12 +85,13 @@ public interface IBonoService {
     List<Bono> listarBonos();
     
     /**
-     * Busca bonos por nombre (parcial o completo).
+     * Busca bonos por nombre (parcial o completo), ordenados por relevancia.
      * 
      * @param nombre Nombre o parte del nombre a buscar
+     * @param limite Número máximo de resultados
      * @return Lista de bonos que coinciden con el criterio
      */
-    List<Bono> buscarBonosPorNombre(String nombre);
+    List<Bono> buscarBonosPorNombre(String nombre, int limite);
     
     /**
      * Busca bonos por moneda.
@@ -0,0 +1,215 @@
+package com.bonofacil.platform.bonos.infrastructure.persistence.diario;
+
+import com.bonofacil.platform.bonos.domain.model.valueobjects.CalculoPendiente;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Diario local de solo anexado con los cálculos confirmados que aún no llegan a la base de datos.
+ * <p>
+ * Se escribe en segmentos de una línea JSON por cálculo. Cada escritura se sincroniza con el disco antes
+ * de confirmarse al inversor; las sincronizaciones concurrentes se agrupan, de modo que un único
+ * {@code force} cubre todas las escrituras anteriores a él. Al vaciar se rota a un segmento nuevo y el
+ * segmento cerrado se borra cuando su contenido ya está en la base de datos. Los segmentos que quedan
+ * al arrancar son los de una caída y se reproducen. Una última línea incompleta corresponde a una
+ * escritura que nunca se confirmó y se ignora. Los segmentos apartados en cuarentena no se reproducen.
+ * </p>
+ */
+public class DiarioCalculosPendientes {
+
+    private static final Logger logger = LoggerFactory.getLogger(DiarioCalculosPendientes.class);
+
+    private static final String PREFIJO = "calculos-";
+    private static final String EXTENSION = ".log";
+    private static final String CUARENTENA = ".cuarentena";
+
+    private final Path directorio;
+    private final ObjectMapper objectMapper;
+    private final Object sincronizacion = new Object();
+
+    private FileChannel canal;
+    private Path segmentoActual;
+    private long siguienteSegmento;
+    private long escritos;
+    private volatile long sincronizados;
+
+    public DiarioCalculosPendientes(Path directorio, ObjectMapper objectMapper) {
+        this.directorio = directorio;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Lee los segmentos que dejó una ejecución anterior y abre uno nuevo para las escrituras.
+     *
+     * @return Segmentos recuperados en orden de creación
+     */
+    public synchronized List<SegmentoRecuperado> abrir() throws IOException {
+        Files.createDirectories(directorio);
+        List<SegmentoRecuperado> recuperados = new ArrayList<>();
+        try (Stream<Path> archivos = Files.list(directorio)) {
+            for (Path archivo : archivos.filter(DiarioCalculosPendientes::esSegmento)
+                    .sorted(Comparator.comparingLong(DiarioCalculosPendientes::numeroSegmento)).toList()) {
+                siguienteSegmento = Math.max(siguienteSegmento, numeroSegmento(archivo) + 1);
+                List<CalculoPendiente> calculos = leer(archivo);
+                if (calculos.isEmpty()) {
+                    Files.deleteIfExists(archivo);
+                } else {
+                    recuperados.add(new SegmentoRecuperado(archivo, calculos));
+                }
+            }
+        }
+        abrirSegmento();
+        return recuperados;
+    }
+
+    /**
+     * Anexa un cálculo al segmento actual sin esperar al disco.
+     *
+     * @return Número de secuencia a pasar a {@link #sincronizar(long)}
+     */
+    public synchronized long escribir(CalculoPendiente calculo) throws IOException {
+        byte[] linea = (objectMapper.writeValueAsString(calculo) + "\n").getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.wrap(linea);
+        while (buffer.hasRemaining()) {
+            canal.write(buffer);
+        }
+        return ++escritos;
+    }
+
+    /**
+     * Garantiza que la escritura indicada, y todas las anteriores, están en disco.
+     */
+    public void sincronizar(long secuencia) throws IOException {
+        if (sincronizados >= secuencia) {
+            return;
+        }
+        synchronized (sincronizacion) {
+            if (sincronizados >= secuencia) {
+                return;
+            }
+            FileChannel objetivo;
+            long hasta;
+            synchronized (this) {
+                objetivo = canal;
+                hasta = escritos;
+            }
+            objetivo.force(false);
+            sincronizados = hasta;
+        }
+    }
+
+    /**
+     * Cierra el segmento actual, ya sincronizado, y abre uno nuevo para las escrituras siguientes.
+     *
+     * @return Segmento cerrado, a borrar con {@link #descartar(Path)} cuando su contenido esté persistido
+     */
+    public Path rotar() throws IOException {
+        synchronized (sincronizacion) {
+            synchronized (this) {
+                canal.force(false);
+                sincronizados = escritos;
+                canal.close();
+                Path cerrado = segmentoActual;
+                abrirSegmento();
+                return cerrado;
+            }
+        }
+    }
+
+    public void descartar(Path segmento) {
+        try {
+            Files.deleteIfExists(segmento);
+        } catch (IOException e) {
+            logger.warn("No se pudo borrar el segmento {} del diario de cálculos: {}", segmento, e.getMessage());
+        }
+    }
+
+    /**
+     * Renombra un segmento cerrado para que deje de reproducirse al arrancar, conservando su contenido.
+     *
+     * @return Ruta del archivo de cuarentena, o la original si no se pudo renombrar
+     */
+    public Path apartar(Path segmento) {
+        String nombre = segmento.getFileName().toString();
+        Path destino = segmento.resolveSibling(nombre.substring(0, nombre.length() - EXTENSION.length()) + CUARENTENA);
+        try {
+            return Files.move(segmento, destino, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("No se pudo apartar el segmento {} del diario de cálculos: {}", segmento, e.getMessage());
+            return segmento;
+        }
+    }
+
+    public void cerrar() {
+        synchronized (sincronizacion) {
+            synchronized (this) {
+                if (canal == null) {
+                    return;
+                }
+                try {
+                    canal.force(false);
+                    canal.close();
+                } catch (IOException e) {
+                    logger.warn("No se pudo cerrar el diario de cálculos: {}", e.getMessage());
+                }
+                canal = null;
+            }
+        }
+    }
+
+    private void abrirSegmento() throws IOException {
+        segmentoActual = directorio.resolve(PREFIJO + siguienteSegmento++ + EXTENSION);
+        canal = FileChannel.open(segmentoActual, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+    }
+
+    private List<CalculoPendiente> leer(Path archivo) throws IOException {
+        List<CalculoPendiente> calculos = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(archivo, StandardCharsets.UTF_8)) {
+            String linea;
+            while ((linea = reader.readLine()) != null) {
+                if (linea.isBlank()) {
+                    continue;
+                }
+                try {
+                    calculos.add(objectMapper.readValue(linea, CalculoPendiente.class));
+                } catch (IOException e) {
+                    logger.warn("Línea ilegible en {} ignorada: {}", archivo, e.getMessage());
+                }
+            }
+        }
+        return calculos;
+    }
+
+    private static boolean esSegmento(Path archivo) {
+        String nombre = archivo.getFileName().toString();
+        return nombre.startsWith(PREFIJO) && nombre.endsWith(EXTENSION);
+    }
+
+    private static long numeroSegmento(Path archivo) {
+        String nombre = archivo.getFileName().toString();
+        try {
+            return Long.parseLong(nombre.substring(PREFIJO.length(), nombre.length() - EXTENSION.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    public record SegmentoRecuperado(Path segmento, List<CalculoPendiente> calculos) {
+    }
+}
@@ -0,0 +1,25 @@
+package com.bonofacil.platform.bonos.infrastructure.persistence.jpa.repositories;
+
+import com.bonofacil.platform.bonos.domain.model.entities.Bono;
+import com.bonofacil.platform.bonos.domain.model.projections.BonoCatalogoItem;
+import com.bonofacil.platform.bonos.domain.model.valueobjects.OrdenFiltroCatalogo;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Consultas del catálogo con criterios dinámicos que devuelven la proyección de solo lectura.
+ */
+public interface BonoCatalogoFiltroRepository {
+
+    /**
+     * Filtra el catálogo con la especificación dada, ordenando en el servidor.
+     *
+     * @param especificacion Criterios a aplicar
+     * @param orden Campo de orden; se desempata por ID
+     * @param descendente Si el orden es descendente
+     * @param limite Número máximo de resultados
+     */
+    List<BonoCatalogoItem> filtrarCatalogo(Specification<Bono> especificacion, OrdenFiltroCatalogo orden,
+                                           boolean descendente, int limite);
+}
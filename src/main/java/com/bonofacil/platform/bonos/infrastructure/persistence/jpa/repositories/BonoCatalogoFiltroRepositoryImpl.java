@@ -0,0 +1,55 @@
+package com.bonofacil.platform.bonos.infrastructure.persistence.jpa.repositories;
+
+import com.bonofacil.platform.bonos.domain.model.entities.Bono;
+import com.bonofacil.platform.bonos.domain.model.projections.BonoCatalogoItem;
+import com.bonofacil.platform.bonos.domain.model.valueobjects.OrdenFiltroCatalogo;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+class BonoCatalogoFiltroRepositoryImpl implements BonoCatalogoFiltroRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<BonoCatalogoItem> filtrarCatalogo(Specification<Bono> especificacion, OrdenFiltroCatalogo orden,
+                                                  boolean descendente, int limite) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BonoCatalogoItem> query = cb.createQuery(BonoCatalogoItem.class);
+        Root<Bono> b = query.from(Bono.class);
+
+        // Mismas columnas que la consulta CATALOGO de BonoRepository
+        query.select(cb.construct(BonoCatalogoItem.class,
+                b.get("id"), b.get("nombre"), b.get("descripcion"), b.get("valorNominal"), b.get("tasaCupon"),
+                b.get("plazoAnios"), b.get("frecuenciaPagos"), b.get("moneda"), b.get("fechaEmision"),
+                b.get("plazosGraciaTotal"), b.get("plazosGraciaParcial"), b.get("tasaDescuento"),
+                b.get("metodoAmortizacion"), b.get("tcea"), b.get("duracion"), b.get("convexidad"),
+                b.get("precio"), b.get("rendimientoPar"), b.get("createdAt")));
+
+        Predicate filtro = especificacion != null ? especificacion.toPredicate(b, query, cb) : null;
+        if (filtro != null) {
+            query.where(filtro);
+        }
+
+        Path<Object> campo = b.get(orden.getAtributo());
+        if (orden == OrdenFiltroCatalogo.ID) {
+            query.orderBy(descendente ? cb.desc(campo) : cb.asc(campo));
+        } else {
+            query.orderBy(descendente ? cb.desc(campo) : cb.asc(campo), cb.asc(b.get("id")));
+        }
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limite)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultList();
+    }
+}
@@ -0,0 +1,17 @@
+package com.bonofacil.platform.bonos.infrastructure.persistence.jpa.repositories;
+
+import com.bonofacil.platform.bonos.domain.model.valueobjects.MetricasBono;
+
+import java.util.List;
+import java.util.Set;
+
+public interface BonoRecalculoRepository {
+
+    /**
+     * Escribe las métricas en un lote JDBC de UPDATEs, sin cargar las entidades. Cada fila solo se actualiza
+     * si su {@code updatedAt} sigue siendo el leído, para no pisar una modificación concurrente.
+     *
+     * @return IDs de los bonos efectivamente actualizados
+     */
+    Set<Long> actualizarMetricas(List<MetricasBono> metricas);
+}
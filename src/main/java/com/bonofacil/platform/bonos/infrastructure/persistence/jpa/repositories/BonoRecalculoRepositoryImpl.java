@@ -0,0 +1,62 @@
+package com.bonofacil.platform.bonos.infrastructure.persistence.jpa.repositories;
+
+import com.bonofacil.platform.bonos.domain.model.valueobjects.MetricasBono;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+class BonoRecalculoRepositoryImpl implements BonoRecalculoRepository {
+
+    private static final String ACTUALIZAR_METRICAS = """
+            update bonos set tcea = ?, duracion = ?, convexidad = ?, tasa_descuento = ?, precio = ?,
+                rendimiento_par = ?, huella_flujos = coalesce(?, huella_flujos), updated_at = ?
+            where id = ? and updated_at = ?""";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Set<Long> actualizarMetricas(List<MetricasBono> metricas) {
+        Set<Long> actualizados = new HashSet<>();
+        if (metricas.isEmpty()) {
+            return actualizados;
+        }
+        Timestamp ahora = new Timestamp(System.currentTimeMillis());
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(ACTUALIZAR_METRICAS)) {
+                for (MetricasBono m : metricas) {
+                    statement.setBigDecimal(1, m.tcea());
+                    statement.setBigDecimal(2, m.duracion());
+                    statement.setBigDecimal(3, m.convexidad());
+                    statement.setBigDecimal(4, m.tasaDescuento());
+                    statement.setBigDecimal(5, m.precio());
+                    statement.setBigDecimal(6, m.rendimientoPar());
+                    if (m.huellaFlujos() != null) {
+                        statement.setLong(7, m.huellaFlujos());
+                    } else {
+                        statement.setNull(7, Types.BIGINT);
+                    }
+                    statement.setTimestamp(8, ahora);
+                    statement.setLong(9, m.bonoId());
+                    statement.setTimestamp(10, new Timestamp(m.leidoEn().getTime()));
+                    statement.addBatch();
+                }
+                int[] filas = statement.executeBatch();
+                for (int i = 0; i < filas.length; i++) {
+                    if (filas[i] > 0 || filas[i] == Statement.SUCCESS_NO_INFO) {
+                        actualizados.add(metricas.get(i).bonoId());
+                    }
+                }
+            }
+        });
+        return actualizados;
+    }
+}
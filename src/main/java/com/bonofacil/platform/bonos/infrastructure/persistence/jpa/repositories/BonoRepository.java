@@ -1,28 +1,166 @@
 package com.bonofacil.platform.bonos.infrastructure.persistence.jpa.repositories;
 
 import com.bonofacil.platform.bonos.domain.model.entities.Bono;
+import com.bonofacil.platform.bonos.domain.model.projections.BonoCatalogoItem;
+import com.bonofacil.platform.bonos.domain.model.projections.VersionBono;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repositorio JPA para la entidad Bono.
  */
 @Repository
-public interface BonoRepository extends JpaRepository<Bono, Long> {
+public interface BonoRepository extends JpaRepository<Bono, Long>, JpaSpecificationExecutor<Bono>,
+        BonoCatalogoFiltroRepository, BonoRecalculoRepository {
     
     /**
-     * Busca bonos cuyo nombre contiene la cadena especificada (insensible a mayúsculas/minúsculas).
-     * 
-     * @param nombre Cadena a buscar en el nombre del bono
-     * @return Lista de bonos que coinciden con el criterio
+     * Busca bonos cuyo nombre contiene el término usando el índice GIN de trigramas sobre {@code lower(nombre)}.
+     * Los resultados se ordenan poniendo primero los nombres que empiezan por el término y luego por similitud.
+     *
+     * @param termino Término en minúsculas
+     * @param patron Patrón {@code %termino%} con los comodines del término escapados
+     * @param prefijo Patrón {@code termino%} con los comodines del término escapados
+     * @param limite Número máximo de resultados
+     * @return Bonos que coinciden, de más a menos relevante
      */
-    List<Bono> findByNombreContainingIgnoreCase(String nombre);
+    @Query(value = "select b.* from bonos b where lower(b.nombre) like :patron " +
+            "order by (lower(b.nombre) like :prefijo) desc, similarity(lower(b.nombre), :termino) desc, b.id " +
+            "limit :limite", nativeQuery = true)
+    List<Bono> buscarPorNombre(@Param("termino") String termino, @Param("patron") String patron,
+                               @Param("prefijo") String prefijo, @Param("limite") int limite);
+
+    /**
+     * Busca bonos cuyo nombre empieza por el término usando el índice {@code text_pattern_ops}.
+     * Se usa para términos demasiado cortos para formar trigramas.
+     */
+    @Query(value = "select b.* from bonos b where lower(b.nombre) like :prefijo " +
+            "order by lower(b.nombre), b.id limit :limite", nativeQuery = true)
+    List<Bono> buscarPorPrefijoNombre(@Param("prefijo") String prefijo, @Param("limite") int limite);
 
     List<Bono> findByEmisorUsername(String emisorUsername);
     List<Bono> findByMoneda(String moneda);
     List<Bono> findByTasaCuponBetween(BigDecimal min, BigDecimal max);
     List<Bono> findByTasaCuponGreaterThanEqual(BigDecimal min);
-}
\ No newline at end of file
+
+    // Consultas de catálogo: devuelven la proyección de solo lectura sin hidratar entidades
+
+    String CATALOGO = "select new com.bonofacil.platform.bonos.domain.model.projections.BonoCatalogoItem(" +
+            "b.id, b.nombre, b.descripcion, b.valorNominal, b.tasaCupon, b.plazoAnios, b.frecuenciaPagos, " +
+            "b.moneda, b.fechaEmision, b.plazosGraciaTotal, b.plazosGraciaParcial, b.tasaDescuento, " +
+            "b.metodoAmortizacion, b.tcea, b.duracion, b.convexidad, b.precio, b.rendimientoPar, b.createdAt) " +
+            "from Bono b ";
+
+    @Query(CATALOGO + "where b.id = :id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    Optional<BonoCatalogoItem> findItemCatalogoById(@Param("id") Long id);
+
+    @Query(CATALOGO + "where b.moneda = :moneda order by b.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<BonoCatalogoItem> findCatalogoPorMoneda(@Param("moneda") String moneda);
+
+    @Query(CATALOGO + "where b.tasaCupon between :min and :max order by b.tasaCupon, b.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<BonoCatalogoItem> findCatalogoPorTasaCuponEntre(@Param("min") BigDecimal min, @Param("max") BigDecimal max);
+
+    @Query(CATALOGO + "where b.tasaCupon >= :min order by b.tasaCupon, b.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<BonoCatalogoItem> findCatalogoPorTasaCuponDesde(@Param("min") BigDecimal min);
+
+    /**
+     * Filtra bonos por las métricas calculadas al escribirlos, usando los índices de duración y TCEA.
+     *
+     * @param duracionMin Duración mínima en años
+     * @param duracionMax Duración máxima en años
+     * @param tceaMin TCEA mínima (exclusiva)
+     * @param pagina Número máximo de resultados
+     * @return Bonos que cumplen los criterios, de mayor a menor TCEA
+     */
+    @Query(CATALOGO + "where b.duracion between :duracionMin and :duracionMax and b.tcea > :tceaMin " +
+            "order by b.tcea desc")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<BonoCatalogoItem> findCatalogoPorMetricas(@Param("duracionMin") BigDecimal duracionMin,
+                                                   @Param("duracionMax") BigDecimal duracionMax,
+                                                   @Param("tceaMin") BigDecimal tceaMin, Pageable pagina);
+
+    @Query(CATALOGO + "where b.moneda = :moneda and b.duracion between :duracionMin and :duracionMax " +
+            "and b.tcea > :tceaMin order by b.tcea desc")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<BonoCatalogoItem> findCatalogoPorMonedaYMetricas(@Param("moneda") String moneda,
+                                                          @Param("duracionMin") BigDecimal duracionMin,
+                                                          @Param("duracionMax") BigDecimal duracionMax,
+                                                          @Param("tceaMin") BigDecimal tceaMin, Pageable pagina);
+
+    // Paginación por clave: cada consulta continúa después de la última fila entregada
+    // (valor de la clave, id). La condición redundante con >= permite recorrer el índice por rango.
+
+    @Query(CATALOGO + "where b.id > :id order by b.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<BonoCatalogoItem> findCatalogoPorId(@Param("id") Long id, Pageable pagina);
+
+    @Query(CATALOGO + "where b.createdAt >= :valor and (b.createdAt > :valor or b.id > :id) " +
+            "order by b.createdAt, b.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<BonoCatalogoItem> findCatalogoPorFechaCreacion(@Param("valor") Date valor, @Param("id") Long id,
+                                                        Pageable pagina);
+
+    @Query(CATALOGO + "where b.tasaCupon >= :valor and (b.tasaCupon > :valor or b.id > :id) " +
+            "order by b.tasaCupon, b.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<BonoCatalogoItem> findCatalogoPorTasaCupon(@Param("valor") BigDecimal valor, @Param("id") Long id,
+                                                    Pageable pagina);
+
+    @Query("select new com.bonofacil.platform.bonos.domain.model.projections.VersionBono(b.id, b.updatedAt, b.huellaFlujos) " +
+            "from Bono b where b.id in :ids")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<VersionBono> findVersiones(@Param("ids") Collection<Long> ids);
+
+    /**
+     * IDs, entre los indicados, de bonos que siguen existiendo.
+     */
+    @Query("select b.id from Bono b where b.id in :ids")
+    List<Long> findIdsExistentes(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Siguiente lote del recálculo masivo. Las entidades se leen sin seguimiento de cambios porque
+     * las métricas recalculadas se escriben con {@link #actualizarMetricas}.
+     */
+    @Query("select b from Bono b where b.id > :id order by b.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<Bono> findLoteRecalculo(@Param("id") Long id, Pageable pagina);
+
+    long countByIdGreaterThan(Long id);
+
+    @Query("select b from Bono b where b.emisorUsername = :emisor and b.id > :id order by b.id")
+    List<Bono> findPaginaEmisorPorId(@Param("emisor") String emisor, @Param("id") Long id, Pageable pagina);
+
+    @Query("select b from Bono b where b.emisorUsername = :emisor and b.createdAt >= :valor " +
+            "and (b.createdAt > :valor or b.id > :id) order by b.createdAt, b.id")
+    List<Bono> findPaginaEmisorPorFechaCreacion(@Param("emisor") String emisor, @Param("valor") Date valor,
+                                                @Param("id") Long id, Pageable pagina);
+
+    @Query("select b from Bono b where b.emisorUsername = :emisor and b.tasaCupon >= :valor " +
+            "and (b.tasaCupon > :valor or b.id > :id) order by b.tasaCupon, b.id")
+    List<Bono> findPaginaEmisorPorTasaCupon(@Param("emisor") String emisor, @Param("valor") BigDecimal valor,
+                                            @Param("id") Long id, Pageable pagina);
+
+    /**
+     * Elimina el bono con una sola sentencia. Sus cálculos y flujos deben haberse eliminado antes.
+     */
+    @Modifying
+    @Query("delete from Bono b where b.id = :id")
+    int eliminarPorId(@Param("id") Long id);
+}
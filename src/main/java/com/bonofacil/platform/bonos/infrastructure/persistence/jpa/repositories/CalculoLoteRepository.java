@@ -0,0 +1,22 @@
+package com.bonofacil.platform.bonos.infrastructure.persistence.jpa.repositories;
+
+import com.bonofacil.platform.bonos.domain.model.valueobjects.CalculoPendiente;
+
+import java.util.List;
+
+public interface CalculoLoteRepository {
+
+    /**
+     * Inserta cálculos con ID ya asignado en un lote JDBC; con {@code reWriteBatchedInserts} el driver
+     * lo envía como INSERTs de varias filas.
+     */
+    void insertarPendientes(List<CalculoPendiente> calculos);
+
+    /**
+     * Reserva un bloque de {@code Calculo.TAMANO_BLOQUE_IDS} IDs de la secuencia, con la misma semántica
+     * que el optimizador pooled-lo de Hibernate, de modo que no se solapan con los que asigna Hibernate.
+     *
+     * @return Primer ID del bloque
+     */
+    long reservarBloqueIds();
+}
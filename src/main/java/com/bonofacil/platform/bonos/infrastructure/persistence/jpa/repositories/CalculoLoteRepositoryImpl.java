@@ -0,0 +1,67 @@
+package com.bonofacil.platform.bonos.infrastructure.persistence.jpa.repositories;
+
+import com.bonofacil.platform.bonos.domain.model.entities.Calculo;
+import com.bonofacil.platform.bonos.domain.model.valueobjects.CalculoPendiente;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+class CalculoLoteRepositoryImpl implements CalculoLoteRepository {
+
+    private static final String INSERTAR = """
+            insert into calculos (id, bono_id, inversor_username, tasa_esperada, trea, precio_maximo, resultado_id,
+                fecha_calculo, informacion_adicional, created_at, updated_at)
+            values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)""";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void insertarPendientes(List<CalculoPendiente> calculos) {
+        if (calculos.isEmpty()) {
+            return;
+        }
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERTAR)) {
+                for (CalculoPendiente calculo : calculos) {
+                    Timestamp creadoEn = Timestamp.from(calculo.creadoEn());
+                    statement.setLong(1, calculo.id());
+                    statement.setLong(2, calculo.bonoId());
+                    statement.setString(3, calculo.inversorUsername());
+                    statement.setBigDecimal(4, calculo.tasaEsperada());
+                    statement.setBigDecimal(5, calculo.trea());
+                    statement.setBigDecimal(6, calculo.precioMaximo());
+                    if (calculo.resultadoId() != null) {
+                        statement.setLong(7, calculo.resultadoId());
+                    } else {
+                        statement.setNull(7, Types.BIGINT);
+                    }
+                    if (calculo.fechaCalculo() != null) {
+                        statement.setDate(8, Date.valueOf(calculo.fechaCalculo()));
+                    } else {
+                        statement.setNull(8, Types.DATE);
+                    }
+                    statement.setString(9, calculo.informacionAdicional());
+                    statement.setTimestamp(10, creadoEn);
+                    statement.setTimestamp(11, creadoEn);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+        });
+    }
+
+    @Override
+    public long reservarBloqueIds() {
+        String siguienteValor = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect().getSequenceSupport().getSequenceNextValString(Calculo.SECUENCIA);
+        return ((Number) entityManager.createNativeQuery(siguienteValor).getSingleResult()).longValue();
+    }
+}
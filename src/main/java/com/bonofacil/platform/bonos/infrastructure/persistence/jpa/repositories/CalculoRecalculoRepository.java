@@ -0,0 +1,14 @@
+package com.bonofacil.platform.bonos.infrastructure.persistence.jpa.repositories;
+
+import com.bonofacil.platform.bonos.domain.model.valueobjects.ResultadoInversion;
+
+import java.util.List;
+
+public interface CalculoRecalculoRepository {
+
+    /**
+     * Apunta cada cálculo a su resultado compartido, ya publicado, en un lote JDBC de UPDATEs y sin cargar
+     * las entidades. Los importes propios de los cálculos anteriores a los resultados compartidos se vacían.
+     */
+    void actualizarResultados(List<ResultadoInversion> resultados);
+}
@@ -0,0 +1,41 @@
+package com.bonofacil.platform.bonos.infrastructure.persistence.jpa.repositories;
+
+import com.bonofacil.platform.bonos.domain.model.valueobjects.ResultadoInversion;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.util.List;
+
+class CalculoRecalculoRepositoryImpl implements CalculoRecalculoRepository {
+
+    private static final String ACTUALIZAR_RESULTADO = """
+            update calculos
+            set resultado_id = (select r.id from resultados_calculos r where r.clave = ?),
+                precio_maximo = null, trea = null, updated_at = ?
+            where id = ?""";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void actualizarResultados(List<ResultadoInversion> resultados) {
+        if (resultados.isEmpty()) {
+            return;
+        }
+        Timestamp ahora = new Timestamp(System.currentTimeMillis());
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(ACTUALIZAR_RESULTADO)) {
+                for (ResultadoInversion resultado : resultados) {
+                    statement.setString(1, resultado.claveResultado());
+                    statement.setTimestamp(2, ahora);
+                    statement.setLong(3, resultado.calculoId());
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+        });
+    }
+}
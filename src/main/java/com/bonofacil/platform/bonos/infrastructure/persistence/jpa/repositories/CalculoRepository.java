@@ -1,13 +1,112 @@
 package com.bonofacil.platform.bonos.infrastructure.persistence.jpa.repositories;
 
 import com.bonofacil.platform.bonos.domain.model.entities.Calculo;
+import com.bonofacil.platform.bonos.domain.model.projections.TasaCalculo;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface CalculoRepository extends JpaRepository<Calculo, Long> {
+public interface CalculoRepository extends JpaRepository<Calculo, Long>, CalculoRecalculoRepository,
+        CalculoLoteRepository {
+
+    // Los recursos de cálculo muestran el nombre del bono y los importes del resultado compartido, por eso
+    // ambos se traen en la misma consulta
+
+    @Override
+    @EntityGraph(attributePaths = {"bono", "resultado"})
+    Optional<Calculo> findById(Long id);
+
+    @EntityGraph(attributePaths = {"bono", "resultado"})
     List<Calculo> findByInversorUsername(String inversorUsername);
+
+    /**
+     * Página de cálculos del inversor posteriores al ID indicado, en orden de ID.
+     */
+    @EntityGraph(attributePaths = {"bono", "resultado"})
+    List<Calculo> findByInversorUsernameAndIdGreaterThanOrderByIdAsc(String inversorUsername, Long id, Limit limite);
+
+    /**
+     * Página de cálculos del inversor con fecha dentro del rango, posteriores al ID indicado. El filtro por
+     * fecha limita la lectura a las particiones mensuales del rango.
+     */
+    @EntityGraph(attributePaths = {"bono", "resultado"})
+    List<Calculo> findByInversorUsernameAndFechaCalculoBetweenAndIdGreaterThanOrderByIdAsc(
+            String inversorUsername, LocalDate desde, LocalDate hasta, Long id, Limit limite);
+
+    @EntityGraph(attributePaths = {"bono", "resultado"})
     List<Calculo> findByBono_Id(Long bonoId);
+
+    /**
+     * Cálculo por ID y fecha; la fecha limita la lectura a su partición mensual.
+     */
+    @EntityGraph(attributePaths = {"bono", "resultado"})
+    Optional<Calculo> findByIdAndFechaCalculo(Long id, LocalDate fechaCalculo);
+
+    /**
+     * Elimina todos los cálculos de un bono con una sola sentencia, sin cargarlos.
+     */
+    @Modifying
+    @Query("delete from Calculo c where c.bono.id = :bonoId")
+    int deleteByBonoId(@Param("bonoId") Long bonoId);
+
+    @Query("select new com.bonofacil.platform.bonos.domain.model.projections.TasaCalculo(c.id, c.bono.id, c.tasaEsperada) " +
+            "from Calculo c where c.bono.id in :bonoIds and c.tasaEsperada is not null")
+    List<TasaCalculo> findTasasPorBonos(@Param("bonoIds") Collection<Long> bonoIds);
+
+    /**
+     * IDs, entre los indicados, que ya existen; la reproducción del diario de escritura diferida los omite.
+     */
+    @Query("select c.id from Calculo c where c.id in :ids")
+    List<Long> findIdsExistentes(@Param("ids") Collection<Long> ids);
+
+    // Mantenimiento de las particiones mensuales (solo PostgreSQL; funciones definidas en las migraciones V8 y V10)
+
+    /**
+     * Crea las particiones mensuales que falten entre los meses de ambas fechas.
+     *
+     * @return Particiones creadas
+     */
+    @Query(value = "select crear_particiones_calculos(:desde, :hasta)", nativeQuery = true)
+    int crearParticiones(@Param("desde") LocalDate desde, @Param("hasta") LocalDate hasta);
+
+    /**
+     * Nombres de las particiones mensuales anteriores a la indicada, de la más antigua a la más reciente.
+     */
+    @Query(value = """
+            select c.relname from pg_inherits i join pg_class c on c.oid = i.inhrelid
+            where i.inhparent = 'calculos'::regclass and c.relname ~ '^calculos_[0-9]{4}_[0-9]{2}$'
+              and c.relname < :particion
+            order by c.relname""", nativeQuery = true)
+    List<String> findParticionesAnteriores(@Param("particion") String particion);
+
+    /**
+     * Copia la partición al archivo comprimido y la elimina.
+     *
+     * @return Cálculos archivados
+     */
+    @Query(value = "select archivar_particion_calculos(:particion)", nativeQuery = true)
+    int archivarParticion(@Param("particion") String particion);
+
+    /**
+     * Bloqueo consultivo hasta el fin de la transacción, para que un solo nodo mantenga las particiones.
+     */
+    @Query(value = "select pg_try_advisory_xact_lock(:clave)", nativeQuery = true)
+    boolean bloquearMantenimiento(@Param("clave") long clave);
+
+    /**
+     * IDs de los bonos con más cálculos de inversión registrados, de mayor a menor.
+     */
+    @Query("select c.bono.id from Calculo c group by c.bono.id order by count(c) desc")
+    List<Long> findBonoIdsMasCalculados(Pageable pageable);
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.bonofacil.platform.bonos.infrastructure.persistence.jpa.repositories;
+
+import com.bonofacil.platform.bonos.domain.model.entities.ClaveIdempotenciaCalculo;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ClaveIdempotenciaCalculoRepository
+        extends JpaRepository<ClaveIdempotenciaCalculo, ClaveIdempotenciaCalculo.Clave>,
+        ClaveIdempotenciaReservaRepository {
+
+    /**
+     * Elimina las claves de idempotencia de los cálculos de un bono con una sola sentencia. Debe ejecutarse
+     * antes de borrar los cálculos.
+     */
+    @Modifying
+    @Query("delete from ClaveIdempotenciaCalculo k where k.calculoId in "
+            + "(select c.id from Calculo c where c.bono.id = :bonoId)")
+    int deleteByBonoId(@Param("bonoId") Long bonoId);
+}
@@ -0,0 +1,14 @@
+package com.bonofacil.platform.bonos.infrastructure.persistence.jpa.repositories;
+
+import com.bonofacil.platform.bonos.domain.model.entities.ClaveIdempotenciaCalculo;
+
+public interface ClaveIdempotenciaReservaRepository {
+
+    /**
+     * Inserta la clave si el inversor aún no la usó. Un envío simultáneo con la misma clave no provoca un
+     * error que invalide la transacción: simplemente no inserta.
+     *
+     * @return {@code true} si la clave quedó asignada al cálculo indicado
+     */
+    boolean reservar(ClaveIdempotenciaCalculo clave);
+}
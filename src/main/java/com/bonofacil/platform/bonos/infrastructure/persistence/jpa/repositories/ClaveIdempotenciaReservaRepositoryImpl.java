@@ -0,0 +1,52 @@
+package com.bonofacil.platform.bonos.infrastructure.persistence.jpa.repositories;
+
+import com.bonofacil.platform.bonos.domain.model.entities.ClaveIdempotenciaCalculo;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+
+class ClaveIdempotenciaReservaRepositoryImpl implements ClaveIdempotenciaReservaRepository {
+
+    private static final String INSERTAR = "insert into claves_idempotencia_calculos"
+            + " (inversor_username, clave, calculo_id, fecha_calculo) values (?, ?, ?, ?)"
+            + " on conflict (inversor_username, clave) do nothing";
+
+    // Fuera de PostgreSQL (las pruebas con H2) no hay ON CONFLICT; las pruebas no tienen envíos simultáneos
+    private static final String INSERTAR_SI_FALTA = "insert into claves_idempotencia_calculos"
+            + " (inversor_username, clave, calculo_id, fecha_calculo) select ?, ?, ?, ?"
+            + " where not exists (select 1 from claves_idempotencia_calculos where inversor_username = ? and clave = ?)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public boolean reservar(ClaveIdempotenciaCalculo clave) {
+        boolean postgreSQL = esPostgreSQL();
+        // La sentencia nativa no vacía el contexto de persistencia: una clave liberada en esta transacción
+        // debe borrarse antes
+        entityManager.flush();
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(postgreSQL ? INSERTAR : INSERTAR_SI_FALTA)) {
+                statement.setString(1, clave.getInversorUsername());
+                statement.setString(2, clave.getClave());
+                statement.setLong(3, clave.getCalculoId());
+                statement.setDate(4, Date.valueOf(clave.getFechaCalculo()));
+                if (!postgreSQL) {
+                    statement.setString(5, clave.getInversorUsername());
+                    statement.setString(6, clave.getClave());
+                }
+                return statement.executeUpdate() == 1;
+            }
+        });
+    }
+
+    private boolean esPostgreSQL() {
+        return entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof PostgreSQLDialect;
+    }
+}
@@ -2,14 +2,39 @@ package com.bonofacil.platform.bonos.infrastructure.persistence.jpa.repositories
 
 import com.bonofacil.platform.bonos.domain.model.entities.Bono;
 import com.bonofacil.platform.bonos.domain.model.entities.FlujoFinanciero;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface FlujoFinancieroRepository extends JpaRepository<FlujoFinanciero, Long> {
+
+    // Los cálculos sobre el flujo leen los términos del bono desde el primer periodo
+
+    @EntityGraph(attributePaths = "bono")
     List<FlujoFinanciero> findByBono(Bono bono);
+
+    @EntityGraph(attributePaths = "bono")
     List<FlujoFinanciero> findByBonoOrderByPeriodo(Bono bono);
-    void deleteByBono(Bono bono);
+
+    /**
+     * Elimina el cronograma del bono con una sola sentencia, sin cargar los flujos.
+     */
+    @Modifying
+    @Query("delete from FlujoFinanciero f where f.bono = :bono")
+    int deleteByBono(@Param("bono") Bono bono);
+
+    @Modifying
+    @Query("delete from FlujoFinanciero f where f.bono.id = :bonoId")
+    int deleteByBonoId(@Param("bonoId") Long bonoId);
+
+    @Modifying
+    @Query("delete from FlujoFinanciero f where f.bono.id in :bonoIds")
+    int deleteByBonoIdIn(@Param("bonoIds") Collection<Long> bonoIds);
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.bonofacil.platform.bonos.infrastructure.persistence.jpa.repositories;
+
+import com.bonofacil.platform.bonos.domain.model.entities.ResultadoCalculo;
+
+import java.util.List;
+
+public interface ResultadoCalculoPublicacionRepository {
+
+    /**
+     * Inserta en un lote JDBC los resultados cuya clave aún no existe. Si otra transacción insertó la misma
+     * clave entretanto, su fila se respeta o, con {@code reemplazar}, se sobrescriben sus importes.
+     */
+    void publicar(List<ResultadoCalculo> resultados, boolean reemplazar);
+}
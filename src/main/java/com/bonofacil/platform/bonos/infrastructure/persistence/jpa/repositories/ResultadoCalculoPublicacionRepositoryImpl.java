@@ -0,0 +1,64 @@
+package com.bonofacil.platform.bonos.infrastructure.persistence.jpa.repositories;
+
+import com.bonofacil.platform.bonos.domain.model.entities.ResultadoCalculo;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.util.List;
+
+class ResultadoCalculoPublicacionRepositoryImpl implements ResultadoCalculoPublicacionRepository {
+
+    private static final String COLUMNAS =
+            "(clave, huella_terminos, tasa_esperada, nivel_precision, trea, precio_maximo, created_at, updated_at)";
+
+    private static final String INSERTAR = "insert into resultados_calculos " + COLUMNAS
+            + " values (?, ?, ?, ?, ?, ?, ?, ?) on conflict (clave) do ";
+
+    private static final String CONSERVAR = "nothing";
+
+    private static final String SOBRESCRIBIR =
+            "update set trea = excluded.trea, precio_maximo = excluded.precio_maximo, updated_at = excluded.updated_at";
+
+    // Fuera de PostgreSQL (las pruebas con H2) se usa MERGE por clave, que siempre sobrescribe: con las
+    // mismas entradas el resultado es el mismo
+    private static final String FUSIONAR = "merge into resultados_calculos " + COLUMNAS
+            + " key (clave) values (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void publicar(List<ResultadoCalculo> resultados, boolean reemplazar) {
+        if (resultados.isEmpty()) {
+            return;
+        }
+        String sentencia = esPostgreSQL() ? INSERTAR + (reemplazar ? SOBRESCRIBIR : CONSERVAR) : FUSIONAR;
+        Timestamp ahora = new Timestamp(System.currentTimeMillis());
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(sentencia)) {
+                for (ResultadoCalculo resultado : resultados) {
+                    statement.setString(1, resultado.getClave());
+                    statement.setLong(2, resultado.getHuellaTerminos());
+                    statement.setBigDecimal(3, resultado.getTasaEsperada());
+                    statement.setInt(4, resultado.getNivelPrecision());
+                    statement.setBigDecimal(5, resultado.getTrea());
+                    statement.setBigDecimal(6, resultado.getPrecioMaximo());
+                    statement.setTimestamp(7, ahora);
+                    statement.setTimestamp(8, ahora);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+        });
+    }
+
+    private boolean esPostgreSQL() {
+        return entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof PostgreSQLDialect;
+    }
+}
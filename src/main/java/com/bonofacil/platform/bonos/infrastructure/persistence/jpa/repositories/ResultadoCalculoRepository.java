@@ -0,0 +1,15 @@
+package com.bonofacil.platform.bonos.infrastructure.persistence.jpa.repositories;
+
+import com.bonofacil.platform.bonos.domain.model.entities.ResultadoCalculo;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ResultadoCalculoRepository extends JpaRepository<ResultadoCalculo, Long>,
+        ResultadoCalculoPublicacionRepository {
+
+    List<ResultadoCalculo> findByClaveIn(Collection<String> claves);
+}
@@ -0,0 +1,20 @@
+package com.bonofacil.platform.bonos.infrastructure.persistence.jpa.repositories;
+
+import com.bonofacil.platform.bonos.domain.model.entities.ValoracionBono;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ValoracionBonoRepository extends JpaRepository<ValoracionBono, ValoracionBono.Clave>,
+        ValoracionBonoSerieRepository {
+
+    /**
+     * Elimina la serie de un bono con una sola sentencia, sin cargarla.
+     */
+    @Modifying
+    @Query("delete from ValoracionBono v where v.bonoId = :bonoId")
+    int deleteByBonoId(@Param("bonoId") Long bonoId);
+}
@@ -0,0 +1,24 @@
+package com.bonofacil.platform.bonos.infrastructure.persistence.jpa.repositories;
+
+import com.bonofacil.platform.bonos.domain.model.projections.PuntoValoracion;
+import com.bonofacil.platform.bonos.domain.model.valueobjects.IntervaloHistorial;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ValoracionBonoSerieRepository {
+
+    /**
+     * Copia en una sola sentencia las métricas vigentes de todos los bonos valorados como la valoración del
+     * día indicado. Los bonos que ya tienen valoración ese día se omiten, así que repetir el cierre no duplica.
+     *
+     * @return Valoraciones insertadas
+     */
+    int registrarCierre(LocalDate fecha);
+
+    /**
+     * Serie de valoración del bono entre ambas fechas, incluidas, en orden cronológico. Con un intervalo
+     * mayor que un día la base de datos promedia cada intervalo y devuelve un punto por intervalo.
+     */
+    List<PuntoValoracion> findSerie(Long bonoId, LocalDate desde, LocalDate hasta, IntervaloHistorial intervalo);
+}
@@ -0,0 +1,96 @@
+package com.bonofacil.platform.bonos.infrastructure.persistence.jpa.repositories;
+
+import com.bonofacil.platform.bonos.domain.model.projections.PuntoValoracion;
+import com.bonofacil.platform.bonos.domain.model.valueobjects.IntervaloHistorial;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+class ValoracionBonoSerieRepositoryImpl implements ValoracionBonoSerieRepository {
+
+    private static final String COLUMNAS = "(bono_id, fecha, precio, tcea, rendimiento_par, duracion, convexidad)";
+
+    private static final String METRICAS_BONOS = """
+            select id, cast(? as date), precio, tcea, rendimiento_par, duracion, convexidad
+            from bonos
+            where tcea is not null""";
+
+    private static final String INSERTAR_CIERRE = "insert into valoraciones_bonos " + COLUMNAS + "\n"
+            + METRICAS_BONOS + "\non conflict (bono_id, fecha) do nothing";
+
+    // Fuera de PostgreSQL (las pruebas con H2) se usa MERGE por clave, que deja igual las filas del día
+    private static final String FUSIONAR_CIERRE = "merge into valoraciones_bonos " + COLUMNAS
+            + " key (bono_id, fecha)\n" + METRICAS_BONOS;
+
+    private static final String SERIE_DIARIA = """
+            select fecha, precio, tcea, rendimiento_par, duracion, convexidad
+            from valoraciones_bonos
+            where bono_id = ? and fecha between ? and ?
+            order by fecha""";
+
+    // La unidad sale de IntervaloHistorial, nunca de la petición
+    private static final String SERIE_AGRUPADA = """
+            select cast(date_trunc('%1$s', fecha) as date), avg(precio), avg(tcea), avg(rendimiento_par),
+                   avg(duracion), avg(convexidad)
+            from valoraciones_bonos
+            where bono_id = ? and fecha between ? and ?
+            group by cast(date_trunc('%1$s', fecha) as date)
+            order by 1""";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int registrarCierre(LocalDate fecha) {
+        String sentencia = esPostgreSQL() ? INSERTAR_CIERRE : FUSIONAR_CIERRE;
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(sentencia)) {
+                statement.setDate(1, Date.valueOf(fecha));
+                return statement.executeUpdate();
+            }
+        });
+    }
+
+    @Override
+    public List<PuntoValoracion> findSerie(Long bonoId, LocalDate desde, LocalDate hasta,
+                                           IntervaloHistorial intervalo) {
+        String consulta = intervalo.getUnidadTruncado() == null
+                ? SERIE_DIARIA
+                : SERIE_AGRUPADA.formatted(intervalo.getUnidadTruncado());
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(consulta)) {
+                statement.setLong(1, bonoId);
+                statement.setDate(2, Date.valueOf(desde));
+                statement.setDate(3, Date.valueOf(hasta));
+                List<PuntoValoracion> puntos = new ArrayList<>();
+                try (ResultSet filas = statement.executeQuery()) {
+                    while (filas.next()) {
+                        puntos.add(new PuntoValoracion(filas.getDate(1).toLocalDate(), valor(filas, 2),
+                                valor(filas, 3), valor(filas, 4), valor(filas, 5), valor(filas, 6)));
+                    }
+                }
+                return puntos;
+            }
+        });
+    }
+
+    private static Double valor(ResultSet filas, int columna) throws SQLException {
+        double valor = filas.getDouble(columna);
+        return filas.wasNull() ? null : valor;
+    }
+
+    private boolean esPostgreSQL() {
+        return entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof PostgreSQLDialect;
+    }
+}
@@ -0,0 +1,75 @@
+package com.bonofacil.platform.bonos.infrastructure.persistence.jpa.specifications;
+
+import com.bonofacil.platform.bonos.domain.model.entities.Bono;
+import com.bonofacil.platform.bonos.domain.model.queries.FiltrarCatalogoBonosQuery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Criterios componibles sobre {@link Bono}. Cada criterio devuelve {@code null} cuando su valor es nulo,
+ * de modo que solo los filtros informados llegan a la cláusula {@code where}.
+ */
+public final class BonoSpecifications {
+
+    private BonoSpecifications() {
+    }
+
+    public static Specification<Bono> conMoneda(String moneda) {
+        if (moneda == null || moneda.isBlank()) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("moneda"), moneda);
+    }
+
+    public static Specification<Bono> conEmisor(String emisorUsername) {
+        if (emisorUsername == null || emisorUsername.isBlank()) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("emisorUsername"), emisorUsername);
+    }
+
+    public static Specification<Bono> conFrecuenciaPagos(Integer frecuenciaPagos) {
+        if (frecuenciaPagos == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("frecuenciaPagos"), frecuenciaPagos);
+    }
+
+    /**
+     * Rango inclusivo sobre un atributo comparable; cualquiera de los extremos puede ser nulo.
+     */
+    public static <T extends Comparable<? super T>> Specification<Bono> enRango(String atributo, T minimo, T maximo) {
+        if (minimo == null && maximo == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            if (minimo == null) {
+                return cb.lessThanOrEqualTo(root.get(atributo), maximo);
+            }
+            if (maximo == null) {
+                return cb.greaterThanOrEqualTo(root.get(atributo), minimo);
+            }
+            return cb.between(root.get(atributo), minimo, maximo);
+        };
+    }
+
+    /**
+     * Combina todos los criterios informados en la consulta.
+     */
+    public static Specification<Bono> desde(FiltrarCatalogoBonosQuery consulta) {
+        List<Specification<Bono>> criterios = new ArrayList<>();
+        criterios.add(conMoneda(consulta.moneda()));
+        criterios.add(enRango("tasaCupon", consulta.tasaCuponMin(), consulta.tasaCuponMax()));
+        criterios.add(enRango("plazoAnios", consulta.plazoAniosMin(), consulta.plazoAniosMax()));
+        criterios.add(conFrecuenciaPagos(consulta.frecuenciaPagos()));
+        criterios.add(conEmisor(consulta.emisorUsername()));
+        criterios.add(enRango("fechaEmision", consulta.fechaEmisionDesde(), consulta.fechaEmisionHasta()));
+        criterios.add(enRango("duracion", consulta.duracionMin(), consulta.duracionMax()));
+        criterios.add(enRango("tcea", consulta.tceaMin(), null));
+        criterios.add(enRango("precio", null, consulta.precioMax()));
+        criterios.add(enRango("rendimientoPar", consulta.rendimientoParMin(), null));
+        return Specification.allOf(criterios.stream().filter(criterio -> criterio != null).toList());
+    }
+}
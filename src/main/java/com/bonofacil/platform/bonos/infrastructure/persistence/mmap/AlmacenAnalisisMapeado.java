@@ -0,0 +1,445 @@
+package com.bonofacil.platform.bonos.infrastructure.persistence.mmap;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+/**
+ * Almacén de resultados de análisis en un archivo mapeado en memoria, de solo anexado.
+ * <p>
+ * Cada registro tiene un formato binario fijo: cabecera con la operación, el bono, la huella de sus
+ * términos, la marca {@code updatedAt}, el parámetro y el nivel de precisión del motor que lo calculó,
+ * seguida de una matriz de celdas decimales codificadas como (valor sin escala, escala) y un CRC32. Las
+ * celdas conservan su escala exacta, para que un resultado leído del archivo se serialice igual que uno
+ * recién calculado; el parámetro se guarda normalizado porque forma parte de la clave. Al
+ * arrancar se recorre el archivo para reconstruir el índice en memoria; los datos permanecen fuera del
+ * heap, en la caché de páginas. Los registros se validan de forma perezosa al leerlos: si la huella,
+ * {@code updatedAt} o el nivel de precisión ya no coinciden, se descartan.
+ * </p>
+ * <p>
+ * Se lleva la cuenta de los bytes recuperables, los de registros reemplazados o descartados. La
+ * compactación reescribe solo los registros vigentes y se hace cuando esos bytes superan el umbral
+ * configurado, periódicamente o cuando el archivo se llena; si con el archivo lleno no hay suficiente
+ * espacio recuperable, el resultado nuevo simplemente no se persiste.
+ * </p>
+ */
+@Component
+public class AlmacenAnalisisMapeado {
+
+    private static final Logger logger = LoggerFactory.getLogger(AlmacenAnalisisMapeado.class);
+
+    private static final long MAGIA = 0x4246414E414C4953L; // "BFANALIS"
+    private static final int VERSION = 3;
+    private static final int TAMANO_CABECERA_ARCHIVO = 16;
+
+    // longitud, operación, bonoId, huella, updatedAt, parámetro (8 + 1), filas, columnas, nivel de precisión
+    private static final int TAMANO_CABECERA_REGISTRO = 4 + 4 + 8 + 8 + 8 + 9 + 2 + 2 + 4;
+    private static final int TAMANO_CELDA = 9;
+    private static final int TAMANO_CRC = 4;
+    private static final byte ESCALA_NULA = Byte.MIN_VALUE;
+
+    private final boolean habilitado;
+    private final Path ruta;
+    private final long tamanoMaximo;
+    private final double umbralCompactacion;
+
+    private final Map<ClaveRegistro, Integer> indice = new ConcurrentHashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private FileChannel canal;
+    private MappedByteBuffer buffer;
+    private int posicion;
+    private final AtomicLong bytesVigentes = new AtomicLong();
+
+    public AlmacenAnalisisMapeado(@Value("${bonos.cache.persistente.enabled:false}") boolean habilitado,
+                                  @Value("${bonos.cache.persistente.ruta:./data/analisis.bin}") Path ruta,
+                                  @Value("${bonos.cache.persistente.tamano-max:64MB}") DataSize tamanoMaximo,
+                                  @Value("${bonos.cache.persistente.umbral-compactacion:0.5}") double umbralCompactacion) {
+        this.habilitado = habilitado;
+        this.ruta = ruta;
+        this.tamanoMaximo = Math.min(tamanoMaximo.toBytes(), Integer.MAX_VALUE);
+        this.umbralCompactacion = umbralCompactacion;
+    }
+
+    @PostConstruct
+    public void abrir() {
+        if (!habilitado) {
+            return;
+        }
+        try {
+            if (ruta.getParent() != null) {
+                Files.createDirectories(ruta.getParent());
+            }
+            mapear(ruta);
+            recorrer();
+            logger.info("Almacén de análisis {} abierto con {} registros vigentes ({} bytes usados)",
+                    ruta, indice.size(), posicion);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("No se pudo abrir el almacén de análisis {}, se continúa sin él: {}", ruta, e.getMessage());
+            cerrarCanal();
+        }
+    }
+
+    public boolean isDisponible() {
+        return buffer != null;
+    }
+
+    /**
+     * Lee el resultado almacenado si sigue siendo válido para la versión actual del bono.
+     *
+     * @param operacion Código de la operación de análisis
+     * @param bonoId ID del bono
+     * @param parametro Parámetro de la operación (tasa, precio o costos)
+     * @param huella Huella actual de los términos del bono
+     * @param actualizadoEn Marca {@code updatedAt} actual del bono en milisegundos
+     * @param nivelPrecision Versión actual de las fórmulas y del redondeo del motor de valoración
+     * @return Celdas del resultado, o vacío si no existe o quedó obsoleto
+     */
+    public Optional<BigDecimal[][]> leer(int operacion, long bonoId, BigDecimal parametro, long huella, long actualizadoEn,
+                                         int nivelPrecision) {
+        if (!isDisponible() || !representableComoClave(parametro)) {
+            return Optional.empty();
+        }
+        ClaveRegistro clave = ClaveRegistro.de(operacion, bonoId, parametro);
+        lock.readLock().lock();
+        try {
+            Integer desplazamiento = indice.get(clave);
+            if (desplazamiento == null) {
+                return Optional.empty();
+            }
+            if (buffer.getLong(desplazamiento + 16) != huella || buffer.getLong(desplazamiento + 24) != actualizadoEn
+                    || buffer.getInt(desplazamiento + 45) != nivelPrecision) {
+                // El bono o el motor cambiaron desde que se escribió: el registro queda para la compactación
+                if (indice.remove(clave, desplazamiento)) {
+                    bytesVigentes.addAndGet(-buffer.getInt(desplazamiento));
+                }
+                return Optional.empty();
+            }
+            return Optional.of(leerCeldas(desplazamiento));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Anexa un resultado al archivo. Si alguna celda no cabe en el formato fijo sin perder su escala, o el
+     * archivo está lleno y no hay suficientes bytes recuperables para que compactar compense, el resultado
+     * no se persiste.
+     */
+    public void escribir(int operacion, long bonoId, BigDecimal parametro, long huella, long actualizadoEn,
+                         int nivelPrecision, BigDecimal[][] celdas) {
+        if (!isDisponible() || !representableComoClave(parametro) || !representable(celdas)) {
+            return;
+        }
+        ClaveRegistro clave = ClaveRegistro.de(operacion, bonoId, parametro);
+        int columnas = celdas.length > 0 ? celdas[0].length : 0;
+        int longitud = TAMANO_CABECERA_REGISTRO + celdas.length * columnas * TAMANO_CELDA + TAMANO_CRC;
+
+        lock.writeLock().lock();
+        try {
+            if (posicion + longitud > buffer.capacity()) {
+                // Compactar reescribe todo el archivo: solo compensa si libera al menos el umbral configurado
+                long recuperables = bytesRecuperables();
+                if (recuperables < longitud || !superaUmbral(recuperables)) {
+                    return;
+                }
+                compactarBajoLock();
+                if (buffer == null || posicion + longitud > buffer.capacity()) {
+                    return;
+                }
+            }
+            int inicio = posicion;
+            buffer.position(inicio);
+            buffer.putInt(longitud);
+            buffer.putInt(operacion);
+            buffer.putLong(bonoId);
+            buffer.putLong(huella);
+            buffer.putLong(actualizadoEn);
+            buffer.putLong(clave.parametroSinEscala());
+            buffer.put(clave.parametroEscala());
+            buffer.putShort((short) celdas.length);
+            buffer.putShort((short) columnas);
+            buffer.putInt(nivelPrecision);
+            for (BigDecimal[] fila : celdas) {
+                for (BigDecimal celda : fila) {
+                    escribirDecimal(celda);
+                }
+            }
+            buffer.putInt(crc(inicio, longitud - TAMANO_CRC));
+
+            Integer anterior = indice.put(clave, inicio);
+            if (anterior != null) {
+                bytesVigentes.addAndGet(-buffer.getInt(anterior));
+            }
+            bytesVigentes.addAndGet(longitud);
+            posicion += longitud;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Descarta del índice todos los registros de un bono eliminado; su espacio se recupera en la compactación.
+     */
+    public void descartarBono(long bonoId) {
+        if (!isDisponible()) {
+            return;
+        }
+        lock.readLock().lock();
+        try {
+            indice.entrySet().removeIf(entrada -> {
+                if (entrada.getKey().bonoId() != bonoId) {
+                    return false;
+                }
+                bytesVigentes.addAndGet(-buffer.getInt(entrada.getValue()));
+                return true;
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Compacta el archivo cuando la proporción de registros obsoletos supera el umbral configurado.
+     */
+    @Scheduled(fixedDelayString = "${bonos.cache.persistente.compactacion:PT10M}")
+    public void compactar() {
+        if (!isDisponible()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            long recuperables = bytesRecuperables();
+            if (recuperables > 0 && superaUmbral(recuperables)) {
+                compactarBajoLock();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Bytes ocupados por registros reemplazados, obsoletos o descartados, que una compactación liberaría.
+     */
+    public long bytesRecuperables() {
+        return isDisponible() ? posicion - TAMANO_CABECERA_ARCHIVO - bytesVigentes.get() : 0L;
+    }
+
+    private boolean superaUmbral(long recuperables) {
+        long usados = posicion - TAMANO_CABECERA_ARCHIVO;
+        return usados > 0 && (double) recuperables / usados >= umbralCompactacion;
+    }
+
+    @PreDestroy
+    public void cerrar() {
+        if (!isDisponible()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            buffer.force();
+            cerrarCanal();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void compactarBajoLock() {
+        Path temporal = ruta.resolveSibling(ruta.getFileName() + ".compactando");
+        int anterior = posicion;
+        try (FileChannel destino = FileChannel.open(temporal, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer nuevo = destino.map(FileChannel.MapMode.READ_WRITE, 0, tamanoMaximo);
+            nuevo.putLong(MAGIA);
+            nuevo.putInt(VERSION);
+            nuevo.putInt(0);
+
+            Map<ClaveRegistro, Integer> nuevoIndice = new ConcurrentHashMap<>();
+            for (Map.Entry<ClaveRegistro, Integer> entrada : indice.entrySet()) {
+                int desplazamiento = entrada.getValue();
+                int longitud = buffer.getInt(desplazamiento);
+                nuevoIndice.put(entrada.getKey(), nuevo.position());
+                for (int i = 0; i < longitud; i++) {
+                    nuevo.put(buffer.get(desplazamiento + i));
+                }
+            }
+            nuevo.force();
+
+            cerrarCanal();
+            Files.move(temporal, ruta, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            mapear(ruta);
+            indice.clear();
+            indice.putAll(nuevoIndice);
+            posicion = nuevo.position();
+            bytesVigentes.set(posicion - TAMANO_CABECERA_ARCHIVO);
+            logger.info("Almacén de análisis compactado de {} a {} bytes", anterior, posicion);
+        } catch (IOException e) {
+            logger.warn("No se pudo compactar el almacén de análisis {}: {}", ruta, e.getMessage());
+            if (buffer == null) {
+                abrir();
+            }
+        }
+    }
+
+    private void mapear(Path archivo) throws IOException {
+        canal = FileChannel.open(archivo, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (canal.size() >= TAMANO_CABECERA_ARCHIVO && versionDelArchivo() != VERSION) {
+            // Registros con un formato anterior: no se pueden leer, se empieza de cero
+            logger.info("El almacén de análisis {} tiene un formato anterior y se reinicia", archivo);
+            canal.truncate(0);
+        }
+        boolean nuevo = canal.size() == 0;
+        buffer = canal.map(FileChannel.MapMode.READ_WRITE, 0, tamanoMaximo);
+        if (nuevo) {
+            buffer.putLong(0, MAGIA);
+            buffer.putInt(8, VERSION);
+        } else if (buffer.getLong(0) != MAGIA || buffer.getInt(8) != VERSION) {
+            throw new IOException("Formato de archivo no reconocido");
+        }
+    }
+
+    private int versionDelArchivo() throws IOException {
+        ByteBuffer cabecera = ByteBuffer.allocate(TAMANO_CABECERA_ARCHIVO);
+        canal.read(cabecera, 0);
+        return cabecera.getLong(0) == MAGIA ? cabecera.getInt(8) : VERSION;
+    }
+
+    /**
+     * Reconstruye el índice recorriendo los registros hasta el primer hueco o registro corrupto.
+     * Un registro posterior de la misma clave reemplaza al anterior.
+     */
+    private void recorrer() {
+        int desplazamiento = TAMANO_CABECERA_ARCHIVO;
+        bytesVigentes.set(0);
+        while (desplazamiento + TAMANO_CABECERA_REGISTRO + TAMANO_CRC <= buffer.capacity()) {
+            int longitud = buffer.getInt(desplazamiento);
+            if (longitud < TAMANO_CABECERA_REGISTRO + TAMANO_CRC || desplazamiento + longitud > buffer.capacity()
+                    || buffer.getInt(desplazamiento + longitud - TAMANO_CRC) != crc(desplazamiento, longitud - TAMANO_CRC)) {
+                break;
+            }
+            ClaveRegistro clave = new ClaveRegistro(buffer.getInt(desplazamiento + 4), buffer.getLong(desplazamiento + 8),
+                    buffer.getLong(desplazamiento + 32), buffer.get(desplazamiento + 40));
+            Integer anterior = indice.put(clave, desplazamiento);
+            if (anterior != null) {
+                bytesVigentes.addAndGet(-buffer.getInt(anterior));
+            }
+            bytesVigentes.addAndGet(longitud);
+            desplazamiento += longitud;
+        }
+        posicion = desplazamiento;
+    }
+
+    private BigDecimal[][] leerCeldas(int desplazamiento) {
+        int filas = buffer.getShort(desplazamiento + 41);
+        int columnas = buffer.getShort(desplazamiento + 43);
+        BigDecimal[][] celdas = new BigDecimal[filas][columnas];
+        int cursor = desplazamiento + TAMANO_CABECERA_REGISTRO;
+        for (int fila = 0; fila < filas; fila++) {
+            for (int columna = 0; columna < columnas; columna++) {
+                byte escala = buffer.get(cursor + 8);
+                celdas[fila][columna] = escala == ESCALA_NULA ? null : BigDecimal.valueOf(buffer.getLong(cursor), escala);
+                cursor += TAMANO_CELDA;
+            }
+        }
+        return celdas;
+    }
+
+    private void escribirDecimal(BigDecimal valor) {
+        if (valor == null) {
+            buffer.putLong(0L);
+            buffer.put(ESCALA_NULA);
+            return;
+        }
+        buffer.putLong(valor.unscaledValue().longValueExact());
+        buffer.put((byte) valor.scale());
+    }
+
+    private int crc(int desde, int longitud) {
+        CRC32 crc = new CRC32();
+        for (int i = 0; i < longitud; i++) {
+            crc.update(buffer.get(desde + i));
+        }
+        return (int) crc.getValue();
+    }
+
+    private void cerrarCanal() {
+        buffer = null;
+        indice.clear();
+        if (canal != null) {
+            try {
+                canal.close();
+            } catch (IOException e) {
+                logger.debug("Error al cerrar el almacén de análisis: {}", e.getMessage());
+            }
+            canal = null;
+        }
+    }
+
+    private static boolean representable(BigDecimal[][] celdas) {
+        if (celdas.length > Short.MAX_VALUE) {
+            return false;
+        }
+        int columnas = celdas.length > 0 ? celdas[0].length : 0;
+        for (BigDecimal[] fila : celdas) {
+            if (fila.length != columnas) {
+                return false;
+            }
+            for (BigDecimal celda : fila) {
+                if (!representable(celda)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Indica si el valor cabe tal cual en una celda; no se normaliza, porque cambiaría su escala.
+     */
+    private static boolean representable(BigDecimal valor) {
+        if (valor == null) {
+            return true;
+        }
+        return valor.unscaledValue().bitLength() < 64
+                && valor.scale() > Byte.MIN_VALUE && valor.scale() <= Byte.MAX_VALUE;
+    }
+
+    private static boolean representableComoClave(BigDecimal parametro) {
+        return parametro == null || representable(parametro.stripTrailingZeros());
+    }
+
+    private record ClaveRegistro(int operacion, long bonoId, long parametroSinEscala, byte parametroEscala) {
+
+        static ClaveRegistro de(int operacion, long bonoId, BigDecimal parametro) {
+            if (parametro == null) {
+                return new ClaveRegistro(operacion, bonoId, 0L, ESCALA_NULA);
+            }
+            BigDecimal normalizado = parametro.stripTrailingZeros();
+            BigInteger sinEscala = normalizado.unscaledValue();
+            return new ClaveRegistro(operacion, bonoId, sinEscala.longValue(), (byte) normalizado.scale());
+        }
+    }
+}
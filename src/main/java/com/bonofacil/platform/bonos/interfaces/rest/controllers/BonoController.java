@@ -1,7 +1,9 @@
 package com.bonofacil.platform.bonos.interfaces.rest.controllers;
 
 import com.bonofacil.platform.bonos.application.services.BonoApplicationService;
+import com.bonofacil.platform.bonos.interfaces.rest.resources.ActualizarBonoResource;
 import com.bonofacil.platform.bonos.interfaces.rest.resources.BonoResource;
+import com.bonofacil.platform.bonos.interfaces.rest.transform.ActualizarBonoCommandFromResourceAssembler;
 import com.bonofacil.platform.bonos.interfaces.rest.transform.BonoResourceAssembler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -41,7 +43,7 @@ public class BonoController {
                 bonoResource.getNombre(), bonoResource.getDescripcion(), 
                 bonoResource.getTasaDescuento(), bonoResource.getMetodoAmortizacion());
         
-        Long bonoId = bonoService.crearBono(
+        var bono = bonoService.crearBono(
             bonoResource.getNombre(),
             bonoResource.getValorNominal(),
             bonoResource.getTasaCupon(),
@@ -56,7 +58,6 @@ public class BonoController {
             bonoResource.getMetodoAmortizacion()
         );
         
-        var bono = bonoService.buscarBonoPorId(bonoId).orElseThrow();
         logger.info("Bono creado: id={}, descripcion={}, tasaDescuento={}, metodoAmortizacion={}", 
                 bono.getId(), bono.getDescripcion(), bono.getTasaDescuento(), bono.getMetodoAmortizacion());
         
@@ -108,6 +109,22 @@ public class BonoController {
         }
     }
     
+    /**
+     * Modifica parcialmente un bono existente.
+     * 
+     * @param id ID del bono a modificar
+     * @param resource Campos a modificar; los ausentes se conservan
+     * @return El bono modificado
+     */
+    @PatchMapping("/{id}")
+    public ResponseEntity<BonoResource> modificarBono(@PathVariable Long id,
+                                                      @RequestBody ActualizarBonoResource resource) {
+        return bonoService.modificarBono(
+                ActualizarBonoCommandFromResourceAssembler.toCommandFromResource(id, resource, null))
+            .map(bono -> ResponseEntity.ok(bonoAssembler.toResource(bono)))
+            .orElse(ResponseEntity.notFound().build());
+    }
+    
     /**
      * Elimina un bono.
      * 
@@ -156,12 +173,14 @@ public class BonoController {
      * Busca bonos por nombre.
      * 
      * @param nombre Nombre o parte del nombre a buscar
-     * @return Lista de bonos que coinciden con el criterio
+     * @param limite Número máximo de resultados
+     * @return Lista de bonos que coinciden con el criterio, de más a menos relevante
      */
     @GetMapping("/buscar")
-    public ResponseEntity<List<BonoResource>> buscarBonosPorNombre(@RequestParam String nombre) {
+    public ResponseEntity<List<BonoResource>> buscarBonosPorNombre(@RequestParam String nombre,
+                                                                   @RequestParam(defaultValue = "20") int limite) {
         return ResponseEntity.ok(
-            bonoAssembler.toResourceList(bonoService.buscarBonosPorNombre(nombre))
+            bonoAssembler.toResourceList(bonoService.buscarBonosPorNombre(nombre, limite))
         );
     }
     
@@ -3,11 +3,14 @@ package com.bonofacil.platform.bonos.interfaces.rest.controllers;
 import com.bonofacil.platform.bonos.application.services.CalculadoraBonoApplicationService;
 import com.bonofacil.platform.bonos.domain.model.entities.Bono;
 import com.bonofacil.platform.bonos.domain.model.entities.Calculo;
+import com.bonofacil.platform.bonos.domain.model.entities.FlujoFinanciero;
 import com.bonofacil.platform.bonos.domain.model.valueobjects.DuracionConvexidad;
 import com.bonofacil.platform.bonos.domain.model.valueobjects.PrecioMercado;
 import com.bonofacil.platform.bonos.domain.model.valueobjects.Rendimiento;
 import com.bonofacil.platform.bonos.interfaces.rest.resources.*;
 import com.bonofacil.platform.bonos.interfaces.rest.transform.*;
+import com.bonofacil.platform.shared.infrastructure.caching.CachedValue;
+import com.bonofacil.platform.shared.interfaces.rest.transform.CachedResponseEntityAssembler;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -56,10 +59,9 @@ public class CalculadoraBonoController {
             @PathVariable String bonoId,
             @RequestParam(defaultValue = "0.08") BigDecimal tasaDescuento) {
         
-        return ResponseEntity.ok(
-            flujoCajaAssembler.toResourceList(
-                calculadoraBonoService.generarFlujoCaja(bonoId, tasaDescuento)
-            )
+        CachedValue<List<FlujoFinanciero>> flujos = calculadoraBonoService.generarFlujoCaja(bonoId, tasaDescuento);
+        return CachedResponseEntityAssembler.toResponseEntity(
+            flujos, flujoCajaAssembler.toResourceList(flujos.value())
         );
     }
     
@@ -78,11 +80,11 @@ public class CalculadoraBonoController {
             @RequestParam(defaultValue = "0.01") BigDecimal cambioPuntosPorcentuales) {
         
         // Obtener las métricas del servicio
-        DuracionConvexidad metricas = calculadoraBonoService.calcularMetricas(bonoId, tasaMercado);
+        CachedValue<DuracionConvexidad> metricas = calculadoraBonoService.calcularMetricas(bonoId, tasaMercado);
         
         // Convertir el valor de dominio a un recurso antes de devolverlo
-        return ResponseEntity.ok(
-            duracionConvexidadAssembler.toResource(metricas, cambioPuntosPorcentuales)
+        return CachedResponseEntityAssembler.toResponseEntity(
+            metricas, duracionConvexidadAssembler.toResource(metricas.value(), cambioPuntosPorcentuales)
         );
     }
     
@@ -98,9 +100,8 @@ public class CalculadoraBonoController {
             @PathVariable String bonoId,
             @RequestParam(defaultValue = "0.08") BigDecimal tasaMercado) {
         
-        return ResponseEntity.ok(
-            calculadoraBonoService.calcularPrecio(bonoId, tasaMercado)
-        );
+        CachedValue<BigDecimal> precio = calculadoraBonoService.calcularPrecio(bonoId, tasaMercado);
+        return CachedResponseEntityAssembler.toResponseEntity(precio, precio.value());
     }
     
     /**
@@ -135,11 +136,11 @@ public class CalculadoraBonoController {
         }
         
         // Obtener el rendimiento del servicio
-        Rendimiento rendimiento = calculadoraBonoService.calcularTCEA(bonoId, costosEmision);
+        CachedValue<Rendimiento> rendimiento = calculadoraBonoService.calcularTCEA(bonoId, costosEmision);
         
         // Convertir el valor de dominio a un recurso antes de devolverlo
-        return ResponseEntity.ok(
-            rendimientoAssembler.toResource(rendimiento)
+        return CachedResponseEntityAssembler.toResponseEntity(
+            rendimiento, rendimientoAssembler.toResource(rendimiento.value())
         );
     }
     
@@ -169,11 +170,11 @@ public class CalculadoraBonoController {
         }
         
         // Obtener el rendimiento del servicio
-        Rendimiento rendimiento = calculadoraBonoService.calcularTREA(bonoId, precioCompra);
+        CachedValue<Rendimiento> rendimiento = calculadoraBonoService.calcularTREA(bonoId, precioCompra);
         
         // Convertir el valor de dominio a un recurso antes de devolverlo
-        return ResponseEntity.ok(
-            rendimientoAssembler.toResource(rendimiento)
+        return CachedResponseEntityAssembler.toResponseEntity(
+            rendimiento, rendimientoAssembler.toResource(rendimiento.value())
         );
     }
     
@@ -190,11 +191,11 @@ public class CalculadoraBonoController {
             @RequestParam(defaultValue = "0.08") BigDecimal tasaMercado) {
         
         // Obtener el precio de mercado del servicio
-        PrecioMercado precioMercado = calculadoraBonoService.calcularPrecioMercado(bonoId, tasaMercado);
+        CachedValue<PrecioMercado> precioMercado = calculadoraBonoService.calcularPrecioMercado(bonoId, tasaMercado);
         
         // Convertir el valor de dominio a un recurso antes de devolverlo
-        return ResponseEntity.ok(
-            precioMercadoAssembler.toResource(precioMercado)
+        return CachedResponseEntityAssembler.toResponseEntity(
+            precioMercado, precioMercadoAssembler.toResource(precioMercado.value())
         );
     }
 
@@ -1,17 +1,37 @@
 package com.bonofacil.platform.bonos.interfaces.rest.controllers;
 
 import com.bonofacil.platform.bonos.application.services.BonoService;
+import com.bonofacil.platform.bonos.application.services.ImportacionBonosService;
+import com.bonofacil.platform.bonos.domain.model.commands.ActualizarBonoCommand;
+import com.bonofacil.platform.bonos.domain.model.commands.CrearBonoCommand;
 import com.bonofacil.platform.bonos.domain.model.entities.Bono;
 import com.bonofacil.platform.bonos.domain.model.entities.FlujoFinanciero;
+import com.bonofacil.platform.bonos.domain.model.valueobjects.FilaImportacionBono;
+import com.bonofacil.platform.bonos.domain.model.valueobjects.OrdenBono;
+import com.bonofacil.platform.bonos.domain.model.valueobjects.ResultadoImportacionFila;
+import com.bonofacil.platform.bonos.domain.services.BonoCommandService;
 import com.bonofacil.platform.bonos.domain.services.CalculoFinancieroService;
+import com.bonofacil.platform.bonos.interfaces.rest.resources.ActualizarBonoResource;
 import com.bonofacil.platform.bonos.interfaces.rest.resources.BonoResource;
 import com.bonofacil.platform.bonos.interfaces.rest.resources.CreateBonoResource;
+import com.bonofacil.platform.bonos.interfaces.rest.resources.FlujoFinancieroResource;
+import com.bonofacil.platform.bonos.interfaces.rest.resources.ImportacionBonosResource;
+import com.bonofacil.platform.bonos.interfaces.rest.transform.ActualizarBonoCommandFromResourceAssembler;
 import com.bonofacil.platform.bonos.interfaces.rest.transform.BonoResourceFromEntityAssembler;
+import com.bonofacil.platform.bonos.interfaces.rest.transform.CrearBonoCommandFromResourceAssembler;
+import com.bonofacil.platform.bonos.interfaces.rest.transform.FlujoFinancieroResourceFromEntityAssembler;
+import com.bonofacil.platform.bonos.interfaces.rest.transform.ImportacionBonosResourceAssembler;
+import com.bonofacil.platform.bonos.interfaces.rest.transform.LectorCsvBonos;
+import com.bonofacil.platform.bonos.interfaces.rest.transform.LectorNdjsonBonos;
 import com.bonofacil.platform.iam.domain.model.aggregates.User;
 import com.bonofacil.platform.iam.infrastructure.persistence.jpa.repositories.UserRepository;
+import com.bonofacil.platform.shared.application.pagination.KeysetPage;
+import com.bonofacil.platform.shared.interfaces.rest.transform.KeysetPageResponseEntityAssembler;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -20,6 +40,13 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -28,25 +55,37 @@ import java.util.stream.Collectors;
 @Tag(name = "Emisor Bonos", description = "Endpoints para manejo de bonos por emisores")
 public class EmisorBonoController {
 
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
     private final BonoService bonoService;
+    private final BonoCommandService bonoCommandService;
     private final UserRepository userRepository;
     private final CalculoFinancieroService calculoFinancieroService;
+    private final ImportacionBonosService importacionBonosService;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public EmisorBonoController(BonoService bonoService, UserRepository userRepository, CalculoFinancieroService calculoFinancieroService) {
+    public EmisorBonoController(BonoService bonoService, BonoCommandService bonoCommandService,
+                                UserRepository userRepository, CalculoFinancieroService calculoFinancieroService,
+                                ImportacionBonosService importacionBonosService, ObjectMapper objectMapper) {
         this.bonoService = bonoService;
+        this.bonoCommandService = bonoCommandService;
         this.userRepository = userRepository;
         this.calculoFinancieroService = calculoFinancieroService;
+        this.importacionBonosService = importacionBonosService;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping
-    public ResponseEntity<List<BonoResource>> obtenerMisBonos() {
+    public ResponseEntity<List<BonoResource>> obtenerMisBonos(@RequestParam(required = false) String cursor,
+                                                              @RequestParam(defaultValue = "id") String orden,
+                                                              @RequestParam(defaultValue = "50") int limite) {
         String username = obtenerUsernameAutenticado();
-        List<Bono> bonos = bonoService.obtenerBonosPorEmisor(username);
-        List<BonoResource> resources = bonos.stream()
+        KeysetPage<Bono> bonos = bonoService.obtenerBonosPorEmisor(username, cursor, OrdenBono.desde(orden), limite);
+        List<BonoResource> resources = bonos.items().stream()
                 .map(BonoResourceFromEntityAssembler::toResourceFromEntity)
                 .collect(Collectors.toList());
-        return ResponseEntity.ok(resources);
+        return KeysetPageResponseEntityAssembler.toResponseEntity(bonos, resources);
     }
 
     @GetMapping("/{id}")
@@ -63,35 +102,53 @@ public class EmisorBonoController {
     public ResponseEntity<BonoResource> crearBono(@RequestBody CreateBonoResource resource) {
         String username = obtenerUsernameAutenticado();
 
-        Bono bono = BonoResourceFromEntityAssembler.toEntityFromCreateResource(resource);
-        bono.setEmisorUsername(username);
-
-        Bono bonoCreado = bonoService.crearBono(bono);
-        calculoFinancieroService.procesarCalculosBono(bonoCreado);
-
-        bonoCreado = bonoService.actualizarBono(bonoCreado.getId(), bonoCreado);
+        CrearBonoCommand command = CrearBonoCommandFromResourceAssembler.toCommandFromResource(resource, username);
+        Bono bonoCreado = bonoCommandService.handle(command);
 
         BonoResource bonoResource = BonoResourceFromEntityAssembler.toResourceFromEntity(bonoCreado);
         return new ResponseEntity<>(bonoResource, HttpStatus.CREATED);
     }
 
+    /**
+     * Importa bonos en bloque desde CSV con cabecera o NDJSON. El cuerpo se procesa en streaming y la
+     * respuesta informa el resultado de cada fila; las filas inválidas no impiden importar las demás.
+     */
+    @PostMapping(value = "/importacion", consumes = {TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<ImportacionBonosResource> importarBonos(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                                  InputStream cuerpo) throws IOException {
+        String username = obtenerUsernameAutenticado();
+        Charset charset = contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(cuerpo, charset))) {
+            Iterator<FilaImportacionBono> filas = contentType.isCompatibleWith(MediaType.APPLICATION_NDJSON)
+                    ? new LectorNdjsonBonos(reader, objectMapper, username)
+                    : new LectorCsvBonos(reader, username);
+            List<ResultadoImportacionFila> resultados = importacionBonosService.importar(filas);
+            return ResponseEntity.ok(ImportacionBonosResourceAssembler.toResource(resultados));
+        }
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<BonoResource> actualizarBono(@PathVariable Long id, @RequestBody CreateBonoResource resource) {
         String username = obtenerUsernameAutenticado();
+        ActualizarBonoCommand command =
+                ActualizarBonoCommandFromResourceAssembler.toCommandFromCreateResource(id, resource, username);
+        return bonoCommandService.handle(command)
+                .map(BonoResourceFromEntityAssembler::toResourceFromEntity)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
 
-        return bonoService.obtenerBonoPorId(id)
-                .filter(bono -> bono.getEmisorUsername().equals(username))
-                .map(bono -> {
-                    Bono bonoActualizado = BonoResourceFromEntityAssembler.toEntityFromCreateResource(resource);
-                    bonoActualizado.setId(id);
-                    bonoActualizado.setEmisorUsername(username);
-
-                    Bono resultado = bonoService.actualizarBono(id, bonoActualizado);
-                    calculoFinancieroService.procesarCalculosBono(resultado);
-                    resultado = bonoService.actualizarBono(id, resultado);
-
-                    return ResponseEntity.ok(BonoResourceFromEntityAssembler.toResourceFromEntity(resultado));
-                })
+    /**
+     * Modifica solo los campos enviados. Los cambios de nombre o descripción no recalculan nada.
+     */
+    @PatchMapping("/{id}")
+    public ResponseEntity<BonoResource> modificarBono(@PathVariable Long id, @RequestBody ActualizarBonoResource resource) {
+        String username = obtenerUsernameAutenticado();
+        ActualizarBonoCommand command =
+                ActualizarBonoCommandFromResourceAssembler.toCommandFromResource(id, resource, username);
+        return bonoCommandService.handle(command)
+                .map(BonoResourceFromEntityAssembler::toResourceFromEntity)
+                .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -109,17 +166,20 @@ public class EmisorBonoController {
     }
 
     @GetMapping("/{id}/flujo")
-    public ResponseEntity<List<FlujoFinanciero>> obtenerFlujoFinanciero(@PathVariable Long id) {
+    public ResponseEntity<List<FlujoFinancieroResource>> obtenerFlujoFinanciero(@PathVariable Long id) {
         String username = obtenerUsernameAutenticado();
 
         return bonoService.obtenerBonoPorId(id)
                 .filter(bono -> bono.getEmisorUsername().equals(username))
                 .map(bono -> {
-                    List<FlujoFinanciero> flujo = bono.getFlujos();
+                    List<FlujoFinanciero> flujo = bonoService.obtenerFlujoFinancieroBono(id);
                     if (flujo == null || flujo.isEmpty()) {
                         flujo = calculoFinancieroService.calcularFlujoFinanciero(bono);
                     }
-                    return ResponseEntity.ok(flujo);
+                    List<FlujoFinancieroResource> resources = flujo.stream()
+                            .map(FlujoFinancieroResourceFromEntityAssembler::toResourceFromEntity)
+                            .collect(Collectors.toList());
+                    return ResponseEntity.ok(resources);
                 })
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -2,14 +2,28 @@ package com.bonofacil.platform.bonos.interfaces.rest.controllers;
 
 import com.bonofacil.platform.bonos.application.services.BonoService;
 import com.bonofacil.platform.bonos.application.services.CalculoService;
-import com.bonofacil.platform.bonos.domain.model.entities.Bono;
+import com.bonofacil.platform.bonos.application.services.EscenariosInversionService;
+import com.bonofacil.platform.bonos.application.services.ValoracionBonoService;
 import com.bonofacil.platform.bonos.domain.model.entities.Calculo;
 import com.bonofacil.platform.bonos.domain.model.entities.FlujoFinanciero;
+import com.bonofacil.platform.bonos.domain.model.projections.BonoCatalogoItem;
+import com.bonofacil.platform.bonos.domain.model.queries.FiltrarCatalogoBonosQuery;
+import com.bonofacil.platform.bonos.domain.model.valueobjects.CalculoRegistrado;
+import com.bonofacil.platform.bonos.domain.model.valueobjects.IntervaloHistorial;
+import com.bonofacil.platform.bonos.domain.model.valueobjects.OrdenBono;
+import com.bonofacil.platform.bonos.domain.model.valueobjects.OrdenFiltroCatalogo;
 import com.bonofacil.platform.bonos.domain.services.CalculoFinancieroService;
 import com.bonofacil.platform.bonos.interfaces.rest.resources.*;
 import com.bonofacil.platform.bonos.interfaces.rest.transform.BonoResourceFromEntityAssembler;
+import com.bonofacil.platform.bonos.interfaces.rest.transform.CalcularEscenariosCommandFromResourceAssembler;
 import com.bonofacil.platform.bonos.interfaces.rest.transform.CalculoResourceFromEntityAssembler;
 import com.bonofacil.platform.bonos.interfaces.rest.transform.FlujoFinancieroResourceFromEntityAssembler;
+import com.bonofacil.platform.bonos.interfaces.rest.transform.RegistrarCalculoCommandFromResourceAssembler;
+import com.bonofacil.platform.bonos.interfaces.rest.transform.ValoracionBonoResourceFromProjectionAssembler;
+import com.bonofacil.platform.shared.application.pagination.KeysetPage;
+import com.bonofacil.platform.shared.infrastructure.caching.CachedValue;
+import com.bonofacil.platform.shared.interfaces.rest.transform.CachedResponseEntityAssembler;
+import com.bonofacil.platform.shared.interfaces.rest.transform.KeysetPageResponseEntityAssembler;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -24,6 +38,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -36,30 +51,40 @@ public class InversorBonoController {
     private final BonoService bonoService;
     private final CalculoService calculoService;
     private final CalculoFinancieroService calculoFinancieroService;
+    private final EscenariosInversionService escenariosInversionService;
+    private final ValoracionBonoService valoracionBonoService;
 
     @Autowired
     public InversorBonoController(BonoService bonoService, CalculoService calculoService,
-                                  CalculoFinancieroService calculoFinancieroService) {
+                                  CalculoFinancieroService calculoFinancieroService,
+                                  EscenariosInversionService escenariosInversionService,
+                                  ValoracionBonoService valoracionBonoService) {
         this.bonoService = bonoService;
         this.calculoService = calculoService;
         this.calculoFinancieroService = calculoFinancieroService;
+        this.escenariosInversionService = escenariosInversionService;
+        this.valoracionBonoService = valoracionBonoService;
     }
 
     @GetMapping("/bonos/catalogo")
-    @Operation(summary = "Obtener catálogo completo de bonos disponibles")
-    public ResponseEntity<List<BonoResource>> obtenerCatalogoBonos() {
-        List<Bono> bonos = bonoService.obtenerTodosLosBonos();
-        List<BonoResource> resources = bonos.stream()
-                .map(BonoResourceFromEntityAssembler::toResourceFromEntity)
+    @Operation(summary = "Obtener catálogo de bonos disponibles, paginado por cursor")
+    public ResponseEntity<List<BonoResource>> obtenerCatalogoBonos(
+            @Parameter(description = "Cursor de la página siguiente (cabecera X-Next-Cursor)") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Orden: id, createdAt o tasaCupon") @RequestParam(defaultValue = "id") String orden,
+            @Parameter(description = "Tamaño de página") @RequestParam(defaultValue = "50") int limite) {
+        CachedValue<KeysetPage<BonoCatalogoItem>> bonos = bonoService.obtenerCatalogoBonos(cursor, OrdenBono.desde(orden), limite);
+        List<BonoResource> resources = bonos.value().items().stream()
+                .map(BonoResourceFromEntityAssembler::toResourceFromCatalogoItem)
                 .collect(Collectors.toList());
-        return ResponseEntity.ok(resources);
+        return CachedResponseEntityAssembler.toResponseEntity(bonos, resources,
+                KeysetPageResponseEntityAssembler.headers(bonos.value()));
     }
 
     @GetMapping("/bonos/catalogo/{id}")
     @Operation(summary = "Obtener detalles de un bono específico")
     public ResponseEntity<BonoResource> obtenerBonoPorId(@PathVariable Long id) {
-        return bonoService.obtenerBonoPorId(id)
-                .map(BonoResourceFromEntityAssembler::toResourceFromEntity)
+        return bonoService.obtenerItemCatalogo(id)
+                .map(BonoResourceFromEntityAssembler::toResourceFromCatalogoItem)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -68,9 +93,9 @@ public class InversorBonoController {
     @Operation(summary = "Filtrar bonos por tipo de moneda")
     public ResponseEntity<List<BonoResource>> obtenerBonosPorMoneda(
             @Parameter(description = "Código de moneda (ej: USD, PEN)") @PathVariable String moneda) {
-        List<Bono> bonos = bonoService.obtenerBonosPorMoneda(moneda);
+        List<BonoCatalogoItem> bonos = bonoService.obtenerBonosPorMoneda(moneda);
         List<BonoResource> resources = bonos.stream()
-                .map(BonoResourceFromEntityAssembler::toResourceFromEntity)
+                .map(BonoResourceFromEntityAssembler::toResourceFromCatalogoItem)
                 .collect(Collectors.toList());
         return ResponseEntity.ok(resources);
     }
@@ -82,9 +107,54 @@ public class InversorBonoController {
             @Parameter(description = "Tasa máxima (opcional)") @RequestParam(required = false) Double tasaMaxima) {
         
         double maxTasa = tasaMaxima != null ? tasaMaxima : Double.MAX_VALUE;
-        List<Bono> bonos = bonoService.obtenerBonosPorRangoTasa(tasaMinima, maxTasa);
+        List<BonoCatalogoItem> bonos = bonoService.obtenerBonosPorRangoTasa(tasaMinima, maxTasa);
+        List<BonoResource> resources = bonos.stream()
+                .map(BonoResourceFromEntityAssembler::toResourceFromCatalogoItem)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(resources);
+    }
+
+    @GetMapping("/bonos/catalogo/filtro")
+    @Operation(summary = "Filtrar el catálogo combinando moneda, tasa, plazo, frecuencia, emisor, fecha y métricas")
+    public ResponseEntity<List<BonoResource>> filtrarCatalogo(
+            @Parameter(description = "Código de moneda (ej: USD, PEN)") @RequestParam(required = false) String moneda,
+            @Parameter(description = "Tasa cupón mínima") @RequestParam(required = false) BigDecimal tasaCuponMin,
+            @Parameter(description = "Tasa cupón máxima") @RequestParam(required = false) BigDecimal tasaCuponMax,
+            @Parameter(description = "Plazo mínimo en años") @RequestParam(required = false) Integer plazoAniosMin,
+            @Parameter(description = "Plazo máximo en años") @RequestParam(required = false) Integer plazoAniosMax,
+            @Parameter(description = "Pagos por año") @RequestParam(required = false) Integer frecuenciaPagos,
+            @Parameter(description = "Usuario del emisor") @RequestParam(required = false) String emisor,
+            @Parameter(description = "Fecha de emisión mínima (yyyy-MM-dd)") @RequestParam(required = false) LocalDate fechaEmisionDesde,
+            @Parameter(description = "Fecha de emisión máxima (yyyy-MM-dd)") @RequestParam(required = false) LocalDate fechaEmisionHasta,
+            @Parameter(description = "Duración mínima en años") @RequestParam(required = false) BigDecimal duracionMin,
+            @Parameter(description = "Duración máxima en años") @RequestParam(required = false) BigDecimal duracionMax,
+            @Parameter(description = "TCEA mínima (ej: 0.07)") @RequestParam(required = false) BigDecimal tceaMin,
+            @Parameter(description = "Precio máximo") @RequestParam(required = false) BigDecimal precioMax,
+            @Parameter(description = "Rendimiento a la par mínimo") @RequestParam(required = false) BigDecimal rendimientoParMin,
+            @Parameter(description = "Orden: id, tasaCupon, plazoAnios, fechaEmision, tcea, duracion, precio o rendimientoPar") @RequestParam(defaultValue = "id") String orden,
+            @Parameter(description = "Orden descendente") @RequestParam(defaultValue = "false") boolean descendente,
+            @Parameter(description = "Máximo de resultados") @RequestParam(defaultValue = "50") int limite) {
+        FiltrarCatalogoBonosQuery consulta = new FiltrarCatalogoBonosQuery(moneda, tasaCuponMin, tasaCuponMax,
+                plazoAniosMin, plazoAniosMax, frecuenciaPagos, emisor, fechaEmisionDesde, fechaEmisionHasta,
+                duracionMin, duracionMax, tceaMin, precioMax, rendimientoParMin, OrdenFiltroCatalogo.desde(orden),
+                descendente, limite);
+        List<BonoResource> resources = bonoService.filtrarCatalogo(consulta).stream()
+                .map(BonoResourceFromEntityAssembler::toResourceFromCatalogoItem)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(resources);
+    }
+
+    @GetMapping("/bonos/screening")
+    @Operation(summary = "Filtrar bonos por duración, TCEA y moneda usando las métricas precalculadas")
+    public ResponseEntity<List<BonoResource>> filtrarBonosPorMetricas(
+            @Parameter(description = "Duración mínima en años") @RequestParam BigDecimal duracionMin,
+            @Parameter(description = "Duración máxima en años") @RequestParam BigDecimal duracionMax,
+            @Parameter(description = "TCEA mínima (ej: 0.07)") @RequestParam(defaultValue = "0") BigDecimal tceaMin,
+            @Parameter(description = "Código de moneda (opcional)") @RequestParam(required = false) String moneda,
+            @Parameter(description = "Máximo de resultados") @RequestParam(defaultValue = "100") int limite) {
+        List<BonoCatalogoItem> bonos = bonoService.filtrarBonosPorMetricas(duracionMin, duracionMax, tceaMin, moneda, limite);
         List<BonoResource> resources = bonos.stream()
-                .map(BonoResourceFromEntityAssembler::toResourceFromEntity)
+                .map(BonoResourceFromEntityAssembler::toResourceFromCatalogoItem)
                 .collect(Collectors.toList());
         return ResponseEntity.ok(resources);
     }
@@ -109,30 +179,63 @@ public class InversorBonoController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    @GetMapping("/bonos/{id}/historial")
+    @Operation(summary = "Obtener la serie histórica de precio, TCEA, rendimiento, duración y convexidad de un bono",
+            description = "Valoraciones de cierre diarias, o promediadas por semana o mes")
+    public ResponseEntity<List<ValoracionBonoResource>> obtenerHistorialValoracion(
+            @PathVariable Long id,
+            @Parameter(description = "Fecha inicial (yyyy-MM-dd); por defecto un año antes de la final") @RequestParam(required = false) LocalDate desde,
+            @Parameter(description = "Fecha final (yyyy-MM-dd); por defecto hoy") @RequestParam(required = false) LocalDate hasta,
+            @Parameter(description = "Intervalo: dia, semana o mes") @RequestParam(defaultValue = "dia") String intervalo) {
+        IntervaloHistorial resolucion = IntervaloHistorial.desde(intervalo);
+        if (bonoService.obtenerItemCatalogo(id).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        List<ValoracionBonoResource> resources = valoracionBonoService.obtenerHistorial(id, desde, hasta, resolucion).stream()
+                .map(ValoracionBonoResourceFromProjectionAssembler::toResourceFromProjection)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(resources);
+    }
+
     @PostMapping("/calculos")
-    @Operation(summary = "Realizar cálculo de inversión (TREA y precio máximo)")
-    public ResponseEntity<CalculoResource> calcularInversion(@RequestBody CreateCalculoResource resource) {
-        String username = obtenerUsernameAutenticado();
-        Bono bono = bonoService.obtenerBonoPorId(resource.getBonoId())
-                .orElseThrow(() -> new IllegalArgumentException("Bono no encontrado"));
-        
-        // Calcular inversión directamente con la tasa en porcentaje
-        Calculo calculo = calculoFinancieroService.calcularInversion(bono, resource.getTasaEsperada());
-        calculo.setInversorUsername(username);
-        
-        Calculo calculoGuardado = calculoService.guardarCalculo(calculo);
-        return new ResponseEntity<>(CalculoResourceFromEntityAssembler.toResourceFromEntity(calculoGuardado), HttpStatus.CREATED);
+    @Operation(summary = "Realizar cálculo de inversión (TREA y precio máximo)",
+            description = "Con la cabecera Idempotency-Key, un reenvío devuelve el cálculo ya registrado con 200")
+    public ResponseEntity<CalculoResource> calcularInversion(
+            @Parameter(description = "Clave única por inversor para reintentar sin duplicar el cálculo")
+            @RequestHeader(value = "Idempotency-Key", required = false) String claveIdempotencia,
+            @RequestBody CreateCalculoResource resource) {
+        var command = RegistrarCalculoCommandFromResourceAssembler.toCommandFromResource(resource,
+                obtenerUsernameAutenticado(), claveIdempotencia);
+        CalculoRegistrado registrado = calculoService.handle(command);
+        return new ResponseEntity<>(CalculoResourceFromEntityAssembler.toResourceFromEntity(registrado.calculo()),
+                registrado.repetido() ? HttpStatus.OK : HttpStatus.CREATED);
+    }
+
+    @PostMapping("/calculos/lote")
+    @Operation(summary = "Realizar varios cálculos de inversión en una sola petición",
+            description = "Cada elemento es un par bonoId y tasaEsperada; los cálculos se devuelven en el mismo orden")
+    public ResponseEntity<List<CalculoResource>> calcularEscenarios(@RequestBody List<CreateCalculoResource> resources) {
+        var command = CalcularEscenariosCommandFromResourceAssembler.toCommandFromResource(resources,
+                obtenerUsernameAutenticado());
+        List<CalculoResource> calculos = escenariosInversionService.handle(command).stream()
+                .map(CalculoResourceFromEntityAssembler::toResourceFromEntity)
+                .collect(Collectors.toList());
+        return new ResponseEntity<>(calculos, HttpStatus.CREATED);
     }
 
     @GetMapping("/calculos")
-    @Operation(summary = "Obtener todos mis cálculos de inversión")
-    public ResponseEntity<List<CalculoResource>> obtenerMisCalculos() {
+    @Operation(summary = "Obtener mis cálculos de inversión, paginados por cursor y opcionalmente por rango de fechas")
+    public ResponseEntity<List<CalculoResource>> obtenerMisCalculos(
+            @Parameter(description = "Fecha de cálculo mínima (yyyy-MM-dd)") @RequestParam(required = false) LocalDate desde,
+            @Parameter(description = "Fecha de cálculo máxima (yyyy-MM-dd); por defecto hoy") @RequestParam(required = false) LocalDate hasta,
+            @Parameter(description = "Cursor de la página siguiente (cabecera X-Next-Cursor)") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamaño de página") @RequestParam(defaultValue = "50") int limite) {
         String username = obtenerUsernameAutenticado();
-        List<Calculo> calculos = calculoService.obtenerCalculosPorInversor(username);
-        List<CalculoResource> resources = calculos.stream()
+        KeysetPage<Calculo> calculos = calculoService.obtenerCalculosPorInversor(username, desde, hasta, cursor, limite);
+        List<CalculoResource> resources = calculos.items().stream()
                 .map(CalculoResourceFromEntityAssembler::toResourceFromEntity)
                 .collect(Collectors.toList());
-        return ResponseEntity.ok(resources);
+        return KeysetPageResponseEntityAssembler.toResponseEntity(calculos, resources);
     }
 
     @GetMapping("/calculos/{id}")
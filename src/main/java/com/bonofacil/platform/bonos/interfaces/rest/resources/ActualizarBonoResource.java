@@ -0,0 +1,26 @@
+package com.bonofacil.platform.bonos.interfaces.rest.resources;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+/**
+ * Cambios parciales de un bono; los campos ausentes o nulos no se modifican.
+ */
+@Getter
+@Setter
+public class ActualizarBonoResource {
+    private String nombre;
+    private String descripcion;
+    private Double valorNominal;
+    private Double tasaCupon;
+    private Integer plazoAnios;
+    private Integer frecuenciaPagos;
+    private String moneda;
+    private LocalDate fechaEmision;
+    private Integer plazosGraciaTotal;
+    private Integer plazosGraciaParcial;
+    private Double tasaDescuento;
+    private String metodoAmortizacion;
+}
@@ -56,6 +56,13 @@ public class BonoResource {
     
     private String metodoAmortizacion;
     
+    // Métricas calculadas al registrar o actualizar el bono
+    private BigDecimal tcea;
+    private BigDecimal duracion;
+    private BigDecimal convexidad;
+    private BigDecimal precio;
+    private BigDecimal rendimientoPar;
+    
     // Configuración de plazo de gracia
     private PlazoGraciaResource plazoGracia;
     
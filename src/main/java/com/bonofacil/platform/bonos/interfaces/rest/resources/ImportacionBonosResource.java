@@ -0,0 +1,15 @@
+package com.bonofacil.platform.bonos.interfaces.rest.resources;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class ImportacionBonosResource {
+    private int filas;
+    private int creados;
+    private int rechazados;
+    private List<ResultadoImportacionFilaResource> resultados;
+}
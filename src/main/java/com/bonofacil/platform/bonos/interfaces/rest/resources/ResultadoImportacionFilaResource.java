@@ -0,0 +1,12 @@
+package com.bonofacil.platform.bonos.interfaces.rest.resources;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ResultadoImportacionFilaResource {
+    private int fila;
+    private Long bonoId;
+    private String error;
+}
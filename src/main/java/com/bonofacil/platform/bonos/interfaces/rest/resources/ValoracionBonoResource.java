@@ -0,0 +1,17 @@
+package com.bonofacil.platform.bonos.interfaces.rest.resources;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+@Getter
+@Setter
+public class ValoracionBonoResource {
+    private LocalDate fecha;
+    private Double precio;
+    private Double tcea;
+    private Double rendimientoPar;
+    private Double duracion;
+    private Double convexidad;
+}
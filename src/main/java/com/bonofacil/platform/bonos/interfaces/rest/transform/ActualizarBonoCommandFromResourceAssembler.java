@@ -0,0 +1,72 @@
+package com.bonofacil.platform.bonos.interfaces.rest.transform;
+
+import com.bonofacil.platform.bonos.domain.model.commands.ActualizarBonoCommand;
+import com.bonofacil.platform.bonos.domain.model.valueobjects.PlazoGracia;
+import com.bonofacil.platform.bonos.interfaces.rest.resources.ActualizarBonoResource;
+import com.bonofacil.platform.bonos.interfaces.rest.resources.CreateBonoResource;
+
+import java.math.BigDecimal;
+
+public class ActualizarBonoCommandFromResourceAssembler {
+    public static ActualizarBonoCommand toCommandFromResource(Long bonoId, ActualizarBonoResource resource,
+                                                              String emisorUsername) {
+        PlazoGracia plazoGracia = null;
+        if (resource.getPlazosGraciaTotal() != null || resource.getPlazosGraciaParcial() != null) {
+            plazoGracia = toPlazoGracia(valorOCero(resource.getPlazosGraciaTotal()),
+                    valorOCero(resource.getPlazosGraciaParcial()));
+        }
+        return new ActualizarBonoCommand(
+                bonoId,
+                emisorUsername,
+                resource.getNombre(),
+                resource.getDescripcion(),
+                toBigDecimal(resource.getValorNominal()),
+                toBigDecimal(resource.getTasaCupon()),
+                resource.getPlazoAnios(),
+                resource.getFrecuenciaPagos(),
+                resource.getMoneda(),
+                resource.getFechaEmision(),
+                plazoGracia,
+                toBigDecimal(resource.getTasaDescuento()),
+                resource.getMetodoAmortizacion());
+    }
+
+    /**
+     * Reemplazo completo: todos los campos del recurso de creación se aplican.
+     */
+    public static ActualizarBonoCommand toCommandFromCreateResource(Long bonoId, CreateBonoResource resource,
+                                                                    String emisorUsername) {
+        return new ActualizarBonoCommand(
+                bonoId,
+                emisorUsername,
+                resource.getNombre(),
+                resource.getDescripcion(),
+                BigDecimal.valueOf(resource.getValorNominal()),
+                BigDecimal.valueOf(resource.getTasaCupon()),
+                resource.getPlazoAnios(),
+                resource.getFrecuenciaPagos(),
+                resource.getMoneda(),
+                resource.getFechaEmision(),
+                toPlazoGracia(resource.getPlazosGraciaTotal(), resource.getPlazosGraciaParcial()),
+                BigDecimal.valueOf(resource.getTasaDescuento()),
+                resource.getMetodoAmortizacion());
+    }
+
+    private static PlazoGracia toPlazoGracia(int plazosGraciaTotal, int plazosGraciaParcial) {
+        if (plazosGraciaTotal > 0) {
+            return PlazoGracia.plazoGraciaTotal(plazosGraciaTotal);
+        }
+        if (plazosGraciaParcial > 0) {
+            return PlazoGracia.plazoGraciaParcial(plazosGraciaParcial);
+        }
+        return PlazoGracia.sinPlazoGracia();
+    }
+
+    private static int valorOCero(Integer valor) {
+        return valor != null ? valor : 0;
+    }
+
+    private static BigDecimal toBigDecimal(Double valor) {
+        return valor != null ? BigDecimal.valueOf(valor) : null;
+    }
+}
@@ -1,6 +1,7 @@
 package com.bonofacil.platform.bonos.interfaces.rest.transform;
 
 import com.bonofacil.platform.bonos.domain.model.entities.Bono;
+import com.bonofacil.platform.bonos.domain.model.projections.BonoCatalogoItem;
 import com.bonofacil.platform.bonos.domain.model.valueobjects.Moneda;
 import com.bonofacil.platform.bonos.domain.model.valueobjects.PlazoGracia;
 import com.bonofacil.platform.bonos.domain.model.valueobjects.TasaInteres;
@@ -31,11 +32,57 @@ public class BonoResourceFromEntityAssembler {
         resource.setTasaDescuento(entity.getTasaDescuento());
         resource.setMetodoAmortizacion(entity.getMetodoAmortizacion());
         
+        // Métricas materializadas
+        resource.setTcea(entity.getTcea());
+        resource.setDuracion(entity.getDuracion());
+        resource.setConvexidad(entity.getConvexidad());
+        resource.setPrecio(entity.getPrecio());
+        resource.setRendimientoPar(entity.getRendimientoPar());
+        
+        completarValoresCompuestos(resource, entity.getMoneda(), entity.getPlazosGraciaTotal(),
+                entity.getPlazosGraciaParcial(), entity.getTasaCupon(), entity.getFrecuenciaPagos());
+        
+        return resource;
+    }
+
+    /**
+     * Construye el recurso a partir de la proyección del catálogo, con la misma forma que
+     * {@link #toResourceFromEntity(Bono)} para que los clientes no distingan el origen.
+     */
+    public static BonoResource toResourceFromCatalogoItem(BonoCatalogoItem item) {
+        BonoResource resource = new BonoResource();
+        resource.setId(item.id().toString());
+        resource.setNombre(item.nombre());
+        resource.setValorNominal(item.valorNominal());
+        resource.setTasaCupon(item.tasaCupon());
+        resource.setPlazoAnios(item.plazoAnios());
+        resource.setFrecuenciaPagos(item.frecuenciaPagos());
+        resource.setFechaEmision(item.fechaEmision());
+        resource.setDescripcion(item.descripcion());
+        resource.setTasaDescuento(item.tasaDescuento());
+        resource.setMetodoAmortizacion(item.metodoAmortizacion());
+        
+        // Métricas materializadas
+        resource.setTcea(item.tcea());
+        resource.setDuracion(item.duracion());
+        resource.setConvexidad(item.convexidad());
+        resource.setPrecio(item.precio());
+        resource.setRendimientoPar(item.rendimientoPar());
+        
+        completarValoresCompuestos(resource, item.moneda(), item.plazosGraciaTotal(),
+                item.plazosGraciaParcial(), item.tasaCupon(), item.frecuenciaPagos());
+        
+        return resource;
+    }
+
+    private static void completarValoresCompuestos(BonoResource resource, String moneda, int plazosGraciaTotal,
+                                                   int plazosGraciaParcial, BigDecimal tasaCupon,
+                                                   int frecuenciaPagos) {
         // Configurar Moneda
         MonedaResource monedaResource = new MonedaResource();
-        monedaResource.setCodigo(entity.getMoneda());
-        monedaResource.setNombre(entity.getMoneda());
-        monedaResource.setSimbolo(entity.getMoneda().substring(0, 1));
+        monedaResource.setCodigo(moneda);
+        monedaResource.setNombre(moneda);
+        monedaResource.setSimbolo(moneda.substring(0, 1));
         resource.setMoneda(monedaResource);
         
         // Configurar PlazoGracia
@@ -43,12 +90,12 @@ public class BonoResourceFromEntityAssembler {
         PlazoGraciaResource.TipoPlazoGracia tipo;
         int periodos = 0;
         
-        if (entity.getPlazosGraciaTotal() > 0) {
+        if (plazosGraciaTotal > 0) {
             tipo = PlazoGraciaResource.TipoPlazoGracia.TOTAL;
-            periodos = entity.getPlazosGraciaTotal();
-        } else if (entity.getPlazosGraciaParcial() > 0) {
+            periodos = plazosGraciaTotal;
+        } else if (plazosGraciaParcial > 0) {
             tipo = PlazoGraciaResource.TipoPlazoGracia.PARCIAL;
-            periodos = entity.getPlazosGraciaParcial();
+            periodos = plazosGraciaParcial;
         } else {
             tipo = PlazoGraciaResource.TipoPlazoGracia.NINGUNO;
             periodos = 0;
@@ -60,12 +107,10 @@ public class BonoResourceFromEntityAssembler {
         
         // Configurar TasaInteres
         TasaInteresResource tasaInteresResource = new TasaInteresResource();
-        tasaInteresResource.setValor(entity.getTasaCupon());
+        tasaInteresResource.setValor(tasaCupon);
         tasaInteresResource.setTipo(TasaInteresResource.TipoTasa.EFECTIVA);
-        tasaInteresResource.setFrecuenciaCapitalizacion(entity.getFrecuenciaPagos());
+        tasaInteresResource.setFrecuenciaCapitalizacion(frecuenciaPagos);
         resource.setTasaInteres(tasaInteresResource);
-        
-        return resource;
     }
 
     public static Bono toEntityFromCreateResource(CreateBonoResource resource) {
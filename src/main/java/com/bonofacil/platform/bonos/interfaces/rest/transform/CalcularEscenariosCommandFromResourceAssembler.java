@@ -0,0 +1,20 @@
+package com.bonofacil.platform.bonos.interfaces.rest.transform;
+
+import com.bonofacil.platform.bonos.domain.model.commands.CalcularEscenariosCommand;
+import com.bonofacil.platform.bonos.domain.model.valueobjects.EscenarioInversion;
+import com.bonofacil.platform.bonos.interfaces.rest.resources.CreateCalculoResource;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public class CalcularEscenariosCommandFromResourceAssembler {
+
+    public static CalcularEscenariosCommand toCommandFromResource(List<CreateCalculoResource> resources, String inversor) {
+        // La tasa llega en porcentaje, igual que en el cálculo individual
+        List<EscenarioInversion> escenarios = resources == null ? List.of() : resources.stream()
+                .map(resource -> new EscenarioInversion(resource.getBonoId(),
+                        BigDecimal.valueOf(resource.getTasaEsperada()).divide(BigDecimal.valueOf(100))))
+                .toList();
+        return new CalcularEscenariosCommand(inversor, escenarios);
+    }
+}
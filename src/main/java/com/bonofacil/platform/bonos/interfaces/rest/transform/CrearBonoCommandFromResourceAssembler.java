@@ -0,0 +1,33 @@
+package com.bonofacil.platform.bonos.interfaces.rest.transform;
+
+import com.bonofacil.platform.bonos.domain.model.commands.CrearBonoCommand;
+import com.bonofacil.platform.bonos.domain.model.valueobjects.PlazoGracia;
+import com.bonofacil.platform.bonos.interfaces.rest.resources.CreateBonoResource;
+
+import java.math.BigDecimal;
+
+public class CrearBonoCommandFromResourceAssembler {
+    public static CrearBonoCommand toCommandFromResource(CreateBonoResource resource, String emisorUsername) {
+        PlazoGracia plazoGracia;
+        if (resource.getPlazosGraciaTotal() > 0) {
+            plazoGracia = PlazoGracia.plazoGraciaTotal(resource.getPlazosGraciaTotal());
+        } else if (resource.getPlazosGraciaParcial() > 0) {
+            plazoGracia = PlazoGracia.plazoGraciaParcial(resource.getPlazosGraciaParcial());
+        } else {
+            plazoGracia = PlazoGracia.sinPlazoGracia();
+        }
+        return new CrearBonoCommand(
+                resource.getNombre(),
+                resource.getDescripcion(),
+                BigDecimal.valueOf(resource.getValorNominal()),
+                BigDecimal.valueOf(resource.getTasaCupon()),
+                resource.getPlazoAnios(),
+                resource.getFrecuenciaPagos(),
+                resource.getMoneda(),
+                resource.getFechaEmision(),
+                plazoGracia,
+                BigDecimal.valueOf(resource.getTasaDescuento()),
+                resource.getMetodoAmortizacion(),
+                emisorUsername);
+    }
+}
@@ -0,0 +1,17 @@
+package com.bonofacil.platform.bonos.interfaces.rest.transform;
+
+import com.bonofacil.platform.bonos.domain.model.valueobjects.ResultadoImportacionFila;
+import com.bonofacil.platform.bonos.interfaces.rest.resources.ImportacionBonosResource;
+import com.bonofacil.platform.bonos.interfaces.rest.resources.ResultadoImportacionFilaResource;
+
+import java.util.List;
+
+public class ImportacionBonosResourceAssembler {
+    public static ImportacionBonosResource toResource(List<ResultadoImportacionFila> resultados) {
+        int creados = (int) resultados.stream().filter(ResultadoImportacionFila::creado).count();
+        List<ResultadoImportacionFilaResource> filas = resultados.stream()
+                .map(r -> new ResultadoImportacionFilaResource(r.numero(), r.bonoId(), r.error()))
+                .toList();
+        return new ImportacionBonosResource(resultados.size(), creados, resultados.size() - creados, filas);
+    }
+}
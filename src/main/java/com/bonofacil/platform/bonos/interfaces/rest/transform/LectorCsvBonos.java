@@ -0,0 +1,151 @@
+package com.bonofacil.platform.bonos.interfaces.rest.transform;
+
+import com.bonofacil.platform.bonos.domain.model.valueobjects.FilaImportacionBono;
+import com.bonofacil.platform.bonos.interfaces.rest.resources.CreateBonoResource;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Lee bonos de un CSV línea a línea. La primera línea es la cabecera con los nombres de los campos de
+ * {@link CreateBonoResource} en cualquier orden; los valores pueden ir entre comillas dobles, pero no
+ * pueden contener saltos de línea.
+ */
+public class LectorCsvBonos implements Iterator<FilaImportacionBono> {
+
+    private static final char SEPARADOR = ',';
+    private static final String BOM = "\uFEFF";
+
+    private final BufferedReader reader;
+    private final String emisorUsername;
+    private final Map<String, Integer> columnas = new HashMap<>();
+    private String siguienteLinea;
+    private int numero;
+
+    public LectorCsvBonos(BufferedReader reader, String emisorUsername) {
+        this.reader = reader;
+        this.emisorUsername = emisorUsername;
+        String cabecera = leerLinea();
+        if (cabecera == null) {
+            return;
+        }
+        List<String> nombres = separar(cabecera.startsWith(BOM) ? cabecera.substring(1) : cabecera);
+        for (int i = 0; i < nombres.size(); i++) {
+            columnas.put(nombres.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        siguienteLinea = leerLinea();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return siguienteLinea != null;
+    }
+
+    @Override
+    public FilaImportacionBono next() {
+        if (siguienteLinea == null) {
+            throw new NoSuchElementException();
+        }
+        String linea = siguienteLinea;
+        siguienteLinea = leerLinea();
+        numero++;
+        try {
+            return FilaImportacionBono.valida(numero,
+                    CrearBonoCommandFromResourceAssembler.toCommandFromResource(toResource(separar(linea)), emisorUsername));
+        } catch (NumberFormatException | DateTimeParseException e) {
+            return FilaImportacionBono.invalida(numero, "Valor con formato inválido: " + e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return FilaImportacionBono.invalida(numero, e.getMessage());
+        }
+    }
+
+    private CreateBonoResource toResource(List<String> valores) {
+        CreateBonoResource resource = new CreateBonoResource();
+        resource.setNombre(texto(valores, "nombre"));
+        resource.setDescripcion(texto(valores, "descripcion"));
+        resource.setValorNominal(decimal(valores, "valornominal"));
+        resource.setTasaCupon(decimal(valores, "tasacupon"));
+        resource.setPlazoAnios(entero(valores, "plazoanios"));
+        resource.setFrecuenciaPagos(entero(valores, "frecuenciapagos"));
+        resource.setMoneda(texto(valores, "moneda"));
+        String fechaEmision = texto(valores, "fechaemision");
+        resource.setFechaEmision(fechaEmision != null ? LocalDate.parse(fechaEmision) : null);
+        resource.setPlazosGraciaTotal(entero(valores, "plazosgraciatotal"));
+        resource.setPlazosGraciaParcial(entero(valores, "plazosgraciaparcial"));
+        resource.setTasaDescuento(decimal(valores, "tasadescuento"));
+        String metodo = texto(valores, "metodoamortizacion");
+        if (metodo != null) {
+            resource.setMetodoAmortizacion(metodo);
+        }
+        return resource;
+    }
+
+    private String texto(List<String> valores, String columna) {
+        Integer indice = columnas.get(columna);
+        if (indice == null || indice >= valores.size()) {
+            return null;
+        }
+        String valor = valores.get(indice).trim();
+        return valor.isEmpty() ? null : valor;
+    }
+
+    private double decimal(List<String> valores, String columna) {
+        String valor = texto(valores, columna);
+        return valor != null ? Double.parseDouble(valor) : 0;
+    }
+
+    private int entero(List<String> valores, String columna) {
+        String valor = texto(valores, columna);
+        return valor != null ? Integer.parseInt(valor) : 0;
+    }
+
+    private static List<String> separar(String linea) {
+        List<String> valores = new ArrayList<>();
+        StringBuilder actual = new StringBuilder();
+        boolean entreComillas = false;
+        for (int i = 0; i < linea.length(); i++) {
+            char c = linea.charAt(i);
+            if (entreComillas) {
+                if (c == '"' && i + 1 < linea.length() && linea.charAt(i + 1) == '"') {
+                    actual.append('"');
+                    i++;
+                } else if (c == '"') {
+                    entreComillas = false;
+                } else {
+                    actual.append(c);
+                }
+            } else if (c == '"') {
+                entreComillas = true;
+            } else if (c == SEPARADOR) {
+                valores.add(actual.toString());
+                actual.setLength(0);
+            } else {
+                actual.append(c);
+            }
+        }
+        valores.add(actual.toString());
+        return valores;
+    }
+
+    private String leerLinea() {
+        try {
+            String linea;
+            do {
+                linea = reader.readLine();
+            } while (linea != null && linea.isBlank());
+            return linea;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
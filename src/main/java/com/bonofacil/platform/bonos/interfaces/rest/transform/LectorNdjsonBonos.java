@@ -0,0 +1,67 @@
+package com.bonofacil.platform.bonos.interfaces.rest.transform;
+
+import com.bonofacil.platform.bonos.domain.model.valueobjects.FilaImportacionBono;
+import com.bonofacil.platform.bonos.interfaces.rest.resources.CreateBonoResource;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Lee bonos de un flujo NDJSON: un objeto {@link CreateBonoResource} por línea.
+ */
+public class LectorNdjsonBonos implements Iterator<FilaImportacionBono> {
+
+    private final BufferedReader reader;
+    private final ObjectMapper objectMapper;
+    private final String emisorUsername;
+    private String siguienteLinea;
+    private int numero;
+
+    public LectorNdjsonBonos(BufferedReader reader, ObjectMapper objectMapper, String emisorUsername) {
+        this.reader = reader;
+        this.objectMapper = objectMapper;
+        this.emisorUsername = emisorUsername;
+        this.siguienteLinea = leerLinea();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return siguienteLinea != null;
+    }
+
+    @Override
+    public FilaImportacionBono next() {
+        if (siguienteLinea == null) {
+            throw new NoSuchElementException();
+        }
+        String linea = siguienteLinea;
+        siguienteLinea = leerLinea();
+        numero++;
+        try {
+            CreateBonoResource resource = objectMapper.readValue(linea, CreateBonoResource.class);
+            return FilaImportacionBono.valida(numero,
+                    CrearBonoCommandFromResourceAssembler.toCommandFromResource(resource, emisorUsername));
+        } catch (JsonProcessingException e) {
+            return FilaImportacionBono.invalida(numero, "JSON inválido: " + e.getOriginalMessage());
+        } catch (IllegalArgumentException e) {
+            return FilaImportacionBono.invalida(numero, e.getMessage());
+        }
+    }
+
+    private String leerLinea() {
+        try {
+            String linea;
+            do {
+                linea = reader.readLine();
+            } while (linea != null && linea.isBlank());
+            return linea;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.bonofacil.platform.bonos.interfaces.rest.transform;
+
+import com.bonofacil.platform.bonos.domain.model.commands.RegistrarCalculoCommand;
+import com.bonofacil.platform.bonos.interfaces.rest.resources.CreateCalculoResource;
+
+import java.math.BigDecimal;
+
+public class RegistrarCalculoCommandFromResourceAssembler {
+
+    public static RegistrarCalculoCommand toCommandFromResource(CreateCalculoResource resource, String inversor,
+                                                                String claveIdempotencia) {
+        // La tasa llega en porcentaje
+        return new RegistrarCalculoCommand(inversor, resource.getBonoId(),
+                BigDecimal.valueOf(resource.getTasaEsperada()).divide(BigDecimal.valueOf(100)), claveIdempotencia);
+    }
+}
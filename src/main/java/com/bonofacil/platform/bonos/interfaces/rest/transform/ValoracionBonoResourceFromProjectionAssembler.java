@@ -0,0 +1,18 @@
+package com.bonofacil.platform.bonos.interfaces.rest.transform;
+
+import com.bonofacil.platform.bonos.domain.model.projections.PuntoValoracion;
+import com.bonofacil.platform.bonos.interfaces.rest.resources.ValoracionBonoResource;
+
+public class ValoracionBonoResourceFromProjectionAssembler {
+
+    public static ValoracionBonoResource toResourceFromProjection(PuntoValoracion punto) {
+        ValoracionBonoResource resource = new ValoracionBonoResource();
+        resource.setFecha(punto.fecha());
+        resource.setPrecio(punto.precio());
+        resource.setTcea(punto.tcea());
+        resource.setRendimientoPar(punto.rendimientoPar());
+        resource.setDuracion(punto.duracion());
+        resource.setConvexidad(punto.convexidad());
+        return resource;
+    }
+}
@@ -6,13 +6,19 @@ import com.bonofacil.platform.iam.domain.model.queries.GetUserByIdQuery;
 import com.bonofacil.platform.iam.domain.model.queries.GetUserByUsernameQuery;
 import com.bonofacil.platform.iam.domain.services.UserQueryService;
 import com.bonofacil.platform.iam.infrastructure.persistence.jpa.repositories.UserRepository;
+import com.bonofacil.platform.shared.application.pagination.KeysetCursor;
+import com.bonofacil.platform.shared.application.pagination.KeysetPage;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
 
 @Service
 public class UserQueryServiceImpl implements UserQueryService {
+    private static final String ORDER_BY_ID = "id";
+
     private final UserRepository userRepository;
 
     public UserQueryServiceImpl(UserRepository userRepository) {
@@ -20,16 +26,23 @@ public class UserQueryServiceImpl implements UserQueryService {
     }
 
     @Override
-    public List<User> handle(GetAllUsersQuery query) {
-        return userRepository.findAll();
+    @Transactional(readOnly = true)
+    public KeysetPage<User> handle(GetAllUsersQuery query) {
+        int limit = KeysetPage.limiteSeguro(query.limit());
+        KeysetCursor cursor = KeysetCursor.decodificar(query.cursor(), ORDER_BY_ID);
+        List<User> rows = userRepository.findByIdGreaterThanOrderByIdAsc(
+                cursor != null ? cursor.id() : 0L, Limit.of(limit + 1));
+        return KeysetPage.of(rows, limit, user -> KeysetCursor.porId(ORDER_BY_ID, user.getId()));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<User> handle(GetUserByIdQuery query) {
         return userRepository.findById(query.userId());
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<User> handle(GetUserByUsernameQuery query) {
         return userRepository.findByUsername(query.username());
     }
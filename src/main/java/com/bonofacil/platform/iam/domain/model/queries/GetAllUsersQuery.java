@@ -1,4 +1,10 @@
 package com.bonofacil.platform.iam.domain.model.queries;
 
-public record GetAllUsersQuery() {
+/**
+ * Query for a keyset page of users ordered by id.
+ *
+ * @param cursor opaque cursor returned with the previous page, or null for the first page
+ * @param limit requested page size
+ */
+public record GetAllUsersQuery(String cursor, int limit) {
 }
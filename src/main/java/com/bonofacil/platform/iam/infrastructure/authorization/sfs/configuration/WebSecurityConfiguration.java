@@ -4,6 +4,8 @@ import com.bonofacil.platform.iam.infrastructure.authorization.sfs.pipeline.Bear
 import com.bonofacil.platform.iam.infrastructure.authorization.sfs.pipeline.ForbiddenRequestHandler;
 import com.bonofacil.platform.iam.infrastructure.hashing.bcrypt.BCryptHashingService;
 import com.bonofacil.platform.iam.infrastructure.tokens.jwt.BearerTokenService;
+import com.bonofacil.platform.shared.interfaces.rest.transform.CachedResponseEntityAssembler;
+import com.bonofacil.platform.shared.interfaces.rest.transform.KeysetPageResponseEntityAssembler;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -76,8 +78,11 @@ public class WebSecurityConfiguration {
         http.cors(configurer -> configurer.configurationSource( source -> {
             var cors = new CorsConfiguration();
             cors.setAllowedOrigins(List.of("*"));
-            cors.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE"));
+            cors.setAllowedMethods(List.of("GET", "POST", "PUT", "PATCH", "DELETE"));
             cors.setAllowedHeaders(List.of("*"));
+            cors.setExposedHeaders(List.of(
+                    KeysetPageResponseEntityAssembler.NEXT_CURSOR_HEADER,
+                    CachedResponseEntityAssembler.STALENESS_HEADER));
             return cors;
         }));
         http.csrf(AbstractHttpConfigurer::disable)
@@ -1,13 +1,20 @@
 package com.bonofacil.platform.iam.infrastructure.persistence.jpa.repositories;
 
 import com.bonofacil.platform.iam.domain.model.aggregates.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
     boolean existsByUsername(String username);
+
+    /**
+     * Keyset page of users whose id is greater than the given one.
+     */
+    List<User> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
 }
@@ -5,12 +5,14 @@ import com.bonofacil.platform.iam.domain.model.queries.GetUserByIdQuery;
 import com.bonofacil.platform.iam.domain.services.UserQueryService;
 import com.bonofacil.platform.iam.interfaces.rest.resources.UserResource;
 import com.bonofacil.platform.iam.interfaces.rest.transform.UserResourceFromEntityAssembler;
+import com.bonofacil.platform.shared.interfaces.rest.transform.KeysetPageResponseEntityAssembler;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
@@ -26,11 +28,12 @@ public class UsersController {
     }
 
     @GetMapping
-    public ResponseEntity<List<UserResource>> getAllUsers() {
-        var getAllUsersQuery = new GetAllUsersQuery();
+    public ResponseEntity<List<UserResource>> getAllUsers(@RequestParam(required = false) String cursor,
+                                                          @RequestParam(defaultValue = "50") int limit) {
+        var getAllUsersQuery = new GetAllUsersQuery(cursor, limit);
         var users = userQueryService.handle(getAllUsersQuery);
-        var userResources = users.stream().map(UserResourceFromEntityAssembler::toResourceFromEntity).toList();
-        return ResponseEntity.ok(userResources);
+        var userResources = users.items().stream().map(UserResourceFromEntityAssembler::toResourceFromEntity).toList();
+        return KeysetPageResponseEntityAssembler.toResponseEntity(users, userResources);
     }
 
     @GetMapping("/{userId}")
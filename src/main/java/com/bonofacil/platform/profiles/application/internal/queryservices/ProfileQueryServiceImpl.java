@@ -1,6 +1,10 @@
 package com.bonofacil.platform.profiles.application.internal.queryservices;
 
+import com.bonofacil.platform.shared.application.pagination.KeysetCursor;
+import com.bonofacil.platform.shared.application.pagination.KeysetPage;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import  com.bonofacil.platform.profiles.domain.model.aggregates.Profile;
 import  com.bonofacil.platform.profiles.domain.model.queries.GetAllProfilesQuery;
 import  com.bonofacil.platform.profiles.domain.model.queries.GetProfileByEmailQuery;
@@ -13,6 +17,7 @@ import java.util.Optional;
 
 @Service
 public class ProfileQueryServiceImpl implements ProfileQueryService {
+  private static final String ORDER_BY_ID = "id";
   private final ProfileRepository profileRepository;
 
   public ProfileQueryServiceImpl(ProfileRepository profileRepository) {
@@ -20,17 +25,24 @@ public class ProfileQueryServiceImpl implements ProfileQueryService {
   }
 
   @Override
+  @Transactional(readOnly = true)
   public Optional<Profile> handle(GetProfileByEmailQuery query) {
     return profileRepository.findByEmail(query.emailAddress());
   }
 
   @Override
+  @Transactional(readOnly = true)
   public Optional<Profile> handle(GetProfileByIdQuery query) {
     return profileRepository.findById(query.profileId());
   }
 
   @Override
-  public List<Profile> handle(GetAllProfilesQuery query) {
-    return profileRepository.findAll();
+  @Transactional(readOnly = true)
+  public KeysetPage<Profile> handle(GetAllProfilesQuery query) {
+    int limit = KeysetPage.limiteSeguro(query.limit());
+    KeysetCursor cursor = KeysetCursor.decodificar(query.cursor(), ORDER_BY_ID);
+    List<Profile> rows = profileRepository.findByIdGreaterThanOrderByIdAsc(
+            cursor != null ? cursor.id() : 0L, Limit.of(limit + 1));
+    return KeysetPage.of(rows, limit, profile -> KeysetCursor.porId(ORDER_BY_ID, profile.getId()));
   }
 }
@@ -1,4 +1,10 @@
 package com.bonofacil.platform.profiles.domain.model.queries;
 
-public record GetAllProfilesQuery() {
-}
\ No newline at end of file
+/**
+ * Query for a keyset page of profiles ordered by id.
+ *
+ * @param cursor opaque cursor returned with the previous page, or null for the first page
+ * @param limit requested page size
+ */
+public record GetAllProfilesQuery(String cursor, int limit) {
+}
@@ -4,12 +4,12 @@ import  com.bonofacil.platform.profiles.domain.model.aggregates.Profile;
 import  com.bonofacil.platform.profiles.domain.model.queries.GetAllProfilesQuery;
 import  com.bonofacil.platform.profiles.domain.model.queries.GetProfileByEmailQuery;
 import  com.bonofacil.platform.profiles.domain.model.queries.GetProfileByIdQuery;
+import com.bonofacil.platform.shared.application.pagination.KeysetPage;
 
-import java.util.List;
 import java.util.Optional;
 
 public interface ProfileQueryService {
   Optional<Profile> handle(GetProfileByEmailQuery query);
   Optional<Profile> handle(GetProfileByIdQuery query);
-  List<Profile> handle(GetAllProfilesQuery query);
+  KeysetPage<Profile> handle(GetAllProfilesQuery query);
 }
@@ -10,6 +10,7 @@ import com.bonofacil.platform.profiles.interfaces.rest.resources.CreateProfileRe
 import com.bonofacil.platform.profiles.interfaces.rest.resources.ProfileResource;
 import com.bonofacil.platform.profiles.interfaces.rest.transform.CreateProfileCommandFromResourceAssembler;
 import com.bonofacil.platform.profiles.interfaces.rest.transform.ProfileResourceFromEntityAssembler;
+import com.bonofacil.platform.shared.interfaces.rest.transform.KeysetPageResponseEntityAssembler;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -76,18 +77,21 @@ public class ProfilesController {
   }
 
   /**
-   * Gets all the Profiles
+   * Gets a page of Profiles ordered by id
    *
-   * @return a list of all the Profile resources currently stored
+   * @param cursor the cursor returned in the X-Next-Cursor header of the previous page
+   * @param limit the page size
+   * @return a page of Profile resources
    */
   @GetMapping
-  public ResponseEntity<List<ProfileResource>> getAllProfiles() {
-    var getAllProfilesQuery = new GetAllProfilesQuery();
+  public ResponseEntity<List<ProfileResource>> getAllProfiles(@RequestParam(required = false) String cursor,
+                                                              @RequestParam(defaultValue = "50") int limit) {
+    var getAllProfilesQuery = new GetAllProfilesQuery(cursor, limit);
     var profiles = profileQueryService.handle(getAllProfilesQuery);
-    var profileResources = profiles.stream()
+    var profileResources = profiles.items().stream()
             .map(ProfileResourceFromEntityAssembler::toResourceFromEntity)
             .collect(Collectors.toList());
-    return ResponseEntity.ok(profileResources);
+    return KeysetPageResponseEntityAssembler.toResponseEntity(profiles, profileResources);
   }
 
   /**
@@ -0,0 +1,71 @@
+package com.bonofacil.platform.shared.application.pagination;
+
+import com.bonofacil.platform.shared.application.exceptions.InvalidValueException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Posición de una página en una paginación por clave (seek).
+ * <p>
+ * Guarda la clave de orden, el valor de esa clave en la última fila entregada y su ID como desempate.
+ * Se intercambia con los clientes como una cadena Base64 opaca.
+ * </p>
+ *
+ * @param orden Nombre de la clave de orden con la que se generó el cursor
+ * @param valor Valor de la clave de orden en la última fila, como texto
+ * @param id ID de la última fila
+ */
+public record KeysetCursor(String orden, String valor, long id) {
+
+    private static final String SEPARADOR = "|";
+
+    public KeysetCursor {
+        if (orden == null || orden.isBlank()) {
+            throw new IllegalArgumentException("El orden del cursor no puede estar vacío");
+        }
+        valor = valor != null ? valor : "";
+    }
+
+    public static KeysetCursor porId(String orden, long id) {
+        return new KeysetCursor(orden, "", id);
+    }
+
+    /**
+     * Codifica el cursor como una cadena opaca apta para URLs.
+     */
+    public String codificar() {
+        String texto = orden + SEPARADOR + valor + SEPARADOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(texto.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica un cursor recibido de un cliente.
+     *
+     * @param cursor Cadena opaca, o {@code null} para la primera página
+     * @param ordenEsperado Clave de orden de la consulta actual
+     * @return Cursor decodificado, o {@code null} si no se envió
+     * @throws InvalidValueException si el cursor está mal formado o corresponde a otro orden
+     */
+    public static KeysetCursor decodificar(String cursor, String ordenEsperado) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String texto = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int primero = texto.indexOf(SEPARADOR);
+            int ultimo = texto.lastIndexOf(SEPARADOR);
+            if (primero < 0 || primero == ultimo) {
+                throw new InvalidValueException("Cursor de paginación inválido");
+            }
+            KeysetCursor decodificado = new KeysetCursor(texto.substring(0, primero),
+                    texto.substring(primero + 1, ultimo), Long.parseLong(texto.substring(ultimo + 1)));
+            if (!decodificado.orden().equals(ordenEsperado)) {
+                throw new InvalidValueException("El cursor de paginación corresponde a otro orden");
+            }
+            return decodificado;
+        } catch (IllegalArgumentException e) {
+            throw new InvalidValueException("Cursor de paginación inválido");
+        }
+    }
+}
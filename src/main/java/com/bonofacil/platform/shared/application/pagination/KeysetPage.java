@@ -0,0 +1,50 @@
+package com.bonofacil.platform.shared.application.pagination;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Página de resultados de una paginación por clave.
+ *
+ * @param items Filas de la página
+ * @param siguienteCursor Cursor opaco de la página siguiente, o {@code null} si es la última
+ */
+public record KeysetPage<T>(List<T> items, String siguienteCursor) {
+
+    public static final int LIMITE_PREDETERMINADO = 50;
+    public static final int LIMITE_MAXIMO = 500;
+
+    /**
+     * Construye la página a partir de una consulta que pidió {@code limite + 1} filas:
+     * la fila adicional solo indica que existe una página siguiente.
+     *
+     * @param filas Filas obtenidas, como máximo {@code limite + 1}
+     * @param limite Tamaño de la página
+     * @param cursorDe Función que construye el cursor a partir de la última fila entregada
+     */
+    public static <T> KeysetPage<T> of(List<T> filas, int limite, Function<T, KeysetCursor> cursorDe) {
+        if (filas.size() <= limite) {
+            return new KeysetPage<>(filas, null);
+        }
+        List<T> pagina = filas.subList(0, limite);
+        return new KeysetPage<>(List.copyOf(pagina), cursorDe.apply(pagina.get(limite - 1)).codificar());
+    }
+
+    /**
+     * Ajusta el tamaño solicitado por el cliente al rango permitido.
+     */
+    public static int limiteSeguro(int solicitado) {
+        if (solicitado <= 0) {
+            return LIMITE_PREDETERMINADO;
+        }
+        return Math.min(solicitado, LIMITE_MAXIMO);
+    }
+
+    public boolean hayMas() {
+        return siguienteCursor != null;
+    }
+
+    public <R> KeysetPage<R> map(Function<T, R> mapper) {
+        return new KeysetPage<>(items.stream().map(mapper).toList(), siguienteCursor);
+    }
+}
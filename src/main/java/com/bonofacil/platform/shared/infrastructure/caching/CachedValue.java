@@ -0,0 +1,19 @@
+package com.bonofacil.platform.shared.infrastructure.caching;
+
+/**
+ * Valor servido por {@link StaleWhileRevalidateCache} junto con su antigüedad.
+ *
+ * @param value Valor almacenado
+ * @param ageMillis Milisegundos transcurridos desde que el valor fue calculado
+ * @param stale Indica si el valor superó su tiempo de frescura
+ */
+public record CachedValue<V>(V value, long ageMillis, boolean stale) {
+
+    public static <V> CachedValue<V> fresh(V value) {
+        return new CachedValue<>(value, 0L, false);
+    }
+
+    public long ageSeconds() {
+        return ageMillis / 1000;
+    }
+}
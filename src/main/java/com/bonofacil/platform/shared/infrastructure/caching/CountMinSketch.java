@@ -0,0 +1,75 @@
+package com.bonofacil.platform.shared.infrastructure.caching;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Estimador de frecuencias count-min con decaimiento.
+ * <p>
+ * Ocupa {@code depth * width} contadores sin importar cuántas claves distintas se registren.
+ * La estimación nunca es menor que la frecuencia real y {@link #decay()} reduce a la mitad
+ * todos los contadores para que las claves que dejan de pedirse pierdan peso con el tiempo.
+ * </p>
+ */
+public class CountMinSketch<K> {
+
+    private static final long[] SEEDS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L,
+            0xD6E8FEB86659FD93L, 0xFF51AFD7ED558CCDL, 0xC4CEB9FE1A85EC53L
+    };
+
+    private final int depth;
+    private final int width;
+    private final AtomicLongArray counters;
+
+    public CountMinSketch(int depth, int width) {
+        if (depth <= 0 || depth > SEEDS.length) {
+            throw new IllegalArgumentException("La profundidad debe estar entre 1 y " + SEEDS.length);
+        }
+        if (width <= 0) {
+            throw new IllegalArgumentException("El ancho debe ser positivo");
+        }
+        this.depth = depth;
+        this.width = width;
+        this.counters = new AtomicLongArray(depth * width);
+    }
+
+    /**
+     * Registra una ocurrencia de la clave.
+     */
+    public void add(K key) {
+        int hash = key.hashCode();
+        for (int row = 0; row < depth; row++) {
+            counters.incrementAndGet(index(row, hash));
+        }
+    }
+
+    /**
+     * Estima cuántas veces se ha registrado la clave desde el último decaimiento.
+     */
+    public long estimate(K key) {
+        int hash = key.hashCode();
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, counters.get(index(row, hash)));
+        }
+        return min;
+    }
+
+    /**
+     * Reduce a la mitad todos los contadores.
+     */
+    public void decay() {
+        for (int i = 0; i < counters.length(); i++) {
+            long value;
+            do {
+                value = counters.get(i);
+            } while (!counters.compareAndSet(i, value, value >>> 1));
+        }
+    }
+
+    private int index(int row, int hash) {
+        long mixed = (hash ^ SEEDS[row]) * 0xBF58476D1CE4E5B9L;
+        mixed ^= (mixed >>> 31);
+        return row * width + (int) Math.floorMod(mixed, (long) width);
+    }
+}
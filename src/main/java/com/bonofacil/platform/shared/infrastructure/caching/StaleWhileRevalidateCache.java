@@ -0,0 +1,283 @@
+package com.bonofacil.platform.shared.infrastructure.caching;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Caché en memoria con semántica stale-while-revalidate.
+ * <p>
+ * Un valor se sirve tal cual mientras sea fresco. Cuando supera el tiempo de frescura pero no la
+ * antigüedad máxima, se sirve inmediatamente y se lanza una única recarga en segundo plano por clave.
+ * Si el proveedor {@code serveStaleOnly} indica presión en la base de datos, los valores dentro de la
+ * antigüedad máxima se sirven sin programar recargas; pasado ese límite se recargan igualmente.
+ * </p>
+ * <p>
+ * Una invalidación gana siempre a una carga que estaba en curso: la recarga en segundo plano solo reemplaza
+ * la misma entrada que vio al empezar, y una carga síncrona que coincide con una invalidación de su clave
+ * devuelve su valor sin guardarlo. Cada clave con cargas en curso lleva su propia generación, de modo que
+ * invalidar una clave no descarta las cargas de las demás.
+ * </p>
+ */
+public class StaleWhileRevalidateCache<K, V> {
+
+    private static final Logger logger = LoggerFactory.getLogger(StaleWhileRevalidateCache.class);
+
+    private final String name;
+    private final long freshMillis;
+    private final long maxStaleMillis;
+    private final int maxEntries;
+    private final Executor refreshExecutor;
+    private final BooleanSupplier serveStaleOnly;
+
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final Set<K> refreshing = ConcurrentHashMap.newKeySet();
+    // Claves con cargas síncronas en curso; solo mientras duran, para no retener claves ya invalidadas
+    private final Map<K, Loads> loading = new ConcurrentHashMap<>();
+    // Se incrementa con cada invalidateAll, que afecta a todas las cargas en curso
+    private final AtomicLong clears = new AtomicLong();
+
+    public StaleWhileRevalidateCache(String name, Duration freshTtl, Duration maxStaleness, int maxEntries,
+                                     Executor refreshExecutor, BooleanSupplier serveStaleOnly) {
+        this.name = name;
+        this.freshMillis = freshTtl.toMillis();
+        this.maxStaleMillis = maxStaleness.toMillis();
+        this.maxEntries = maxEntries;
+        this.refreshExecutor = refreshExecutor;
+        this.serveStaleOnly = serveStaleOnly;
+    }
+
+    /**
+     * Obtiene el valor asociado a la clave, cargándolo con {@code loader} si no existe
+     * o si su antigüedad supera el límite permitido.
+     *
+     * @param key Clave del valor
+     * @param loader Función que calcula el valor desde la fuente original
+     * @return Valor junto con su antigüedad
+     */
+    public CachedValue<V> get(K key, Supplier<V> loader) {
+        Entry<V> entry = entries.get(key);
+        long now = System.currentTimeMillis();
+
+        if (entry != null) {
+            long age = now - entry.loadedAt();
+            if (age <= freshMillis) {
+                return new CachedValue<>(entry.value(), age, false);
+            }
+            if (age <= freshMillis + maxStaleMillis) {
+                if (!serveStaleOnly.getAsBoolean()) {
+                    refreshAsync(key, entry, loader);
+                }
+                return new CachedValue<>(entry.value(), age, true);
+            }
+        }
+
+        return CachedValue.fresh(loadAndStore(key, loader).value());
+    }
+
+    /**
+     * Calcula el valor fuera de una lectura y lo guarda, salvo que la clave se invalide mientras se calcula:
+     * en ese caso el valor puede ser anterior a la escritura que provocó la invalidación.
+     *
+     * @return {@code true} si el valor quedó almacenado
+     */
+    public boolean load(K key, Supplier<V> loader) {
+        return loadAndStore(key, loader).stored();
+    }
+
+    /**
+     * Devuelve el valor almacenado sin cargarlo ni verificar su antigüedad.
+     */
+    public Optional<V> peek(K key) {
+        Entry<V> entry = entries.get(key);
+        return entry != null ? Optional.of(entry.value()) : Optional.empty();
+    }
+
+    /**
+     * Devuelve los milisegundos transcurridos desde que se calculó el valor, o -1 si no existe.
+     */
+    public long ageMillis(K key) {
+        Entry<V> entry = entries.get(key);
+        return entry != null ? System.currentTimeMillis() - entry.loadedAt() : -1L;
+    }
+
+    /**
+     * Marca como recién calculado el valor presente sin cambiarlo, cuando se sabe que su origen no cambió.
+     *
+     * @return {@code false} si la clave no estaba en caché
+     */
+    public boolean touch(K key) {
+        return entries.computeIfPresent(key, (k, entry) -> new Entry<>(entry.value(), System.currentTimeMillis())) != null;
+    }
+
+    public boolean contains(K key) {
+        return entries.containsKey(key);
+    }
+
+    public Set<K> keys() {
+        return entries.keySet();
+    }
+
+    // La generación se incrementa antes de borrar, para que una carga que termine después la vea
+
+    public void invalidate(K key) {
+        loading.computeIfPresent(key, (k, loads) -> loads.invalidated());
+        entries.remove(key);
+    }
+
+    public void invalidateIf(Predicate<K> predicate) {
+        for (K key : loading.keySet()) {
+            if (predicate.test(key)) {
+                loading.computeIfPresent(key, (k, loads) -> loads.invalidated());
+            }
+        }
+        entries.keySet().removeIf(predicate);
+    }
+
+    public void invalidateAll() {
+        clears.incrementAndGet();
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Carga el valor registrando la clave como en curso y lo guarda solo si ni la clave ni la caché completa se
+     * invalidaron durante la carga. La comprobación y el guardado se hacen con la clave bloqueada en
+     * {@code loading}, igual que el incremento de generación de {@link #invalidate}.
+     */
+    private Loaded<V> loadAndStore(K key, Supplier<V> loader) {
+        long clear = clears.get();
+        Loads loads = loading.compute(key, (k, current) -> (current != null ? current : new Loads()).started());
+        long generation = loads.generation;
+        V value;
+        try {
+            value = loader.get();
+        } catch (RuntimeException e) {
+            loading.computeIfPresent(key, (k, current) -> current.finished());
+            throw e;
+        }
+        AtomicReference<Entry<V>> stored = new AtomicReference<>();
+        loading.computeIfPresent(key, (k, current) -> {
+            if (value != null && current.generation == generation && clears.get() == clear) {
+                stored.set(store(k, value));
+            }
+            return current.finished();
+        });
+        // Un invalidateAll que vació la caché antes del guardado no bloquea la clave: se comprueba de nuevo
+        if (stored.get() != null && clears.get() != clear) {
+            entries.remove(key, stored.get());
+            stored.set(null);
+        }
+        return new Loaded<>(value, stored.get() != null);
+    }
+
+    private Entry<V> store(K key, V value) {
+        Entry<V> entry = new Entry<>(value, System.currentTimeMillis());
+        entries.put(key, entry);
+        if (entries.size() > maxEntries) {
+            evictOldest();
+        }
+        return entry;
+    }
+
+    /**
+     * Recarga en segundo plano. El resultado solo sustituye a {@code stale}: si entretanto la clave se
+     * invalidó o se volvió a cargar, se descarta.
+     */
+    private void refreshAsync(K key, Entry<V> stale, Supplier<V> loader) {
+        if (!refreshing.add(key)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    V value = loader.get();
+                    if (value != null) {
+                        entries.replace(key, stale, new Entry<>(value, System.currentTimeMillis()));
+                    }
+                } catch (RuntimeException e) {
+                    logger.warn("Recarga en segundo plano fallida en caché {} para clave {}: {}", name, key, e.getMessage());
+                } finally {
+                    refreshing.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(key);
+        }
+    }
+
+    private void evictOldest() {
+        int toEvict = Math.max(1, maxEntries / 10);
+        entries.entrySet().stream()
+                .sorted(Comparator.comparingLong(e -> e.getValue().loadedAt()))
+                .limit(toEvict)
+                .map(Map.Entry::getKey)
+                .toList()
+                .forEach(entries::remove);
+    }
+
+    /**
+     * Cargas síncronas en curso de una clave y su generación. Solo se modifica dentro de
+     * {@code loading.compute}, con la clave bloqueada.
+     */
+    private static final class Loads {
+
+        private volatile long generation;
+        private int count;
+
+        private Loads started() {
+            count++;
+            return this;
+        }
+
+        private Loads finished() {
+            return --count == 0 ? null : this;
+        }
+
+        private Loads invalidated() {
+            generation++;
+            return this;
+        }
+    }
+
+    private record Loaded<V>(V value, boolean stored) {
+    }
+
+    /**
+     * Entrada comparada por identidad, de modo que cada carga sea una versión distinta aunque el valor coincida.
+     */
+    private static final class Entry<V> {
+
+        private final V value;
+        private final long loadedAt;
+
+        private Entry(V value, long loadedAt) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+        }
+
+        private V value() {
+            return value;
+        }
+
+        private long loadedAt() {
+            return loadedAt;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.bonofacil.platform.shared.infrastructure.persistense.jpa.configuration;
+
+import com.bonofacil.platform.shared.infrastructure.persistense.jpa.routing.EnrutadorLecturasDataSource;
+import com.bonofacil.platform.shared.infrastructure.persistense.jpa.routing.MonitorRetrasoReplica;
+import com.bonofacil.platform.shared.infrastructure.persistense.jpa.routing.RegistroEscriturasRecientes;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+
+/**
+ * Separa las lecturas hacia una réplica de PostgreSQL cuando se configura {@code datasource.replica.jdbc-url}.
+ * <p>
+ * La primaria se sigue configurando con {@code spring.datasource.*} y {@code spring.datasource.hikari.*};
+ * la réplica usa las propiedades Hikari bajo {@code datasource.replica.*}. Sin réplica configurada
+ * se mantiene el único pool autoconfigurado por Spring Boot.
+ * </p>
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "datasource.replica", name = "jdbc-url")
+public class ReplicaLecturaConfiguration {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primariaDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("datasource.replica")
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource replica = new HikariDataSource();
+        replica.setPoolName("replica");
+        replica.setReadOnly(true);
+        // El pool no debe impedir el arranque si la réplica está caída; el monitor la marcará no disponible
+        replica.setInitializationFailTimeout(-1);
+        return replica;
+    }
+
+    @Bean
+    public RegistroEscriturasRecientes registroEscriturasRecientes(
+            @Value("${datasource.replica.ventana-lectura-propia:PT5S}") Duration ventana) {
+        return new RegistroEscriturasRecientes(ventana);
+    }
+
+    @Bean
+    public MonitorRetrasoReplica monitorRetrasoReplica(@Qualifier("replicaDataSource") DataSource replica,
+                                                       RegistroEscriturasRecientes registroEscrituras,
+                                                       @Value("${datasource.replica.retraso-maximo:PT2S}") Duration retrasoMaximo) {
+        return new MonitorRetrasoReplica(replica, registroEscrituras, retrasoMaximo);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primariaDataSource") DataSource primaria,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 RegistroEscriturasRecientes registroEscrituras,
+                                 MonitorRetrasoReplica monitorReplica) {
+        EnrutadorLecturasDataSource enrutador =
+                new EnrutadorLecturasDataSource(primaria, replica, registroEscrituras, monitorReplica);
+        enrutador.afterPropertiesSet();
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(enrutador);
+        proxy.setDefaultAutoCommit(true);
+        proxy.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        return proxy;
+    }
+}
@@ -0,0 +1,56 @@
+package com.bonofacil.platform.shared.infrastructure.persistense.jpa.monitoring;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Expone el nivel de presión del pool de conexiones para que las cachés de lectura
+ * puedan cambiar a modo de solo servir valores obsoletos.
+ */
+@Component
+public class DataSourcePressureMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataSourcePressureMonitor.class);
+
+    private final DataSource dataSource;
+    private volatile HikariDataSource hikariDataSource;
+
+    public DataSourcePressureMonitor(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Indica si el pool está saturado: hay hilos esperando conexión o todas las conexiones están en uso.
+     *
+     * @return true si el pool no puede atender más peticiones sin espera
+     */
+    public boolean isSaturated() {
+        HikariPoolMXBean pool = obtenerPool();
+        if (pool == null) {
+            return false;
+        }
+        return pool.getThreadsAwaitingConnection() > 0
+                || pool.getActiveConnections() >= hikariDataSource.getMaximumPoolSize();
+    }
+
+    private HikariPoolMXBean obtenerPool() {
+        if (hikariDataSource == null) {
+            try {
+                if (!dataSource.isWrapperFor(HikariDataSource.class)) {
+                    return null;
+                }
+                hikariDataSource = dataSource.unwrap(HikariDataSource.class);
+            } catch (SQLException e) {
+                logger.debug("No se pudo obtener el pool Hikari: {}", e.getMessage());
+                return null;
+            }
+        }
+        return hikariDataSource.getHikariPoolMXBean();
+    }
+}
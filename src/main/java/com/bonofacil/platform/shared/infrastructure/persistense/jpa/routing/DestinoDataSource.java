@@ -0,0 +1,9 @@
+package com.bonofacil.platform.shared.infrastructure.persistense.jpa.routing;
+
+/**
+ * Pools hacia los que el enrutador puede dirigir una conexión.
+ */
+public enum DestinoDataSource {
+    PRIMARIA,
+    REPLICA
+}
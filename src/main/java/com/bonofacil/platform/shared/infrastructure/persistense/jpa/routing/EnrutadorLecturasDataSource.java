@@ -0,0 +1,65 @@
+package com.bonofacil.platform.shared.infrastructure.persistense.jpa.routing;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * Envía a la réplica las conexiones de transacciones {@code readOnly} y a la primaria todo lo demás.
+ * <p>
+ * Una lectura vuelve a la primaria si el usuario confirmó una escritura dentro de la ventana de lectura
+ * propia o si la réplica está retrasada. Pedir una conexión de escritura no cuenta como escritura: la
+ * marca se deja al confirmarse la transacción. Debe envolverse en un {@code LazyConnectionDataSourceProxy}:
+ * la marca de solo lectura de la transacción se conoce después de que el gestor de transacciones
+ * pide la conexión, por lo que la elección del pool se difiere hasta la primera sentencia.
+ * </p>
+ */
+public class EnrutadorLecturasDataSource extends AbstractRoutingDataSource {
+
+    private final DataSource primaria;
+    private final RegistroEscriturasRecientes registroEscrituras;
+    private final MonitorRetrasoReplica monitorReplica;
+
+    public EnrutadorLecturasDataSource(DataSource primaria, DataSource replica,
+                                       RegistroEscriturasRecientes registroEscrituras,
+                                       MonitorRetrasoReplica monitorReplica) {
+        this.primaria = primaria;
+        this.registroEscrituras = registroEscrituras;
+        this.monitorReplica = monitorReplica;
+        setTargetDataSources(Map.of(DestinoDataSource.PRIMARIA, primaria, DestinoDataSource.REPLICA, replica));
+        setDefaultTargetDataSource(primaria);
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            registroEscrituras.registrarAlConfirmar();
+            return DestinoDataSource.PRIMARIA;
+        }
+        if (!monitorReplica.isDisponible() || registroEscrituras.escribioRecientemente()) {
+            return DestinoDataSource.PRIMARIA;
+        }
+        return DestinoDataSource.REPLICA;
+    }
+
+    /**
+     * Expone el pool de la primaria, que es el que comparten las escrituras, para que
+     * el monitor de presión no dependa del contexto transaccional en que se consulta.
+     */
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        return primaria.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || primaria.isWrapperFor(iface);
+    }
+}
@@ -0,0 +1,75 @@
+package com.bonofacil.platform.shared.infrastructure.persistense.jpa.routing;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * Mide periódicamente el retraso de replicación y marca la réplica como no disponible cuando
+ * supera el máximo tolerado o no responde; mientras tanto las lecturas vuelven a la primaria.
+ * <p>
+ * Si la réplica ya reprodujo todo lo recibido se considera al día aunque la última transacción
+ * reproducida sea antigua, para que una primaria sin escrituras no se confunda con retraso.
+ * Una base que no está en recuperación (un segundo PostgreSQL independiente) reporta retraso cero.
+ * </p>
+ */
+public class MonitorRetrasoReplica {
+
+    private static final Logger logger = LoggerFactory.getLogger(MonitorRetrasoReplica.class);
+
+    private static final String CONSULTA_RETRASO = """
+            select case
+                     when not pg_is_in_recovery() then 0
+                     when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0
+                     else coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()), 0)
+                   end""";
+
+    private final DataSource replica;
+    private final RegistroEscriturasRecientes registroEscrituras;
+    private final double retrasoMaximoSegundos;
+    private volatile boolean disponible = false;
+
+    public MonitorRetrasoReplica(DataSource replica, RegistroEscriturasRecientes registroEscrituras,
+                                 Duration retrasoMaximo) {
+        this.replica = replica;
+        this.registroEscrituras = registroEscrituras;
+        this.retrasoMaximoSegundos = retrasoMaximo.toMillis() / 1000.0;
+    }
+
+    /**
+     * Indica si la réplica puede atender lecturas según la última verificación.
+     */
+    public boolean isDisponible() {
+        return disponible;
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replica.verificacion:PT5S}")
+    public void verificar() {
+        boolean anterior = disponible;
+        try (Connection conexion = replica.getConnection();
+             Statement sentencia = conexion.createStatement();
+             ResultSet resultado = sentencia.executeQuery(CONSULTA_RETRASO)) {
+            double retraso = resultado.next() ? resultado.getDouble(1) : Double.MAX_VALUE;
+            disponible = retraso <= retrasoMaximoSegundos;
+            if (anterior && !disponible) {
+                logger.warn("Réplica con {} s de retraso; las lecturas vuelven a la primaria", retraso);
+            }
+        } catch (SQLException e) {
+            disponible = false;
+            if (anterior) {
+                logger.warn("Réplica no disponible; las lecturas vuelven a la primaria: {}", e.getMessage());
+            }
+        }
+        if (!anterior && disponible) {
+            logger.info("Réplica al día; las lecturas de solo lectura se envían a la réplica");
+        }
+        registroEscrituras.purgarVencidas();
+    }
+}
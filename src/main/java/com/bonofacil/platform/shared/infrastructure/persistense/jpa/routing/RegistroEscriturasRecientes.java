@@ -0,0 +1,81 @@
+package com.bonofacil.platform.shared.infrastructure.persistense.jpa.routing;
+
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Recuerda qué usuarios escribieron hace poco para que sus lecturas vuelvan a la primaria
+ * durante una ventana, de modo que siempre vean sus propios cambios aunque la réplica aún no los tenga.
+ * <p>
+ * El registro es local al nodo; con varias instancias detrás de un balanceador, la ventana solo
+ * garantiza la lectura propia si el balanceador mantiene la afinidad de sesión.
+ * </p>
+ */
+public class RegistroEscriturasRecientes {
+
+    private final long ventanaNanos;
+    private final Map<String, Long> ultimaEscritura = new ConcurrentHashMap<>();
+
+    public RegistroEscriturasRecientes(Duration ventana) {
+        this.ventanaNanos = ventana.toNanos();
+    }
+
+    /**
+     * Registra la escritura del usuario autenticado cuando se confirme la transacción en curso, de modo
+     * que la ventana se cuente desde que el cambio es visible en la primaria. Las transacciones de solo
+     * lectura, las revertidas y el acceso fuera de una transacción no dejan marca.
+     */
+    public void registrarAlConfirmar() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return;
+        }
+        String usuario = usuarioActual();
+        if (usuario == null) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                ultimaEscritura.put(usuario, System.nanoTime());
+            }
+        });
+    }
+
+    /**
+     * Indica si el usuario autenticado escribió dentro de la ventana de lectura propia.
+     */
+    public boolean escribioRecientemente() {
+        String usuario = usuarioActual();
+        if (usuario == null) {
+            return false;
+        }
+        Long marca = ultimaEscritura.get(usuario);
+        return marca != null && System.nanoTime() - marca < ventanaNanos;
+    }
+
+    /**
+     * Elimina las marcas cuya ventana ya venció.
+     */
+    public void purgarVencidas() {
+        long ahora = System.nanoTime();
+        ultimaEscritura.values().removeIf(marca -> ahora - marca >= ventanaNanos);
+    }
+
+    private static String usuarioActual() {
+        Authentication autenticacion = SecurityContextHolder.getContext().getAuthentication();
+        if (autenticacion == null || !autenticacion.isAuthenticated()
+                || autenticacion instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return autenticacion.getName();
+    }
+}
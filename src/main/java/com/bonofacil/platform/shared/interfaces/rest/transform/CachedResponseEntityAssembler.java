@@ -0,0 +1,30 @@
+package com.bonofacil.platform.shared.interfaces.rest.transform;
+
+import com.bonofacil.platform.shared.infrastructure.caching.CachedValue;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Construye respuestas HTTP a partir de valores servidos por caché, informando su antigüedad.
+ */
+public class CachedResponseEntityAssembler {
+
+    /**
+     * Cabecera con los segundos transcurridos desde que el valor fue calculado.
+     */
+    public static final String STALENESS_HEADER = "X-Cache-Staleness";
+
+    public static <T> ResponseEntity<T> toResponseEntity(CachedValue<?> cached, T body) {
+        return toResponseEntity(cached, body, HttpHeaders.EMPTY);
+    }
+
+    public static <T> ResponseEntity<T> toResponseEntity(CachedValue<?> cached, T body, HttpHeaders headers) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .headers(headers)
+                .header(STALENESS_HEADER, String.valueOf(cached.ageSeconds()));
+        if (cached.stale()) {
+            builder.header(HttpHeaders.AGE, String.valueOf(cached.ageSeconds()));
+        }
+        return builder.body(body);
+    }
+}
@@ -0,0 +1,29 @@
+package com.bonofacil.platform.shared.interfaces.rest.transform;
+
+import com.bonofacil.platform.shared.application.pagination.KeysetPage;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Construye respuestas HTTP paginadas por clave. El cuerpo sigue siendo la lista de la página
+ * y el cursor de la página siguiente viaja en una cabecera.
+ */
+public class KeysetPageResponseEntityAssembler {
+
+    /**
+     * Cabecera con el cursor opaco de la página siguiente; se omite en la última página.
+     */
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    public static <T> ResponseEntity<T> toResponseEntity(KeysetPage<?> page, T body) {
+        return ResponseEntity.ok().headers(headers(page)).body(body);
+    }
+
+    public static HttpHeaders headers(KeysetPage<?> page) {
+        HttpHeaders headers = new HttpHeaders();
+        if (page.hayMas()) {
+            headers.add(NEXT_CURSOR_HEADER, page.siguienteCursor());
+        }
+        return headers;
+    }
+}
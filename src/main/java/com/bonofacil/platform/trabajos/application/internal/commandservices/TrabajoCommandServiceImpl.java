@@ -0,0 +1,52 @@
+package com.bonofacil.platform.trabajos.application.internal.commandservices;
+
+import com.bonofacil.platform.shared.application.exceptions.InvalidValueException;
+import com.bonofacil.platform.trabajos.domain.model.aggregates.Trabajo;
+import com.bonofacil.platform.trabajos.domain.model.commands.EnviarTrabajoCommand;
+import com.bonofacil.platform.trabajos.domain.services.ManejadorTrabajo;
+import com.bonofacil.platform.trabajos.domain.services.TrabajoCommandService;
+import com.bonofacil.platform.trabajos.infrastructure.persistence.jpa.repositories.TrabajoRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class TrabajoCommandServiceImpl implements TrabajoCommandService {
+
+    private final TrabajoRepository trabajoRepository;
+    private final Map<String, ManejadorTrabajo> manejadores;
+    private final int maxIntentos;
+
+    public TrabajoCommandServiceImpl(TrabajoRepository trabajoRepository, List<ManejadorTrabajo> manejadores,
+                                     @Value("${trabajos.reintentos:3}") int maxIntentos) {
+        this.trabajoRepository = trabajoRepository;
+        this.manejadores = manejadores.stream()
+                .collect(Collectors.toMap(ManejadorTrabajo::tipo, Function.identity()));
+        this.maxIntentos = Math.max(1, maxIntentos);
+    }
+
+    @Override
+    @Transactional
+    public Trabajo handle(EnviarTrabajoCommand command) {
+        ManejadorTrabajo manejador = manejadores.get(command.tipo());
+        if (manejador == null) {
+            throw new InvalidValueException("Tipo de trabajo no soportado: " + command.tipo());
+        }
+        if (manejador.rolRequerido() != null
+                && (command.roles() == null || !command.roles().contains(manejador.rolRequerido()))) {
+            throw new AccessDeniedException("El tipo de trabajo " + command.tipo() + " requiere " + manejador.rolRequerido());
+        }
+        try {
+            manejador.validar(command.parametros());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidValueException(e.getMessage());
+        }
+        return trabajoRepository.save(new Trabajo(command, maxIntentos));
+    }
+}
@@ -0,0 +1,99 @@
+package com.bonofacil.platform.trabajos.application.internal.ejecucion;
+
+import com.bonofacil.platform.trabajos.domain.model.aggregates.Trabajo;
+import com.bonofacil.platform.trabajos.infrastructure.persistence.jpa.repositories.TrabajoRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Transiciones de estado de la cola de trabajos, cada una en una transacción corta. Las que corresponden
+ * al nodo ejecutor solo se aplican si el nodo aún tiene el bloqueo, de modo que un nodo que lo perdió
+ * no pisa el trabajo que otro ya reclamó.
+ */
+@Component
+public class ColaTrabajos {
+
+    private final TrabajoRepository trabajoRepository;
+    private final Duration duracionBloqueo;
+    private final Duration esperaReintento;
+    private final Duration retencion;
+
+    public ColaTrabajos(TrabajoRepository trabajoRepository,
+                        @Value("${trabajos.bloqueo:PT2M}") Duration duracionBloqueo,
+                        @Value("${trabajos.espera-reintento:PT10S}") Duration esperaReintento,
+                        @Value("${trabajos.retencion-resultados:PT24H}") Duration retencion) {
+        this.trabajoRepository = trabajoRepository;
+        this.duracionBloqueo = duracionBloqueo;
+        this.esperaReintento = esperaReintento;
+        this.retencion = retencion;
+    }
+
+    /**
+     * Reclama hasta {@code limite} trabajos para el nodo.
+     */
+    @Transactional
+    public List<Trabajo> reclamar(String nodo, int limite) {
+        List<Trabajo> trabajos = trabajoRepository.bloquearEjecutables(Instant.now(), limite);
+        Instant hasta = Instant.now().plus(duracionBloqueo);
+        trabajos.forEach(trabajo -> trabajo.reclamar(nodo, hasta));
+        return trabajos;
+    }
+
+    @Transactional
+    public void completar(Long id, String nodo, String resultado) {
+        trabajoRepository.findById(id)
+                .filter(trabajo -> trabajo.bloqueadoPor(nodo))
+                .ifPresent(trabajo -> trabajo.completar(resultado, retencion));
+    }
+
+    @Transactional
+    public void fallar(Long id, String nodo, String error) {
+        trabajoRepository.findById(id)
+                .filter(trabajo -> trabajo.bloqueadoPor(nodo))
+                .ifPresent(trabajo -> trabajo.fallar(error, esperaReintento, retencion));
+    }
+
+    /**
+     * Registra el avance y, de paso, extiende el bloqueo.
+     *
+     * @return {@code false} si el nodo ya no tiene el bloqueo del trabajo
+     */
+    @Transactional
+    public boolean reportarProgreso(Long id, String nodo, int progreso) {
+        return trabajoRepository.actualizarProgreso(id, nodo, progreso, Instant.now().plus(duracionBloqueo)) > 0;
+    }
+
+    /**
+     * Guarda el punto de control y el avance, extendiendo el bloqueo.
+     *
+     * @return {@code false} si el nodo ya no tiene el bloqueo del trabajo
+     */
+    @Transactional
+    public boolean guardarPuntoControl(Long id, String nodo, String puntoControl, int progreso) {
+        return trabajoRepository.guardarPuntoControl(id, nodo, puntoControl, progreso,
+                Instant.now().plus(duracionBloqueo)) > 0;
+    }
+
+    @Transactional
+    public void renovarBloqueos(Collection<Long> ids, String nodo) {
+        if (!ids.isEmpty()) {
+            trabajoRepository.renovarBloqueos(ids, nodo, Instant.now().plus(duracionBloqueo));
+        }
+    }
+
+    /**
+     * Cierra los trabajos abandonados sin intentos restantes y purga los resultados expirados.
+     */
+    @Transactional
+    public int mantener() {
+        Instant ahora = Instant.now();
+        trabajoRepository.abandonarVencidos(ahora, ahora.plus(retencion));
+        return trabajoRepository.purgarExpirados(ahora);
+    }
+}
@@ -0,0 +1,188 @@
+package com.bonofacil.platform.trabajos.application.internal.ejecucion;
+
+import com.bonofacil.platform.trabajos.domain.model.aggregates.Trabajo;
+import com.bonofacil.platform.trabajos.domain.services.ManejadorTrabajo;
+import com.bonofacil.platform.trabajos.domain.services.ProgresoTrabajo;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Pool de trabajadores de este nodo. Sondea la cola y reclama tantos trabajos como hilos libres tiene,
+ * renueva periódicamente los bloqueos de los que está ejecutando y hace el mantenimiento de la tabla.
+ * Todos los nodos ejecutan el mismo sondeo; el reparto lo resuelve {@code SKIP LOCKED} en la base de datos.
+ */
+@Component
+public class EjecutorTrabajos {
+
+    private static final Logger logger = LoggerFactory.getLogger(EjecutorTrabajos.class);
+    private static final int LONGITUD_MAXIMA_ERROR = 2000;
+
+    private final ColaTrabajos colaTrabajos;
+    private final Map<String, ManejadorTrabajo> manejadores;
+    private final ExecutorService trabajadores;
+    private final int hilos;
+    private final boolean habilitado;
+    private final String nodo;
+    private final AtomicInteger activos = new AtomicInteger();
+    private final Set<Long> enEjecucion = ConcurrentHashMap.newKeySet();
+
+    public EjecutorTrabajos(ColaTrabajos colaTrabajos, List<ManejadorTrabajo> manejadores,
+                            @Value("${trabajos.hilos:4}") int hilos,
+                            @Value("${trabajos.enabled:true}") boolean habilitado) {
+        this.colaTrabajos = colaTrabajos;
+        this.manejadores = manejadores.stream()
+                .collect(Collectors.toMap(ManejadorTrabajo::tipo, Function.identity()));
+        this.hilos = Math.max(1, hilos);
+        this.habilitado = habilitado;
+        this.nodo = identificarNodo();
+        this.trabajadores = Executors.newFixedThreadPool(this.hilos, runnable -> {
+            Thread thread = new Thread(runnable, "trabajo-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${trabajos.sondeo:PT1S}")
+    public void sondear() {
+        int libres = hilos - activos.get();
+        if (!habilitado || libres <= 0) {
+            return;
+        }
+        List<Trabajo> reclamados;
+        try {
+            reclamados = colaTrabajos.reclamar(nodo, libres);
+        } catch (RuntimeException e) {
+            logger.warn("No se pudo sondear la cola de trabajos: {}", e.getMessage());
+            return;
+        }
+        for (Trabajo trabajo : reclamados) {
+            activos.incrementAndGet();
+            enEjecucion.add(trabajo.getId());
+            trabajadores.execute(() -> ejecutar(trabajo.getId(), trabajo.getTipo(), trabajo.getParametros(),
+                    trabajo.getPuntoControl()));
+        }
+    }
+
+    private void ejecutar(Long id, String tipo, String parametros, String puntoControl) {
+        try {
+            ManejadorTrabajo manejador = manejadores.get(tipo);
+            if (manejador == null) {
+                colaTrabajos.fallar(id, nodo, "No hay manejador para el tipo " + tipo + " en este nodo");
+                return;
+            }
+            String resultado = manejador.ejecutar(parametros, new ProgresoEnCola(id, puntoControl));
+            colaTrabajos.completar(id, nodo, resultado);
+        } catch (Exception e) {
+            logger.warn("El trabajo {} de tipo {} falló: {}", id, tipo, e.getMessage());
+            try {
+                colaTrabajos.fallar(id, nodo, recortar(e.getClass().getSimpleName() + ": " + e.getMessage()));
+            } catch (RuntimeException registro) {
+                logger.warn("No se pudo registrar el fallo del trabajo {}: {}", id, registro.getMessage());
+            }
+        } finally {
+            enEjecucion.remove(id);
+            activos.decrementAndGet();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${trabajos.renovacion:PT30S}")
+    public void renovarBloqueos() {
+        try {
+            colaTrabajos.renovarBloqueos(Set.copyOf(enEjecucion), nodo);
+        } catch (RuntimeException e) {
+            logger.warn("No se pudieron renovar los bloqueos de trabajos: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${trabajos.purga:PT5M}")
+    public void mantener() {
+        if (!habilitado) {
+            return;
+        }
+        try {
+            int purgados = colaTrabajos.mantener();
+            if (purgados > 0) {
+                logger.debug("Purgados {} trabajos con resultado expirado", purgados);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Falló el mantenimiento de la cola de trabajos: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Progreso de un trabajo reclamado por este nodo. Solo escribe cuando el avance cambia, para no convertir
+     * el progreso en carga de escritura.
+     */
+    private class ProgresoEnCola implements ProgresoTrabajo {
+
+        private final Long id;
+        private final String puntoControl;
+        private final AtomicInteger ultimo = new AtomicInteger(-1);
+
+        ProgresoEnCola(Long id, String puntoControl) {
+            this.id = id;
+            this.puntoControl = puntoControl;
+        }
+
+        @Override
+        public void reportar(int porcentaje) {
+            int acotado = acotar(porcentaje);
+            if (ultimo.getAndSet(acotado) != acotado) {
+                colaTrabajos.reportarProgreso(id, nodo, acotado);
+            }
+        }
+
+        @Override
+        public String puntoControl() {
+            return puntoControl;
+        }
+
+        @Override
+        public void guardarPuntoControl(String puntoControl, int porcentaje) {
+            int acotado = acotar(porcentaje);
+            ultimo.set(acotado);
+            if (!colaTrabajos.guardarPuntoControl(id, nodo, puntoControl, acotado)) {
+                throw new IllegalStateException("El nodo perdió el bloqueo del trabajo " + id);
+            }
+        }
+
+        private int acotar(int porcentaje) {
+            return Math.max(0, Math.min(100, porcentaje));
+        }
+    }
+
+    @PreDestroy
+    public void cerrar() {
+        trabajadores.shutdownNow();
+    }
+
+    private static String recortar(String mensaje) {
+        return mensaje.length() > LONGITUD_MAXIMA_ERROR ? mensaje.substring(0, LONGITUD_MAXIMA_ERROR) : mensaje;
+    }
+
+    private static String identificarNodo() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "nodo";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -0,0 +1,26 @@
+package com.bonofacil.platform.trabajos.application.internal.queryservices;
+
+import com.bonofacil.platform.trabajos.domain.model.aggregates.Trabajo;
+import com.bonofacil.platform.trabajos.domain.model.queries.GetTrabajoByIdQuery;
+import com.bonofacil.platform.trabajos.domain.services.TrabajoQueryService;
+import com.bonofacil.platform.trabajos.infrastructure.persistence.jpa.repositories.TrabajoRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@Service
+public class TrabajoQueryServiceImpl implements TrabajoQueryService {
+
+    private final TrabajoRepository trabajoRepository;
+
+    public TrabajoQueryServiceImpl(TrabajoRepository trabajoRepository) {
+        this.trabajoRepository = trabajoRepository;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Trabajo> handle(GetTrabajoByIdQuery query) {
+        return trabajoRepository.findByIdAndPropietario(query.trabajoId(), query.propietario());
+    }
+}
@@ -0,0 +1,123 @@
+package com.bonofacil.platform.trabajos.domain.model.aggregates;
+
+import com.bonofacil.platform.shared.domain.model.aggregates.AuditableAbstractAggregateRoot;
+import com.bonofacil.platform.trabajos.domain.model.commands.EnviarTrabajoCommand;
+import com.bonofacil.platform.trabajos.domain.model.valueobjects.EstadoTrabajo;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Trabajo asíncrono persistido en la cola compartida por todos los nodos.
+ * <p>
+ * Un nodo lo reclama con un bloqueo temporal ({@code bloqueadoHasta}) que renueva mientras lo ejecuta;
+ * si el nodo cae y el bloqueo vence, otro nodo puede reclamarlo de nuevo.
+ * </p>
+ */
+@Entity
+@Table(name = "trabajos")
+@Getter
+@NoArgsConstructor
+public class Trabajo extends AuditableAbstractAggregateRoot<Trabajo> {
+
+    private String tipo;
+
+    @Enumerated(EnumType.STRING)
+    private EstadoTrabajo estado;
+
+    private int prioridad;
+
+    @Column(columnDefinition = "text")
+    private String parametros;
+
+    @Column(columnDefinition = "text")
+    private String resultado;
+
+    @Column(columnDefinition = "text")
+    private String error;
+
+    // Estado opaco con el que el manejador reanuda el trabajo tras un reintento
+    @Column(columnDefinition = "text")
+    private String puntoControl;
+
+    private int progreso;
+
+    private int intentos;
+
+    private int maxIntentos;
+
+    private String propietario;
+
+    // Momento a partir del cual puede reclamarse; se pospone entre reintentos
+    private Instant disponibleEn;
+
+    private String bloqueadoPor;
+
+    private Instant bloqueadoHasta;
+
+    private Instant iniciadoEn;
+
+    private Instant finalizadoEn;
+
+    // Momento a partir del cual el resultado de un trabajo terminado se purga
+    private Instant expiraEn;
+
+    public Trabajo(EnviarTrabajoCommand command, int maxIntentos) {
+        this.tipo = command.tipo();
+        this.parametros = command.parametros();
+        this.prioridad = command.prioridad();
+        this.propietario = command.propietario();
+        this.maxIntentos = maxIntentos;
+        this.estado = EstadoTrabajo.PENDIENTE;
+        this.disponibleEn = Instant.now();
+    }
+
+    public void reclamar(String nodo, Instant hasta) {
+        this.estado = EstadoTrabajo.EN_EJECUCION;
+        this.bloqueadoPor = nodo;
+        this.bloqueadoHasta = hasta;
+        this.intentos++;
+        this.progreso = 0;
+        if (this.iniciadoEn == null) {
+            this.iniciadoEn = Instant.now();
+        }
+    }
+
+    public void completar(String resultado, Duration retencion) {
+        this.estado = EstadoTrabajo.COMPLETADO;
+        this.resultado = resultado;
+        this.error = null;
+        this.progreso = 100;
+        terminar(retencion);
+    }
+
+    /**
+     * Registra un fallo: vuelve a la cola con espera exponencial o queda fallido si agotó los intentos.
+     */
+    public void fallar(String error, Duration esperaBase, Duration retencion) {
+        this.error = error;
+        if (intentos < maxIntentos) {
+            this.estado = EstadoTrabajo.PENDIENTE;
+            this.disponibleEn = Instant.now().plus(esperaBase.multipliedBy(1L << Math.min(intentos - 1, 10)));
+            this.bloqueadoPor = null;
+            this.bloqueadoHasta = null;
+        } else {
+            this.estado = EstadoTrabajo.FALLIDO;
+            terminar(retencion);
+        }
+    }
+
+    public boolean bloqueadoPor(String nodo) {
+        return estado == EstadoTrabajo.EN_EJECUCION && nodo.equals(bloqueadoPor);
+    }
+
+    private void terminar(Duration retencion) {
+        this.finalizadoEn = Instant.now();
+        this.expiraEn = finalizadoEn.plus(retencion);
+        this.bloqueadoPor = null;
+        this.bloqueadoHasta = null;
+    }
+}
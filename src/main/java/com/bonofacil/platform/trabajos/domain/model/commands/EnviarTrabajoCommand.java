@@ -0,0 +1,16 @@
+package com.bonofacil.platform.trabajos.domain.model.commands;
+
+import java.util.Set;
+
+/**
+ * Solicitud de ejecución asíncrona.
+ *
+ * @param tipo Tipo de trabajo; debe existir un manejador registrado para él
+ * @param parametros Parámetros en JSON, interpretados por el manejador
+ * @param prioridad Prioridad; los valores mayores se reclaman antes
+ * @param propietario Usuario que envía el trabajo y el único que puede consultarlo
+ * @param roles Roles del propietario, para los tipos de trabajo restringidos
+ */
+public record EnviarTrabajoCommand(String tipo, String parametros, int prioridad, String propietario,
+                                   Set<String> roles) {
+}
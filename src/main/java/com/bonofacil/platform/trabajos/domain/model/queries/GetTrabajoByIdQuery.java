@@ -0,0 +1,4 @@
+package com.bonofacil.platform.trabajos.domain.model.queries;
+
+public record GetTrabajoByIdQuery(Long trabajoId, String propietario) {
+}
@@ -0,0 +1,12 @@
+package com.bonofacil.platform.trabajos.domain.model.valueobjects;
+
+public enum EstadoTrabajo {
+    PENDIENTE,
+    EN_EJECUCION,
+    COMPLETADO,
+    FALLIDO;
+
+    public boolean esFinal() {
+        return this == COMPLETADO || this == FALLIDO;
+    }
+}
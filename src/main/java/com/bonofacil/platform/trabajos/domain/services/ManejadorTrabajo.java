@@ -0,0 +1,41 @@
+package com.bonofacil.platform.trabajos.domain.services;
+
+/**
+ * Ejecuta un tipo de trabajo. Cada contexto registra sus manejadores como beans de Spring.
+ * <p>
+ * Un trabajo puede ejecutarse más de una vez si falla o si el nodo que lo ejecutaba cae, por lo que
+ * la ejecución debe ser idempotente.
+ * </p>
+ */
+public interface ManejadorTrabajo {
+
+    /**
+     * Tipo de trabajo que atiende este manejador.
+     */
+    String tipo();
+
+    /**
+     * Rol que debe tener quien envía el trabajo, o {@code null} si basta con estar autenticado.
+     */
+    default String rolRequerido() {
+        return null;
+    }
+
+    /**
+     * Valida los parámetros al enviar el trabajo, para rechazar en la petición lo que fallaría al ejecutarse.
+     *
+     * @throws IllegalArgumentException si los parámetros no son válidos
+     */
+    default void validar(String parametros) {
+    }
+
+    /**
+     * Ejecuta el trabajo.
+     *
+     * @param parametros Parámetros en JSON enviados con el trabajo
+     * @param progreso Canal para informar el avance
+     * @return Resultado en JSON
+     * @throws Exception si el trabajo falla; se reintenta hasta agotar los intentos
+     */
+    String ejecutar(String parametros, ProgresoTrabajo progreso) throws Exception;
+}
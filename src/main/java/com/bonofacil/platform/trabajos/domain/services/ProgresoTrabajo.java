@@ -0,0 +1,27 @@
+package com.bonofacil.platform.trabajos.domain.services;
+
+/**
+ * Canal por el que un manejador informa su avance mientras se ejecuta.
+ */
+public interface ProgresoTrabajo {
+
+    /**
+     * @param porcentaje Avance entre 0 y 100
+     */
+    void reportar(int porcentaje);
+
+    /**
+     * Punto de control guardado por un intento anterior del mismo trabajo, o {@code null} si empieza de cero.
+     * Los manejadores de trabajos largos lo usan para continuar donde quedó el intento fallido.
+     */
+    String puntoControl();
+
+    /**
+     * Persiste un punto de control junto con el avance, en una única escritura.
+     *
+     * @param puntoControl Estado opaco a partir del cual el manejador sabe reanudar
+     * @param porcentaje Avance entre 0 y 100
+     * @throws IllegalStateException si el nodo perdió el bloqueo del trabajo y debe dejar de ejecutarlo
+     */
+    void guardarPuntoControl(String puntoControl, int porcentaje);
+}
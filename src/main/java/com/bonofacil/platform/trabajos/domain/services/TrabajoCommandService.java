@@ -0,0 +1,8 @@
+package com.bonofacil.platform.trabajos.domain.services;
+
+import com.bonofacil.platform.trabajos.domain.model.aggregates.Trabajo;
+import com.bonofacil.platform.trabajos.domain.model.commands.EnviarTrabajoCommand;
+
+public interface TrabajoCommandService {
+    Trabajo handle(EnviarTrabajoCommand command);
+}
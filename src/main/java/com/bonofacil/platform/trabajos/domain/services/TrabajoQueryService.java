@@ -0,0 +1,10 @@
+package com.bonofacil.platform.trabajos.domain.services;
+
+import com.bonofacil.platform.trabajos.domain.model.aggregates.Trabajo;
+import com.bonofacil.platform.trabajos.domain.model.queries.GetTrabajoByIdQuery;
+
+import java.util.Optional;
+
+public interface TrabajoQueryService {
+    Optional<Trabajo> handle(GetTrabajoByIdQuery query);
+}
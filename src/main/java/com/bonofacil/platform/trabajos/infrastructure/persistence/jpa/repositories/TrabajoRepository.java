@@ -0,0 +1,73 @@
+package com.bonofacil.platform.trabajos.infrastructure.persistence.jpa.repositories;
+
+import com.bonofacil.platform.trabajos.domain.model.aggregates.Trabajo;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TrabajoRepository extends JpaRepository<Trabajo, Long> {
+
+    Optional<Trabajo> findByIdAndPropietario(Long id, String propietario);
+
+    /**
+     * Bloquea los siguientes trabajos ejecutables por prioridad. {@code SKIP LOCKED} hace que los nodos
+     * que sondean a la vez se repartan filas distintas en lugar de esperar unos a otros. También recupera
+     * trabajos cuyo nodo dejó vencer el bloqueo, mientras les queden intentos.
+     */
+    @Query(value = """
+            select * from trabajos t
+            where (t.estado = 'PENDIENTE' and t.disponible_en <= :ahora)
+               or (t.estado = 'EN_EJECUCION' and t.bloqueado_hasta < :ahora and t.intentos < t.max_intentos)
+            order by t.prioridad desc, t.id
+            limit :limite
+            for update skip locked""", nativeQuery = true)
+    List<Trabajo> bloquearEjecutables(@Param("ahora") Instant ahora, @Param("limite") int limite);
+
+    @Modifying
+    @Query("""
+            update Trabajo t set t.progreso = :progreso, t.bloqueadoHasta = :hasta
+            where t.id = :id and t.bloqueadoPor = :nodo
+              and t.estado = com.bonofacil.platform.trabajos.domain.model.valueobjects.EstadoTrabajo.EN_EJECUCION""")
+    int actualizarProgreso(@Param("id") Long id, @Param("nodo") String nodo,
+                           @Param("progreso") int progreso, @Param("hasta") Instant hasta);
+
+    @Modifying
+    @Query("""
+            update Trabajo t set t.puntoControl = :puntoControl, t.progreso = :progreso, t.bloqueadoHasta = :hasta
+            where t.id = :id and t.bloqueadoPor = :nodo
+              and t.estado = com.bonofacil.platform.trabajos.domain.model.valueobjects.EstadoTrabajo.EN_EJECUCION""")
+    int guardarPuntoControl(@Param("id") Long id, @Param("nodo") String nodo, @Param("puntoControl") String puntoControl,
+                            @Param("progreso") int progreso, @Param("hasta") Instant hasta);
+
+    @Modifying
+    @Query("""
+            update Trabajo t set t.bloqueadoHasta = :hasta
+            where t.id in :ids and t.bloqueadoPor = :nodo
+              and t.estado = com.bonofacil.platform.trabajos.domain.model.valueobjects.EstadoTrabajo.EN_EJECUCION""")
+    int renovarBloqueos(@Param("ids") Collection<Long> ids, @Param("nodo") String nodo, @Param("hasta") Instant hasta);
+
+    /**
+     * Marca como fallidos los trabajos cuyo bloqueo venció sin intentos restantes.
+     */
+    @Modifying
+    @Query("""
+            update Trabajo t
+            set t.estado = com.bonofacil.platform.trabajos.domain.model.valueobjects.EstadoTrabajo.FALLIDO,
+                t.error = 'El nodo que ejecutaba el trabajo dejó de responder',
+                t.finalizadoEn = :ahora, t.expiraEn = :expiraEn, t.bloqueadoPor = null, t.bloqueadoHasta = null
+            where t.estado = com.bonofacil.platform.trabajos.domain.model.valueobjects.EstadoTrabajo.EN_EJECUCION
+              and t.bloqueadoHasta < :ahora and t.intentos >= t.maxIntentos""")
+    int abandonarVencidos(@Param("ahora") Instant ahora, @Param("expiraEn") Instant expiraEn);
+
+    @Modifying
+    @Query("delete from Trabajo t where t.expiraEn < :ahora")
+    int purgarExpirados(@Param("ahora") Instant ahora);
+}
@@ -0,0 +1,86 @@
+package com.bonofacil.platform.trabajos.interfaces.rest;
+
+import com.bonofacil.platform.trabajos.domain.model.queries.GetTrabajoByIdQuery;
+import com.bonofacil.platform.trabajos.domain.model.valueobjects.EstadoTrabajo;
+import com.bonofacil.platform.trabajos.domain.services.TrabajoCommandService;
+import com.bonofacil.platform.trabajos.domain.services.TrabajoQueryService;
+import com.bonofacil.platform.trabajos.interfaces.rest.resources.EnviarTrabajoResource;
+import com.bonofacil.platform.trabajos.interfaces.rest.resources.TrabajoResource;
+import com.bonofacil.platform.trabajos.interfaces.rest.transform.EnviarTrabajoCommandFromResourceAssembler;
+import com.bonofacil.platform.trabajos.interfaces.rest.transform.TrabajoResourceFromEntityAssembler;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Envío y seguimiento de trabajos asíncronos. El envío responde de inmediato con el identificador del
+ * trabajo; el cliente consulta su estado y, cuando termina, su resultado.
+ */
+@RestController
+@RequestMapping(value = "/api/v1/trabajos", produces = MediaType.APPLICATION_JSON_VALUE)
+@Tag(name = "Trabajos", description = "Cola de trabajos asíncronos")
+public class TrabajosController {
+
+    private final TrabajoCommandService trabajoCommandService;
+    private final TrabajoQueryService trabajoQueryService;
+
+    public TrabajosController(TrabajoCommandService trabajoCommandService, TrabajoQueryService trabajoQueryService) {
+        this.trabajoCommandService = trabajoCommandService;
+        this.trabajoQueryService = trabajoQueryService;
+    }
+
+    @PostMapping
+    @Operation(summary = "Enviar trabajo", description = "Encola un trabajo y devuelve su identificador sin esperar a que se ejecute")
+    public ResponseEntity<TrabajoResource> enviarTrabajo(@RequestBody EnviarTrabajoResource resource) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        Set<String> roles = authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toSet());
+        var command = EnviarTrabajoCommandFromResourceAssembler.toCommandFromResource(resource,
+                authentication.getName(), roles);
+        var trabajo = trabajoCommandService.handle(command);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/trabajos/" + trabajo.getId()))
+                .body(TrabajoResourceFromEntityAssembler.toResourceFromEntity(trabajo));
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Consultar trabajo", description = "Devuelve el estado y el progreso de un trabajo propio")
+    public ResponseEntity<TrabajoResource> obtenerTrabajo(@PathVariable Long id) {
+        return trabajoQueryService.handle(new GetTrabajoByIdQuery(id, obtenerUsernameAutenticado()))
+                .map(TrabajoResourceFromEntityAssembler::toResourceFromEntity)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/{id}/resultado")
+    @Operation(summary = "Obtener resultado", description = "Devuelve el resultado de un trabajo completado; 202 si aún no termina y 409 si falló")
+    public ResponseEntity<String> obtenerResultado(@PathVariable Long id) {
+        return trabajoQueryService.handle(new GetTrabajoByIdQuery(id, obtenerUsernameAutenticado()))
+                .map(trabajo -> {
+                    if (trabajo.getEstado() == EstadoTrabajo.COMPLETADO) {
+                        return ResponseEntity.ok(trabajo.getResultado());
+                    }
+                    if (trabajo.getEstado() == EstadoTrabajo.FALLIDO) {
+                        return ResponseEntity.status(HttpStatus.CONFLICT).<String>build();
+                    }
+                    return ResponseEntity.accepted().<String>build();
+                })
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    private String obtenerUsernameAutenticado() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication.getName();
+    }
+}
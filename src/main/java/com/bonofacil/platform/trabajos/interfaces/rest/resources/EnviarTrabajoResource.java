@@ -0,0 +1,6 @@
+package com.bonofacil.platform.trabajos.interfaces.rest.resources;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+public record EnviarTrabajoResource(String tipo, JsonNode parametros, Integer prioridad) {
+}
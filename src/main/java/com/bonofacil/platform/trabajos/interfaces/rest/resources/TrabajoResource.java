@@ -0,0 +1,7 @@
+package com.bonofacil.platform.trabajos.interfaces.rest.resources;
+
+import java.time.Instant;
+
+public record TrabajoResource(Long id, String tipo, String estado, int progreso, int intentos, int maxIntentos,
+                              String error, Instant creadoEn, Instant iniciadoEn, Instant finalizadoEn) {
+}
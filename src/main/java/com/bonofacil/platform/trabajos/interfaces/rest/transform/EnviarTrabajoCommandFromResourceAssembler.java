@@ -0,0 +1,19 @@
+package com.bonofacil.platform.trabajos.interfaces.rest.transform;
+
+import com.bonofacil.platform.trabajos.domain.model.commands.EnviarTrabajoCommand;
+import com.bonofacil.platform.trabajos.interfaces.rest.resources.EnviarTrabajoResource;
+
+import java.util.Set;
+
+public class EnviarTrabajoCommandFromResourceAssembler {
+    public static EnviarTrabajoCommand toCommandFromResource(EnviarTrabajoResource resource, String propietario,
+                                                             Set<String> roles) {
+        return new EnviarTrabajoCommand(
+                resource.tipo(),
+                resource.parametros() != null ? resource.parametros().toString() : "{}",
+                resource.prioridad() != null ? resource.prioridad() : 0,
+                propietario,
+                roles
+        );
+    }
+}
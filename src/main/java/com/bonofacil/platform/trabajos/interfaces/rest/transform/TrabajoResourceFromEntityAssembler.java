@@ -0,0 +1,21 @@
+package com.bonofacil.platform.trabajos.interfaces.rest.transform;
+
+import com.bonofacil.platform.trabajos.domain.model.aggregates.Trabajo;
+import com.bonofacil.platform.trabajos.interfaces.rest.resources.TrabajoResource;
+
+public class TrabajoResourceFromEntityAssembler {
+    public static TrabajoResource toResourceFromEntity(Trabajo entity) {
+        return new TrabajoResource(
+                entity.getId(),
+                entity.getTipo(),
+                entity.getEstado().name(),
+                entity.getProgreso(),
+                entity.getIntentos(),
+                entity.getMaxIntentos(),
+                entity.getError(),
+                entity.getCreatedAt() != null ? entity.getCreatedAt().toInstant() : null,
+                entity.getIniciadoEn(),
+                entity.getFinalizadoEn()
+        );
+    }
+}
@@ -0,0 +1,85 @@
+-- Claves de idempotencia de los cálculos en una tabla sin particionar. En la tabla particionada los índices
+-- únicos deben incluir fecha_calculo, así que solo impedían repetir una clave el mismo día.
+
+create table if not exists claves_idempotencia_calculos (
+    inversor_username varchar(255) not null,
+    clave             varchar(100) not null,
+    calculo_id        bigint       not null,
+    fecha_calculo     date         not null,
+    primary key (inversor_username, clave)
+);
+
+-- Cada clave conserva el primer cálculo registrado con ella
+insert into claves_idempotencia_calculos (inversor_username, clave, calculo_id, fecha_calculo)
+select distinct on (inversor_username, clave_idempotencia) inversor_username, clave_idempotencia, id, fecha_calculo
+from calculos
+where inversor_username is not null and clave_idempotencia is not null
+order by inversor_username, clave_idempotencia, id
+on conflict do nothing;
+
+drop index if exists uk_calculos_inversor_clave_idempotencia;
+
+-- Crea las particiones mensuales que falten entre los meses de las dos fechas, ambos incluidos. Los cálculos
+-- del mes que ya cayeron en la partición por defecto se mueven a la nueva partición antes de adjuntarla; sin
+-- moverlos, PostgreSQL rechaza crear una partición que solapa filas de la partición por defecto.
+create or replace function crear_particiones_calculos(desde date, hasta date) returns integer
+    language plpgsql as
+$$
+declare
+    mes     date    := date_trunc('month', desde)::date;
+    fin     date;
+    creadas integer := 0;
+    nombre  text;
+begin
+    while mes <= hasta loop
+        nombre := 'calculos_' || to_char(mes, 'YYYY_MM');
+        fin := (mes + interval '1 month')::date;
+        if to_regclass(nombre) is null then
+            -- Impide inserciones en la partición por defecto mientras se mueven sus filas
+            lock table calculos_default in exclusive mode;
+            if exists (select 1 from calculos_default where fecha_calculo >= mes and fecha_calculo < fin) then
+                execute format('create table %I (like calculos including defaults including constraints)', nombre);
+                execute format($sql$
+                    with movidos as (
+                        delete from calculos_default where fecha_calculo >= %L and fecha_calculo < %L returning *)
+                    insert into %I select * from movidos$sql$, mes, fin, nombre);
+                execute format('alter table calculos attach partition %I for values from (%L) to (%L)',
+                               nombre, mes, fin);
+            else
+                execute format('create table %I partition of calculos for values from (%L) to (%L)',
+                               nombre, mes, fin);
+            end if;
+            creadas := creadas + 1;
+        end if;
+        mes := fin;
+    end loop;
+    return creadas;
+end
+$$;
+
+-- Copia una partición mensual al archivo y la elimina, junto con las claves de idempotencia de sus cálculos.
+-- Devuelve el número de cálculos archivados.
+create or replace function archivar_particion_calculos(nombre text) returns integer
+    language plpgsql as
+$$
+declare
+    mes        date := to_date(substr(nombre, length('calculos_') + 1), 'YYYY_MM');
+    archivados integer;
+begin
+    execute format('alter table calculos detach partition %I', nombre);
+    execute format($sql$
+        insert into calculos_archivados (mes, inversor_username, cantidad, calculos)
+        select %L::date, inversor_username, count(*),
+               jsonb_agg(jsonb_build_object(
+                   'id', id, 'bonoId', bono_id, 'tasaEsperada', tasa_esperada, 'trea', trea,
+                   'precioMaximo', precio_maximo, 'resultadoId', resultado_id, 'fechaCalculo', fecha_calculo,
+                   'informacionAdicional', informacion_adicional, 'createdAt', created_at) order by id)
+        from %I
+        group by inversor_username$sql$, mes, nombre);
+    execute format('select count(*) from %I', nombre) into archivados;
+    delete from claves_idempotencia_calculos
+    where fecha_calculo >= mes and fecha_calculo < (mes + interval '1 month')::date;
+    execute format('drop table %I', nombre);
+    return archivados;
+end
+$$;
@@ -0,0 +1,110 @@
+-- Esquema base de la plataforma. Las sentencias son idempotentes para poder aplicarse sobre
+-- bases creadas anteriormente con spring.jpa.hibernate.ddl-auto=update (baseline-version=0).
+
+-- IAM y perfiles
+
+create table if not exists profiles (
+    id                    bigint generated by default as identity primary key,
+    razon_social_value    varchar(255),
+    ruc_value             varchar(11),
+    nombre_contacto_value varchar(255),
+    contacto_email        varchar(255),
+    password_value        varchar(255),
+    created_at            timestamp(6) not null,
+    updated_at            timestamp(6) not null
+);
+
+create table if not exists roles (
+    id   bigint generated by default as identity primary key,
+    name varchar(20) unique check (name in ('ROLE_ADMIN', 'ROLE_EMISOR', 'ROLE_INVERSOR'))
+);
+
+create table if not exists users (
+    id         bigint generated by default as identity primary key,
+    username   varchar(50) unique,
+    password   varchar(120),
+    profile_id bigint unique references profiles (id),
+    created_at timestamp(6) not null,
+    updated_at timestamp(6) not null
+);
+
+create table if not exists user_roles (
+    user_id bigint not null references users (id),
+    role_id bigint not null references roles (id),
+    primary key (role_id, user_id)
+);
+
+-- Bonos
+
+create sequence if not exists bonos_seq start with 1 increment by 50;
+create sequence if not exists calculos_seq start with 1 increment by 50;
+create sequence if not exists flujos_financieros_seq start with 1 increment by 50;
+
+create table if not exists bonos (
+    id                    bigint primary key,
+    nombre                varchar(255),
+    descripcion           varchar(255),
+    valor_nominal         numeric(19, 4),
+    tasa_cupon            numeric(19, 6),
+    plazo_anios           integer not null,
+    frecuencia_pagos      integer not null,
+    moneda                varchar(255),
+    fecha_emision         date,
+    plazos_gracia_total   integer not null,
+    plazos_gracia_parcial integer not null,
+    tcea                  numeric(19, 6),
+    duracion              numeric(19, 6),
+    convexidad            numeric(19, 6),
+    tasa_descuento        numeric(19, 6),
+    precio                numeric(19, 6),
+    rendimiento_par       numeric(19, 6),
+    metodo_amortizacion   varchar(255),
+    emisor_username       varchar(255),
+    huella_flujos         bigint,
+    created_at            timestamp(6) not null,
+    updated_at            timestamp(6) not null
+);
+
+-- Columnas añadidas después de la creación original de la tabla
+alter table bonos add column if not exists precio numeric(19, 6);
+alter table bonos add column if not exists rendimiento_par numeric(19, 6);
+alter table bonos add column if not exists huella_flujos bigint;
+
+create table if not exists calculos (
+    id                    bigint primary key,
+    bono_id               bigint references bonos (id),
+    inversor_username     varchar(255),
+    tasa_esperada         numeric(19, 6),
+    trea                  numeric(19, 6),
+    precio_maximo         numeric(19, 4),
+    fecha_calculo         date,
+    informacion_adicional varchar(255),
+    created_at            timestamp(6) not null,
+    updated_at            timestamp(6) not null
+);
+
+create table if not exists flujos_financieros (
+    id               bigint primary key,
+    bono_id          bigint references bonos (id),
+    periodo          integer,
+    fecha            date,
+    cupon            numeric(19, 6),
+    amortizacion     numeric(19, 6),
+    flujo_total      numeric(19, 6),
+    saldo_insoluto   numeric(19, 6),
+    valor_presente   numeric(19, 6),
+    interes          numeric(19, 6),
+    cuota            numeric(19, 6),
+    saldo            numeric(19, 6),
+    flujo            numeric(19, 6),
+    factor_descuento numeric(19, 6),
+    valor_actual     numeric(19, 6),
+    factor_tiempo    numeric(19, 6),
+    created_at       timestamp(6) not null,
+    updated_at       timestamp(6) not null
+);
+
+-- Las tablas creadas con IDs de identidad pueden tener filas: las secuencias continúan después del máximo
+select setval('bonos_seq', (select coalesce(max(id), 0) + 1 from bonos), false);
+select setval('calculos_seq', (select coalesce(max(id), 0) + 1 from calculos), false);
+select setval('flujos_financieros_seq', (select coalesce(max(id), 0) + 1 from flujos_financieros), false);
@@ -0,0 +1,22 @@
+-- Índices para las columnas por las que filtran y ordenan las consultas de la aplicación.
+
+-- Catálogo paginado por clave y listados del emisor
+create index if not exists idx_bonos_created_at_id on bonos (created_at, id);
+create index if not exists idx_bonos_tasa_cupon_id on bonos (tasa_cupon, id);
+create index if not exists idx_bonos_emisor_username_id on bonos (emisor_username, id);
+create index if not exists idx_bonos_moneda_id on bonos (moneda, id);
+
+-- Screening por métricas materializadas. Los bonos sin métricas calculadas nunca cumplen el filtro,
+-- por eso los índices son parciales; incluyen la columna del otro filtro para evaluarlo sin leer la tabla.
+create index if not exists idx_bonos_tcea_metricas on bonos (tcea desc) include (duracion)
+    where tcea is not null and duracion is not null;
+create index if not exists idx_bonos_moneda_duracion_metricas on bonos (moneda, duracion) include (tcea)
+    where tcea is not null and duracion is not null;
+create index if not exists idx_bonos_rendimiento_par on bonos (rendimiento_par) where rendimiento_par is not null;
+
+-- Cálculos del inversor, por bono (borrado por conjunto y bonos más calculados)
+create index if not exists idx_calculos_inversor_username_id on calculos (inversor_username, id);
+create index if not exists idx_calculos_bono_id on calculos (bono_id);
+
+-- Cronograma del bono en orden de periodo
+create index if not exists idx_flujos_financieros_bono_periodo on flujos_financieros (bono_id, periodo);
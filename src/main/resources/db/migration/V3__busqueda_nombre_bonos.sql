@@ -0,0 +1,7 @@
+-- Búsqueda de bonos por nombre: trigramas para coincidencias en cualquier posición
+-- y text_pattern_ops para los prefijos demasiado cortos para formar trigramas.
+
+create extension if not exists pg_trgm;
+
+create index if not exists idx_bonos_nombre_trgm on bonos using gin (lower(nombre) gin_trgm_ops);
+create index if not exists idx_bonos_nombre_prefijo on bonos (lower(nombre) text_pattern_ops);
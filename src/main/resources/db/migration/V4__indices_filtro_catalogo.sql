@@ -0,0 +1,7 @@
+-- Índices compuestos para las combinaciones más frecuentes del filtro del catálogo.
+-- La igualdad va primero y el rango u orden después, para que cada índice sirva también al orden por ese campo.
+
+create index if not exists idx_bonos_moneda_tasa_cupon on bonos (moneda, tasa_cupon, id);
+create index if not exists idx_bonos_moneda_plazo_frecuencia on bonos (moneda, plazo_anios, frecuencia_pagos);
+create index if not exists idx_bonos_moneda_fecha_emision on bonos (moneda, fecha_emision);
+create index if not exists idx_bonos_emisor_fecha_emision on bonos (emisor_username, fecha_emision);
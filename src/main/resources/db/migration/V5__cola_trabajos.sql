@@ -0,0 +1,30 @@
+-- Cola de trabajos asíncronos compartida por todos los nodos. Los trabajadores reclaman filas con
+-- "for update skip locked", de modo que varios nodos sondean la misma tabla sin bloquearse entre sí.
+
+create table if not exists trabajos (
+    id              bigint generated by default as identity primary key,
+    tipo            varchar(255),
+    estado          varchar(20) check (estado in ('PENDIENTE', 'EN_EJECUCION', 'COMPLETADO', 'FALLIDO')),
+    prioridad       integer not null,
+    parametros      text,
+    resultado       text,
+    error           text,
+    progreso        integer not null,
+    intentos        integer not null,
+    max_intentos    integer not null,
+    propietario     varchar(255),
+    disponible_en   timestamp(6) with time zone,
+    bloqueado_por   varchar(255),
+    bloqueado_hasta timestamp(6) with time zone,
+    iniciado_en     timestamp(6) with time zone,
+    finalizado_en   timestamp(6) with time zone,
+    expira_en       timestamp(6) with time zone,
+    created_at      timestamp(6) not null,
+    updated_at      timestamp(6) not null
+);
+
+-- Parciales: el sondeo solo recorre los pendientes y los bloqueos vencidos, no el historial terminado
+create index if not exists idx_trabajos_pendientes on trabajos (prioridad desc, id) where estado = 'PENDIENTE';
+create index if not exists idx_trabajos_en_ejecucion on trabajos (bloqueado_hasta) where estado = 'EN_EJECUCION';
+create index if not exists idx_trabajos_expira_en on trabajos (expira_en) where expira_en is not null;
+create index if not exists idx_trabajos_propietario on trabajos (propietario);
@@ -0,0 +1,3 @@
+-- Punto de control de los trabajos largos, para reanudar desde el último lote confirmado tras un reintento.
+
+alter table trabajos add column if not exists punto_control text;
@@ -0,0 +1,22 @@
+-- Resultados de cálculo de inversión compartidos, direccionados por el contenido de sus entradas (huella de
+-- términos del bono, tasa esperada y nivel de precisión). Los cálculos de cada inversor los referencian en
+-- lugar de repetir los importes; las filas anteriores conservan los suyos hasta el próximo recálculo masivo.
+
+create table if not exists resultados_calculos (
+    id              bigint generated by default as identity primary key,
+    clave           varchar(64)    not null unique,
+    huella_terminos bigint         not null,
+    tasa_esperada   numeric(19, 6) not null,
+    nivel_precision integer        not null,
+    trea            numeric(19, 6),
+    precio_maximo   numeric(19, 4),
+    created_at      timestamp(6)   not null,
+    updated_at      timestamp(6)   not null
+);
+
+alter table calculos add column if not exists resultado_id bigint references resultados_calculos (id);
+alter table calculos add column if not exists clave_idempotencia varchar(100);
+
+-- Un reenvío con la misma clave de idempotencia devuelve el cálculo ya registrado
+create unique index if not exists uk_calculos_inversor_clave_idempotencia
+    on calculos (inversor_username, clave_idempotencia);
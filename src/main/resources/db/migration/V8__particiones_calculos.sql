@@ -0,0 +1,115 @@
+-- Cálculos de inversión particionados por mes de fecha_calculo. Las consultas con rango de fechas leen solo
+-- las particiones del rango; los meses que salen de la retención se archivan y su partición se elimina.
+
+-- Un mes de cálculos archivado, agrupado por inversor. El JSON se guarda comprimido (TOAST) fuera de la fila.
+create table if not exists calculos_archivados (
+    id                bigint generated by default as identity primary key,
+    mes               date         not null,
+    inversor_username varchar(255),
+    cantidad          integer      not null,
+    calculos          jsonb        not null,
+    archivado_en      timestamp(6) not null default now()
+);
+
+create index if not exists idx_calculos_archivados_inversor_mes on calculos_archivados (inversor_username, mes);
+
+-- Crea las particiones mensuales que falten entre los meses de las dos fechas, ambos incluidos
+create or replace function crear_particiones_calculos(desde date, hasta date) returns integer
+    language plpgsql as
+$$
+declare
+    mes     date    := date_trunc('month', desde)::date;
+    creadas integer := 0;
+    nombre  text;
+begin
+    while mes <= hasta loop
+        nombre := 'calculos_' || to_char(mes, 'YYYY_MM');
+        if to_regclass(nombre) is null then
+            execute format('create table %I partition of calculos for values from (%L) to (%L)',
+                           nombre, mes, (mes + interval '1 month')::date);
+            creadas := creadas + 1;
+        end if;
+        mes := (mes + interval '1 month')::date;
+    end loop;
+    return creadas;
+end
+$$;
+
+-- Copia una partición mensual al archivo y la elimina. Devuelve el número de cálculos archivados.
+create or replace function archivar_particion_calculos(nombre text) returns integer
+    language plpgsql as
+$$
+declare
+    mes        date := to_date(substr(nombre, length('calculos_') + 1), 'YYYY_MM');
+    archivados integer;
+begin
+    execute format('alter table calculos detach partition %I', nombre);
+    execute format($sql$
+        insert into calculos_archivados (mes, inversor_username, cantidad, calculos)
+        select %L::date, inversor_username, count(*),
+               jsonb_agg(jsonb_build_object(
+                   'id', id, 'bonoId', bono_id, 'tasaEsperada', tasa_esperada, 'trea', trea,
+                   'precioMaximo', precio_maximo, 'resultadoId', resultado_id, 'fechaCalculo', fecha_calculo,
+                   'informacionAdicional', informacion_adicional, 'createdAt', created_at) order by id)
+        from %I
+        group by inversor_username$sql$, mes, nombre);
+    execute format('select count(*) from %I', nombre) into archivados;
+    execute format('drop table %I', nombre);
+    return archivados;
+end
+$$;
+
+do
+$$
+declare
+    primera date;
+begin
+    if exists (select 1 from pg_partitioned_table where partrelid = 'calculos'::regclass) then
+        return;
+    end if;
+
+    update calculos set fecha_calculo = created_at::date where fecha_calculo is null;
+    select coalesce(min(fecha_calculo), current_date) into primera from calculos;
+
+    alter table calculos rename to calculos_sin_particionar;
+    drop index if exists idx_calculos_inversor_username_id;
+    drop index if exists idx_calculos_bono_id;
+    drop index if exists uk_calculos_inversor_clave_idempotencia;
+
+    -- La clave de partición debe formar parte de la clave primaria y de los índices únicos
+    create table calculos (
+        id                    bigint         not null,
+        bono_id               bigint references bonos (id),
+        inversor_username     varchar(255),
+        tasa_esperada         numeric(19, 6),
+        trea                  numeric(19, 6),
+        precio_maximo         numeric(19, 4),
+        resultado_id          bigint references resultados_calculos (id),
+        clave_idempotencia    varchar(100),
+        fecha_calculo         date           not null default current_date,
+        informacion_adicional varchar(255),
+        created_at            timestamp(6)   not null,
+        updated_at            timestamp(6)   not null,
+        primary key (id, fecha_calculo)
+    ) partition by range (fecha_calculo);
+
+    -- Fechas fuera de las particiones mensuales creadas
+    create table calculos_default partition of calculos default;
+
+    perform crear_particiones_calculos(primera, (current_date + interval '3 months')::date);
+
+    insert into calculos (id, bono_id, inversor_username, tasa_esperada, trea, precio_maximo, resultado_id,
+                          clave_idempotencia, fecha_calculo, informacion_adicional, created_at, updated_at)
+    select id, bono_id, inversor_username, tasa_esperada, trea, precio_maximo, resultado_id,
+           clave_idempotencia, fecha_calculo, informacion_adicional, created_at, updated_at
+    from calculos_sin_particionar;
+
+    drop table calculos_sin_particionar;
+end
+$$;
+
+-- Índices definidos en la tabla particionada; cada partición, actual o futura, recibe los suyos
+create index if not exists idx_calculos_inversor_username_id on calculos (inversor_username, id);
+create index if not exists idx_calculos_bono_id on calculos (bono_id);
+create unique index if not exists uk_calculos_inversor_clave_idempotencia
+    on calculos (inversor_username, clave_idempotencia, fecha_calculo);
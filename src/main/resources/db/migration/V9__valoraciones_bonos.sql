@@ -0,0 +1,17 @@
+-- Serie histórica de valoración de cada bono: una fila por bono y día, solo de inserción. Las métricas se
+-- guardan como real (4 bytes), suficiente para graficar, para que la fila ocupe lo mínimo.
+
+create table if not exists valoraciones_bonos (
+    bono_id         bigint not null references bonos (id),
+    fecha           date   not null,
+    precio          real,
+    tcea            real,
+    rendimiento_par real,
+    duracion        real,
+    convexidad      real,
+    primary key (bono_id, fecha)
+);
+
+-- Las filas llegan en orden de fecha, así que un índice BRIN resume cada bloque con unos pocos bytes y basta
+-- para los recorridos por rango de fechas de todo el catálogo; la clave primaria sirve la serie de un bono
+create index if not exists idx_valoraciones_bonos_fecha_brin on valoraciones_bonos using brin (fecha);
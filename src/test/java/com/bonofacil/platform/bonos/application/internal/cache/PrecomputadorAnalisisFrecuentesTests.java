@@ -0,0 +1,118 @@
+package com.bonofacil.platform.bonos.application.internal.cache;
+
+import com.bonofacil.platform.bonos.application.services.CalculadoraBonoApplicationService;
+import com.bonofacil.platform.bonos.domain.model.projections.VersionBono;
+import com.bonofacil.platform.bonos.infrastructure.persistence.jpa.repositories.BonoRepository;
+import com.bonofacil.platform.shared.infrastructure.persistense.jpa.monitoring.DataSourcePressureMonitor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * El precómputo solo vuelve a calcular una clave cuando su bono cambió desde el último cálculo, y no guarda un
+ * resultado si el bono cambió mientras se calculaba.
+ */
+class PrecomputadorAnalisisFrecuentesTests {
+
+    private static final ClaveAnalisis CLAVE = new ClaveAnalisis(OperacionAnalisis.TCEA, 7L, new BigDecimal("0.01"));
+
+    private final BonoConsultaCache cache = mock(BonoConsultaCache.class);
+    private final CalculadoraBonoApplicationService calculadora = mock(CalculadoraBonoApplicationService.class);
+    private final BonoRepository bonoRepository = mock(BonoRepository.class);
+    private PrecomputadorAnalisisFrecuentes precomputador;
+
+    @BeforeEach
+    void configurar() {
+        precomputador = new PrecomputadorAnalisisFrecuentes(cache, calculadora, bonoRepository, true, 10, 0,
+                new BigDecimal("0.0025"), Duration.ofSeconds(30));
+        when(cache.clavesFrecuentes(anyInt())).thenReturn(List.of(CLAVE));
+        when(cache.renovarAnalisis(CLAVE)).thenReturn(true);
+        when(calculadora.calcular(CLAVE)).thenReturn("resultado");
+        when(cache.precargarAnalisis(eq(CLAVE), any())).thenAnswer(invocacion -> {
+            invocacion.getArgument(1, Supplier.class).get();
+            return true;
+        });
+    }
+
+    @Test
+    void bonoSinCambiosSeRenuevaSinRecalcular() {
+        when(cache.antiguedadAnalisis(CLAVE)).thenReturn(-1L, 20_000L);
+        when(bonoRepository.findVersiones(any())).thenReturn(List.of(version(1000L, 42L)));
+
+        precomputador.precomputar();
+        precomputador.precomputar();
+
+        verify(calculadora, times(1)).calcular(CLAVE);
+        verify(cache).renovarAnalisis(CLAVE);
+    }
+
+    @Test
+    void cambioDeTerminosORevisionDelBonoRecalcula() {
+        when(cache.antiguedadAnalisis(CLAVE)).thenReturn(-1L, 20_000L, 20_000L);
+        when(bonoRepository.findVersiones(any())).thenReturn(
+                List.of(version(1000L, 42L)), List.of(version(1000L, 43L)), List.of(version(2000L, 43L)));
+
+        precomputador.precomputar();
+        precomputador.precomputar();
+        precomputador.precomputar();
+
+        verify(calculadora, times(3)).calcular(CLAVE);
+        verify(cache, never()).renovarAnalisis(CLAVE);
+    }
+
+    @Test
+    void entradaDesalojadaSeRecalculaAunqueElBonoNoCambie() {
+        when(cache.antiguedadAnalisis(CLAVE)).thenReturn(-1L, -1L);
+        when(bonoRepository.findVersiones(any())).thenReturn(List.of(version(1000L, 42L)));
+
+        precomputador.precomputar();
+        precomputador.precomputar();
+
+        verify(calculadora, times(2)).calcular(CLAVE);
+    }
+
+    @Test
+    void resultadoQueCoincideConUnaActualizacionDelBonoSeDescarta() {
+        BonoConsultaCache real = new BonoConsultaCache(mock(DataSourcePressureMonitor.class), Duration.ofSeconds(30),
+                Duration.ofMinutes(10), 100, 1, 1, 10);
+        try {
+            real.analisis(CLAVE, () -> "inicial");
+            real.invalidarAnalisis(CLAVE);
+            when(bonoRepository.findVersiones(any())).thenReturn(List.of(version(1000L, 42L)));
+            // La actualización del bono confirma mientras se calcula con los términos anteriores
+            when(calculadora.calcular(CLAVE)).thenAnswer(invocacion -> {
+                real.invalidarBono(CLAVE.bonoId());
+                return "anterior";
+            });
+            PrecomputadorAnalisisFrecuentes conCacheReal = new PrecomputadorAnalisisFrecuentes(real, calculadora,
+                    bonoRepository, true, 10, 0, new BigDecimal("0.0025"), Duration.ofSeconds(30));
+
+            conCacheReal.precomputar();
+
+            verify(calculadora).calcular(CLAVE);
+            assertThat(real.antiguedadAnalisis(CLAVE)).isEqualTo(-1L);
+            assertThat(real.<String>analisis(CLAVE, () -> "actual").value()).isEqualTo("actual");
+        } finally {
+            real.cerrar();
+        }
+    }
+
+    private static VersionBono version(long modificadoEn, long huella) {
+        return new VersionBono(CLAVE.bonoId(), new Date(modificadoEn), huella);
+    }
+}
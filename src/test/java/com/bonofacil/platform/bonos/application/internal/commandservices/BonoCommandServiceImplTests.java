@@ -0,0 +1,76 @@
+package com.bonofacil.platform.bonos.application.internal.commandservices;
+
+import com.bonofacil.platform.bonos.domain.model.commands.ActualizarBonoCommand;
+import com.bonofacil.platform.bonos.domain.model.commands.CrearBonoCommand;
+import com.bonofacil.platform.bonos.domain.model.entities.Bono;
+import com.bonofacil.platform.bonos.domain.model.valueobjects.PlazoGracia;
+import com.bonofacil.platform.bonos.infrastructure.persistence.jpa.repositories.PruebaConteoSentencias;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica que crear un bono es un único insert por fila y que solo un cambio de términos regenera el
+ * cronograma.
+ */
+class BonoCommandServiceImplTests extends PruebaConteoSentencias {
+
+    @Test
+    void crearBonoEsUnSoloInsertSinActualizacionPosterior() {
+        var command = new CrearBonoCommand("nuevo", null, BigDecimal.valueOf(1000), BigDecimal.valueOf(8), 5, 2,
+                "PEN", LocalDate.of(2024, 1, 1), PlazoGracia.sinPlazoGracia(), null, null, EMISOR);
+
+        Bono creado = bonoCommandService.handle(command);
+        entityManager.flush();
+
+        assertThat(creado.getId()).isNotNull();
+        assertThat(creado.getTcea()).isNotNull();
+        assertThat(creado.getHuellaFlujos()).isEqualTo(creado.calcularHuellaTerminos());
+        assertThat(statistics.getEntityUpdateCount()).isZero();
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        // Bono y 11 periodos del cronograma, insertados en lote junto con las llamadas a las secuencias
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(12);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(4);
+    }
+
+    @Test
+    void cambioCosmeticoEsUnUpdateSinRecalculo() {
+        Long id = crearBonoConCronograma();
+
+        var command = new ActualizarBonoCommand(id, EMISOR, "renombrado", null, null, null, null, null,
+                null, null, null, null, null);
+        assertThat(bonoCommandService.handle(command)).isPresent();
+        entityManager.flush();
+
+        // Lectura del bono y un UPDATE dinámico; el cronograma no se toca
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(1);
+        assertThat(statistics.getEntityInsertCount()).isZero();
+    }
+
+    @Test
+    void cambioDeTerminosRegeneraElCronograma() {
+        Long id = crearBonoConCronograma();
+
+        var command = new ActualizarBonoCommand(id, EMISOR, null, null, null, null, 10, null,
+                null, null, null, null, null);
+        Bono actualizado = bonoCommandService.handle(command).orElseThrow();
+        entityManager.flush();
+
+        assertThat(actualizado.getHuellaFlujos()).isEqualTo(actualizado.calcularHuellaTerminos());
+        assertThat(flujoFinancieroRepository.findByBonoOrderByPeriodo(actualizado)).hasSize(21);
+    }
+
+    @Test
+    void modificarBonoDeOtroEmisorNoEncuentraNada() {
+        Long id = crearBonoConCronograma();
+
+        var command = new ActualizarBonoCommand(id, "otro", "ajeno", null, null, null, null, null,
+                null, null, null, null, null);
+
+        assertThat(bonoCommandService.handle(command)).isEmpty();
+    }
+}
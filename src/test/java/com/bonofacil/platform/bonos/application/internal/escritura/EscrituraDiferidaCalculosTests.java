@@ -0,0 +1,83 @@
+package com.bonofacil.platform.bonos.application.internal.escritura;
+
+import com.bonofacil.platform.bonos.domain.model.entities.Bono;
+import com.bonofacil.platform.bonos.domain.model.entities.Calculo;
+import com.bonofacil.platform.bonos.infrastructure.persistence.jpa.repositories.PruebaConteoSentencias;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica que la escritura diferida vacía en lote, reproduce su diario sin duplicar y descarta los
+ * cálculos de bonos eliminados.
+ */
+class EscrituraDiferidaCalculosTests extends PruebaConteoSentencias {
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void escrituraDiferidaInsertaEnLoteYReproduceElDiarioSinDuplicar(@TempDir Path directorio) {
+        EscrituraDiferidaCalculos escritura = abrirEscrituraDiferida(directorio);
+        Bono bono = bonoRepository.findById(primerBono.getId()).orElseThrow();
+        long antes = calculoRepository.count();
+
+        for (int i = 0; i < 120; i++) {
+            assertThat(escritura.registrar(calculoPara(bono)))
+                    .hasValueSatisfying(c -> assertThat(c.getId()).isNotNull());
+        }
+        assertThat(escritura.pendientesDe(INVERSOR)).hasSize(120);
+        escritura.vaciar();
+        assertThat(calculoRepository.count()).isEqualTo(antes + 120);
+
+        // Lo que quedó en el diario sin vaciar se reproduce al reabrir, omitiendo lo ya insertado
+        Calculo sinVaciar = calculoPara(bono);
+        sinVaciar.setTasaEsperada(new BigDecimal("9"));
+        Long id = escritura.registrar(sinVaciar).orElseThrow().getId();
+
+        EscrituraDiferidaCalculos reabierta = abrirEscrituraDiferida(directorio);
+        reabierta.vaciar();
+        reabierta.vaciar();
+        assertThat(calculoRepository.count()).isEqualTo(antes + 121);
+        assertThat(calculoRepository.findIdsExistentes(List.of(id))).containsExactly(id);
+    }
+
+    @Test
+    void escrituraDiferidaDescartaLosCalculosDeUnBonoEliminadoSinApartarElSegmento(@TempDir Path directorio) {
+        EscrituraDiferidaCalculos escritura = abrirEscrituraDiferida(directorio);
+        Long eliminadoId = crearBonoConCronograma();
+        Bono vigente = bonoRepository.findById(primerBono.getId()).orElseThrow();
+        Bono eliminado = bonoRepository.findById(eliminadoId).orElseThrow();
+        long antes = calculoRepository.count();
+        Long huerfano = escritura.registrar(calculoPara(eliminado)).orElseThrow().getId();
+        Long valido = escritura.registrar(calculoPara(vigente)).orElseThrow().getId();
+
+        // El bono se elimina antes de que su cálculo pendiente se vacíe
+        flujoFinancieroRepository.deleteByBonoId(eliminadoId);
+        bonoRepository.eliminarPorId(eliminadoId);
+        escritura.olvidarBono(eliminadoId);
+        escritura.vaciar();
+
+        assertThat(escritura.buscar(huerfano)).isEmpty();
+        assertThat(calculoRepository.count()).isEqualTo(antes + 1);
+        assertThat(calculoRepository.findIdsExistentes(List.of(huerfano, valido))).containsExactly(valido);
+        assertThat(directorio.toFile().list((carpeta, nombre) -> nombre.endsWith(".cuarentena"))).isEmpty();
+    }
+
+    private EscrituraDiferidaCalculos abrirEscrituraDiferida(Path directorio) {
+        EscrituraDiferidaCalculos escritura = new EscrituraDiferidaCalculos(calculoRepository, bonoRepository,
+                new ObjectMapper().findAndRegisterModules(), transactionManager, true, directorio, 1000,
+                Duration.ofMillis(100), Duration.ofHours(1), 50, Duration.ofSeconds(5), 2);
+        escritura.abrir();
+        return escritura;
+    }
+}
@@ -0,0 +1,113 @@
+package com.bonofacil.platform.bonos.application.internal.retencion;
+
+import com.bonofacil.platform.bonos.domain.model.entities.Bono;
+import com.bonofacil.platform.bonos.domain.model.entities.Calculo;
+import com.bonofacil.platform.bonos.domain.model.entities.ClaveIdempotenciaCalculo;
+import com.bonofacil.platform.bonos.infrastructure.persistence.jpa.repositories.BonoRepository;
+import com.bonofacil.platform.bonos.infrastructure.persistence.jpa.repositories.CalculoRepository;
+import com.bonofacil.platform.bonos.infrastructure.persistence.jpa.repositories.ClaveIdempotenciaCalculoRepository;
+import com.bonofacil.platform.shared.infrastructure.persistense.jpa.PruebaPostgres;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica sobre PostgreSQL las funciones de mantenimiento de particiones de la tabla de cálculos.
+ */
+class ParticionesCalculosTests extends PruebaPostgres {
+
+    private static final YearMonth MES = YearMonth.of(2019, 5);
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private BonoRepository bonoRepository;
+
+    @Autowired
+    private CalculoRepository calculoRepository;
+
+    @Autowired
+    private ClaveIdempotenciaCalculoRepository claveIdempotenciaCalculoRepository;
+
+    private Bono bono;
+
+    @BeforeEach
+    void prepararBono() {
+        bono = new Bono();
+        bono.setNombre("bono");
+        bono.setValorNominal(BigDecimal.valueOf(1000));
+        bono.setTasaCupon(BigDecimal.valueOf(8));
+        bono.setPlazoAnios(5);
+        bono.setFrecuenciaPagos(2);
+        bono.setMoneda("PEN");
+        bono.setFechaEmision(LocalDate.of(2019, 1, 1));
+        bono.setMetodoAmortizacion("AMERICANO");
+        bono.setEmisorUsername("emisor");
+        bono = bonoRepository.saveAndFlush(bono);
+    }
+
+    @Test
+    void crearParticionMueveLosCalculosQueYaCayeronEnLaParticionPorDefecto() {
+        Calculo calculo = guardarCalculo(MES.atDay(10));
+        assertThat(particionDe(calculo)).isEqualTo("calculos_default");
+
+        int creadas = calculoRepository.crearParticiones(MES.atDay(1), MES.atEndOfMonth());
+
+        assertThat(creadas).isEqualTo(1);
+        assertThat(particionDe(calculo)).isEqualTo(ParticionesCalculos.nombreParticion(MES));
+        assertThat(contar("select count(*) from calculos_default")).isZero();
+        // Volver a pedir el mismo mes no crea nada
+        assertThat(calculoRepository.crearParticiones(MES.atDay(1), MES.atEndOfMonth())).isZero();
+    }
+
+    @Test
+    void archivarParticionCopiaLosCalculosYLiberaSusClaves() {
+        String particion = ParticionesCalculos.nombreParticion(MES);
+        calculoRepository.crearParticiones(MES.atDay(1), MES.atEndOfMonth());
+        Calculo calculo = guardarCalculo(MES.atDay(10));
+        claveIdempotenciaCalculoRepository.saveAndFlush(
+                new ClaveIdempotenciaCalculo("inversor", "clave", calculo.getId(), calculo.getFechaCalculo()));
+
+        assertThat(calculoRepository.findParticionesAnteriores(ParticionesCalculos.nombreParticion(MES.plusMonths(1))))
+                .containsExactly(particion);
+        int archivados = calculoRepository.archivarParticion(particion);
+
+        assertThat(archivados).isEqualTo(1);
+        assertThat(calculoRepository.findIdsExistentes(List.of(calculo.getId()))).isEmpty();
+        assertThat(claveIdempotenciaCalculoRepository.count()).isZero();
+        assertThat(contar("select count(*) from calculos_archivados where mes = date '2019-05-01' "
+                + "and inversor_username = 'inversor' and cantidad = 1")).isEqualTo(1);
+        assertThat(entityManager.createNativeQuery("select to_regclass('" + particion + "') is null")
+                .getSingleResult()).isEqualTo(true);
+    }
+
+    private Calculo guardarCalculo(LocalDate fecha) {
+        Calculo calculo = new Calculo();
+        calculo.setBono(bono);
+        calculo.setInversorUsername("inversor");
+        calculo.setTasaEsperada(new BigDecimal("8"));
+        calculo.setFechaCalculo(fecha);
+        calculo = calculoRepository.saveAndFlush(calculo);
+        entityManager.clear();
+        return calculo;
+    }
+
+    private String particionDe(Calculo calculo) {
+        return (String) entityManager.createNativeQuery("select tableoid::regclass::text from calculos where id = :id")
+                .setParameter("id", calculo.getId())
+                .getSingleResult();
+    }
+
+    private long contar(String consulta) {
+        return ((Number) entityManager.createNativeQuery(consulta).getSingleResult()).longValue();
+    }
+}
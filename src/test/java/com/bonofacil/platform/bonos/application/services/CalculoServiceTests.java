@@ -0,0 +1,117 @@
+package com.bonofacil.platform.bonos.application.services;
+
+import com.bonofacil.platform.bonos.domain.model.commands.RegistrarCalculoCommand;
+import com.bonofacil.platform.bonos.domain.model.entities.Bono;
+import com.bonofacil.platform.bonos.domain.model.entities.Calculo;
+import com.bonofacil.platform.bonos.domain.model.valueobjects.CalculoRegistrado;
+import com.bonofacil.platform.bonos.domain.services.CalculoFinancieroService;
+import com.bonofacil.platform.bonos.infrastructure.persistence.jpa.repositories.PruebaConteoSentencias;
+import com.bonofacil.platform.bonos.infrastructure.persistence.jpa.repositories.ResultadoCalculoRepository;
+import com.bonofacil.platform.shared.application.exceptions.InvalidValueException;
+import com.bonofacil.platform.shared.application.exceptions.ResourceAlreadyException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Verifica el listado de cálculos por rango de fechas, la reutilización de resultados y las claves de
+ * idempotencia.
+ */
+class CalculoServiceTests extends PruebaConteoSentencias {
+
+    @Autowired
+    private CalculoService calculoService;
+
+    @Autowired
+    private CalculoFinancieroService calculoFinancieroService;
+
+    @Autowired
+    private ResultadoCalculoRepository resultadoCalculoRepository;
+
+    @Test
+    void paginaDeCalculosPorRangoDeFechasFiltraEnLaConsulta() {
+        Bono bono = bonoRepository.findById(primerBono.getId()).orElseThrow();
+        for (int mes = 1; mes <= 3; mes++) {
+            Calculo calculo = new Calculo();
+            calculo.setBono(bono);
+            calculo.setInversorUsername(INVERSOR);
+            calculo.setTasaEsperada(new BigDecimal("6"));
+            calculo.setFechaCalculo(LocalDate.of(2020, mes, 15));
+            calculoRepository.save(calculo);
+        }
+        sincronizar();
+
+        var pagina = calculoService.obtenerCalculosPorInversor(INVERSOR,
+                LocalDate.of(2020, 2, 1), LocalDate.of(2020, 3, 31), null, 50);
+
+        assertThat(pagina.items()).extracting(Calculo::getFechaCalculo)
+                .containsExactly(LocalDate.of(2020, 2, 15), LocalDate.of(2020, 3, 15));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(calculoService.obtenerCalculosPorInversor(INVERSOR, null, null, null, 50).items())
+                .hasSize(3 * CALCULOS_POR_BONO + 3);
+        assertThatThrownBy(() -> calculoService.obtenerCalculosPorInversor(INVERSOR, null, LocalDate.of(2020, 3, 31), null, 50))
+                .isInstanceOf(InvalidValueException.class);
+    }
+
+    @Test
+    void calculosRepetidosReutilizanElResultadoYLaClaveDeIdempotenciaNoDuplica() {
+        BigDecimal tasa = new BigDecimal("0.075");
+        RegistrarCalculoCommand command = new RegistrarCalculoCommand(INVERSOR, primerBono.getId(), tasa, "clave-1");
+
+        CalculoRegistrado primero = calculoService.handle(command);
+        entityManager.flush();
+        long calculos = calculoRepository.count();
+        statistics.clear();
+        CalculoRegistrado reenvio = calculoService.handle(command);
+
+        assertThat(primero.repetido()).isFalse();
+        assertThat(reenvio.repetido()).isTrue();
+        assertThat(reenvio.calculo().getId()).isEqualTo(primero.calculo().getId());
+        assertThat(calculoRepository.count()).isEqualTo(calculos);
+        assertThatThrownBy(() -> calculoService.handle(
+                new RegistrarCalculoCommand(INVERSOR, primerBono.getId(), new BigDecimal("0.09"), "clave-1")))
+                .isInstanceOf(ResourceAlreadyException.class);
+
+        // Otro inversor con la misma tasa (en otra escala) apunta al mismo resultado sin volver a valorar
+        Calculo otro = calculoService.handle(
+                new RegistrarCalculoCommand("otro", primerBono.getId(), new BigDecimal("0.0750"), null)).calculo();
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(otro.getResultadoId()).isEqualTo(primero.calculo().getResultadoId());
+        assertThat(resultadoCalculoRepository.count()).isEqualTo(1);
+        Calculo guardado = calculoRepository.findById(otro.getId()).orElseThrow();
+        Calculo valorado = calculoFinancieroService.calcularInversion(primerBono, tasa);
+        assertThat(guardado.getPrecioMaximo()).isEqualByComparingTo(valorado.getPrecioMaximo());
+        assertThat(guardado.getTrea()).isEqualByComparingTo(valorado.getTrea());
+    }
+
+    @Test
+    void claveDeIdempotenciaDeOtroDiaDevuelveElMismoCalculoYSeLiberaAlEliminarlo() {
+        RegistrarCalculoCommand command = new RegistrarCalculoCommand(INVERSOR, primerBono.getId(),
+                new BigDecimal("0.075"), "clave-2");
+        Long id = calculoService.handle(command).calculo().getId();
+        LocalDate ayer = LocalDate.now().minusDays(1);
+        entityManager.flush();
+        entityManager.createQuery("update Calculo c set c.fechaCalculo = :ayer where c.id = :id")
+                .setParameter("ayer", ayer).setParameter("id", id).executeUpdate();
+        entityManager.createQuery("update ClaveIdempotenciaCalculo k set k.fechaCalculo = :ayer where k.calculoId = :id")
+                .setParameter("ayer", ayer).setParameter("id", id).executeUpdate();
+        entityManager.clear();
+
+        CalculoRegistrado reenvio = calculoService.handle(command);
+        calculoService.eliminarCalculo(id);
+        entityManager.flush();
+        CalculoRegistrado nuevo = calculoService.handle(command);
+
+        assertThat(reenvio.repetido()).isTrue();
+        assertThat(reenvio.calculo().getId()).isEqualTo(id);
+        assertThat(nuevo.repetido()).isFalse();
+        assertThat(nuevo.calculo().getId()).isNotEqualTo(id);
+    }
+}
@@ -0,0 +1,55 @@
+package com.bonofacil.platform.bonos.application.services;
+
+import com.bonofacil.platform.bonos.domain.model.commands.CalcularEscenariosCommand;
+import com.bonofacil.platform.bonos.domain.model.entities.Bono;
+import com.bonofacil.platform.bonos.domain.model.entities.Calculo;
+import com.bonofacil.platform.bonos.domain.model.valueobjects.EscenarioInversion;
+import com.bonofacil.platform.bonos.domain.services.CalculoFinancieroService;
+import com.bonofacil.platform.bonos.infrastructure.persistence.jpa.repositories.PruebaConteoSentencias;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica que un lote de escenarios carga sus bonos juntos y valora igual que el cálculo individual.
+ */
+class EscenariosInversionServiceTests extends PruebaConteoSentencias {
+
+    @Autowired
+    private EscenariosInversionService escenariosInversionService;
+
+    @Autowired
+    private CalculoFinancieroService calculoFinancieroService;
+
+    @Test
+    void loteDeEscenariosCargaLosBonosJuntosEInsertaEnUnLote() {
+        List<Bono> bonos = bonoRepository.findAll().subList(0, 2);
+        entityManager.clear();
+        statistics.clear();
+        List<EscenarioInversion> escenarios = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            escenarios.add(new EscenarioInversion(bonos.get(i % 2).getId(),
+                    BigDecimal.valueOf(4 + i / 2).divide(BigDecimal.valueOf(100))));
+        }
+
+        List<Calculo> calculos = escenariosInversionService.handle(new CalcularEscenariosCommand(INVERSOR, escenarios));
+        entityManager.flush();
+
+        assertThat(calculos).hasSize(50);
+        assertThat(calculos).allSatisfy(calculo -> assertThat(calculo.getId()).isNotNull());
+        assertThat(calculos.get(7).getBonoId()).isEqualTo(bonos.get(1).getId());
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(50);
+        // Una consulta de bonos, dos búsquedas de resultados por bono, a lo sumo una reserva de IDs y un lote
+        // de inserciones; los resultados nuevos se publican por JDBC fuera del contador de Hibernate
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(7);
+
+        Calculo individual = calculoFinancieroService.calcularInversion(bonos.get(1), escenarios.get(7).tasaEsperada());
+        assertThat(calculos.get(7).getPrecioMaximo()).isEqualByComparingTo(individual.getPrecioMaximo());
+        assertThat(calculos.get(7).getTrea()).isEqualByComparingTo(individual.getTrea());
+    }
+}
@@ -0,0 +1,46 @@
+package com.bonofacil.platform.bonos.application.services;
+
+import com.bonofacil.platform.bonos.domain.model.valueobjects.ResultadoImportacionFila;
+import com.bonofacil.platform.bonos.infrastructure.persistence.jpa.repositories.PruebaConteoSentencias;
+import com.bonofacil.platform.bonos.interfaces.rest.transform.LectorCsvBonos;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica que la importación persiste en lotes e informa el resultado de cada fila.
+ */
+class ImportacionBonosServiceTests extends PruebaConteoSentencias {
+
+    @Autowired
+    private ImportacionBonosService importacionBonosService;
+
+    @Test
+    void importacionCsvPersisteEnLotesYReportaCadaFila() {
+        StringBuilder csv = new StringBuilder("nombre,valorNominal,tasaCupon,plazoAnios,frecuenciaPagos,moneda,fechaEmision\n");
+        for (int i = 0; i < 200; i++) {
+            csv.append("\"serie, ").append(i).append("\",1000,8,5,2,PEN,2024-01-01\n");
+        }
+        csv.append("sin-plazo,1000,8,0,2,PEN,2024-01-01\n");
+        csv.append("fecha-mala,1000,8,5,2,PEN,01/01/2024\n");
+
+        List<ResultadoImportacionFila> resultados = importacionBonosService.importar(
+                new LectorCsvBonos(new BufferedReader(new StringReader(csv.toString())), EMISOR));
+        entityManager.flush();
+
+        assertThat(resultados).hasSize(202);
+        assertThat(resultados.subList(0, 200)).allMatch(ResultadoImportacionFila::creado);
+        assertThat(resultados.get(200).error()).contains("plazo");
+        assertThat(resultados.get(201).error()).startsWith("Valor con formato inválido");
+        assertThat(bonoRepository.findById(resultados.get(0).bonoId()))
+                .hasValueSatisfying(bono -> assertThat(bono.getNombre()).isEqualTo("serie, 0"));
+        // 200 bonos y 2200 flujos: las inserciones van en lotes de 50 filas
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(2400);
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(120);
+    }
+}
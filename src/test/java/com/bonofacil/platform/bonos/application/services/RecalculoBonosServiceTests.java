@@ -0,0 +1,47 @@
+package com.bonofacil.platform.bonos.application.services;
+
+import com.bonofacil.platform.bonos.domain.model.entities.Calculo;
+import com.bonofacil.platform.bonos.domain.model.valueobjects.ResumenRecalculo;
+import com.bonofacil.platform.bonos.infrastructure.persistence.jpa.repositories.PruebaConteoSentencias;
+import com.bonofacil.platform.bonos.infrastructure.persistence.jpa.repositories.ResultadoCalculoRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica que el recálculo masivo lee por lotes y comparte los resultados de términos iguales.
+ */
+class RecalculoBonosServiceTests extends PruebaConteoSentencias {
+
+    @Autowired
+    private RecalculoBonosService recalculoBonosService;
+
+    @Autowired
+    private ResultadoCalculoRepository resultadoCalculoRepository;
+
+    @Test
+    void recalculoMasivoLeeDosSentenciasPorLoteYEscribeEnLotesJdbc() throws InterruptedException {
+        List<ResumenRecalculo> avances = new ArrayList<>();
+
+        ResumenRecalculo resumen = recalculoBonosService.recalcular(ResumenRecalculo.desde(0), false, avances::add);
+        entityManager.clear();
+
+        assertThat(resumen.bonos()).isEqualTo(3);
+        assertThat(resumen.calculos()).isEqualTo(3 * CALCULOS_POR_BONO);
+        assertThat(avances).hasSize(1);
+        assertThat(avances.get(0).ultimoId()).isEqualTo(resumen.ultimoId());
+        // Bonos y tasas de sus cálculos; las escrituras van por JDBC fuera del contador de Hibernate
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(bonoRepository.findAll()).allSatisfy(bono -> assertThat(bono.getTcea()).isNotNull());
+        assertThat(calculoRepository.findByBono_Id(primerBono.getId()))
+                .allSatisfy(calculo -> assertThat(calculo.getPrecioMaximo()).isNotNull());
+        // Los tres bonos tienen los mismos términos y sus cálculos la misma tasa: un único resultado compartido
+        assertThat(calculoRepository.findAll()).extracting(Calculo::getResultadoId).doesNotContainNull().containsOnly(
+                calculoRepository.findByBono_Id(primerBono.getId()).get(0).getResultadoId());
+        assertThat(resultadoCalculoRepository.count()).isEqualTo(1);
+    }
+}
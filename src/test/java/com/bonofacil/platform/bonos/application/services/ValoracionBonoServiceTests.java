@@ -0,0 +1,61 @@
+package com.bonofacil.platform.bonos.application.services;
+
+import com.bonofacil.platform.bonos.domain.model.entities.Bono;
+import com.bonofacil.platform.bonos.domain.model.projections.PuntoValoracion;
+import com.bonofacil.platform.bonos.domain.model.valueobjects.IntervaloHistorial;
+import com.bonofacil.platform.bonos.domain.services.CalculoFinancieroService;
+import com.bonofacil.platform.bonos.infrastructure.persistence.jpa.repositories.PruebaConteoSentencias;
+import com.bonofacil.platform.bonos.infrastructure.persistence.jpa.repositories.ValoracionBonoRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Verifica el cierre diario de valoraciones y la agregación del historial por intervalo.
+ */
+class ValoracionBonoServiceTests extends PruebaConteoSentencias {
+
+    @Autowired
+    private ValoracionBonoService valoracionBonoService;
+
+    @Autowired
+    private ValoracionBonoRepository valoracionBonoRepository;
+
+    @Autowired
+    private CalculoFinancieroService calculoFinancieroService;
+
+    @Test
+    void cierreDeValoracionesCopiaLasMetricasYLaSerieSePromediaPorIntervalo() {
+        Bono valorado = bonoRepository.findById(primerBono.getId()).orElseThrow();
+        calculoFinancieroService.procesarCalculosBono(valorado);
+        entityManager.flush();
+
+        // Solo el bono con métricas; repetir el cierre del mismo día no duplica
+        LocalDate inicio = LocalDate.of(2024, 1, 18);
+        for (int dia = 0; dia < 28; dia++) {
+            valoracionBonoService.registrarCierre(inicio.plusDays(dia));
+        }
+        valoracionBonoService.registrarCierre(inicio);
+        assertThat(valoracionBonoRepository.count()).isEqualTo(28);
+
+        LocalDate fin = inicio.plusDays(27);
+        List<PuntoValoracion> diaria = valoracionBonoService.obtenerHistorial(valorado.getId(), inicio, fin,
+                IntervaloHistorial.DIA);
+        List<PuntoValoracion> mensual = valoracionBonoService.obtenerHistorial(valorado.getId(), inicio, fin,
+                IntervaloHistorial.MES);
+
+        assertThat(diaria).hasSize(28);
+        assertThat(diaria.get(0).precio()).isCloseTo(valorado.getPrecio().doubleValue(), within(0.01));
+        assertThat(mensual).extracting(PuntoValoracion::fecha)
+                .containsExactly(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 2, 1));
+        assertThat(mensual.get(1).tcea()).isCloseTo(valorado.getTcea().doubleValue(), within(1e-4));
+        // El primer día de la semana depende del motor; cuatro semanas dan entre cuatro y cinco puntos
+        assertThat(valoracionBonoService.obtenerHistorial(valorado.getId(), inicio, fin, IntervaloHistorial.SEMANA))
+                .hasSizeBetween(4, 5);
+    }
+}
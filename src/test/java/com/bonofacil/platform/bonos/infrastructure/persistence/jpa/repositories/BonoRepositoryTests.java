@@ -0,0 +1,68 @@
+package com.bonofacil.platform.bonos.infrastructure.persistence.jpa.repositories;
+
+import com.bonofacil.platform.bonos.application.services.CalculoService;
+import com.bonofacil.platform.bonos.domain.model.commands.RegistrarCalculoCommand;
+import com.bonofacil.platform.bonos.domain.model.queries.FiltrarCatalogoBonosQuery;
+import com.bonofacil.platform.bonos.domain.model.valueobjects.OrdenFiltroCatalogo;
+import com.bonofacil.platform.bonos.infrastructure.persistence.jpa.specifications.BonoSpecifications;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica que el catálogo se lee como proyección y que eliminar un bono no carga su historial.
+ */
+class BonoRepositoryTests extends PruebaConteoSentencias {
+
+    @Autowired
+    private CalculoService calculoService;
+
+    @Autowired
+    private ClaveIdempotenciaCalculoRepository claveIdempotenciaCalculoRepository;
+
+    @Test
+    void catalogoSeLeeComoProyeccionEnUnaSolaSentencia() {
+        var items = bonoRepository.findCatalogoPorId(0L, PageRequest.of(0, 50));
+
+        assertThat(items).hasSize(3);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void filtroCombinadoDelCatalogoUsaUnaSolaSentencia() {
+        var consulta = new FiltrarCatalogoBonosQuery("PEN", new BigDecimal("5"), new BigDecimal("10"), 5, null, 2,
+                null, null, null, null, null, null, null, null, OrdenFiltroCatalogo.TASA_CUPON, true, 2);
+
+        var items = bonoRepository.filtrarCatalogo(BonoSpecifications.desde(consulta), consulta.orden(),
+                consulta.descendente(), consulta.limite());
+
+        assertThat(items).hasSize(2);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+
+        var otraMoneda = new FiltrarCatalogoBonosQuery("USD", null, null, null, null, null,
+                null, null, null, null, null, null, null, null, OrdenFiltroCatalogo.ID, false, 10);
+        assertThat(bonoRepository.filtrarCatalogo(BonoSpecifications.desde(otraMoneda), otraMoneda.orden(),
+                otraMoneda.descendente(), otraMoneda.limite())).isEmpty();
+    }
+
+    @Test
+    void eliminarBonoConHistorialUsaUnaSentenciaPorTabla() {
+        Long bonoId = primerBono.getId();
+        calculoService.handle(new RegistrarCalculoCommand(INVERSOR, bonoId, new BigDecimal("0.075"), "clave-3"));
+        entityManager.flush();
+        statistics.clear();
+
+        assertThat(claveIdempotenciaCalculoRepository.deleteByBonoId(bonoId)).isEqualTo(1);
+        assertThat(calculoRepository.deleteByBonoId(bonoId)).isEqualTo(CALCULOS_POR_BONO + 1);
+        assertThat(flujoFinancieroRepository.deleteByBonoId(bonoId)).isEqualTo(4);
+        assertThat(bonoRepository.eliminarPorId(bonoId)).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+}
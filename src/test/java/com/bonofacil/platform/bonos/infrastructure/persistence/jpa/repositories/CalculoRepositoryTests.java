@@ -0,0 +1,45 @@
+package com.bonofacil.platform.bonos.infrastructure.persistence.jpa.repositories;
+
+import com.bonofacil.platform.bonos.interfaces.rest.transform.CalculoResourceFromEntityAssembler;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica que las lecturas de cálculos traen el bono en la misma sentencia.
+ */
+class CalculoRepositoryTests extends PruebaConteoSentencias {
+
+    @Test
+    void paginaDeCalculosDelInversorUsaUnaSolaSentencia() {
+        var calculos = calculoRepository.findByInversorUsernameAndIdGreaterThanOrderByIdAsc(INVERSOR, 0L, Limit.of(50));
+        var resources = calculos.stream().map(CalculoResourceFromEntityAssembler::toResourceFromEntity).toList();
+
+        assertThat(resources).hasSize(3 * CALCULOS_POR_BONO);
+        assertThat(resources).allSatisfy(resource -> assertThat(resource.getBonoNombre()).startsWith("bono-"));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void listadoCompletoDeCalculosUsaUnaSolaSentencia() {
+        var resources = calculoRepository.findByInversorUsername(INVERSOR).stream()
+                .map(CalculoResourceFromEntityAssembler::toResourceFromEntity)
+                .toList();
+
+        assertThat(resources).hasSize(3 * CALCULOS_POR_BONO);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void detalleDeCalculoTraeElBonoEnLaMismaSentencia() {
+        Long id = calculoRepository.findByBono_Id(primerBono.getId()).get(0).getId();
+        entityManager.clear();
+        statistics.clear();
+
+        var resource = calculoRepository.findById(id).map(CalculoResourceFromEntityAssembler::toResourceFromEntity);
+
+        assertThat(resource).hasValueSatisfying(r -> assertThat(r.getBonoNombre()).isEqualTo("bono-0"));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,53 @@
+package com.bonofacil.platform.bonos.infrastructure.persistence.jpa.repositories;
+
+import com.bonofacil.platform.bonos.domain.model.entities.Bono;
+import com.bonofacil.platform.bonos.domain.model.entities.FlujoFinanciero;
+import com.bonofacil.platform.bonos.interfaces.rest.transform.FlujoFinancieroResourceFromEntityAssembler;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica que el cronograma se lee en una sentencia y se escribe y elimina en lote.
+ */
+class FlujoFinancieroRepositoryTests extends PruebaConteoSentencias {
+
+    @Test
+    void flujoDelBonoUsaUnaSolaSentencia() {
+        Bono bono = bonoRepository.getReferenceById(primerBono.getId());
+        var flujos = flujoFinancieroRepository.findByBonoOrderByPeriodo(bono);
+        flujos.forEach(flujo -> flujo.getBono().getValorNominal());
+        var resources = flujos.stream().map(FlujoFinancieroResourceFromEntityAssembler::toResourceFromEntity).toList();
+
+        assertThat(resources).hasSize(4);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void cronogramaDe360PeriodosSeInsertaEnLotes() {
+        Bono bono = bonoRepository.getReferenceById(primerBono.getId());
+        List<FlujoFinanciero> flujos = new ArrayList<>();
+        for (int periodo = 1; periodo <= 360; periodo++) {
+            FlujoFinanciero flujo = new FlujoFinanciero();
+            flujo.setBono(bono);
+            flujo.setPeriodo(periodo);
+            flujos.add(flujo);
+        }
+        flujoFinancieroRepository.saveAll(flujos);
+        entityManager.flush();
+
+        // Con lotes de 50: unas pocas llamadas a la secuencia y un lote por cada 50 filas
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(20);
+    }
+
+    @Test
+    void eliminarCronogramaEsUnaSolaSentencia() {
+        int eliminados = flujoFinancieroRepository.deleteByBono(bonoRepository.getReferenceById(primerBono.getId()));
+
+        assertThat(eliminados).isEqualTo(4);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,152 @@
+package com.bonofacil.platform.bonos.infrastructure.persistence.jpa.repositories;
+
+import com.bonofacil.platform.bonos.application.internal.cache.BonoConsultaCache;
+import com.bonofacil.platform.bonos.application.internal.commandservices.BonoCommandServiceImpl;
+import com.bonofacil.platform.bonos.application.internal.escritura.EscrituraDiferidaCalculos;
+import com.bonofacil.platform.bonos.application.internal.services.CalculoFinancieroServiceImpl;
+import com.bonofacil.platform.bonos.application.services.CalculoService;
+import com.bonofacil.platform.bonos.application.services.EscenariosInversionService;
+import com.bonofacil.platform.bonos.application.services.FlujoFinancieroService;
+import com.bonofacil.platform.bonos.application.services.ImportacionBonosService;
+import com.bonofacil.platform.bonos.application.services.RecalculoBonosService;
+import com.bonofacil.platform.bonos.application.services.ResultadoCalculoService;
+import com.bonofacil.platform.bonos.application.services.ValoracionBonoService;
+import com.bonofacil.platform.bonos.domain.model.commands.CrearBonoCommand;
+import com.bonofacil.platform.bonos.domain.model.entities.Bono;
+import com.bonofacil.platform.bonos.domain.model.entities.Calculo;
+import com.bonofacil.platform.bonos.domain.model.entities.FlujoFinanciero;
+import com.bonofacil.platform.bonos.domain.model.valueobjects.PlazoGracia;
+import com.bonofacil.platform.bonos.domain.services.BonoCommandService;
+import com.bonofacil.platform.shared.infrastructure.persistense.jpa.monitoring.DataSourcePressureMonitor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Base de las pruebas que cuentan las sentencias SQL de cada ruta, para que una regresión N+1 o la
+ * pérdida de los lotes JDBC rompa la build. Todas comparten el mismo contexto sobre H2 y parten de tres
+ * bonos con cinco cálculos y cuatro flujos cada uno.
+ */
+@DataJpaTest(showSql = false, properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+@Import({BonoCommandServiceImpl.class, FlujoFinancieroService.class, CalculoFinancieroServiceImpl.class,
+        ImportacionBonosService.class, RecalculoBonosService.class, EscenariosInversionService.class,
+        CalculoService.class, ResultadoCalculoService.class, ValoracionBonoService.class})
+public abstract class PruebaConteoSentencias {
+
+    protected static final String INVERSOR = "inversor";
+    protected static final String EMISOR = "emisor";
+    protected static final int CALCULOS_POR_BONO = 5;
+
+    @Autowired
+    protected EntityManager entityManager;
+
+    @Autowired
+    protected BonoRepository bonoRepository;
+
+    @Autowired
+    protected CalculoRepository calculoRepository;
+
+    @Autowired
+    protected FlujoFinancieroRepository flujoFinancieroRepository;
+
+    @Autowired
+    protected BonoCommandService bonoCommandService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    protected BonoConsultaCache bonoConsultaCache;
+
+    @MockBean
+    private DataSourcePressureMonitor pressureMonitor;
+
+    // Inactiva, como con la configuración por defecto: registrar devuelve vacío y se guarda de forma síncrona
+    @MockBean
+    protected EscrituraDiferidaCalculos escrituraDiferidaCalculos;
+
+    protected Statistics statistics;
+    protected Bono primerBono;
+
+    @BeforeEach
+    void prepararDatos() {
+        for (int i = 0; i < 3; i++) {
+            Bono bono = bonoRepository.save(crearBono("bono-" + i));
+            if (primerBono == null) {
+                primerBono = bono;
+            }
+            for (int j = 0; j < CALCULOS_POR_BONO; j++) {
+                Calculo calculo = new Calculo();
+                calculo.setBono(bono);
+                calculo.setInversorUsername(INVERSOR);
+                calculo.setTasaEsperada(new BigDecimal("8"));
+                calculoRepository.save(calculo);
+            }
+            for (int periodo = 1; periodo <= 4; periodo++) {
+                FlujoFinanciero flujo = new FlujoFinanciero();
+                flujo.setBono(bono);
+                flujo.setPeriodo(periodo);
+                flujoFinancieroRepository.save(flujo);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    /**
+     * Sincroniza la sesión con la base de datos y pone los contadores a cero.
+     */
+    protected void sincronizar() {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    protected Long crearBonoConCronograma() {
+        Bono creado = bonoCommandService.handle(new CrearBonoCommand("nuevo", null, BigDecimal.valueOf(1000),
+                BigDecimal.valueOf(8), 5, 2, "PEN", LocalDate.of(2024, 1, 1), PlazoGracia.sinPlazoGracia(),
+                null, null, EMISOR));
+        sincronizar();
+        return creado.getId();
+    }
+
+    protected static Calculo calculoPara(Bono bono) {
+        Calculo calculo = new Calculo();
+        calculo.setBono(bono);
+        calculo.setInversorUsername(INVERSOR);
+        calculo.setTasaEsperada(new BigDecimal("7"));
+        return calculo;
+    }
+
+    private static Bono crearBono(String nombre) {
+        Bono bono = new Bono();
+        bono.setNombre(nombre);
+        bono.setValorNominal(BigDecimal.valueOf(1000));
+        bono.setTasaCupon(BigDecimal.valueOf(8));
+        bono.setPlazoAnios(5);
+        bono.setFrecuenciaPagos(2);
+        bono.setMoneda("PEN");
+        bono.setFechaEmision(LocalDate.of(2024, 1, 1));
+        bono.setMetodoAmortizacion("AMERICANO");
+        bono.setEmisorUsername(EMISOR);
+        return bono;
+    }
+}
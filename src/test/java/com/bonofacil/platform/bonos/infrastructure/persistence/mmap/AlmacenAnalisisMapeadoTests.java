@@ -0,0 +1,211 @@
+package com.bonofacil.platform.bonos.infrastructure.persistence.mmap;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Recorrido con CRC, validación perezosa y compactación de {@link AlmacenAnalisisMapeado} sobre archivos
+ * pequeños en un directorio temporal.
+ */
+class AlmacenAnalisisMapeadoTests {
+
+    private static final int OPERACION = 3;
+    private static final long HUELLA = 77L;
+    private static final long ACTUALIZADO_EN = 1_700_000_000_000L;
+    private static final int NIVEL = 1;
+
+    // Cabecera de archivo y tamaño de un registro con una sola celda
+    private static final int CABECERA_ARCHIVO = 16;
+    private static final int REGISTRO = 49 + 9 + 4;
+
+    // Caben 16 registros de una celda
+    private static final DataSize TAMANO = DataSize.ofKilobytes(1);
+
+    @TempDir
+    Path directorio;
+
+    private final List<AlmacenAnalisisMapeado> abiertos = new ArrayList<>();
+
+    @AfterEach
+    void cerrar() {
+        abiertos.forEach(AlmacenAnalisisMapeado::cerrar);
+    }
+
+    @Test
+    void registrosSobrevivenAlReabrir() {
+        AlmacenAnalisisMapeado almacen = abrir();
+        for (long bono = 1; bono <= 3; bono++) {
+            escribir(almacen, bono, "1." + bono);
+        }
+        almacen.cerrar();
+
+        AlmacenAnalisisMapeado reabierto = abrir();
+        for (long bono = 1; bono <= 3; bono++) {
+            assertThat(leer(reabierto, bono, NIVEL)).isEqualByComparingTo("1." + bono);
+        }
+    }
+
+    @Test
+    void registroConCrcInvalidoCortaElRecorridoYSeSobrescribe() throws IOException {
+        AlmacenAnalisisMapeado almacen = abrir();
+        for (long bono = 1; bono <= 3; bono++) {
+            escribir(almacen, bono, "2." + bono);
+        }
+        almacen.cerrar();
+        try (RandomAccessFile archivo = new RandomAccessFile(ruta().toFile(), "rw")) {
+            long celdaSegundo = CABECERA_ARCHIVO + REGISTRO + 49;
+            archivo.seek(celdaSegundo);
+            int original = archivo.read();
+            archivo.seek(celdaSegundo);
+            archivo.write(original ^ 0xFF);
+        }
+
+        AlmacenAnalisisMapeado reabierto = abrir();
+        assertThat(leer(reabierto, 1, NIVEL)).isEqualByComparingTo("2.1");
+        assertThat(leer(reabierto, 2, NIVEL)).isNull();
+        assertThat(leer(reabierto, 3, NIVEL)).isNull();
+
+        // Las escrituras continúan donde empezaba el registro corrupto
+        escribir(reabierto, 4, "2.4");
+        reabierto.cerrar();
+        assertThat(leer(abrir(), 4, NIVEL)).isEqualByComparingTo("2.4");
+    }
+
+    @Test
+    void otroNivelDePrecisionInvalidaElRegistro() {
+        AlmacenAnalisisMapeado almacen = abrir();
+        escribir(almacen, 1, "3.1");
+
+        assertThat(leer(almacen, 1, NIVEL + 1)).isNull();
+        assertThat(leer(almacen, 1, NIVEL)).isNull();
+        assertThat(almacen.bytesRecuperables()).isEqualTo(REGISTRO);
+    }
+
+    @Test
+    void archivoLlenoSinBytesRecuperablesDescartaLaEscritura() {
+        AlmacenAnalisisMapeado almacen = abrir();
+        for (long bono = 1; bono <= 16; bono++) {
+            escribir(almacen, bono, "4." + bono);
+        }
+
+        escribir(almacen, 17, "4.17");
+
+        assertThat(leer(almacen, 17, NIVEL)).isNull();
+        assertThat(leer(almacen, 16, NIVEL)).isEqualByComparingTo("4.16");
+        assertThat(almacen.bytesRecuperables()).isZero();
+    }
+
+    @Test
+    void archivoLlenoCompactaCuandoLoRecuperableSuperaElUmbral() {
+        AlmacenAnalisisMapeado almacen = abrir();
+        for (int version = 0; version < 16; version++) {
+            escribir(almacen, 1, "5." + version);
+        }
+
+        escribir(almacen, 2, "5.99");
+
+        assertThat(leer(almacen, 1, NIVEL)).isEqualByComparingTo("5.15");
+        assertThat(leer(almacen, 2, NIVEL)).isEqualByComparingTo("5.99");
+        assertThat(almacen.bytesRecuperables()).isZero();
+    }
+
+    @Test
+    void compactacionPeriodicaSeRecuperaAlReabrirPeseAUnTemporalAbandonado() throws IOException {
+        // Restos de una compactación interrumpida
+        Files.write(ruta().resolveSibling("analisis.bin.compactando"), new byte[]{1, 2, 3});
+        AlmacenAnalisisMapeado almacen = abrir();
+        for (int version = 0; version < 4; version++) {
+            escribir(almacen, 1, "6." + version);
+        }
+        escribir(almacen, 2, "6.9");
+
+        almacen.compactar();
+        assertThat(almacen.bytesRecuperables()).isZero();
+        almacen.cerrar();
+
+        AlmacenAnalisisMapeado reabierto = abrir();
+        assertThat(leer(reabierto, 1, NIVEL)).isEqualByComparingTo("6.3");
+        assertThat(leer(reabierto, 2, NIVEL)).isEqualByComparingTo("6.9");
+        assertThat(reabierto.bytesRecuperables()).isZero();
+    }
+
+    @Test
+    void archivoConFormatoAnteriorSeReinicia() throws IOException {
+        ByteBuffer cabecera = ByteBuffer.allocate(CABECERA_ARCHIVO + 8);
+        cabecera.putLong(0x4246414E414C4953L).putInt(1).putInt(0).putLong(-1L);
+        Files.write(ruta(), cabecera.array());
+
+        AlmacenAnalisisMapeado almacen = abrir();
+
+        assertThat(almacen.isDisponible()).isTrue();
+        assertThat(almacen.bytesRecuperables()).isZero();
+        escribir(almacen, 1, "7.1");
+        assertThat(leer(almacen, 1, NIVEL)).isEqualByComparingTo("7.1");
+    }
+
+    @Test
+    void celdasConservanSuEscalaExactaAlReabrir() {
+        BigDecimal[] fila = {new BigDecimal("1000.00"), new BigDecimal("0.075000"), new BigDecimal("-12"),
+                new BigDecimal("1E+3"), null};
+        // El parámetro es parte de la clave: 0.0800 y 0.08 son el mismo registro
+        abrir().escribir(OPERACION, 1, new BigDecimal("0.0800"), HUELLA, ACTUALIZADO_EN, NIVEL,
+                new BigDecimal[][]{fila});
+        cerrar();
+
+        BigDecimal[][] leidas = abrir().leer(OPERACION, 1, new BigDecimal("0.08"), HUELLA, ACTUALIZADO_EN, NIVEL)
+                .orElseThrow();
+
+        assertThat(leidas[0]).containsExactly(fila);
+        assertThat(leidas[0][0].toString()).isEqualTo("1000.00");
+    }
+
+    @Test
+    void celdaQueNoCabeSinPerderEscalaNoSePersiste() {
+        AlmacenAnalisisMapeado almacen = abrir();
+        BigDecimal escalaGrande = BigDecimal.ONE.setScale(200);
+        BigDecimal fueraDeRango = new BigDecimal("100000000000000000000");
+
+        almacen.escribir(OPERACION, 1, new BigDecimal("0.08"), HUELLA, ACTUALIZADO_EN, NIVEL,
+                new BigDecimal[][]{{escalaGrande}});
+        almacen.escribir(OPERACION, 2, new BigDecimal("0.08"), HUELLA, ACTUALIZADO_EN, NIVEL,
+                new BigDecimal[][]{{fueraDeRango}});
+
+        assertThat(leer(almacen, 1, NIVEL)).isNull();
+        assertThat(leer(almacen, 2, NIVEL)).isNull();
+    }
+
+    private AlmacenAnalisisMapeado abrir() {
+        AlmacenAnalisisMapeado almacen = new AlmacenAnalisisMapeado(true, ruta(), TAMANO, 0.5);
+        almacen.abrir();
+        abiertos.add(almacen);
+        return almacen;
+    }
+
+    private Path ruta() {
+        return directorio.resolve("analisis.bin");
+    }
+
+    private static void escribir(AlmacenAnalisisMapeado almacen, long bonoId, String valor) {
+        almacen.escribir(OPERACION, bonoId, new BigDecimal("0.08"), HUELLA, ACTUALIZADO_EN, NIVEL,
+                new BigDecimal[][]{{new BigDecimal(valor)}});
+    }
+
+    private static BigDecimal leer(AlmacenAnalisisMapeado almacen, long bonoId, int nivel) {
+        return almacen.leer(OPERACION, bonoId, new BigDecimal("0.08"), HUELLA, ACTUALIZADO_EN, nivel)
+                .map(celdas -> celdas[0][0])
+                .orElse(null);
+    }
+}
@@ -0,0 +1,78 @@
+package com.bonofacil.platform.bonos.interfaces.rest.controllers;
+
+import com.bonofacil.platform.bonos.application.internal.cache.ResultadosAnalisisPersistentes;
+import com.bonofacil.platform.bonos.application.services.BonoService;
+import com.bonofacil.platform.bonos.application.services.EliminacionBonoService;
+import com.bonofacil.platform.bonos.infrastructure.persistence.jpa.repositories.PruebaConteoSentencias;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifica cuántas sentencias cuesta cada petición al listado de bonos del emisor, de la consulta hasta
+ * la respuesta serializada.
+ */
+@Import({EmisorBonoController.class, BonoService.class, EliminacionBonoService.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class EmisorBonoControllerTests extends PruebaConteoSentencias {
+
+    @Autowired
+    private EmisorBonoController controller;
+
+    @MockBean
+    private ResultadosAnalisisPersistentes resultadosPersistentes;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void prepararPeticiones() {
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(EMISOR, null, List.of()));
+    }
+
+    @AfterEach
+    void limpiarAutenticacion() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void paginaDeMisBonosUsaUnaSolaSentencia() throws Exception {
+        mockMvc.perform(get("/api/v1/emisor/bonos").param("limite", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].nombre").value("bono-0"))
+                .andExpect(header().exists("X-Next-Cursor"));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void paginaDeOtroEmisorNoDevuelveBonosAjenos() throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("otro", null, List.of()));
+
+        mockMvc.perform(get("/api/v1/emisor/bonos"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
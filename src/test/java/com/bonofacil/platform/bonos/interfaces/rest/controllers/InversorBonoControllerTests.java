@@ -0,0 +1,94 @@
+package com.bonofacil.platform.bonos.interfaces.rest.controllers;
+
+import com.bonofacil.platform.bonos.application.internal.cache.ResultadosAnalisisPersistentes;
+import com.bonofacil.platform.bonos.application.services.BonoService;
+import com.bonofacil.platform.bonos.application.services.EliminacionBonoService;
+import com.bonofacil.platform.bonos.infrastructure.persistence.jpa.repositories.PruebaConteoSentencias;
+import com.bonofacil.platform.shared.infrastructure.caching.CachedValue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifica cuántas sentencias cuesta cada petición a los listados del inversor, de la consulta hasta la
+ * respuesta serializada.
+ */
+@Import({InversorBonoController.class, BonoService.class, EliminacionBonoService.class})
+class InversorBonoControllerTests extends PruebaConteoSentencias {
+
+    @Autowired
+    private InversorBonoController controller;
+
+    @MockBean
+    private ResultadosAnalisisPersistentes resultadosPersistentes;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void prepararPeticiones() {
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(INVERSOR, null, List.of()));
+    }
+
+    @AfterEach
+    void limpiarAutenticacion() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void catalogoSinCacheUsaUnaSolaSentencia() throws Exception {
+        // Fallo de caché: la página se carga en la misma petición
+        when(bonoConsultaCache.catalogo(anyString(), any()))
+                .thenAnswer(invocation -> CachedValue.fresh(invocation.<Supplier<?>>getArgument(1).get()));
+
+        mockMvc.perform(get("/api/v1/inversor/bonos/catalogo").param("limite", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(header().exists("X-Next-Cursor"));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void filtroDelCatalogoUsaUnaSolaSentencia() throws Exception {
+        mockMvc.perform(get("/api/v1/inversor/bonos/catalogo/filtro")
+                        .param("moneda", "PEN").param("tasaCuponMin", "5").param("orden", "tasaCupon"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void paginaDeMisCalculosUsaUnaSolaSentencia() throws Exception {
+        mockMvc.perform(get("/api/v1/inversor/calculos").param("limite", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(10))
+                .andExpect(jsonPath("$[0].bonoNombre").value("bono-0"))
+                .andExpect(header().exists("X-Next-Cursor"));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
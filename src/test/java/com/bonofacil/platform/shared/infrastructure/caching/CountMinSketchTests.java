@@ -0,0 +1,60 @@
+package com.bonofacil.platform.shared.infrastructure.caching;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Cotas y decaimiento de {@link CountMinSketch}.
+ */
+class CountMinSketchTests {
+
+    @Test
+    void estimacionNuncaEsMenorQueLaFrecuenciaReal() {
+        CountMinSketch<String> sketch = new CountMinSketch<>(4, 64);
+        for (int i = 0; i < 1000; i++) {
+            sketch.add("clave-" + (i % 200));
+        }
+        for (int i = 0; i < 200; i++) {
+            assertThat(sketch.estimate("clave-" + i)).isGreaterThanOrEqualTo(5);
+        }
+    }
+
+    @Test
+    void decaimientoReduceLasFrecuenciasALaMitad() {
+        CountMinSketch<String> sketch = new CountMinSketch<>(4, 4096);
+        for (int i = 0; i < 20; i++) {
+            sketch.add("caliente");
+        }
+        sketch.add("fria");
+
+        sketch.decay();
+
+        assertThat(sketch.estimate("caliente")).isEqualTo(10);
+        assertThat(sketch.estimate("fria")).isZero();
+    }
+
+    @Test
+    void claveQueDejaDePedirseSeOlvidaTrasVariosDecaimientos() {
+        CountMinSketch<String> sketch = new CountMinSketch<>(4, 4096);
+        for (int i = 0; i < 100; i++) {
+            sketch.add("antigua");
+        }
+        for (int ciclo = 0; ciclo < 7; ciclo++) {
+            sketch.decay();
+            sketch.add("reciente");
+            sketch.add("reciente");
+        }
+
+        assertThat(sketch.estimate("antigua")).isZero();
+        assertThat(sketch.estimate("reciente")).isGreaterThan(sketch.estimate("antigua"));
+    }
+
+    @Test
+    void rechazaDimensionesInvalidas() {
+        assertThatThrownBy(() -> new CountMinSketch<String>(0, 16)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new CountMinSketch<String>(7, 16)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new CountMinSketch<String>(4, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
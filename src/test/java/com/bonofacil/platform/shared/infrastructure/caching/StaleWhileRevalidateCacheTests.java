@@ -0,0 +1,150 @@
+package com.bonofacil.platform.shared.infrastructure.caching;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Límites de antigüedad y recargas de {@link StaleWhileRevalidateCache}, con un ejecutor manual para
+ * decidir cuándo termina cada recarga en segundo plano.
+ */
+class StaleWhileRevalidateCacheTests {
+
+    private final Deque<Runnable> recargas = new ArrayDeque<>();
+    private final AtomicBoolean saturada = new AtomicBoolean();
+
+    @Test
+    void valorVencidoSeSirveYSeRecargaUnaSolaVezEnSegundoPlano() throws InterruptedException {
+        var cache = cache(Duration.ZERO, Duration.ofHours(1));
+        cache.load("k", () -> "v1");
+        esperarVencimiento();
+
+        CachedValue<String> servido = cache.get("k", () -> "v2");
+        cache.get("k", () -> "v3");
+
+        assertThat(servido.value()).isEqualTo("v1");
+        assertThat(servido.stale()).isTrue();
+        assertThat(recargas).hasSize(1);
+        recargas.poll().run();
+        assertThat(cache.peek("k")).contains("v2");
+    }
+
+    @Test
+    void saturadaSirveVencidoSinRecargarDentroDelLimite() throws InterruptedException {
+        var cache = cache(Duration.ZERO, Duration.ofHours(1));
+        cache.load("k", () -> "v1");
+        esperarVencimiento();
+        saturada.set(true);
+
+        assertThat(cache.get("k", () -> "v2").value()).isEqualTo("v1");
+        assertThat(recargas).isEmpty();
+    }
+
+    @Test
+    void saturadaRecargaPasadoElLimiteDeAntiguedad() throws InterruptedException {
+        var cache = cache(Duration.ZERO, Duration.ZERO);
+        cache.load("k", () -> "v1");
+        esperarVencimiento();
+        saturada.set(true);
+
+        CachedValue<String> servido = cache.get("k", () -> "v2");
+
+        assertThat(servido.value()).isEqualTo("v2");
+        assertThat(servido.stale()).isFalse();
+        assertThat(cache.peek("k")).contains("v2");
+    }
+
+    @Test
+    void recargaEnCursoNoReinsertaUnaClaveInvalidada() throws InterruptedException {
+        var cache = cache(Duration.ZERO, Duration.ofHours(1));
+        cache.load("k", () -> "v1");
+        esperarVencimiento();
+        cache.get("k", () -> "anterior");
+
+        cache.invalidate("k");
+        recargas.poll().run();
+
+        assertThat(cache.contains("k")).isFalse();
+    }
+
+    @Test
+    void recargaEnCursoNoPisaUnaCargaPosteriorAlaInvalidacion() throws InterruptedException {
+        var cache = cache(Duration.ZERO, Duration.ofHours(1));
+        cache.load("k", () -> "v1");
+        esperarVencimiento();
+        cache.get("k", () -> "anterior");
+
+        cache.invalidateIf(clave -> clave.startsWith("k"));
+        cache.get("k", () -> "nuevo");
+        recargas.poll().run();
+
+        assertThat(cache.peek("k")).contains("nuevo");
+    }
+
+    @Test
+    void cargaSincronaQueCoincideConUnaInvalidacionNoSeGuarda() {
+        var cache = cache(Duration.ofHours(1), Duration.ofHours(1));
+        AtomicInteger cargas = new AtomicInteger();
+
+        CachedValue<String> servido = cache.get("k", () -> {
+            cargas.incrementAndGet();
+            cache.invalidateAll();
+            return "leido-antes-de-la-escritura";
+        });
+
+        assertThat(servido.value()).isEqualTo("leido-antes-de-la-escritura");
+        assertThat(cache.contains("k")).isFalse();
+        assertThat(cache.get("k", () -> "actual").value()).isEqualTo("actual");
+        assertThat(cargas).hasValue(1);
+    }
+
+    @Test
+    void invalidarOtraClaveNoDescartaLaCargaEnCurso() {
+        var cache = cache(Duration.ofHours(1), Duration.ofHours(1));
+        cache.load("b", () -> "vb");
+
+        boolean guardado = cache.load("a", () -> {
+            cache.invalidate("b");
+            cache.invalidateIf(clave -> clave.equals("c"));
+            return "va";
+        });
+
+        assertThat(guardado).isTrue();
+        assertThat(cache.peek("a")).contains("va");
+        assertThat(cache.contains("b")).isFalse();
+    }
+
+    @Test
+    void cargaQueCoincideConLaInvalidacionDeSuClaveNoSeGuarda() {
+        var cache = cache(Duration.ofHours(1), Duration.ofHours(1));
+
+        boolean porClave = cache.load("a", () -> {
+            cache.invalidate("a");
+            return "anterior";
+        });
+        boolean porPredicado = cache.load("b", () -> {
+            cache.invalidateIf(clave -> clave.equals("b"));
+            return "anterior";
+        });
+
+        assertThat(porClave).isFalse();
+        assertThat(porPredicado).isFalse();
+        assertThat(cache.size()).isZero();
+        assertThat(cache.load("a", () -> "actual")).isTrue();
+    }
+
+    private StaleWhileRevalidateCache<String, String> cache(Duration frescura, Duration antiguedadMaxima) {
+        return new StaleWhileRevalidateCache<>("pruebas", frescura, antiguedadMaxima, 100, recargas::add,
+                saturada::get);
+    }
+
+    private static void esperarVencimiento() throws InterruptedException {
+        Thread.sleep(5);
+    }
+}
@@ -0,0 +1,44 @@
+package com.bonofacil.platform.shared.infrastructure.persistense.jpa;
+
+import jakarta.persistence.EntityManager;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.MigrationState;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica que las migraciones se aplican sobre una base vacía y que el esquema resultante coincide con las
+ * entidades ({@code ddl-auto=validate}); si no coincidiera, el contexto no llegaría a arrancar.
+ */
+class MigracionesFlywayTests extends PruebaPostgres {
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void todasLasMigracionesSeAplicanYElEsquemaValida() {
+        MigrationInfo[] aplicadas = flyway.info().applied();
+
+        assertThat(flyway.info().pending()).isEmpty();
+        assertThat(Arrays.stream(aplicadas).map(MigrationInfo::getState)).containsOnly(MigrationState.SUCCESS);
+        assertThat(flyway.info().current().getVersion().getVersion()).isEqualTo("10");
+    }
+
+    @Test
+    void calculosQuedaParticionadaConParticionPorDefecto() {
+        Object particionPorDefecto = entityManager.createNativeQuery("""
+                select c.relname from pg_partitioned_table p
+                join pg_class c on c.oid = p.partdefid
+                where p.partrelid = 'calculos'::regclass""").getSingleResult();
+
+        assertThat(particionPorDefecto).isEqualTo("calculos_default");
+    }
+}
@@ -0,0 +1,146 @@
+package com.bonofacil.platform.shared.infrastructure.persistense.jpa.routing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Decisiones de enrutamiento y de lectura propia de {@link EnrutadorLecturasDataSource}, simulando
+ * el ciclo de vida de la transacción con {@link TransactionSynchronizationManager}.
+ */
+class EnrutadorLecturasDataSourceTests {
+
+    private final MonitorRetrasoReplica monitor = mock(MonitorRetrasoReplica.class);
+    private RegistroEscriturasRecientes registro;
+    private EnrutadorLecturasDataSource enrutador;
+
+    @BeforeEach
+    void configurar() {
+        registro = new RegistroEscriturasRecientes(Duration.ofMinutes(1));
+        enrutador = new EnrutadorLecturasDataSource(mock(DataSource.class), mock(DataSource.class), registro, monitor);
+        when(monitor.isDisponible()).thenReturn(true);
+        autenticar("ana");
+    }
+
+    @AfterEach
+    void limpiar() {
+        SecurityContextHolder.clearContext();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clear();
+        }
+    }
+
+    @Test
+    void lecturaVaALaReplicaYEscrituraALaPrimaria() {
+        assertThat(enTransaccion(true, false)).isEqualTo(DestinoDataSource.REPLICA);
+        assertThat(enTransaccion(false, false)).isEqualTo(DestinoDataSource.PRIMARIA);
+    }
+
+    @Test
+    void replicaRetrasadaDevuelveLasLecturasALaPrimaria() {
+        when(monitor.isDisponible()).thenReturn(false);
+
+        assertThat(enTransaccion(true, false)).isEqualTo(DestinoDataSource.PRIMARIA);
+    }
+
+    @Test
+    void escrituraConfirmadaFijaLasLecturasDelUsuarioEnLaPrimaria() {
+        enTransaccion(false, true);
+
+        assertThat(enTransaccion(true, false)).isEqualTo(DestinoDataSource.PRIMARIA);
+        autenticar("beto");
+        assertThat(enTransaccion(true, false)).isEqualTo(DestinoDataSource.REPLICA);
+    }
+
+    @Test
+    void pedirConexionDeEscrituraNoMarcaHastaConfirmar() {
+        iniciarTransaccion(false);
+        enrutador.determineCurrentLookupKey();
+
+        assertThat(registro.escribioRecientemente()).isFalse();
+        completar(true);
+        assertThat(registro.escribioRecientemente()).isTrue();
+    }
+
+    @Test
+    void transaccionRevertidaNoMarca() {
+        enTransaccion(false, false);
+
+        assertThat(registro.escribioRecientemente()).isFalse();
+        assertThat(enTransaccion(true, false)).isEqualTo(DestinoDataSource.REPLICA);
+    }
+
+    @Test
+    void conexionFueraDeTransaccionNoMarca() {
+        assertThat(enrutador.determineCurrentLookupKey()).isEqualTo(DestinoDataSource.PRIMARIA);
+
+        assertThat(registro.escribioRecientemente()).isFalse();
+    }
+
+    @Test
+    void escrituraAnonimaNoMarca() {
+        SecurityContextHolder.getContext().setAuthentication(new AnonymousAuthenticationToken("clave", "anonimo",
+                AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS")));
+
+        enTransaccion(false, true);
+
+        assertThat(registro.escribioRecientemente()).isFalse();
+    }
+
+    @Test
+    void ventanaVencidaVuelveALaReplica() throws InterruptedException {
+        registro = new RegistroEscriturasRecientes(Duration.ofMillis(1));
+        enrutador = new EnrutadorLecturasDataSource(mock(DataSource.class), mock(DataSource.class), registro, monitor);
+        enTransaccion(false, true);
+        Thread.sleep(5);
+
+        assertThat(enTransaccion(true, false)).isEqualTo(DestinoDataSource.REPLICA);
+        registro.purgarVencidas();
+        assertThat(registro.escribioRecientemente()).isFalse();
+    }
+
+    private Object enTransaccion(boolean soloLectura, boolean confirmar) {
+        iniciarTransaccion(soloLectura);
+        Object destino = enrutador.determineCurrentLookupKey();
+        completar(confirmar);
+        return destino;
+    }
+
+    private static void iniciarTransaccion(boolean soloLectura) {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(soloLectura);
+    }
+
+    private static void completar(boolean confirmar) {
+        List<TransactionSynchronization> sincronizaciones = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clear();
+        for (TransactionSynchronization sincronizacion : sincronizaciones) {
+            if (confirmar) {
+                sincronizacion.afterCommit();
+            }
+            sincronizacion.afterCompletion(confirmar
+                    ? TransactionSynchronization.STATUS_COMMITTED
+                    : TransactionSynchronization.STATUS_ROLLED_BACK);
+        }
+    }
+
+    private static void autenticar(String usuario) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(usuario, null, AuthorityUtils.NO_AUTHORITIES));
+    }
+}
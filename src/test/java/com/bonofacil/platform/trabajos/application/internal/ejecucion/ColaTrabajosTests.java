@@ -0,0 +1,175 @@
+package com.bonofacil.platform.trabajos.application.internal.ejecucion;
+
+import com.bonofacil.platform.trabajos.domain.model.aggregates.Trabajo;
+import com.bonofacil.platform.trabajos.domain.model.commands.EnviarTrabajoCommand;
+import com.bonofacil.platform.trabajos.domain.model.valueobjects.EstadoTrabajo;
+import com.bonofacil.platform.trabajos.infrastructure.persistence.jpa.repositories.TrabajoRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Reclamo, vencimiento del bloqueo y puntos de control de la cola de trabajos, contra la consulta
+ * {@code SKIP LOCKED} real en H2.
+ */
+@DataJpaTest(showSql = false, properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "trabajos.bloqueo=PT2M",
+        "trabajos.espera-reintento=PT10S",
+        "trabajos.retencion-resultados=PT24H"
+})
+@Import(ColaTrabajos.class)
+class ColaTrabajosTests {
+
+    @Autowired
+    private ColaTrabajos colaTrabajos;
+
+    @Autowired
+    private TrabajoRepository trabajoRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void reclamaPorPrioridadYNoRepiteTrabajosBloqueados() {
+        Long baja = enviar(1, 3);
+        Long alta = enviar(5, 3);
+        Long media = enviar(3, 3);
+
+        List<Trabajo> primeros = colaTrabajos.reclamar("nodo-a", 2);
+        sincronizar();
+        List<Trabajo> restantes = colaTrabajos.reclamar("nodo-b", 5);
+
+        assertThat(primeros).extracting(Trabajo::getId).containsExactly(alta, media);
+        assertThat(restantes).extracting(Trabajo::getId).containsExactly(baja);
+        Trabajo reclamado = leer(alta);
+        assertThat(reclamado.getEstado()).isEqualTo(EstadoTrabajo.EN_EJECUCION);
+        assertThat(reclamado.getBloqueadoPor()).isEqualTo("nodo-a");
+        assertThat(reclamado.getBloqueadoHasta()).isAfter(Instant.now());
+        assertThat(reclamado.getIntentos()).isEqualTo(1);
+    }
+
+    @Test
+    void bloqueoVencidoLoReclamaOtroNodoYElAnteriorYaNoEscribe() {
+        Long id = enviar(0, 3);
+        colaTrabajos.reclamar("nodo-a", 1);
+        vencerBloqueo(id);
+
+        List<Trabajo> reclamados = colaTrabajos.reclamar("nodo-b", 1);
+        sincronizar();
+
+        assertThat(reclamados).extracting(Trabajo::getId).containsExactly(id);
+        assertThat(colaTrabajos.reportarProgreso(id, "nodo-a", 50)).isFalse();
+        assertThat(colaTrabajos.guardarPuntoControl(id, "nodo-a", "a", 50)).isFalse();
+        colaTrabajos.completar(id, "nodo-a", "{\"de\":\"a\"}");
+        assertThat(colaTrabajos.reportarProgreso(id, "nodo-b", 30)).isTrue();
+        sincronizar();
+
+        Trabajo trabajo = leer(id);
+        assertThat(trabajo.getEstado()).isEqualTo(EstadoTrabajo.EN_EJECUCION);
+        assertThat(trabajo.getBloqueadoPor()).isEqualTo("nodo-b");
+        assertThat(trabajo.getIntentos()).isEqualTo(2);
+        assertThat(trabajo.getProgreso()).isEqualTo(30);
+        assertThat(trabajo.getResultado()).isNull();
+    }
+
+    @Test
+    void bloqueoVencidoSinIntentosRestantesSeAbandona() {
+        Long id = enviar(0, 1);
+        colaTrabajos.reclamar("nodo-a", 1);
+        vencerBloqueo(id);
+
+        assertThat(colaTrabajos.reclamar("nodo-b", 1)).isEmpty();
+        colaTrabajos.mantener();
+        sincronizar();
+
+        Trabajo trabajo = leer(id);
+        assertThat(trabajo.getEstado()).isEqualTo(EstadoTrabajo.FALLIDO);
+        assertThat(trabajo.getBloqueadoPor()).isNull();
+        assertThat(trabajo.getExpiraEn()).isAfter(Instant.now());
+    }
+
+    @Test
+    void puntoDeControlSobreviveAlReintento() {
+        Long id = enviar(0, 3);
+        colaTrabajos.reclamar("nodo-a", 1);
+        sincronizar();
+        assertThat(colaTrabajos.guardarPuntoControl(id, "nodo-a", "{\"lote\":3}", 40)).isTrue();
+        sincronizar();
+
+        colaTrabajos.fallar(id, "nodo-a", "IOException: conexión reiniciada");
+        sincronizar();
+        Trabajo pendiente = leer(id);
+        assertThat(pendiente.getEstado()).isEqualTo(EstadoTrabajo.PENDIENTE);
+        assertThat(pendiente.getDisponibleEn()).isAfter(Instant.now());
+        // La espera del reintento aún no pasó
+        assertThat(colaTrabajos.reclamar("nodo-b", 1)).isEmpty();
+
+        entityManager.createQuery("update Trabajo t set t.disponibleEn = :ahora where t.id = :id")
+                .setParameter("ahora", Instant.now().minusSeconds(1))
+                .setParameter("id", id)
+                .executeUpdate();
+        sincronizar();
+        List<Trabajo> reintento = colaTrabajos.reclamar("nodo-b", 1);
+
+        assertThat(reintento).singleElement().satisfies(trabajo -> {
+            assertThat(trabajo.getPuntoControl()).isEqualTo("{\"lote\":3}");
+            assertThat(trabajo.getIntentos()).isEqualTo(2);
+        });
+    }
+
+    @Test
+    void mantenimientoPurgaLosResultadosExpirados() {
+        Long vigente = enviar(0, 3);
+        Long expirado = enviar(0, 3);
+        colaTrabajos.reclamar("nodo-a", 2);
+        sincronizar();
+        colaTrabajos.completar(vigente, "nodo-a", "{}");
+        colaTrabajos.completar(expirado, "nodo-a", "{}");
+        sincronizar();
+        entityManager.createQuery("update Trabajo t set t.expiraEn = :pasado where t.id = :id")
+                .setParameter("pasado", Instant.now().minusSeconds(1))
+                .setParameter("id", expirado)
+                .executeUpdate();
+
+        assertThat(colaTrabajos.mantener()).isEqualTo(1);
+        sincronizar();
+        assertThat(trabajoRepository.findById(expirado)).isEmpty();
+        assertThat(leer(vigente).getEstado()).isEqualTo(EstadoTrabajo.COMPLETADO);
+    }
+
+    private Long enviar(int prioridad, int maxIntentos) {
+        Trabajo trabajo = trabajoRepository.save(new Trabajo(
+                new EnviarTrabajoCommand("prueba", "{}", prioridad, "ana", Set.of()), maxIntentos));
+        sincronizar();
+        return trabajo.getId();
+    }
+
+    private void vencerBloqueo(Long id) {
+        sincronizar();
+        entityManager.createQuery("update Trabajo t set t.bloqueadoHasta = :pasado where t.id = :id")
+                .setParameter("pasado", Instant.now().minusSeconds(1))
+                .setParameter("id", id)
+                .executeUpdate();
+        sincronizar();
+    }
+
+    private Trabajo leer(Long id) {
+        return trabajoRepository.findById(id).orElseThrow();
+    }
+
+    private void sincronizar() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+}